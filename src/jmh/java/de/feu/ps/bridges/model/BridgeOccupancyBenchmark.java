@@ -0,0 +1,127 @@
+package de.feu.ps.bridges.model;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures how checking a path for bridges scales with the amount of bridges on a large board.
+ *
+ * Compares the stabbing queries of {@link IntervalBridgeOccupancy} with the field by field lookup of
+ * {@link SparseBridgeOccupancy} and with a linear scan over all bridges.
+ * The board is divided into cells of 20 by 20 fields, each holding a single bridge,
+ * so the size of the board grows with the amount of bridges, while the length of the checked paths does not.
+ *
+ * Run with <code>./gradlew jmh</code>.
+ *
+ * @author Tim Gremplewski
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class BridgeOccupancyBenchmark {
+
+    private static final int CELL_SIZE = 20;
+    private static final int MAX_BRIDGE_LENGTH = 15;
+    private static final int MAX_PATH_LENGTH = 40;
+    private static final int PATHS_COUNT = 1024;
+
+    @Param({"100", "1000", "10000"})
+    private int bridgesCount;
+
+    private BridgeOccupancy intervalOccupancy;
+    private BridgeOccupancy sparseOccupancy;
+    private Position[] bridgeStarts;
+    private Position[] bridgeEnds;
+    private Position[] pathStarts;
+    private Position[] pathEnds;
+    private int path;
+
+    @Setup
+    public void setUp() {
+        final Random random = new Random(42);
+        final int cellsPerLine = (int) Math.ceil(Math.sqrt(bridgesCount));
+        final int size = cellsPerLine * CELL_SIZE;
+
+        intervalOccupancy = new IntervalBridgeOccupancy();
+        sparseOccupancy = new SparseBridgeOccupancy();
+        bridgeStarts = new Position[bridgesCount];
+        bridgeEnds = new Position[bridgesCount];
+
+        for (int bridge = 0; bridge < bridgesCount; bridge++) {
+            final int cellColumn = bridge % cellsPerLine * CELL_SIZE;
+            final int cellRow = bridge / cellsPerLine * CELL_SIZE;
+            final int offset = random.nextInt(CELL_SIZE);
+            final int length = 2 + random.nextInt(MAX_BRIDGE_LENGTH - 1);
+
+            if (bridge % 2 == 0) {
+                bridgeStarts[bridge] = new Position(cellColumn, cellRow + offset);
+                bridgeEnds[bridge] = new Position(cellColumn + length, cellRow + offset);
+            } else {
+                bridgeStarts[bridge] = new Position(cellColumn + offset, cellRow);
+                bridgeEnds[bridge] = new Position(cellColumn + offset, cellRow + length);
+            }
+            intervalOccupancy.occupy(bridgeStarts[bridge], bridgeEnds[bridge]);
+            sparseOccupancy.occupy(bridgeStarts[bridge], bridgeEnds[bridge]);
+        }
+
+        pathStarts = new Position[PATHS_COUNT];
+        pathEnds = new Position[PATHS_COUNT];
+        for (int i = 0; i < PATHS_COUNT; i++) {
+            final int column = random.nextInt(size);
+            final int row = random.nextInt(size);
+            final int length = 1 + random.nextInt(MAX_PATH_LENGTH);
+
+            pathStarts[i] = new Position(column, row);
+            pathEnds[i] = i % 2 == 0 ? new Position(column + length, row) : new Position(column, row + length);
+        }
+    }
+
+    private int nextPath() {
+        path = (path + 1) % PATHS_COUNT;
+        return path;
+    }
+
+    @Benchmark
+    public boolean intervalIndex() {
+        final int i = nextPath();
+        return intervalOccupancy.isAnyFieldOccupied(pathStarts[i], pathEnds[i]);
+    }
+
+    @Benchmark
+    public boolean sparseFields() {
+        final int i = nextPath();
+        return sparseOccupancy.isAnyFieldOccupied(pathStarts[i], pathEnds[i]);
+    }
+
+    @Benchmark
+    public boolean linearScan() {
+        final int i = nextPath();
+        final Position start = pathStarts[i];
+        final Position end = pathEnds[i];
+        final int minColumn = Math.min(start.getColumn(), end.getColumn());
+        final int maxColumn = Math.max(start.getColumn(), end.getColumn());
+        final int minRow = Math.min(start.getRow(), end.getRow());
+        final int maxRow = Math.max(start.getRow(), end.getRow());
+
+        for (int bridge = 0; bridge < bridgesCount; bridge++) {
+            // The fields of the bridged islands are not occupied
+            final Position bridgeStart = bridgeStarts[bridge];
+            final Position bridgeEnd = bridgeEnds[bridge];
+            final boolean horizontal = bridgeStart.getRow() == bridgeEnd.getRow();
+            final int firstColumn = horizontal ? bridgeStart.getColumn() + 1 : bridgeStart.getColumn();
+            final int lastColumn = horizontal ? bridgeEnd.getColumn() - 1 : bridgeEnd.getColumn();
+            final int firstRow = horizontal ? bridgeStart.getRow() : bridgeStart.getRow() + 1;
+            final int lastRow = horizontal ? bridgeEnd.getRow() : bridgeEnd.getRow() - 1;
+
+            if (firstColumn <= maxColumn && minColumn <= lastColumn && firstRow <= maxRow && minRow <= lastRow) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
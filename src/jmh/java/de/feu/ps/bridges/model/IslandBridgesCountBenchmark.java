@@ -0,0 +1,67 @@
+package de.feu.ps.bridges.model;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the incrementally maintained bridge count of {@link DefaultIsland}
+ * with the stream based aggregation over its bridges that was used before.
+ *
+ * Run with <code>./gradlew jmh</code>.
+ *
+ * @author Tim Gremplewski
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@Fork(1)
+public class IslandBridgesCountBenchmark {
+
+    private Island island;
+    private Set<Bridge> bridges;
+
+    @Setup
+    public void setUp() {
+        final ModifiablePuzzle puzzle = ModifiablePuzzleFactory.createPuzzle(5, 5);
+        island = puzzle.buildIsland(new Position(2, 2), 8);
+        final Island north = puzzle.buildIsland(new Position(2, 0), 8);
+        final Island east = puzzle.buildIsland(new Position(4, 2), 8);
+        final Island south = puzzle.buildIsland(new Position(2, 4), 8);
+        final Island west = puzzle.buildIsland(new Position(0, 2), 8);
+
+        puzzle.buildBridge(island, north);
+        puzzle.buildBridge(island, north);
+        puzzle.buildBridge(island, east);
+        puzzle.buildBridge(island, south);
+        puzzle.buildBridge(island, south);
+        puzzle.buildBridge(island, west);
+
+        bridges = island.getBridges();
+    }
+
+    @Benchmark
+    public int incrementalActualBridgesCount() {
+        return island.getActualBridgesCount();
+    }
+
+    @Benchmark
+    public int streamedActualBridgesCount() {
+        final int doubleBridges = (int) bridges.stream().filter(Bridge::isDoubleBridge).count();
+        final int singleBridges = bridges.size() - doubleBridges;
+        return singleBridges + doubleBridges * 2;
+    }
+
+    @Benchmark
+    public int incrementalRemainingBridges() {
+        return island.getRemainingBridges();
+    }
+
+    @Benchmark
+    public int streamedRemainingBridges() {
+        return island.getRequiredBridges() - streamedActualBridgesCount();
+    }
+}
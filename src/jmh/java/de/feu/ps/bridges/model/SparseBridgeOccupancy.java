@@ -0,0 +1,101 @@
+package de.feu.ps.bridges.model;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * {@link BridgeOccupancy} that only stores the occupied fields of the puzzle.
+ *
+ * Its memory consumption depends on the total length of all bridges instead of the size of the puzzle,
+ * but checking a path looks up every field of the path.
+ * Large boards use {@link IntervalBridgeOccupancy} instead, this class only serves as the field by field baseline
+ * of {@link BridgeOccupancyBenchmark}.
+ *
+ * @author Tim Gremplewski
+ */
+class SparseBridgeOccupancy implements BridgeOccupancy {
+
+    private final Map<Long, Byte> occupiedFields;
+
+    /**
+     * Creates a new instance.
+     */
+    SparseBridgeOccupancy() {
+        occupiedFields = new HashMap<>();
+    }
+
+    @Override
+    public void occupy(final Position start, final Position end) {
+        update(start, end, true);
+    }
+
+    @Override
+    public void release(final Position start, final Position end) {
+        update(start, end, false);
+    }
+
+    @Override
+    public void clear() {
+        occupiedFields.clear();
+    }
+
+    @Override
+    public byte getOccupation(final int column, final int row) {
+        return occupiedFields.getOrDefault(toKey(column, row), (byte) 0);
+    }
+
+    @Override
+    public boolean isAnyFieldOccupied(final Position start, final Position end) {
+        BridgeOccupancy.getFlag(start, end);
+
+        if (occupiedFields.isEmpty()) {
+            return false;
+        }
+
+        final int columnStep = Integer.signum(end.getColumn() - start.getColumn());
+        final int rowStep = Integer.signum(end.getRow() - start.getRow());
+        int column = start.getColumn();
+        int row = start.getRow();
+
+        while (true) {
+            if (occupiedFields.containsKey(toKey(column, row))) {
+                return true;
+            }
+            if (column == end.getColumn() && row == end.getRow()) {
+                return false;
+            }
+            column += columnStep;
+            row += rowStep;
+        }
+    }
+
+    private void update(final Position start, final Position end, final boolean occupied) {
+        final byte flag = BridgeOccupancy.getFlag(start, end);
+        final int columnStep = Integer.signum(end.getColumn() - start.getColumn());
+        final int rowStep = Integer.signum(end.getRow() - start.getRow());
+
+        // The fields of the bridged islands are not occupied
+        int column = start.getColumn() + columnStep;
+        int row = start.getRow() + rowStep;
+
+        while (column != end.getColumn() || row != end.getRow()) {
+            final Long key = toKey(column, row);
+            final int occupation = occupied
+                    ? getOccupation(column, row) | flag
+                    : getOccupation(column, row) & ~flag;
+
+            if (occupation == 0) {
+                occupiedFields.remove(key);
+            } else {
+                occupiedFields.put(key, (byte) occupation);
+            }
+
+            column += columnStep;
+            row += rowStep;
+        }
+    }
+
+    private static long toKey(final int column, final int row) {
+        return (long) column << 32 | row;
+    }
+}
@@ -0,0 +1,78 @@
+package de.feu.ps.bridges.serialization;
+
+import de.feu.ps.bridges.analyser.PuzzleAnalyser;
+import de.feu.ps.bridges.analyser.PuzzleAnalyserFactory;
+import de.feu.ps.bridges.generator.PuzzleGeneratorFactory;
+import de.feu.ps.bridges.model.Direction;
+import de.feu.ps.bridges.model.Puzzle;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures how loading, saving and analysing puzzles in large board mode scales with the size of the board.
+ *
+ * Every board has one island per 25 fields, so the amount of islands grows with the square of the board size.
+ * Divide the measured time and the <code>gc.alloc.rate.norm</code> reported by the gc profiler
+ * by <code>size * size / 25</code> to get the costs per island.
+ *
+ * Run with <code>./gradlew jmh</code>.
+ *
+ * @author Tim Gremplewski
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class LargeBoardBenchmark {
+
+    private static final Direction[] DIRECTIONS = Direction.values();
+
+    @Param({"250", "500", "1000"})
+    private int size;
+
+    private File source;
+    private File destination;
+    private Puzzle puzzle;
+    private PuzzleAnalyser puzzleAnalyser;
+
+    @Setup
+    public void setUp() throws IOException {
+        puzzle = PuzzleGeneratorFactory.createLargeBoardPuzzleGenerator(size, size, size * size / 25).generate();
+        puzzleAnalyser = PuzzleAnalyserFactory.createPuzzleAnalyserFor(puzzle);
+
+        source = File.createTempFile("large_board", ".bgs");
+        destination = File.createTempFile("large_board_copy", ".bgs");
+        Serializer.savePuzzle(puzzle, source);
+    }
+
+    @TearDown
+    public void tearDown() {
+        source.delete();
+        destination.delete();
+    }
+
+    @Benchmark
+    public Puzzle load() {
+        return Deserializer.loadLargePuzzle(source);
+    }
+
+    @Benchmark
+    public void save() {
+        Serializer.savePuzzle(puzzle, destination);
+    }
+
+    @Benchmark
+    public void validateAllMoves(final Blackhole blackhole) {
+        puzzle.forEachIsland(island -> {
+            for (final Direction direction : DIRECTIONS) {
+                blackhole.consume(puzzleAnalyser.isValidMove(island, direction));
+            }
+        });
+    }
+}
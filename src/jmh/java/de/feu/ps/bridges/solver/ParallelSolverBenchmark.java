@@ -0,0 +1,64 @@
+package de.feu.ps.bridges.solver;
+
+import de.feu.ps.bridges.generator.PuzzleGeneratorFactory;
+import de.feu.ps.bridges.model.Puzzle;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures how searching a solution with a parallel {@link BacktrackingPuzzleSolver} scales with the amount of threads.
+ *
+ * Every invocation searches a solution of one of some generated puzzles with a new solver,
+ * so the measured time includes creating the constraints of the puzzle.
+ * Compare the results of the different amounts of threads to get the speedup.
+ * Boards with more than 25 columns and rows are generated in large board mode.
+ *
+ * Run with <code>./gradlew jmh</code>.
+ *
+ * @author Tim Gremplewski
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class ParallelSolverBenchmark {
+
+    private static final int PUZZLES_COUNT = 8;
+
+    @Param({"1", "2", "4", "8"})
+    private int threads;
+
+    @Param({"25", "60"})
+    private int size;
+
+    private ForkJoinPool forkJoinPool;
+    private Puzzle[] puzzles;
+    private int puzzle;
+
+    @Setup
+    public void setUp() {
+        forkJoinPool = new ForkJoinPool(threads);
+        puzzles = new Puzzle[PUZZLES_COUNT];
+        for (int i = 0; i < PUZZLES_COUNT; i++) {
+            puzzles[i] = size <= 25
+                    ? PuzzleGeneratorFactory.createPuzzleGenerator(size, size, size * size / 5).generate()
+                    : PuzzleGeneratorFactory.createLargeBoardPuzzleGenerator(size, size, size * size / 6).generate();
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        forkJoinPool.shutdown();
+    }
+
+    @Benchmark
+    public boolean parallelSearch() {
+        puzzle = (puzzle + 1) % PUZZLES_COUNT;
+        return PuzzleSolverFactory.createParallelBacktrackingPuzzleSolverFor(
+                puzzles[puzzle], forkJoinPool, PuzzleSolverFactory.DEFAULT_SPLIT_DEPTH).isSolvable();
+    }
+}
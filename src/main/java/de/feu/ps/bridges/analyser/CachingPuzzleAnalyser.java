@@ -0,0 +1,199 @@
+package de.feu.ps.bridges.analyser;
+
+import de.feu.ps.bridges.model.Direction;
+import de.feu.ps.bridges.model.Island;
+import de.feu.ps.bridges.model.Position;
+import de.feu.ps.bridges.model.Puzzle;
+
+import java.util.*;
+
+/**
+ * {@link PuzzleAnalyser} that remembers the results of the expensive queries of another analyser,
+ * until the puzzle is modified.
+ *
+ * The status, the unfinished islands and the safe bridge destinations of all islands are cached.
+ * Whether a cached result is still valid is decided by the modification count of the puzzle,
+ * see {@link Puzzle#getModificationCount()}.
+ * The safe bridge destinations of an island depend on whether any other island might be isolated,
+ * so a single bridge can change the destinations of islands far away from it.
+ * Therefore all cached results are discarded together, whenever the puzzle changes.
+ * All other queries are passed to the other analyser.
+ *
+ * The cached sets and maps cannot be modified.
+ * The amount of queries answered from the cache and the amount of queries,
+ * that had to be passed to the other analyser, are counted.
+ *
+ * @author Tim Gremplewski
+ */
+public final class CachingPuzzleAnalyser implements PuzzleAnalyser {
+
+    private final Puzzle puzzle;
+    private final PuzzleAnalyser puzzleAnalyser;
+
+    private long modificationCount;
+    private PuzzleStatus status;
+    private Set<Island> unfinishedIslands;
+    private Map<Island, Set<Island>> safeBridgeDestinations;
+    private long hitsCount;
+    private long missesCount;
+
+    /**
+     * Creates a new instance.
+     * @param puzzle the puzzle analysed by the given analyser.
+     * @param puzzleAnalyser the analyser whose results should be cached.
+     * @throws NullPointerException if puzzle or puzzleAnalyser is null.
+     */
+    CachingPuzzleAnalyser(final Puzzle puzzle, final PuzzleAnalyser puzzleAnalyser) {
+        this.puzzle = Objects.requireNonNull(puzzle, "Parameter 'puzzle' must not be null.");
+        this.puzzleAnalyser = Objects.requireNonNull(puzzleAnalyser, "Parameter 'puzzleAnalyser' must not be null.");
+        modificationCount = puzzle.getModificationCount();
+    }
+
+    @Override
+    public synchronized PuzzleStatus getStatus() {
+        discardOutdatedResults();
+        if (status == null) {
+            missesCount++;
+            status = puzzleAnalyser.getStatus();
+        } else {
+            hitsCount++;
+        }
+        return status;
+    }
+
+    @Override
+    public synchronized Set<Island> getUnfinishedIslands() {
+        discardOutdatedResults();
+        if (unfinishedIslands == null) {
+            missesCount++;
+            unfinishedIslands = Collections.unmodifiableSet(puzzleAnalyser.getUnfinishedIslands());
+        } else {
+            hitsCount++;
+        }
+        return unfinishedIslands;
+    }
+
+    @Override
+    public Set<Island> getSafeBridgeDestinations(final Island island) {
+        Objects.requireNonNull(island, "Parameter 'island' must not be null.");
+
+        final Set<Island> destinations = getAllSafeBridgeDestinations().get(island);
+        if (destinations == null) {
+            // Let the other analyser report the unknown island
+            return puzzleAnalyser.getSafeBridgeDestinations(island);
+        }
+        return destinations;
+    }
+
+    @Override
+    public synchronized Map<Island, Set<Island>> getAllSafeBridgeDestinations() {
+        discardOutdatedResults();
+        if (safeBridgeDestinations == null) {
+            missesCount++;
+            final Map<Island, Set<Island>> destinations = new HashMap<>();
+            puzzleAnalyser.getAllSafeBridgeDestinations().forEach((island, islandDestinations) ->
+                    destinations.put(island, Collections.unmodifiableSet(islandDestinations)));
+            safeBridgeDestinations = Collections.unmodifiableMap(destinations);
+        } else {
+            hitsCount++;
+        }
+        return safeBridgeDestinations;
+    }
+
+    @Override
+    public Map<Island, Set<Island>> getSafeBridgeDestinations(final Collection<Island> islands) {
+        Objects.requireNonNull(islands, "Parameter 'islands' must not be null.");
+
+        synchronized (this) {
+            discardOutdatedResults();
+            if (safeBridgeDestinations != null) {
+                hitsCount++;
+                final Map<Island, Set<Island>> destinations = new HashMap<>();
+                for (final Island island : islands) {
+                    final Set<Island> islandDestinations = safeBridgeDestinations.get(Objects.requireNonNull(island,
+                            "Parameter 'islands' must not contain null."));
+                    if (islandDestinations == null) {
+                        // Let the other analyser report the unknown island
+                        return puzzleAnalyser.getSafeBridgeDestinations(islands);
+                    }
+                    destinations.put(island, islandDestinations);
+                }
+                return destinations;
+            }
+            missesCount++;
+        }
+        // Only the destinations of some islands are determined, so they are not cached
+        return puzzleAnalyser.getSafeBridgeDestinations(islands);
+    }
+
+    private void discardOutdatedResults() {
+        final long currentModificationCount = puzzle.getModificationCount();
+        if (currentModificationCount != modificationCount) {
+            modificationCount = currentModificationCount;
+            status = null;
+            unfinishedIslands = null;
+            safeBridgeDestinations = null;
+        }
+    }
+
+    /**
+     * Get the amount of queries, that have been answered from the cache.
+     * @return the amount of cache hits.
+     */
+    public synchronized long getHitsCount() {
+        return hitsCount;
+    }
+
+    /**
+     * Get the amount of queries, that had to be passed to the other analyser.
+     * @return the amount of cache misses.
+     */
+    public synchronized long getMissesCount() {
+        return missesCount;
+    }
+
+    @Override
+    public List<Position> getValidNeighbourPositions(final Island island, final Direction direction) {
+        return puzzleAnalyser.getValidNeighbourPositions(island, direction);
+    }
+
+    @Override
+    public boolean isAnyBridgeCrossing(final Position start, final Position end) {
+        return puzzleAnalyser.isAnyBridgeCrossing(start, end);
+    }
+
+    @Override
+    public boolean isEnoughSpaceToAddNeighbour(final Island island, final Direction direction) {
+        return puzzleAnalyser.isEnoughSpaceToAddNeighbour(island, direction);
+    }
+
+    @Override
+    public boolean isValidIslandPosition(final Position position) {
+        return puzzleAnalyser.isValidIslandPosition(position);
+    }
+
+    @Override
+    public boolean isValidIslandPosition(final long position) {
+        return puzzleAnalyser.isValidIslandPosition(position);
+    }
+
+    @Override
+    public boolean isValidMove(final Island island, final Direction direction) {
+        return puzzleAnalyser.isValidMove(island, direction);
+    }
+
+    @Override
+    public boolean isValidMove(final Island island1, final Island island2, final boolean doubleBridge) {
+        return puzzleAnalyser.isValidMove(island1, island2, doubleBridge);
+    }
+
+    @Override
+    public OptionalInt validateMoves(final List<MoveSpec> moves) {
+        return puzzleAnalyser.validateMoves(moves);
+    }
+
+    @Override
+    public List<MoveSpec> getAllValidMoves() {
+        return puzzleAnalyser.getAllValidMoves();
+    }
+}
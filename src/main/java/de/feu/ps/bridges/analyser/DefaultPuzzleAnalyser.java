@@ -4,8 +4,11 @@ import de.feu.ps.bridges.model.Direction;
 import de.feu.ps.bridges.model.Island;
 import de.feu.ps.bridges.model.Position;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.OptionalInt;
 import java.util.Set;
 
 /**
@@ -47,6 +50,16 @@ class DefaultPuzzleAnalyser implements PuzzleAnalyser {
         return moveAnalyser.getSafeBridgeDestinations(island);
     }
 
+    @Override
+    public Map<Island, Set<Island>> getAllSafeBridgeDestinations() {
+        return moveAnalyser.getAllSafeBridgeDestinations();
+    }
+
+    @Override
+    public Map<Island, Set<Island>> getSafeBridgeDestinations(final Collection<Island> islands) {
+        return moveAnalyser.getSafeBridgeDestinations(islands);
+    }
+
     @Override
     public boolean isAnyBridgeCrossing(final Position start, final Position end) {
         return moveAnalyser.isAnyBridgeCrossing(start, end);
@@ -62,6 +75,11 @@ class DefaultPuzzleAnalyser implements PuzzleAnalyser {
         return newIslandAnalyser.isValidIslandPosition(position);
     }
 
+    @Override
+    public boolean isValidIslandPosition(final long position) {
+        return newIslandAnalyser.isValidIslandPosition(position);
+    }
+
     @Override
     public boolean isValidMove(final Island island, final Direction direction) {
         return moveAnalyser.isValidMove(island, direction);
@@ -71,4 +89,14 @@ class DefaultPuzzleAnalyser implements PuzzleAnalyser {
     public boolean isValidMove(final Island island1, final Island island2, final boolean doubleBridge) {
         return moveAnalyser.isValidMove(island1, island2, doubleBridge);
     }
+
+    @Override
+    public OptionalInt validateMoves(final List<MoveSpec> moves) {
+        return moveAnalyser.validateMoves(moves);
+    }
+
+    @Override
+    public List<MoveSpec> getAllValidMoves() {
+        return moveAnalyser.getAllValidMoves();
+    }
 }
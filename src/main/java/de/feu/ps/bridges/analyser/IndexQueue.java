@@ -0,0 +1,84 @@
+package de.feu.ps.bridges.analyser;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+
+/**
+ * First in first out queue of <code>int</code> values, that is backed by a ring buffer.
+ *
+ * The analysers use it to hold the indices of the islands that still have to be visited by a traversal,
+ * see {@link IslandSet}.
+ * Adding and removing values does not create garbage, once the queue has grown to its maximum size.
+ *
+ * This class is not thread safe.
+ *
+ * @author Tim Gremplewski
+ */
+final class IndexQueue {
+
+    private int[] values;
+    private int head;
+    private int size;
+
+    /**
+     * Creates a new empty queue.
+     * @param capacity amount of values that can be added without growing the queue.
+     * @throws IllegalArgumentException if capacity is less than 1.
+     */
+    IndexQueue(final int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Parameter 'capacity' must not be less than 1.");
+        }
+        values = new int[capacity];
+    }
+
+    /**
+     * Add the given value to the tail of this queue.
+     * @param value value to add.
+     */
+    void add(final int value) {
+        if (size == values.length) {
+            grow();
+        }
+        values[(head + size) % values.length] = value;
+        size++;
+    }
+
+    private void grow() {
+        final int[] newValues = Arrays.copyOf(values, values.length * 2);
+        // Move the wrapped around part behind the values at the end of the old array
+        System.arraycopy(values, 0, newValues, values.length, head);
+        values = newValues;
+    }
+
+    /**
+     * Remove the value at the head of this queue.
+     * @return the removed value.
+     * @throws NoSuchElementException if this queue is empty.
+     */
+    int remove() {
+        if (size == 0) {
+            throw new NoSuchElementException("The queue is empty.");
+        }
+        final int value = values[head];
+        head = (head + 1) % values.length;
+        size--;
+        return value;
+    }
+
+    /**
+     * Indicates whether this queue is empty.
+     * @return <code>true</code> if this queue is empty, <code>false</code> otherwise.
+     */
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Remove all values from this queue.
+     */
+    void clear() {
+        head = 0;
+        size = 0;
+    }
+}
@@ -0,0 +1,123 @@
+package de.feu.ps.bridges.analyser;
+
+import de.feu.ps.bridges.model.Island;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * Set of the islands of a single puzzle, that is backed by a bit set.
+ *
+ * Every island is represented by the bit at its index, see {@link Island#getIndex()}.
+ * Besides the bits the set remembers the contained islands,
+ * so that traversals can pass around indices and look up the islands afterwards.
+ * Adding an island and checking whether an island is contained take constant time and do not create garbage,
+ * once the set has grown to the size of the puzzle.
+ *
+ * This class is not thread safe.
+ *
+ * @author Tim Gremplewski
+ */
+final class IslandSet {
+
+    private static final int ADDRESS_BITS = 6;
+
+    private long[] words;
+    private Island[] islands;
+    private int size;
+    private int highestIndex;
+
+    /**
+     * Creates a new empty set.
+     * @param capacity amount of islands that can be added without growing the set.
+     * @throws IllegalArgumentException if capacity is negative.
+     */
+    IslandSet(final int capacity) {
+        if (capacity < 0) {
+            throw new IllegalArgumentException("Parameter 'capacity' must not be less than 0.");
+        }
+        words = new long[wordIndex(capacity - 1) + 1];
+        islands = new Island[capacity];
+        highestIndex = -1;
+    }
+
+    private static int wordIndex(final int index) {
+        return index >> ADDRESS_BITS;
+    }
+
+    /**
+     * Add the given island to this set.
+     * @param island island to add.
+     * @return <code>true</code> if the island was added, <code>false</code> if it was already contained.
+     * @throws NullPointerException if island is null.
+     */
+    boolean add(final Island island) {
+        Objects.requireNonNull(island, "Parameter 'island' must not be null.");
+        final int index = island.getIndex();
+        ensureCapacity(index + 1);
+
+        final int wordIndex = wordIndex(index);
+        final long mask = 1L << index;
+        if ((words[wordIndex] & mask) != 0) {
+            return false;
+        }
+
+        words[wordIndex] |= mask;
+        islands[index] = island;
+        highestIndex = Math.max(highestIndex, index);
+        size++;
+        return true;
+    }
+
+    private void ensureCapacity(final int capacity) {
+        if (capacity > islands.length) {
+            final int newCapacity = Math.max(capacity, islands.length * 2);
+            islands = Arrays.copyOf(islands, newCapacity);
+            words = Arrays.copyOf(words, wordIndex(newCapacity - 1) + 1);
+        }
+    }
+
+    /**
+     * Indicates whether the given island is contained in this set.
+     * @param island island to check.
+     * @return <code>true</code> if the island is contained, <code>false</code> otherwise.
+     * @throws NullPointerException if island is null.
+     */
+    boolean contains(final Island island) {
+        Objects.requireNonNull(island, "Parameter 'island' must not be null.");
+        final int index = island.getIndex();
+        return index < islands.length && (words[wordIndex(index)] & 1L << index) != 0;
+    }
+
+    /**
+     * Get the contained island with the given index.
+     * @param index index of the island.
+     * @return the island with the given index or <code>null</code>, if no such island is contained.
+     */
+    Island get(final int index) {
+        return index >= 0 && index < islands.length ? islands[index] : null;
+    }
+
+    /**
+     * Get the amount of islands in this set.
+     * Since the islands of a puzzle have distinct indices,
+     * this set contains all islands of a puzzle if its size equals {@link de.feu.ps.bridges.model.Puzzle#getIslandsCount()}.
+     * @return the amount of islands in this set.
+     */
+    int size() {
+        return size;
+    }
+
+    /**
+     * Remove all islands from this set.
+     * Only the part of the set up to the highest added index is cleared.
+     */
+    void clear() {
+        if (highestIndex >= 0) {
+            Arrays.fill(words, 0, wordIndex(highestIndex) + 1, 0L);
+            Arrays.fill(islands, 0, highestIndex + 1, null);
+            highestIndex = -1;
+        }
+        size = 0;
+    }
+}
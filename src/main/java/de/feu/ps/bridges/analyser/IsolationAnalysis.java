@@ -0,0 +1,277 @@
+package de.feu.ps.bridges.analyser;
+
+import de.feu.ps.bridges.model.Direction;
+import de.feu.ps.bridges.model.Island;
+import de.feu.ps.bridges.model.PotentialBridgeGraph;
+import de.feu.ps.bridges.model.Puzzle;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * Analysis that tells for every possible bridge of a puzzle, whether building it would isolate some islands.
+ *
+ * The analysis works on the graph of the islands, whose edges are the existing bridges
+ * and the potential bridges between two unfinished islands that are not blocked by another bridge.
+ * Building a single bridge between two islands isolates some islands,
+ * if the graph is not connected any more after the potential bridges of finished islands have been removed.
+ * Only the potential bridges of the two bridged islands change,
+ * so the verdict can be derived from the components that remain, if one of these islands is removed from the graph.
+ * These components are found with a single depth first search, that detects the articulation points of the graph.
+ * Whether a potential bridge is blocked is looked up in the {@link PotentialBridgeGraph} of the puzzle.
+ *
+ * For the rare case that both bridged islands will need at most one more bridge afterwards
+ * and they share a component with existing and potential bridges,
+ * the verdict is determined by a traversal of the puzzle, see {@link MoveAnalyser#causesNoIsolation(Island, Island)}.
+ *
+ * An analysis reflects the puzzle at the time it was created.
+ *
+ * @author Tim Gremplewski
+ */
+final class IsolationAnalysis {
+
+    private static final int DIRECTIONS = 4;
+    private static final Direction[] DIRECTION_VALUES = Direction.values();
+    private static final int NO_ISLAND = -1;
+    private static final byte NO_EDGE = 0;
+    private static final byte POTENTIAL_EDGE = 1;
+    private static final byte BRIDGED_EDGE = 2;
+
+    /**
+     * Component of an island without a neighbour, that lies outside of the subtree of the island.
+     */
+    private static final int OUTER_COMPONENT = -1;
+
+    private final MoveAnalyser moveAnalyser;
+    private final Island[] islands;
+    private final int[] neighbours;
+    private final byte[] edges;
+    private final int[] components;
+    private final boolean connected;
+
+    /**
+     * Analyse the given puzzle.
+     * @param puzzle the puzzle to analyse.
+     * @param moveAnalyser analyser to determine the potential bridges with.
+     * @throws NullPointerException if puzzle or moveAnalyser is null.
+     */
+    IsolationAnalysis(final Puzzle puzzle, final MoveAnalyser moveAnalyser) {
+        Objects.requireNonNull(puzzle, "Parameter 'puzzle' must not be null.");
+        this.moveAnalyser = Objects.requireNonNull(moveAnalyser, "Parameter 'moveAnalyser' must not be null.");
+
+        islands = new Island[puzzle.getIslandsCount()];
+        puzzle.forEachIsland(island -> islands[island.getIndex()] = island);
+
+        neighbours = new int[islands.length * DIRECTIONS];
+        edges = new byte[islands.length * DIRECTIONS];
+        components = new int[islands.length * DIRECTIONS];
+        findEdges(puzzle);
+        connected = findComponents();
+    }
+
+    private void findEdges(final Puzzle puzzle) {
+        final PotentialBridgeGraph graph = moveAnalyser.getPotentialBridgeGraph();
+        final long[] builtBridges = graph.createBridgeSet();
+        graph.findBuiltBridges(puzzle, builtBridges);
+
+        for (final Island island : islands) {
+            for (final Direction direction : DIRECTION_VALUES) {
+                final int slot = island.getIndex() * DIRECTIONS + direction.ordinal();
+                final int bridge = graph.getBridge(island.getIndex(), direction);
+
+                if (bridge == PotentialBridgeGraph.NO_BRIDGE) {
+                    neighbours[slot] = NO_ISLAND;
+                } else {
+                    neighbours[slot] = graph.getOtherIsland(bridge, island.getIndex());
+                    if (island.isBridgedToNeighbour(direction)) {
+                        edges[slot] = BRIDGED_EDGE;
+                    } else if (island.getRemainingBridges() > 0
+                            && islands[neighbours[slot]].getRemainingBridges() > 0
+                            && !graph.isCrossingAny(bridge, builtBridges)) {
+                        edges[slot] = POTENTIAL_EDGE;
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Run an iterative depth first search and label every edge with the component of the neighbour,
+     * that remains when the island is removed from the graph.
+     * @return <code>true</code> if the graph is connected, <code>false</code> otherwise.
+     */
+    private boolean findComponents() {
+        if (islands.length == 0) {
+            return true;
+        }
+
+        final int[] discovered = new int[islands.length];
+        final int[] low = new int[islands.length];
+        final int[] finished = new int[islands.length];
+        final int[] parents = new int[islands.length];
+        final int[] nextDirections = new int[islands.length];
+        final int[] stack = new int[islands.length];
+        Arrays.fill(discovered, -1);
+
+        int time = 0;
+        int stackSize = 0;
+        discovered[0] = low[0] = time++;
+        parents[0] = NO_ISLAND;
+        stack[stackSize++] = 0;
+
+        while (stackSize > 0) {
+            final int island = stack[stackSize - 1];
+            if (nextDirections[island] < DIRECTIONS) {
+                final int slot = island * DIRECTIONS + nextDirections[island]++;
+                final int neighbour = neighbours[slot];
+
+                if (edges[slot] == NO_EDGE) {
+                    continue;
+                }
+
+                if (discovered[neighbour] < 0) {
+                    discovered[neighbour] = low[neighbour] = time++;
+                    parents[neighbour] = island;
+                    stack[stackSize++] = neighbour;
+                } else if (neighbour != parents[island]) {
+                    low[island] = Math.min(low[island], discovered[neighbour]);
+                }
+            } else {
+                stackSize--;
+                finished[island] = time;
+                if (parents[island] != NO_ISLAND) {
+                    low[parents[island]] = Math.min(low[parents[island]], low[island]);
+                }
+            }
+        }
+
+        if (time < islands.length) {
+            return false;
+        }
+
+        for (int island = 0; island < islands.length; island++) {
+            for (int direction = 0; direction < DIRECTIONS; direction++) {
+                final int slot = island * DIRECTIONS + direction;
+                if (edges[slot] != NO_EDGE) {
+                    components[slot] = findComponent(island, neighbours[slot], discovered, low, finished, parents);
+                }
+            }
+        }
+        return true;
+    }
+
+    private int findComponent(final int island, final int neighbour,
+                              final int[] discovered, final int[] low, final int[] finished, final int[] parents) {
+        if (discovered[neighbour] < discovered[island]) {
+            // Every neighbour is either an ancestor or a descendant in the search tree
+            return OUTER_COMPONENT;
+        }
+
+        for (int direction = 0; direction < DIRECTIONS; direction++) {
+            final int child = neighbours[island * DIRECTIONS + direction];
+            if (child != NO_ISLAND && parents[child] == island
+                    && discovered[child] <= discovered[neighbour] && discovered[neighbour] < finished[child]) {
+                // The subtree of the child only stays connected to the rest, if it has an edge above the island
+                return low[child] >= discovered[island] ? child : OUTER_COMPONENT;
+            }
+        }
+        throw new IllegalStateException("Neighbour is not part of the search tree.");
+    }
+
+    /**
+     * Indicates whether building a single bridge between the given neighbours leaves all islands reachable.
+     * Returns the same result as {@link MoveAnalyser#causesNoIsolation(Island, Island)}.
+     * @param island1 island to start the bridge at.
+     * @param island2 island to stop the bridge at.
+     * @return <code>true</code> if no island would be isolated, <code>false</code> otherwise.
+     */
+    boolean causesNoIsolation(final Island island1, final Island island2) {
+        final int id1 = island1.getIndex();
+        final int id2 = island2.getIndex();
+        final int slot1 = findSlot(id1, id2);
+        final int slot2 = findSlot(id2, id1);
+
+        if (slot1 < 0 || edges[slot1] == NO_EDGE) {
+            // The new bridge is not part of the graph, so it might connect two of its components
+            return moveAnalyser.causesNoIsolation(island1, island2);
+        }
+
+        if (!connected) {
+            return false;
+        }
+
+        // An island, that needs more than one more bridge, keeps its potential bridges after the new bridge is built
+        final boolean keepsPotentialBridges1 = island1.getRemainingBridges() > 1;
+        final boolean keepsPotentialBridges2 = island2.getRemainingBridges() > 1;
+
+        if (keepsPotentialBridges1 && keepsPotentialBridges2) {
+            return true;
+        } else if (keepsPotentialBridges2) {
+            return allOtherComponentsBridged(id1, slot1);
+        } else if (keepsPotentialBridges1) {
+            return allOtherComponentsBridged(id2, slot2);
+        }
+
+        if (!allOtherComponentsBridged(id1, slot1) || !allOtherComponentsBridged(id2, slot2)) {
+            return false;
+        }
+
+        // The component of island2 without island1 and the component of island1 without island2 overlap.
+        // Every part of the overlap needs an existing bridge to one of the islands.
+        final int sharedEdges = countSharedEdges(id1, slot1, POTENTIAL_EDGE) + countSharedEdges(id2, slot2, POTENTIAL_EDGE);
+        if (sharedEdges == 0) {
+            return true;
+        }
+
+        final int sharedBridges = countSharedEdges(id1, slot1, BRIDGED_EDGE) + countSharedEdges(id2, slot2, BRIDGED_EDGE);
+        if (sharedBridges == 0) {
+            return false;
+        }
+        return moveAnalyser.causesNoIsolation(island1, island2);
+    }
+
+    private int findSlot(final int island, final int neighbour) {
+        for (int direction = 0; direction < DIRECTIONS; direction++) {
+            if (neighbours[island * DIRECTIONS + direction] == neighbour) {
+                return island * DIRECTIONS + direction;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Indicates whether every component, that remains when the given island is removed,
+     * apart from the component of the new bridge, is connected to the island by an existing bridge.
+     */
+    private boolean allOtherComponentsBridged(final int island, final int newBridgeSlot) {
+        for (int direction = 0; direction < DIRECTIONS; direction++) {
+            final int slot = island * DIRECTIONS + direction;
+            if (edges[slot] == POTENTIAL_EDGE && components[slot] != components[newBridgeSlot]
+                    && !isComponentBridged(island, components[slot])) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private boolean isComponentBridged(final int island, final int component) {
+        for (int direction = 0; direction < DIRECTIONS; direction++) {
+            final int slot = island * DIRECTIONS + direction;
+            if (edges[slot] == BRIDGED_EDGE && components[slot] == component) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private int countSharedEdges(final int island, final int newBridgeSlot, final byte edgeType) {
+        int count = 0;
+        for (int direction = 0; direction < DIRECTIONS; direction++) {
+            final int slot = island * DIRECTIONS + direction;
+            if (slot != newBridgeSlot && edges[slot] == edgeType && components[slot] == components[newBridgeSlot]) {
+                count++;
+            }
+        }
+        return count;
+    }
+}
@@ -2,10 +2,7 @@ package de.feu.ps.bridges.analyser;
 
 import de.feu.ps.bridges.model.*;
 
-import java.awt.geom.Line2D;
-import java.awt.geom.Point2D;
 import java.util.*;
-import java.util.stream.Collectors;
 
 /**
  * @author Tim Gremplewski
@@ -13,9 +10,14 @@ import java.util.stream.Collectors;
 class MoveAnalyser {
 
     private final Puzzle puzzle;
+    private final ThreadLocal<IslandSet> visitedIslands;
+    private final ThreadLocal<IndexQueue> islandsToVisit;
+    private volatile LayoutVersionedGraph potentialBridgeGraph;
 
     MoveAnalyser(final Puzzle puzzle) {
         this.puzzle = Objects.requireNonNull(puzzle, "Parameter 'puzzle' must not be null.");
+        visitedIslands = ThreadLocal.withInitial(() -> new IslandSet(puzzle.getIslandsCount()));
+        islandsToVisit = ThreadLocal.withInitial(() -> new IndexQueue(Math.max(1, puzzle.getIslandsCount())));
     }
 
     boolean isValidMove(final Island island, final Direction direction) {
@@ -32,133 +34,265 @@ class MoveAnalyser {
 
         // Do not use getSafeBridgeDestinations, because a move that causes isolation can still be valid (but not safe)
         return islandCanTakeBridge(island1, doubleBridge)
-                && getReachableUnfinishedNeighbours(island1, doubleBridge)
-                    .contains(island2);
+                && island1.anyNeighbourMatches(neighbour -> neighbour == island2)
+                && isReachableUnfinishedNeighbour(island1, island2, doubleBridge);
+    }
+
+    /**
+     * Validate the given moves as if they were applied one after another, without changing the puzzle.
+     * @param moves the moves to validate.
+     * @return index of the first invalid move or an empty {@link OptionalInt}, if all moves are valid.
+     */
+    OptionalInt validateMoves(final List<MoveSpec> moves) {
+        Objects.requireNonNull(moves, "Parameter 'moves' must not be null.");
+
+        final MoveValidation moveValidation = new MoveValidation(puzzle, getPotentialBridgeGraph(moves));
+        for (int index = 0; index < moves.size(); index++) {
+            final MoveSpec move = Objects.requireNonNull(moves.get(index), "Parameter 'moves' must not contain null.");
+            if (!moveValidation.isValid(move)) {
+                return OptionalInt.of(index);
+            }
+            moveValidation.apply(move);
+        }
+        return OptionalInt.empty();
+    }
+
+    List<MoveSpec> getAllValidMoves() {
+        return new MoveValidation(puzzle, getPotentialBridgeGraph()).getValidMoves();
     }
 
     private boolean islandCanTakeBridge(Island island, boolean doubleBridge) {
         return island.getRemainingBridges() >= (doubleBridge ? 2 : 1);
     }
 
-    private Set<Island> getReachableUnfinishedNeighbours(final Island island, final boolean doubleBridge) {
-        return island
-                .getNeighbours().stream()
-                .filter(island1 -> islandCanTakeBridge(island1, doubleBridge))
-                .filter(neighbour -> {
-                    Optional<Bridge> optionalBridge = island.getBridgeTo(neighbour);
-                    return !optionalBridge.isPresent() || !optionalBridge.get().isDoubleBridge();
-                })
-                .filter(neighbour -> noIntersectingBridge(island, neighbour))
-                .collect(Collectors.toSet());
-    }
+    boolean isReachableUnfinishedNeighbour(final Island island, final Island neighbour, final boolean doubleBridge) {
+        if (!islandCanTakeBridge(neighbour, doubleBridge)) {
+            return false;
+        }
 
-    private boolean noIntersectingBridge(Island island1, Island island2) {
-        return !isAnyBridgeCrossing(island1.getPosition(), island2.getPosition());
+        final Optional<Bridge> optionalBridge = island.getBridgeTo(neighbour);
+        if (optionalBridge.isPresent()) {
+            // No other bridge can cross an existing bridge
+            return !optionalBridge.get().isDoubleBridge();
+        }
+        return !puzzle.isAnyFieldOccupiedByBridge(island.getPosition(), neighbour.getPosition());
     }
 
     Set<Island> getUnfinishedIslands() {
-        return puzzle.getIslands().stream()
-                .filter(island -> islandCanTakeBridge(island, false))
-                .collect(Collectors.toSet());
+        final Set<Island> unfinishedIslands = new HashSet<>();
+        puzzle.forEachIsland(island -> {
+            if (islandCanTakeBridge(island, false)) {
+                unfinishedIslands.add(island);
+            }
+        });
+        return unfinishedIslands;
+    }
+
+    boolean hasUnfinishedIslands() {
+        return puzzle.anyIslandMatches(island -> islandCanTakeBridge(island, false));
     }
 
     Set<Island> getSafeBridgeDestinations(final Island island) {
+        validateIsland(island);
+        return getSafeBridgeDestinations(island, analyseIsolation());
+    }
+
+    private Set<Island> getSafeBridgeDestinations(final Island island, final IsolationAnalysis isolationAnalysis) {
+        final Set<Island> safeBridgeDestinations = new HashSet<>();
+        island.forEachNeighbour(neighbour -> {
+            if (isSafeBridgeDestination(island, neighbour, isolationAnalysis)) {
+                safeBridgeDestinations.add(neighbour);
+            }
+        });
+        return safeBridgeDestinations;
+    }
+
+    Map<Island, Set<Island>> getAllSafeBridgeDestinations() {
+        final IsolationAnalysis isolationAnalysis = analyseIsolation();
+        final Map<Island, Set<Island>> safeBridgeDestinations = new HashMap<>();
+        puzzle.forEachIsland(island ->
+                safeBridgeDestinations.put(island, getSafeBridgeDestinations(island, isolationAnalysis)));
+        return safeBridgeDestinations;
+    }
+
+    Map<Island, Set<Island>> getSafeBridgeDestinations(final Collection<Island> islands) {
+        Objects.requireNonNull(islands, "Parameter 'islands' must not be null.");
+        for (final Island island : islands) {
+            validateIsland(Objects.requireNonNull(island, "Parameter 'islands' must not contain null."));
+        }
+
+        final IsolationAnalysis isolationAnalysis = analyseIsolation();
+        final Map<Island, Set<Island>> safeBridgeDestinations = new HashMap<>();
+        islands.forEach(island -> safeBridgeDestinations.put(island, getSafeBridgeDestinations(island, isolationAnalysis)));
+        return safeBridgeDestinations;
+    }
+
+    boolean hasSafeBridgeDestination(final Island island, final IsolationAnalysis isolationAnalysis) {
+        validateIsland(island);
+        return island.anyNeighbourMatches(neighbour -> isSafeBridgeDestination(island, neighbour, isolationAnalysis));
+    }
+
+    /**
+     * Analyse for every possible bridge of the puzzle, whether it would isolate some islands.
+     * @return the analysis of the current state of the puzzle.
+     */
+    IsolationAnalysis analyseIsolation() {
+        return new IsolationAnalysis(puzzle, this);
+    }
+
+    /**
+     * Get the table of the potential bridges of the puzzle.
+     * The table is created again, if the islands have changed since it was created,
+     * which is told by the layout version of the puzzle.
+     * @return the table of the potential bridges of the puzzle.
+     */
+    PotentialBridgeGraph getPotentialBridgeGraph() {
+        final long layoutVersion = puzzle.getLayoutVersion();
+        LayoutVersionedGraph graph = potentialBridgeGraph;
+        if (graph == null || graph.layoutVersion != layoutVersion) {
+            graph = new LayoutVersionedGraph(PotentialBridgeGraph.createFor(puzzle), layoutVersion);
+            potentialBridgeGraph = graph;
+        }
+        return graph.graph;
+    }
+
+    /**
+     * Get a table of the potential bridges, that contains at least the bridges of the given moves and the built bridges.
+     * Only these bridges can cross a bridge of the moves, so unless the table of all potential bridges is at hand,
+     * a table of just these bridges is created.
+     * @param moves the moves to get the table for.
+     * @return a table containing the potential bridges of the moves and the built bridges.
+     */
+    private PotentialBridgeGraph getPotentialBridgeGraph(final List<MoveSpec> moves) {
+        final LayoutVersionedGraph graph = potentialBridgeGraph;
+        if (graph != null && graph.layoutVersion == puzzle.getLayoutVersion()) {
+            return graph.graph;
+        }
+
+        final Set<Long> movedIslands = new HashSet<>();
+        for (final MoveSpec move : moves) {
+            Objects.requireNonNull(move, "Parameter 'moves' must not contain null.");
+            movedIslands.add(getIslandsKey(move.getIsland1(), move.getIsland2()));
+        }
+        return PotentialBridgeGraph.createFor(puzzle, (island1, island2) ->
+                movedIslands.contains(getIslandsKey(island1, island2)) || island1.getBridgeTo(island2).isPresent());
+    }
+
+    private static long getIslandsKey(final Island island1, final Island island2) {
+        final int index1 = Math.min(island1.getIndex(), island2.getIndex());
+        final int index2 = Math.max(island1.getIndex(), island2.getIndex());
+        return (long) index1 << Integer.SIZE | index2;
+    }
+
+    private void validateIsland(final Island island) {
         Objects.requireNonNull(island, "Parameter 'island' must not be null.");
 
-        if (!puzzle.getIslands().contains(island)) {
+        if (!puzzle.containsIsland(island)) {
             throw new IllegalStateException("Given island does not belong to the puzzle.");
         }
+    }
 
-        final Set<Island> reachableUnfinishedNeighbours = getReachableUnfinishedNeighbours(island, false);
-        return reachableUnfinishedNeighbours.stream()
-                .filter(island1 -> causesNoIsolation(island, island1))
-                .collect(Collectors.toSet());
+    private boolean isSafeBridgeDestination(final Island island, final Island neighbour,
+                                            final IsolationAnalysis isolationAnalysis) {
+        return isReachableUnfinishedNeighbour(island, neighbour, false)
+                && isolationAnalysis.causesNoIsolation(island, neighbour);
     }
 
-    private boolean causesNoIsolation(Island island1, Island island2) {
-        Set<Island> visitedIslands = new HashSet<>();
-        Queue<Island> islandsToVisit = new LinkedList<>();
+    boolean causesNoIsolation(Island island1, Island island2) {
+        // The traversal state is reused, so that checking a move does not create garbage
+        final IslandSet visitedIslands = this.visitedIslands.get();
+        final IndexQueue islandsToVisit = this.islandsToVisit.get();
+        visitedIslands.clear();
+        islandsToVisit.clear();
+
+        visitedIslands.add(island1);
+        visitedIslands.add(island2);
 
         if (island1.getRemainingBridges() > 1) {
             // If remainingBridges == 1, island1 will only be able to reach island2
-            Set<Island> reachable = getReachableUnfinishedNeighbours(island1, false);
-            islandsToVisit.addAll(reachable);
+            enqueueReachableUnfinishedNeighbours(island1, visitedIslands, islandsToVisit);
         }
-
-        islandsToVisit.addAll(island1.getBridgedNeighbours());
-        visitedIslands.add(island1);
+        enqueueBridgedNeighbours(island1, visitedIslands, islandsToVisit);
 
         if (island2.getRemainingBridges() > 1) {
             // If remainingBridges == 1, island2 will only be able to reach island1
-            Set<Island> reachable = getReachableUnfinishedNeighbours(island2, false);
-            islandsToVisit.addAll(reachable);
+            enqueueReachableUnfinishedNeighbours(island2, visitedIslands, islandsToVisit);
         }
-
-        islandsToVisit.addAll(island2.getBridgedNeighbours());
-        visitedIslands.add(island2);
+        enqueueBridgedNeighbours(island2, visitedIslands, islandsToVisit);
 
         while (!islandsToVisit.isEmpty()) {
-            Island island = islandsToVisit.remove();
-            if (!visitedIslands.contains(island)) {
-                if (island.getRemainingBridges() > 0) {
-                    islandsToVisit.addAll(getReachableUnfinishedNeighbours(island, false));
-                }
-                islandsToVisit.addAll(island.getBridgedNeighbours());
-                visitedIslands.add(island);
+            final Island island = visitedIslands.get(islandsToVisit.remove());
+            if (island.getRemainingBridges() > 0) {
+                enqueueReachableUnfinishedNeighbours(island, visitedIslands, islandsToVisit);
             }
+            enqueueBridgedNeighbours(island, visitedIslands, islandsToVisit);
         }
 
-        return visitedIslands.containsAll(puzzle.getIslands());
+        // Only islands of the puzzle can be visited, so comparing the sizes is sufficient
+        final boolean allIslandsVisited = visitedIslands.size() == puzzle.getIslandsCount();
+        visitedIslands.clear();
+        return allIslandsVisited;
+    }
+
+    private void enqueueReachableUnfinishedNeighbours(final Island island, final IslandSet visitedIslands,
+                                                      final IndexQueue islandsToVisit) {
+        island.forEachNeighbour(neighbour -> {
+            if (!visitedIslands.contains(neighbour) && isReachableUnfinishedNeighbour(island, neighbour, false)) {
+                visitedIslands.add(neighbour);
+                islandsToVisit.add(neighbour.getIndex());
+            }
+        });
+    }
+
+    private static void enqueueBridgedNeighbours(final Island island, final IslandSet visitedIslands,
+                                                 final IndexQueue islandsToVisit) {
+        island.forEachBridgedNeighbour(neighbour -> {
+            if (visitedIslands.add(neighbour)) {
+                islandsToVisit.add(neighbour.getIndex());
+            }
+        });
     }
 
     boolean isAnyBridgeCrossing(final Position start, final Position end) {
         Objects.requireNonNull(start, "Parameter 'start' must not be null.");
         Objects.requireNonNull(end, "Parameter 'end' must not be null.");
 
-        final Point2D newBridgeStart = new Point2D.Double(start.getColumn(), start.getRow());
-        final Point2D newBridgeEnd = new Point2D.Double(end.getColumn(), end.getRow());
-
-        final Line2D newBridge = new Line2D.Double(newBridgeStart, newBridgeEnd);
-
-        return puzzle.getBridges().stream().anyMatch(bridge -> {
-            Position bridgeStart = bridge.getIsland1().getPosition();
-            Position bridgeEnd = bridge.getIsland2().getPosition();
+        final Optional<Bridge> existingBridge = findBridge(start, end);
+        if (existingBridge.isPresent()) {
+            // Adding a double bridge is allowed, but not a triple bridge
+            return existingBridge.get().isDoubleBridge();
+        }
 
-            Point2D.Double existingBridgeStart = new Point2D.Double(bridgeStart.getColumn(), bridgeStart.getRow());
-            Point2D.Double existingBridgeEnd = new Point2D.Double(bridgeEnd.getColumn(), bridgeEnd.getRow());
+        return puzzle.isAnyFieldOccupiedByBridge(start, end);
+    }
 
-            Line2D existingBridge = new Line2D.Double(existingBridgeStart, existingBridgeEnd);
+    private Optional<Bridge> findBridge(final Position start, final Position end) {
+        if (isInsidePuzzle(start) && isInsidePuzzle(end)) {
+            final Optional<Island> island1 = puzzle.getIslandAt(start);
+            final Optional<Island> island2 = puzzle.getIslandAt(end);
 
-            if (existingBridge.intersectsLine(newBridge)) {
-                // Adding a double bridge is allowed, but not a triple bridge
-                if (bridgeStart.equals(start) && bridgeEnd.equals(end)
-                        || bridgeStart.equals(end) && bridgeEnd.equals(start)) {
+            if (island1.isPresent() && island2.isPresent()) {
+                return island1.get().getBridgeTo(island2.get());
+            }
+        }
+        return Optional.empty();
+    }
 
-                    return bridge.isDoubleBridge();
-                }
+    private boolean isInsidePuzzle(final Position position) {
+        return position.getColumn() < puzzle.getColumnsCount() && position.getRow() < puzzle.getRowsCount();
+    }
 
-                // It is allowed that the two bridges connect a common island to different other islands.
-                // This is the case, if they intersect in exactly one point, that must be the start or the end of the other bridge.
+    /**
+     * Table of the potential bridges together with the layout version of the puzzle it was created for.
+     */
+    private static final class LayoutVersionedGraph {
 
-                if (bridgeStart.equals(start)) {
-                    return intersectsPoint(existingBridge, newBridgeEnd) || intersectsPoint(newBridge, existingBridgeEnd);
-                } else if (bridgeStart.equals(end)) {
-                    return intersectsPoint(existingBridge, newBridgeStart) || intersectsPoint(newBridge, existingBridgeEnd);
-                } else if (bridgeEnd.equals(start)) {
-                    return intersectsPoint(existingBridge, newBridgeEnd) || intersectsPoint(newBridge, existingBridgeStart);
-                } else if (bridgeEnd.equals(end)) {
-                    return intersectsPoint(existingBridge, newBridgeStart) || intersectsPoint(newBridge, existingBridgeStart);
-                } else {
-                    return true;
-                }
-            } else {
-                return false;
-            }
-        });
-    }
+        private final PotentialBridgeGraph graph;
+        private final long layoutVersion;
 
-    private boolean intersectsPoint(Line2D line, Point2D point) {
-        // A line does not have an area. Therefore contains always returns false and we have to do this workaround
-        return line.intersectsLine(point.getX(), point.getY(), point.getX(), point.getY());
+        private LayoutVersionedGraph(final PotentialBridgeGraph graph, final long layoutVersion) {
+            this.graph = graph;
+            this.layoutVersion = layoutVersion;
+        }
     }
 }
@@ -0,0 +1,80 @@
+package de.feu.ps.bridges.analyser;
+
+import de.feu.ps.bridges.model.Island;
+
+import java.util.Objects;
+
+/**
+ * Describes a move, that builds a single or a double bridge between two islands.
+ * A move spec is only a description, it cannot be applied to a puzzle.
+ *
+ * @author Tim Gremplewski
+ */
+public final class MoveSpec {
+
+    private final Island island1;
+    private final Island island2;
+    private final boolean doubleBridge;
+
+    private MoveSpec(final Island island1, final Island island2, final boolean doubleBridge) {
+        this.island1 = Objects.requireNonNull(island1, "Parameter 'island1' must not be null.");
+        this.island2 = Objects.requireNonNull(island2, "Parameter 'island2' must not be null.");
+        this.doubleBridge = doubleBridge;
+    }
+
+    /**
+     * Create a new instance.
+     * @param island1 Island to start the bridge at.
+     * @param island2 Island to stop the bridge at.
+     * @param doubleBridge <code>true</code> if a double bridge should be built, <code>false</code> otherwise.
+     * @return a new instance.
+     * @throws NullPointerException if island1 or island2 is null.
+     */
+    public static MoveSpec create(final Island island1, final Island island2, final boolean doubleBridge) {
+        return new MoveSpec(island1, island2, doubleBridge);
+    }
+
+    /**
+     * Get the island to start the bridge at.
+     * @return the island to start the bridge at.
+     */
+    public Island getIsland1() {
+        return island1;
+    }
+
+    /**
+     * Get the island to stop the bridge at.
+     * @return the island to stop the bridge at.
+     */
+    public Island getIsland2() {
+        return island2;
+    }
+
+    /**
+     * Indicates whether a double bridge should be built.
+     * @return <code>true</code> if a double bridge should be built, <code>false</code> otherwise.
+     */
+    public boolean isDoubleBridge() {
+        return doubleBridge;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof MoveSpec)) return false;
+
+        MoveSpec moveSpec = (MoveSpec) o;
+
+        if (doubleBridge != moveSpec.doubleBridge) return false;
+        if (!island1.equals(moveSpec.island1)) return false;
+        return island2.equals(moveSpec.island2);
+    }
+
+    @Override
+    public int hashCode() {
+        int result = island1.hashCode();
+        result = 31 * result + island2.hashCode();
+        result = 31 * result + (doubleBridge ? 1 : 0);
+        return result;
+    }
+}
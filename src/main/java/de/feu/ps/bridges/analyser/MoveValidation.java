@@ -0,0 +1,140 @@
+package de.feu.ps.bridges.analyser;
+
+import de.feu.ps.bridges.model.Bridge;
+import de.feu.ps.bridges.model.Direction;
+import de.feu.ps.bridges.model.Island;
+import de.feu.ps.bridges.model.PotentialBridgeGraph;
+import de.feu.ps.bridges.model.Puzzle;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * Validates many moves of a puzzle against a shared copy of the state of its bridges.
+ *
+ * The copy holds the remaining bridges of every island, the multiplicity of every potential bridge
+ * and the set of built bridges, see {@link PotentialBridgeGraph}.
+ * It is created once, so every further move is validated in constant time apart from the crossing check,
+ * which looks up the crossing bridges in the set of built bridges.
+ * The table of potential bridges may be restricted to the bridges of the moves to validate and the built bridges,
+ * moves between islands without a potential bridge in the table are invalid.
+ * Moves can be applied to the copy, so a sequence of moves can be validated without changing the puzzle.
+ *
+ * A move is valid under the same conditions as checked by {@link MoveAnalyser#isValidMove(Island, Island, boolean)}.
+ * In addition, a move must not lead to more than two bridges between its islands.
+ *
+ * @author Tim Gremplewski
+ */
+final class MoveValidation {
+
+    private static final Direction[] DIRECTION_VALUES = Direction.values();
+
+    private final PotentialBridgeGraph graph;
+    private final Island[] islands;
+    private final int[] remainingBridges;
+    private final byte[] multiplicities;
+    private final long[] builtBridges;
+
+    /**
+     * Copy the state of the bridges of the given puzzle.
+     * @param puzzle the puzzle whose moves should be validated.
+     * @param graph the potential bridges of the puzzle.
+     * @throws NullPointerException if puzzle or graph is null.
+     */
+    MoveValidation(final Puzzle puzzle, final PotentialBridgeGraph graph) {
+        Objects.requireNonNull(puzzle, "Parameter 'puzzle' must not be null.");
+        this.graph = Objects.requireNonNull(graph, "Parameter 'graph' must not be null.");
+
+        islands = new Island[puzzle.getIslandsCount()];
+        remainingBridges = new int[islands.length];
+        puzzle.forEachIsland(island -> {
+            islands[island.getIndex()] = island;
+            remainingBridges[island.getIndex()] = island.getRemainingBridges();
+        });
+
+        multiplicities = new byte[graph.getBridgesCount()];
+        for (int bridge = 0; bridge < multiplicities.length; bridge++) {
+            final Optional<Bridge> existingBridge =
+                    islands[graph.getIsland1(bridge)].getBridgeTo(islands[graph.getIsland2(bridge)]);
+            if (existingBridge.isPresent()) {
+                multiplicities[bridge] = (byte) (existingBridge.get().isDoubleBridge() ? 2 : 1);
+            }
+        }
+
+        builtBridges = graph.createBridgeSet();
+        graph.findBuiltBridges(puzzle, builtBridges);
+    }
+
+    /**
+     * Find the potential bridge between the given islands.
+     * @return id of the potential bridge or {@link PotentialBridgeGraph#NO_BRIDGE},
+     *  if the islands are no neighbours of this puzzle.
+     */
+    private int findBridge(final Island island1, final Island island2) {
+        final int index1 = island1.getIndex();
+        if (index1 >= islands.length || islands[index1] != island1) {
+            return PotentialBridgeGraph.NO_BRIDGE;
+        }
+
+        for (final Direction direction : DIRECTION_VALUES) {
+            final int bridge = graph.getBridge(index1, direction);
+            if (bridge != PotentialBridgeGraph.NO_BRIDGE && islands[graph.getOtherIsland(bridge, index1)] == island2) {
+                return bridge;
+            }
+        }
+        return PotentialBridgeGraph.NO_BRIDGE;
+    }
+
+    /**
+     * Indicates whether the given move is valid for the current state of the copy.
+     * @param move the move to validate.
+     * @return <code>true</code> if the move is valid, <code>false</code> otherwise.
+     */
+    boolean isValid(final MoveSpec move) {
+        final int bridge = findBridge(move.getIsland1(), move.getIsland2());
+        return bridge != PotentialBridgeGraph.NO_BRIDGE && isValid(bridge, move.isDoubleBridge() ? 2 : 1);
+    }
+
+    private boolean isValid(final int bridge, final int bridgesToAdd) {
+        if (remainingBridges[graph.getIsland1(bridge)] < bridgesToAdd
+                || remainingBridges[graph.getIsland2(bridge)] < bridgesToAdd
+                || multiplicities[bridge] + bridgesToAdd > 2) {
+            return false;
+        }
+        // No other bridge can cross an existing bridge
+        return multiplicities[bridge] > 0 || !graph.isCrossingAny(bridge, builtBridges);
+    }
+
+    /**
+     * Apply the given move to the copy. The puzzle itself is not changed.
+     * @param move a valid move.
+     */
+    void apply(final MoveSpec move) {
+        final int bridge = findBridge(move.getIsland1(), move.getIsland2());
+        final int bridgesToAdd = move.isDoubleBridge() ? 2 : 1;
+        multiplicities[bridge] += bridgesToAdd;
+        remainingBridges[graph.getIsland1(bridge)] -= bridgesToAdd;
+        remainingBridges[graph.getIsland2(bridge)] -= bridgesToAdd;
+        graph.addBridge(builtBridges, bridge);
+    }
+
+    /**
+     * Get all moves, that are valid for the current state of the copy.
+     * Every move starts at the western or northern island.
+     * @return all valid moves.
+     */
+    List<MoveSpec> getValidMoves() {
+        final List<MoveSpec> validMoves = new ArrayList<>();
+        for (int bridge = 0; bridge < multiplicities.length; bridge++) {
+            for (int bridgesToAdd = 1; bridgesToAdd <= 2; bridgesToAdd++) {
+                if (isValid(bridge, bridgesToAdd)) {
+                    validMoves.add(MoveSpec.create(islands[graph.getIsland1(bridge)],
+                            islands[graph.getIsland2(bridge)], bridgesToAdd == 2));
+                }
+            }
+        }
+        return validMoves;
+    }
+}
@@ -27,27 +27,20 @@ class NewIslandAnalyser {
 
     boolean isValidIslandPosition(final Position position) {
         Objects.requireNonNull(position, "Parameter 'position' must not be null.");
-        return isInsidePuzzle(position) && !adjacentIslandAt(position);
+        return isValidIslandPosition(position.getColumn(), position.getRow());
     }
 
-    private boolean isInsidePuzzle(final Position position) {
-        return position.getColumn() < puzzle.getColumnsCount()
-                && position.getRow() < puzzle.getRowsCount();
+    boolean isValidIslandPosition(final long packedPosition) {
+        return isValidIslandPosition(Position.getColumn(packedPosition), Position.getRow(packedPosition));
     }
 
-    private boolean adjacentIslandAt(final Position position) {
-        final int column = position.getColumn();
-        final int row = position.getRow();
-
-        return puzzle.getIslands().stream().anyMatch(island -> {
-            final int islandColumn = island.getPosition().getColumn();
-            final int islandRow = island.getPosition().getRow();
+    private boolean isValidIslandPosition(final int column, final int row) {
+        return isInsidePuzzle(column, row) && !puzzle.isAdjacentToIsland(column, row);
+    }
 
-            return islandColumn == column && islandRow == row - 1 // North
-                    || islandColumn == column + 1 && islandRow == row // East
-                    || islandColumn == column && islandRow == row + 1 // South
-                    || islandColumn == column - 1 && islandRow == row; // West
-        });
+    private boolean isInsidePuzzle(final int column, final int row) {
+        return column >= 0 && row >= 0
+                && column < puzzle.getColumnsCount() && row < puzzle.getRowsCount();
     }
 
     boolean isEnoughSpaceToAddNeighbour(final Island island, final Direction direction) {
@@ -134,48 +127,56 @@ class NewIslandAnalyser {
         final List<Position> validStartPoints = new ArrayList<>();
         final Optional<Island> optionalNeighbour = island.getNeighbour(direction);
 
+        // The path from the island to the last valid position is free of bridges.
+        // Therefore only the path from that position to the next candidate has to be checked.
+        Position pathStart = island.getPosition();
+
         // For all directions, we have to move away from the start and must not move towards it!
         // Otherwise we could recognize close neighbours to late and break out to late.
 
         if (direction == NORTH) {
             int border = optionalNeighbour.isPresent() ? optionalNeighbour.get().getPosition().getRow() + 2 : 0;
             for (int row = island.getPosition().getRow() - 2; row >= border; row--) {
-                Position position = new Position(island.getPosition().getColumn(), row);
-                if (!addIfValid(position, island, validStartPoints)) {
+                Position position = Position.of(island.getPosition().getColumn(), row);
+                if (!addIfValid(position, pathStart, validStartPoints)) {
                     break;
                 }
+                pathStart = position;
             }
         } else if (direction == EAST) {
             int border = optionalNeighbour.isPresent() ? optionalNeighbour.get().getPosition().getColumn() - 2 : puzzle.getColumnsCount() - 1;
             for (int column = island.getPosition().getColumn() + 2; column <= border; column++) {
-                Position position = new Position(column, island.getPosition().getRow());
-                if (!addIfValid(position, island, validStartPoints)) {
+                Position position = Position.of(column, island.getPosition().getRow());
+                if (!addIfValid(position, pathStart, validStartPoints)) {
                     break;
                 }
+                pathStart = position;
             }
         } else if (direction == SOUTH) {
             int border = optionalNeighbour.isPresent() ? optionalNeighbour.get().getPosition().getRow() - 2 : puzzle.getRowsCount() - 1;
             for (int row = island.getPosition().getRow() + 2; row <= border; row++) {
-                Position position = new Position(island.getPosition().getColumn(), row);
-                if (!addIfValid(position, island, validStartPoints)) {
+                Position position = Position.of(island.getPosition().getColumn(), row);
+                if (!addIfValid(position, pathStart, validStartPoints)) {
                     break;
                 }
+                pathStart = position;
             }
         } else if (direction == WEST) {
             int border = optionalNeighbour.isPresent() ? optionalNeighbour.get().getPosition().getColumn() - 2 : 0;
             for (int column = island.getPosition().getColumn() - 2; column >= border; column--) {
-                Position position = new Position(column, island.getPosition().getRow());
-                if (!addIfValid(position, island, validStartPoints)) {
+                Position position = Position.of(column, island.getPosition().getRow());
+                if (!addIfValid(position, pathStart, validStartPoints)) {
                     break;
                 }
+                pathStart = position;
             }
         }
 
         return validStartPoints;
     }
 
-    private boolean addIfValid(final Position position, final Island start, final List<Position> validStartPoints) {
-        if (!isValidIslandPosition(position) || moveAnalyser.isAnyBridgeCrossing(start.getPosition(), position)) {
+    private boolean addIfValid(final Position position, final Position pathStart, final List<Position> validStartPoints) {
+        if (!isValidIslandPosition(position) || moveAnalyser.isAnyBridgeCrossing(pathStart, position)) {
             return false;
         } else {
             validStartPoints.add(position);
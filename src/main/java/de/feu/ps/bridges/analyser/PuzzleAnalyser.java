@@ -4,7 +4,10 @@ import de.feu.ps.bridges.model.Direction;
 import de.feu.ps.bridges.model.Island;
 import de.feu.ps.bridges.model.Position;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
+import java.util.OptionalInt;
 import java.util.Set;
 
 /**
@@ -33,6 +36,25 @@ public interface PuzzleAnalyser {
      */
     Set<Island> getSafeBridgeDestinations(Island island);
 
+    /**
+     * Get the safe destinations for a bridge starting at any island of the puzzle.
+     * The isolation check for all possible bridges is done in a single analysis,
+     * so this is much faster than calling {@link #getSafeBridgeDestinations(Island)} for every island.
+     * @return all islands of the puzzle, each mapped to the safe destinations for a bridge starting at it.
+     */
+    Map<Island, Set<Island>> getAllSafeBridgeDestinations();
+
+    /**
+     * Get the safe destinations for a bridge starting at any of the given islands.
+     * Like {@link #getAllSafeBridgeDestinations()} the isolation check is done in a single analysis,
+     * but only the destinations of the given islands are determined.
+     * @param islands Islands to start from.
+     * @return the given islands, each mapped to the safe destinations for a bridge starting at it.
+     * @throws NullPointerException if islands is null or contains null.
+     * @throws IllegalStateException if any of the given islands does not belong to the puzzle.
+     */
+    Map<Island, Set<Island>> getSafeBridgeDestinations(Collection<Island> islands);
+
     /**
      * Returns a list of valid positions for new neighbours of the given Island in the given direction.
      * @param island Island to check
@@ -47,6 +69,7 @@ public interface PuzzleAnalyser {
      * @param end End position of the path to be checked for crossing bridges.
      * @return true, if a bridge is crossing the path from <code>start</code> to <code>end</code>, false otherwise.
      * @throws NullPointerException if <code>start</code> or <code>end</code> is null.
+     * @throws IllegalArgumentException if <code>start</code> and <code>end</code> do neither lie in the same row nor in the same column.
      */
     boolean isAnyBridgeCrossing(Position start, Position end);
 
@@ -65,6 +88,14 @@ public interface PuzzleAnalyser {
      */
     boolean isValidIslandPosition(Position position);
 
+    /**
+     * Does the same as {@link #isValidIslandPosition(Position)} but takes a packed position.
+     * See {@link Position#pack(int, int)}.
+     * @param position Packed position to check
+     * @return true, if an island at the given position would be valid, false otherwise.
+     */
+    boolean isValidIslandPosition(long position);
+
     /**
      * Indicates whether a bridge in the given direction and starting at the given island would be valid.
      * @param island Island to start the bridge at.
@@ -83,4 +114,24 @@ public interface PuzzleAnalyser {
      * @throws NullPointerException if island1 or islands is null.
      */
     boolean isValidMove(Island island1, Island island2, boolean doubleBridge);
+
+    /**
+     * Validate the given moves as if they were applied to the puzzle one after another.
+     * The puzzle itself is not changed.
+     * A move is valid, if {@link #isValidMove(Island, Island, boolean)} would return <code>true</code> at its turn
+     * and if it does not lead to more than two bridges between its islands.
+     * All moves are validated in a single pass, so this is much faster than applying and checking each move on its own.
+     * @param moves the moves to validate.
+     * @return index of the first invalid move or an empty {@link OptionalInt}, if all moves are valid.
+     * @throws NullPointerException if moves is null or contains null.
+     */
+    OptionalInt validateMoves(List<MoveSpec> moves);
+
+    /**
+     * Get all moves, that are valid for the current state of the puzzle.
+     * A single and a double bridge between the same islands are two different moves.
+     * Every move starts at the western or northern island.
+     * @return all valid moves, see {@link #validateMoves(List)}.
+     */
+    List<MoveSpec> getAllValidMoves();
 }
@@ -2,12 +2,20 @@ package de.feu.ps.bridges.analyser;
 
 import de.feu.ps.bridges.model.Puzzle;
 
+import java.util.concurrent.ForkJoinPool;
+
 /**
  * Factory class that creates a new {@link PuzzleAnalyser}.
  * @author Tim Gremplewski
  */
 public final class PuzzleAnalyserFactory {
 
+    /**
+     * Default minimum amount of unfinished islands, that are checked in parallel by a parallel analyser.
+     * Smaller puzzles are checked faster without the overhead of splitting the work.
+     */
+    public static final int DEFAULT_PARALLEL_THRESHOLD = 1024;
+
     private PuzzleAnalyserFactory() {
     }
 
@@ -22,4 +30,39 @@ public final class PuzzleAnalyserFactory {
         NewIslandAnalyser newIslandAnalyser = new NewIslandAnalyser(puzzle, moveAnalyser);
         return new DefaultPuzzleAnalyser(moveAnalyser, statusAnalyser, newIslandAnalyser);
     }
+
+    /**
+     * Creates a new {@link CachingPuzzleAnalyser} for the given puzzle,
+     * that answers repeated queries from a cache as long as the puzzle is not modified.
+     * @param puzzle the puzzle to be analysed.
+     * @return a new {@link CachingPuzzleAnalyser} for the given puzzle.
+     */
+    public static CachingPuzzleAnalyser createCachingPuzzleAnalyserFor(final Puzzle puzzle) {
+        return new CachingPuzzleAnalyser(puzzle, createPuzzleAnalyserFor(puzzle));
+    }
+
+    /**
+     * Creates a new {@link PuzzleAnalyser} for the given puzzle, that determines the status of the puzzle in parallel,
+     * if it has at least <code>parallelThreshold</code> unfinished islands.
+     * The work is done in a {@link ForkJoinPool} dedicated to puzzle analysers.
+     * The puzzle must not be modified while its status is determined.
+     * @param puzzle the puzzle to be analysed.
+     * @param parallelThreshold minimum amount of unfinished islands to check them in parallel.
+     * @return a new {@link PuzzleAnalyser} for the given puzzle.
+     * @throws IllegalArgumentException if parallelThreshold is less than 0.
+     */
+    public static PuzzleAnalyser createParallelPuzzleAnalyserFor(final Puzzle puzzle, final int parallelThreshold) {
+        MoveAnalyser moveAnalyser = new MoveAnalyser(puzzle);
+        StatusAnalyser statusAnalyser = new StatusAnalyser(puzzle, moveAnalyser, ForkJoinPoolHolder.POOL, parallelThreshold);
+        NewIslandAnalyser newIslandAnalyser = new NewIslandAnalyser(puzzle, moveAnalyser);
+        return new DefaultPuzzleAnalyser(moveAnalyser, statusAnalyser, newIslandAnalyser);
+    }
+
+    /**
+     * Holds the pool of the parallel analysers, so that it is only created once it is needed.
+     */
+    private static final class ForkJoinPoolHolder {
+
+        private static final ForkJoinPool POOL = new ForkJoinPool(Runtime.getRuntime().availableProcessors());
+    }
 }
@@ -3,32 +3,63 @@ package de.feu.ps.bridges.analyser;
 import de.feu.ps.bridges.model.Island;
 import de.feu.ps.bridges.model.Puzzle;
 
-import java.util.*;
+import java.util.Objects;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
 
 /**
  * @author Tim Gremplewski
  */
 class StatusAnalyser {
 
+    /**
+     * Amount of islands, that a single task checks without splitting them any further.
+     */
+    private static final int ISLANDS_PER_TASK = 64;
+
     private final Puzzle puzzle;
     private final MoveAnalyser moveAnalyser;
+    private final ForkJoinPool forkJoinPool;
+    private final int parallelThreshold;
 
     StatusAnalyser(final Puzzle puzzle, final MoveAnalyser moveAnalyser) {
         this.moveAnalyser = Objects.requireNonNull(moveAnalyser, "Parameter 'moveAnalyser' must not be null.");
         this.puzzle = Objects.requireNonNull(puzzle, "Parameter 'puzzle' must not be null.");
+        forkJoinPool = null;
+        parallelThreshold = Integer.MAX_VALUE;
+    }
+
+    /**
+     * Creates a new instance, that checks the unfinished islands in parallel,
+     * if there are at least <code>parallelThreshold</code> of them.
+     * @param puzzle the puzzle to be analysed.
+     * @param moveAnalyser the analyser used to check the moves.
+     * @param forkJoinPool pool to run the parallel checks in.
+     * @param parallelThreshold minimum amount of unfinished islands to check them in parallel.
+     * @throws NullPointerException if puzzle, moveAnalyser or forkJoinPool is null.
+     * @throws IllegalArgumentException if parallelThreshold is less than 0.
+     */
+    StatusAnalyser(final Puzzle puzzle, final MoveAnalyser moveAnalyser,
+                   final ForkJoinPool forkJoinPool, final int parallelThreshold) {
+        this.moveAnalyser = Objects.requireNonNull(moveAnalyser, "Parameter 'moveAnalyser' must not be null.");
+        this.puzzle = Objects.requireNonNull(puzzle, "Parameter 'puzzle' must not be null.");
+        this.forkJoinPool = Objects.requireNonNull(forkJoinPool, "Parameter 'forkJoinPool' must not be null.");
+
+        if (parallelThreshold < 0) {
+            throw new IllegalArgumentException("Parameter 'parallelThreshold' must not be less than 0.");
+        }
+        this.parallelThreshold = parallelThreshold;
     }
 
     PuzzleStatus getStatus() {
         PuzzleStatus status = PuzzleStatus.UNSOLVABLE;
-        final Set<Island> unfinishedIslands = moveAnalyser.getUnfinishedIslands();
 
-        if (unfinishedIslands.isEmpty()) {
-            final Set<Island> allIslands = puzzle.getIslands();
-            if (allIslandsConnected(allIslands)) {
+        if (!moveAnalyser.hasUnfinishedIslands()) {
+            if (puzzle.areAllIslandsConnected()) {
                 status = PuzzleStatus.SOLVED;
             }
         } else {
-            if (noIsolatedIslands(unfinishedIslands)) {
+            if (noIsolatedIslands()) {
                 status = PuzzleStatus.UNSOLVED;
             }
         }
@@ -36,35 +67,65 @@ class StatusAnalyser {
         return status;
     }
 
-    private boolean allIslandsConnected(final Set<Island> allIslands) {
-        Optional<Island> optionalIsland = allIslands.stream().findFirst();
+    private boolean noIsolatedIslands() {
+        // A single analysis answers the isolation check for every possible bridge
+        final IsolationAnalysis isolationAnalysis = moveAnalyser.analyseIsolation();
 
-        if (optionalIsland.isPresent()) {
-            return allIslands.size() == findAllIndirectlyConnectedIslands(optionalIsland.get()).size();
+        if (forkJoinPool != null) {
+            final Island[] unfinishedIslands = moveAnalyser.getUnfinishedIslands().toArray(new Island[0]);
+            if (unfinishedIslands.length >= parallelThreshold) {
+                // The checks only read the puzzle and the analysis, so they can run in parallel
+                return forkJoinPool.invoke(new SafeBridgeDestinationsTask(
+                        unfinishedIslands, 0, unfinishedIslands.length, isolationAnalysis));
+            }
         }
 
-        // If a puzzle has no islands, it is treated as if all islands were connected
-        return true;
+        return !puzzle.anyIslandMatches(island ->
+                island.getRemainingBridges() > 0 && !moveAnalyser.hasSafeBridgeDestination(island, isolationAnalysis));
     }
 
-    private Set<Island> findAllIndirectlyConnectedIslands(final Island startIsland) {
-        final Set<Island> visitedIslands = new HashSet<>();
-        final Queue<Island> islandsToVisit = new LinkedList<>();
-
-        islandsToVisit.add(startIsland);
+    /**
+     * Task that checks, whether every island of a part of an array has a safe bridge destination.
+     * Large parts are split in halves, that are checked by subtasks.
+     */
+    private final class SafeBridgeDestinationsTask extends RecursiveTask<Boolean> {
+
+        private static final long serialVersionUID = 1L;
+
+        private final Island[] islands;
+        private final int from;
+        private final int to;
+        private final IsolationAnalysis isolationAnalysis;
+
+        private SafeBridgeDestinationsTask(final Island[] islands, final int from, final int to,
+                                           final IsolationAnalysis isolationAnalysis) {
+            this.islands = islands;
+            this.from = from;
+            this.to = to;
+            this.isolationAnalysis = isolationAnalysis;
+        }
 
-        do {
-            Island island = islandsToVisit.remove();
-            if (!visitedIslands.contains(island)) {
-                islandsToVisit.addAll(island.getBridgedNeighbours());
-                visitedIslands.add(island);
+        @Override
+        protected Boolean compute() {
+            if (to - from <= ISLANDS_PER_TASK) {
+                for (int index = from; index < to; index++) {
+                    if (!moveAnalyser.hasSafeBridgeDestination(islands[index], isolationAnalysis)) {
+                        return false;
+                    }
+                }
+                return true;
             }
-        } while (!islandsToVisit.isEmpty());
 
-        return visitedIslands;
-    }
+            final int middle = (from + to) >>> 1;
+            final SafeBridgeDestinationsTask upperHalf = new SafeBridgeDestinationsTask(islands, middle, to, isolationAnalysis);
+            upperHalf.fork();
+            final boolean lowerHalfSafe = new SafeBridgeDestinationsTask(islands, from, middle, isolationAnalysis).compute();
 
-    private boolean noIsolatedIslands(final Set<Island> unfinishedIslands) {
-        return unfinishedIslands.stream().allMatch(island -> !moveAnalyser.getSafeBridgeDestinations(island).isEmpty());
+            if (!lowerHalfSafe && upperHalf.tryUnfork()) {
+                // The upper half has not been started yet and its result does not matter any more
+                return false;
+            }
+            return upperHalf.join() && lowerHalfSafe;
+        }
     }
 }
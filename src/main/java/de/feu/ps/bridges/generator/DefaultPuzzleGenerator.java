@@ -5,7 +5,6 @@ import de.feu.ps.bridges.analyser.PuzzleAnalyserFactory;
 import de.feu.ps.bridges.model.*;
 
 import java.util.*;
-import java.util.stream.Collectors;
 
 /**
  * Default implementation of {@link PuzzleGenerator}.
@@ -16,7 +15,8 @@ class DefaultPuzzleGenerator implements PuzzleGenerator {
     private final int columns;
     private final int rows;
     private final int islands;
-    private final Set<Island> startPoints;
+    private final boolean largeBoard;
+    private final List<Island> startPoints;
     private final RandomUtil randomUtil;
     private PuzzleAnalyser temporaryPuzzleAnalyser;
     private PuzzleBuilder puzzleBuilder;
@@ -28,10 +28,22 @@ class DefaultPuzzleGenerator implements PuzzleGenerator {
      * @param islands Amount of islands generated puzzles should have.
      */
     DefaultPuzzleGenerator(final int columns, final int rows, final int islands) {
+        this(columns, rows, islands, false);
+    }
+
+    /**
+     * Creates a new instance.
+     * @param columns Amount of columns generated puzzles should have.
+     * @param rows Amount of rows generated puzzles should have.
+     * @param islands Amount of islands generated puzzles should have.
+     * @param largeBoard <code>true</code> to generate puzzles in large board mode, <code>false</code> otherwise.
+     */
+    DefaultPuzzleGenerator(final int columns, final int rows, final int islands, final boolean largeBoard) {
         this.columns = columns;
         this.rows = rows;
         this.islands = islands;
-        startPoints = new HashSet<>();
+        this.largeBoard = largeBoard;
+        startPoints = new ArrayList<>();
         randomUtil = new RandomUtil();
     }
 
@@ -66,12 +78,14 @@ class DefaultPuzzleGenerator implements PuzzleGenerator {
     }
 
     private void initFieldsForNextRun() {
-        puzzleBuilder = PuzzleBuilder.createBuilder(columns, rows, islands);
+        puzzleBuilder = largeBoard
+                ? PuzzleBuilder.createLargeBoardBuilder(columns, rows, islands)
+                : PuzzleBuilder.createCompactBuilder(columns, rows, islands);
         temporaryPuzzleAnalyser = PuzzleAnalyserFactory.createPuzzleAnalyserFor(puzzleBuilder.getResult());
     }
 
     private void buildInitialIsland() {
-        final Position position = new Position(randomUtil.randomIntBetweenZeroAnd(columns - 1), randomUtil.randomIntBetweenZeroAnd(rows - 1));
+        final Position position = Position.of(randomUtil.randomIntBetweenZeroAnd(columns - 1), randomUtil.randomIntBetweenZeroAnd(rows - 1));
         final Island island = puzzleBuilder.addIsland(position, 8);
         startPoints.add(island);
     }
@@ -79,21 +93,25 @@ class DefaultPuzzleGenerator implements PuzzleGenerator {
     private int buildIslandsFromStartPoints() {
         int createdIslands = 1;
         while (createdIslands < islands && !startPoints.isEmpty()) {
-            final Island startPoint = getRandomStartPoint();
+            final int startPointIndex = randomUtil.randomIntBetweenZeroAnd(startPoints.size() - 1);
+            final Island startPoint = startPoints.get(startPointIndex);
             final Optional<Island> newIsland = buildIslandFromStartPoint(startPoint);
             if (newIsland.isPresent()) {
                 createdIslands++;
                 startPoints.add(newIsland.get());
             } else {
-                startPoints.remove(startPoint);
+                removeStartPoint(startPointIndex);
             }
         }
         return createdIslands;
     }
 
-    private Island getRandomStartPoint() {
-        final int randomIndex = randomUtil.randomIntBetweenZeroAnd(startPoints.size() - 1);
-        return startPoints.stream().collect(Collectors.toList()).get(randomIndex);
+    private void removeStartPoint(final int index) {
+        // The order of the start points does not matter, so replace the removed one by the last one in constant time
+        final Island lastStartPoint = startPoints.remove(startPoints.size() - 1);
+        if (index < startPoints.size()) {
+            startPoints.set(index, lastStartPoint);
+        }
     }
 
     private Optional<Island> buildIslandFromStartPoint(final Island startPoint) {
@@ -39,7 +39,7 @@ public class PuzzleComposer {
         }
 
         for (Island island : puzzle1.getIslands()) {
-            Position position = new Position(island.getPosition().getColumn(), island.getPosition().getRow() + leftPuzzleRowOffset);
+            Position position = Position.of(island.getPosition().getColumn(), island.getPosition().getRow() + leftPuzzleRowOffset);
 
             if (island == rightAndUppermostIsland) {
                 puzzleBuilder.addIsland(position, island.getRequiredBridges() + 1);
@@ -49,7 +49,7 @@ public class PuzzleComposer {
         }
 
         for (Island island : puzzle2.getIslands()) {
-            Position position = new Position(island.getPosition().getColumn() + rightPuzzleColumnOffset, island.getPosition().getRow() + rightPuzzleRowOffset);
+            Position position = Position.of(island.getPosition().getColumn() + rightPuzzleColumnOffset, island.getPosition().getRow() + rightPuzzleRowOffset);
 
             if (island == leftAndUppermostIsland) {
                 puzzleBuilder.addIsland(position, island.getRequiredBridges() + 1);
@@ -66,6 +66,31 @@ public final class PuzzleGeneratorFactory {
         return new DefaultPuzzleGenerator(columns, rows, islands);
     }
 
+    /**
+     * Creates a new {@link PuzzleGenerator} that generates puzzles in large board mode with a defined
+     * amount of columns, rows and islands.
+     * Unlike the other generators, the amount of columns and rows is not limited to 25.
+     * @param columns Number of columns the {@link PuzzleGenerator} should use.
+     * @param rows Number of rows the {@link PuzzleGenerator} should use.
+     * @param islands Number of islands the {@link PuzzleGenerator} should use.
+     * @return a new {@link PuzzleGenerator}.
+     */
+    public static PuzzleGenerator createLargeBoardPuzzleGenerator(final int columns, final int rows, final int islands) {
+        if (columns < 4) {
+            throw new IllegalArgumentException("Parameter 'columns' must not be less than 4.");
+        }
+
+        if (rows < 4) {
+            throw new IllegalArgumentException("Parameter 'rows' must not be less than 4.");
+        }
+
+        if (islands < 2 || islands > (long) columns * rows * 0.2) {
+            throw new IllegalArgumentException("Parameter 'islands' must be between 2 and columns * rows * 0.2");
+        }
+
+        return new DefaultPuzzleGenerator(columns, rows, islands, true);
+    }
+
     private static void validateParameters(final int columns, final int rows, final int islands) {
         if (columns < 4 || columns > 25) {
             throw new IllegalArgumentException("Parameter 'columns' must be between 4 and 25.");
@@ -3,11 +3,11 @@ package de.feu.ps.bridges.gui.model;
 import de.feu.ps.bridges.analyser.PuzzleStatus;
 import de.feu.ps.bridges.gui.events.PuzzleEvent;
 import de.feu.ps.bridges.model.Bridge;
+import de.feu.ps.bridges.model.MoveJournal;
 import de.feu.ps.bridges.model.Puzzle;
 import de.feu.ps.bridges.toolkit.PuzzleToolkit;
 
 import java.io.File;
-import java.util.LinkedList;
 import java.util.Optional;
 import java.util.logging.Level;
 import java.util.logging.Logger;
@@ -25,7 +25,7 @@ public class GameState extends EventBroadcaster {
     private File sourceFile;
     private PuzzleToolkit puzzleToolkit;
     private PuzzleStatus puzzleStatus;
-    private LinkedList<Bridge> addedBridges;
+    private MoveJournal moveJournal;
 
     /**
      * Creates a new instance.
@@ -40,12 +40,12 @@ public class GameState extends EventBroadcaster {
     void setPuzzleToolkit(final PuzzleToolkit puzzleToolkit) {
         this.puzzleToolkit = puzzleToolkit;
         puzzle = puzzleToolkit.getPuzzle();
-        addedBridges = new LinkedList<>();
-        clearAddedBridgesAndBroadcastEvents(PUZZLE_CHANGED, puzzle);
+        moveJournal = MoveJournal.createJournal(puzzle);
+        clearMoveJournalAndBroadcastEvents(PUZZLE_CHANGED, puzzle);
     }
 
-    private void clearAddedBridgesAndBroadcastEvents(final PuzzleEvent puzzleEvent, final Object eventParameter) {
-        addedBridges.clear();
+    private void clearMoveJournalAndBroadcastEvents(final PuzzleEvent puzzleEvent, final Object eventParameter) {
+        moveJournal.clear();
         refreshPuzzleStatus();
         broadcastEvent(puzzleEvent, eventParameter);
     }
@@ -105,7 +105,7 @@ public class GameState extends EventBroadcaster {
      * @return the latest bridge that was added to the puzzle.
      */
     public Optional<Bridge> getLatestBridge() {
-        return addedBridges.isEmpty() ? Optional.empty() : Optional.ofNullable(addedBridges.getLast());
+        return moveJournal == null ? Optional.empty() : moveJournal.getLatestBridge();
     }
 
     /**
@@ -114,7 +114,7 @@ public class GameState extends EventBroadcaster {
     void removeAllBridges() {
         if (getPuzzle().isPresent()) {
             puzzle.removeAllBridges();
-            clearAddedBridgesAndBroadcastEvents(PUZZLE_RESET, null);
+            clearMoveJournalAndBroadcastEvents(PUZZLE_RESET, null);
         }
     }
 
@@ -123,7 +123,7 @@ public class GameState extends EventBroadcaster {
      * @param bridge bridge to add.
      */
     void addBridge(final Bridge bridge) {
-        addedBridges.add(bridge);
+        moveJournal.push(bridge.getIsland1(), bridge.getIsland2(), true);
         broadcastEvent(BRIDGE_ADDED, bridge);
         refreshPuzzleStatus();
     }
@@ -133,7 +133,7 @@ public class GameState extends EventBroadcaster {
      * @param bridge bridge to remove.
      */
     void removeBridge(final Bridge bridge) {
-        addedBridges.removeLastOccurrence(bridge);
+        moveJournal.push(bridge.getIsland1(), bridge.getIsland2(), false);
         broadcastEvent(BRIDGE_REMOVED, bridge);
         refreshPuzzleStatus();
     }
@@ -0,0 +1,15 @@
+package de.feu.ps.bridges.model;
+
+/**
+ * {@link Island} whose amount of required {@link Bridge}es can be changed.
+ * @author Tim Gremplewski
+ */
+interface AdjustableIsland extends Island {
+
+    /**
+     * Set the amount of required {@link Bridge}es of this neighbour.
+     * @param requiredBridges amount of required {@link Bridge}es of this neighbour.
+     * @throws IllegalArgumentException if requiredBridges is less than 1.
+     */
+    void setRequiredBridges(int requiredBridges);
+}
@@ -30,6 +30,25 @@ public interface Bridge {
      */
     Island getIsland2();
 
+    /**
+     * Indicates whether this bridge connects the given islands, no matter in which order they are given.
+     * Unlike <code>getBridgedIslands().contains(...)</code> this method does not create any objects.
+     * @param island1 {@link Island} to check.
+     * @param island2 Another {@link Island} to check.
+     * @return <code>true</code>, if this bridge connects <code>island1</code> and <code>island2</code>,
+     *  <code>false</code> otherwise.
+     */
+    boolean connects(Island island1, Island island2);
+
+    /**
+     * Get the {@link Island} at the other end of this bridge.
+     * @param island One of the bridged {@link Island}s.
+     * @return The bridged {@link Island} that is not the given island.
+     * @throws NullPointerException if <code>island</code> is <code>null</code>.
+     * @throws IllegalArgumentException if <code>island</code> is not bridged by this bridge.
+     */
+    Island otherEnd(Island island);
+
     /**
      * Indicates whether this bridge is a double bridge.
      * @return <code>true</code>, if this bridge is a double bridge, <code>false</code> otherwise.
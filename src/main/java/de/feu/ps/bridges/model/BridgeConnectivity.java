@@ -0,0 +1,202 @@
+package de.feu.ps.bridges.model;
+
+import java.util.Arrays;
+
+/**
+ * Keeps track of the islands of a puzzle, that are connected by bridges, directly or indirectly.
+ *
+ * The connected islands are maintained in a union-find structure, that uses union by rank but no path compression.
+ * Every bridge that is built is pushed on a stack together with the information needed to undo its union.
+ * Tearing down the latest built bridge therefore only pops the stack and takes constant time.
+ * Tearing down an older bridge rolls back the newer bridges, removes the bridge and applies the newer bridges again.
+ * The amount of connected components is updated along the way,
+ * so {@link #areAllIslandsConnected()} takes constant time.
+ *
+ * Islands are identified by their index, see {@link Island#getIndex()}.
+ * Double bridges do not change the connectivity, so only single bridges have to be reported.
+ *
+ * @author Tim Gremplewski
+ */
+final class BridgeConnectivity {
+
+    private static final int ENTRY_SIZE = 3;
+    private static final int NO_UNION = 0;
+    private static final int INITIAL_CAPACITY = 16;
+
+    private int[] parents;
+    private byte[] ranks;
+    private int islandsCount;
+    private int componentsCount;
+    private int[] entries;
+    private int entriesCount;
+
+    /**
+     * Creates a new instance without islands.
+     */
+    BridgeConnectivity() {
+        parents = new int[INITIAL_CAPACITY];
+        ranks = new byte[INITIAL_CAPACITY];
+        entries = new int[INITIAL_CAPACITY * ENTRY_SIZE];
+    }
+
+    /**
+     * Add a new island, that is not connected to any other island.
+     * Its index is the amount of islands that have been added before.
+     */
+    void addIsland() {
+        if (islandsCount == parents.length) {
+            parents = Arrays.copyOf(parents, parents.length * 2);
+            ranks = Arrays.copyOf(ranks, ranks.length * 2);
+        }
+        parents[islandsCount] = islandsCount;
+        ranks[islandsCount] = 0;
+        islandsCount++;
+        componentsCount++;
+    }
+
+    /**
+     * Report that a bridge has been built between the given islands, where there was no bridge before.
+     * @param island1 index of one of the bridged islands.
+     * @param island2 index of the other bridged island.
+     */
+    void bridgeBuilt(final int island1, final int island2) {
+        push(island1, island2);
+    }
+
+    /**
+     * Report that the last bridge between the given islands has been torn down.
+     * @param island1 index of one of the bridged islands.
+     * @param island2 index of the other bridged island.
+     * @throws IllegalStateException if no bridge between the given islands has been reported.
+     */
+    void bridgeTornDown(final int island1, final int island2) {
+        final int entry = findEntry(island1, island2);
+        if (entry < 0) {
+            throw new IllegalStateException("No bridge between the given islands has been reported.");
+        }
+
+        final int oldEntriesCount = entriesCount;
+        while (entriesCount > entry) {
+            rollback(--entriesCount);
+        }
+
+        // Apply the bridges built after the torn down bridge again, the stack shrinks by exactly one entry
+        for (int next = entry + 1; next < oldEntriesCount; next++) {
+            push(entries[next * ENTRY_SIZE], entries[next * ENTRY_SIZE + 1]);
+        }
+    }
+
+    /**
+     * Report that all bridges have been torn down.
+     */
+    void allBridgesTornDown() {
+        for (int island = 0; island < islandsCount; island++) {
+            parents[island] = island;
+            ranks[island] = 0;
+        }
+        componentsCount = islandsCount;
+        entriesCount = 0;
+    }
+
+    /**
+     * Indicates whether all islands are connected, directly or indirectly.
+     * @return <code>true</code> if there is at most one connected component, <code>false</code> otherwise.
+     */
+    boolean areAllIslandsConnected() {
+        return componentsCount <= 1;
+    }
+
+    /**
+     * Get the amount of connected components.
+     * Every island, that is not bridged at all, is a component on its own.
+     * @return the amount of connected components.
+     */
+    int getComponentsCount() {
+        return componentsCount;
+    }
+
+    /**
+     * Indicates whether the given islands are connected, directly or indirectly.
+     * @param island1 index of an island.
+     * @param island2 index of another island.
+     * @return <code>true</code> if the islands are connected, <code>false</code> otherwise.
+     */
+    boolean areConnected(final int island1, final int island2) {
+        return find(island1) == find(island2);
+    }
+
+    private int findEntry(final int island1, final int island2) {
+        // Bridges are usually torn down in the reverse order they were built, so search from the top
+        for (int entry = entriesCount - 1; entry >= 0; entry--) {
+            final int first = entries[entry * ENTRY_SIZE];
+            final int second = entries[entry * ENTRY_SIZE + 1];
+            if (first == island1 && second == island2 || first == island2 && second == island1) {
+                return entry;
+            }
+        }
+        return -1;
+    }
+
+    private void push(final int island1, final int island2) {
+        if (entriesCount * ENTRY_SIZE == entries.length) {
+            entries = Arrays.copyOf(entries, entries.length * 2);
+        }
+
+        final int index = entriesCount * ENTRY_SIZE;
+        entries[index] = island1;
+        entries[index + 1] = island2;
+        entries[index + 2] = union(island1, island2);
+        entriesCount++;
+    }
+
+    /**
+     * Unite the components of the given islands.
+     * @return {@link #NO_UNION} if the islands were already connected.
+     *  Otherwise the index of the root, that was attached to the other root, plus one and shifted left by one bit,
+     *  with the lowest bit telling whether the rank of the other root was increased.
+     */
+    private int union(final int island1, final int island2) {
+        int root1 = find(island1);
+        int root2 = find(island2);
+
+        if (root1 == root2) {
+            return NO_UNION;
+        }
+
+        if (ranks[root1] > ranks[root2]) {
+            final int root = root1;
+            root1 = root2;
+            root2 = root;
+        }
+
+        // The root with the lower rank is attached to the other one
+        parents[root1] = root2;
+        final boolean rankIncreased = ranks[root1] == ranks[root2];
+        if (rankIncreased) {
+            ranks[root2]++;
+        }
+        componentsCount--;
+        return (root1 + 1) << 1 | (rankIncreased ? 1 : 0);
+    }
+
+    private void rollback(final int entry) {
+        final int union = entries[entry * ENTRY_SIZE + 2];
+        if (union != NO_UNION) {
+            final int attachedRoot = (union >>> 1) - 1;
+            final int root = parents[attachedRoot];
+            parents[attachedRoot] = attachedRoot;
+            if ((union & 1) == 1) {
+                ranks[root]--;
+            }
+            componentsCount++;
+        }
+    }
+
+    private int find(final int island) {
+        int root = island;
+        while (parents[root] != root) {
+            root = parents[root];
+        }
+        return root;
+    }
+}
@@ -0,0 +1,79 @@
+package de.feu.ps.bridges.model;
+
+/**
+ * Index that records for every field of a puzzle whether a horizontal or a vertical bridge passes through it.
+ *
+ * Only the fields between the two bridged islands are occupied by a bridge, the fields of the islands themselves are not.
+ * The index has to be updated whenever a bridge is built or torn down completely.
+ * Changing a bridge from a single to a double bridge or vice versa does not change the occupied fields.
+ *
+ * @author Tim Gremplewski
+ */
+interface BridgeOccupancy {
+
+    /**
+     * Flag of a field that is occupied by a horizontal bridge.
+     */
+    byte HORIZONTAL = 1;
+
+    /**
+     * Flag of a field that is occupied by a vertical bridge.
+     */
+    byte VERTICAL = 2;
+
+    /**
+     * Mark the fields between the given positions as occupied by a bridge.
+     * @param start position of the first bridged island.
+     * @param end position of the second bridged island.
+     * @throws IllegalArgumentException if the positions do neither lie in the same row nor in the same column.
+     */
+    void occupy(Position start, Position end);
+
+    /**
+     * Mark the fields between the given positions as no longer occupied by a bridge.
+     * @param start position of the first bridged island.
+     * @param end position of the second bridged island.
+     * @throws IllegalArgumentException if the positions do neither lie in the same row nor in the same column.
+     */
+    void release(Position start, Position end);
+
+    /**
+     * Mark all fields as not occupied.
+     */
+    void clear();
+
+    /**
+     * Get the occupation of the given field.
+     * @param column column of the field.
+     * @param row row of the field.
+     * @return {@link #HORIZONTAL}, {@link #VERTICAL} or both combined, if the field is occupied. 0 otherwise.
+     *         Fields outside of the puzzle are never occupied.
+     */
+    byte getOccupation(int column, int row);
+
+    /**
+     * Indicates whether any field on the path from <code>start</code> to <code>end</code>
+     * is occupied by a bridge. Both <code>start</code> and <code>end</code> are included.
+     * @param start start of the path.
+     * @param end end of the path.
+     * @return <code>true</code> if any field on the path is occupied, <code>false</code> otherwise.
+     * @throws IllegalArgumentException if the positions do neither lie in the same row nor in the same column.
+     */
+    boolean isAnyFieldOccupied(Position start, Position end);
+
+    /**
+     * Get the flag of a bridge between the given positions.
+     * @param start position of the first bridged island.
+     * @param end position of the second bridged island.
+     * @return {@link #HORIZONTAL} if both positions lie in the same row, {@link #VERTICAL} if they lie in the same column.
+     * @throws IllegalArgumentException if the positions do neither lie in the same row nor in the same column.
+     */
+    static byte getFlag(final Position start, final Position end) {
+        if (start.getRow() == end.getRow()) {
+            return HORIZONTAL;
+        } else if (start.getColumn() == end.getColumn()) {
+            return VERTICAL;
+        }
+        throw new IllegalArgumentException("Positions must either lie in the same row or the same column.");
+    }
+}
@@ -0,0 +1,96 @@
+package de.feu.ps.bridges.model;
+
+import java.util.HashSet;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * {@link ModifiableBridge} that is a view on a bridge of a {@link CompactPuzzle}.
+ *
+ * The bridge is identified by its northern or western island and the {@link Direction} to the other island.
+ * Its multiplicity is read from the puzzle, so the view reflects later changes of the bridge.
+ *
+ * @author Tim Gremplewski
+ */
+class CompactBridge implements ModifiableBridge {
+
+    private final CompactPuzzle puzzle;
+    private final int island;
+    private final int direction;
+
+    /**
+     * Creates a new instance.
+     * @param puzzle the puzzle this bridge belongs to.
+     * @param island id of the northern or western bridged island.
+     * @param direction ordinal of the {@link Direction} from that island to the other bridged island.
+     */
+    CompactBridge(final CompactPuzzle puzzle, final int island, final int direction) {
+        this.puzzle = Objects.requireNonNull(puzzle, "Parameter 'puzzle' must not be null.");
+        this.island = island;
+        this.direction = direction;
+    }
+
+    @Override
+    public Set<Island> getBridgedIslands() {
+        final Set<Island> islands = new HashSet<>(2);
+        islands.add(getIsland1());
+        islands.add(getIsland2());
+        return islands;
+    }
+
+    @Override
+    public Island getIsland1() {
+        return puzzle.getIsland(island);
+    }
+
+    @Override
+    public Island getIsland2() {
+        return puzzle.getIsland(puzzle.getNeighbourId(island, direction));
+    }
+
+    @Override
+    public boolean connects(final Island island1, final Island island2) {
+        if (!puzzle.containsIsland(island1) || !puzzle.containsIsland(island2)) {
+            return false;
+        }
+        final int id1 = ((CompactIsland) island1).getId();
+        final int id2 = ((CompactIsland) island2).getId();
+        final int other = puzzle.getNeighbourId(island, direction);
+        return id1 == island && id2 == other || id1 == other && id2 == island;
+    }
+
+    @Override
+    public Island otherEnd(final Island island) {
+        Objects.requireNonNull(island, "Parameter 'island' must not be null.");
+        if (puzzle.containsIsland(island)) {
+            final int id = ((CompactIsland) island).getId();
+            if (id == this.island) {
+                return getIsland2();
+            }
+            if (id == puzzle.getNeighbourId(this.island, direction)) {
+                return getIsland1();
+            }
+        }
+        throw new IllegalArgumentException("The given island is not bridged by this bridge.");
+    }
+
+    @Override
+    public boolean isDoubleBridge() {
+        return puzzle.getMultiplicity(island, direction) == 2;
+    }
+
+    @Override
+    public boolean isHorizontal() {
+        return CompactPuzzle.direction(direction) == Direction.EAST;
+    }
+
+    @Override
+    public boolean isVertical() {
+        return CompactPuzzle.direction(direction) == Direction.SOUTH;
+    }
+
+    @Override
+    public void setDoubleBridge(final boolean doubleBridge) {
+        puzzle.setDoubleBridge(island, direction, doubleBridge);
+    }
+}
@@ -0,0 +1,182 @@
+package de.feu.ps.bridges.model;
+
+import java.util.HashSet;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+import static de.feu.ps.bridges.model.CompactPuzzle.NO_ISLAND;
+
+/**
+ * {@link AdjustableIsland} that is a view on an island of a {@link CompactPuzzle}.
+ *
+ * Bridges and neighbours of this island are managed by the puzzle.
+ *
+ * @author Tim Gremplewski
+ */
+class CompactIsland implements AdjustableIsland {
+
+    private final CompactPuzzle puzzle;
+    private final int id;
+    private final Position position;
+
+    /**
+     * Creates a new instance.
+     * @param puzzle the puzzle this island belongs to.
+     * @param id the id of this island within the puzzle.
+     * @param position the position of this island.
+     */
+    CompactIsland(final CompactPuzzle puzzle, final int id, final Position position) {
+        this.puzzle = Objects.requireNonNull(puzzle, "Parameter 'puzzle' must not be null.");
+        this.position = Objects.requireNonNull(position, "Parameter 'position' must not be null.");
+        this.id = id;
+    }
+
+    /**
+     * Get the puzzle this island belongs to.
+     * @return the puzzle this island belongs to.
+     */
+    CompactPuzzle getPuzzle() {
+        return puzzle;
+    }
+
+    /**
+     * Get the id of this island within its puzzle.
+     * @return the id of this island within its puzzle.
+     */
+    int getId() {
+        return id;
+    }
+
+    @Override
+    public boolean anyNeighbourMatches(final Predicate<? super Island> predicate) {
+        Objects.requireNonNull(predicate, "Parameter 'predicate' must not be null.");
+        for (int direction = 0; direction < 4; direction++) {
+            final int neighbour = puzzle.getNeighbourId(id, direction);
+            if (neighbour != NO_ISLAND && predicate.test(puzzle.getIsland(neighbour))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public void forEachBridgedNeighbour(final Consumer<? super Island> action) {
+        Objects.requireNonNull(action, "Parameter 'action' must not be null.");
+        for (int direction = 0; direction < 4; direction++) {
+            if (puzzle.getMultiplicity(id, direction) > 0) {
+                action.accept(puzzle.getIsland(puzzle.getNeighbourId(id, direction)));
+            }
+        }
+    }
+
+    @Override
+    public void forEachNeighbour(final Consumer<? super Island> action) {
+        Objects.requireNonNull(action, "Parameter 'action' must not be null.");
+        for (int direction = 0; direction < 4; direction++) {
+            final int neighbour = puzzle.getNeighbourId(id, direction);
+            if (neighbour != NO_ISLAND) {
+                action.accept(puzzle.getIsland(neighbour));
+            }
+        }
+    }
+
+    @Override
+    public int getActualBridgesCount() {
+        return puzzle.getActualBridges(id);
+    }
+
+    @Override
+    public Set<Island> getBridgedNeighbours() {
+        final Set<Island> bridgedNeighbours = new HashSet<>();
+        forEachBridgedNeighbour(bridgedNeighbours::add);
+        return bridgedNeighbours;
+    }
+
+    @Override
+    public Set<Bridge> getBridges() {
+        final Set<Bridge> bridges = new HashSet<>();
+        for (Direction direction : Direction.values()) {
+            puzzle.getBridge(id, direction.ordinal()).ifPresent(bridges::add);
+        }
+        return bridges;
+    }
+
+    @Override
+    public Optional<Bridge> getBridgeTo(final Island island) {
+        Objects.requireNonNull(island, "Parameter 'island' must not be null.");
+
+        if (island instanceof CompactIsland && ((CompactIsland) island).puzzle == puzzle) {
+            final int otherId = ((CompactIsland) island).id;
+            for (int direction = 0; direction < 4; direction++) {
+                if (puzzle.getNeighbourId(id, direction) == otherId) {
+                    return puzzle.getBridge(id, direction);
+                }
+            }
+        }
+        return Optional.empty();
+    }
+
+    @Override
+    public int getDistanceToNeighbour(final Direction direction) {
+        Objects.requireNonNull(direction, "Parameter 'direction' must not be null.");
+        final int neighbour = puzzle.getNeighbourId(id, direction.ordinal());
+
+        if (neighbour == NO_ISLAND) {
+            throw new UnsupportedOperationException("Island has no neighbour in this direction: " + direction.name());
+        }
+
+        return Math.abs(puzzle.getColumn(neighbour) - puzzle.getColumn(id))
+                + Math.abs(puzzle.getRow(neighbour) - puzzle.getRow(id));
+    }
+
+    @Override
+    public Optional<Island> getNeighbour(final Direction direction) {
+        Objects.requireNonNull(direction, "Parameter 'direction' must not be null.");
+        final int neighbour = puzzle.getNeighbourId(id, direction.ordinal());
+        return neighbour == NO_ISLAND ? Optional.empty() : Optional.of(puzzle.getIsland(neighbour));
+    }
+
+    @Override
+    public Set<Island> getNeighbours() {
+        final Set<Island> neighbours = new HashSet<>();
+        forEachNeighbour(neighbours::add);
+        return neighbours;
+    }
+
+    @Override
+    public int getIndex() {
+        return id;
+    }
+
+    @Override
+    public Position getPosition() {
+        return position;
+    }
+
+    @Override
+    public int getRemainingBridges() {
+        return puzzle.getRequiredBridges(id) - puzzle.getActualBridges(id);
+    }
+
+    @Override
+    public int getRequiredBridges() {
+        return puzzle.getRequiredBridges(id);
+    }
+
+    @Override
+    public boolean isBridgedToNeighbour(final Direction direction) {
+        Objects.requireNonNull(direction, "Parameter 'direction' must not be null.");
+        return puzzle.getMultiplicity(id, direction.ordinal()) > 0;
+    }
+
+    @Override
+    public void setRequiredBridges(final int requiredBridges) {
+        if (requiredBridges < 1 || requiredBridges > 8) {
+            throw new IllegalArgumentException("Parameter 'requiredBridged' must be between 1 and 8.");
+        }
+        puzzle.setRequiredBridges(id, requiredBridges);
+    }
+}
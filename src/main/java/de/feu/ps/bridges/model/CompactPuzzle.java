@@ -0,0 +1,568 @@
+package de.feu.ps.bridges.model;
+
+import java.util.*;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+/**
+ * Array backed implementation of {@link ModifiablePuzzle}.
+ *
+ * Islands are identified by dense int ids in the order they were built.
+ * Their positions, required and actual bridge counts are kept in primitive arrays
+ * and the multiplicity of every bridge is stored in a byte table that is indexed by island id and {@link Direction}.
+ * Therefore looking up, building and tearing down a bridge is done in constant time and without allocations.
+ *
+ * The {@link Island} and {@link Bridge} objects handed out by this puzzle are lightweight views on these arrays.
+ * There is exactly one view per island and at most one view per pair of neighbours.
+ *
+ * @author Tim Gremplewski
+ */
+class CompactPuzzle implements ModifiablePuzzle {
+
+    /**
+     * Value used in {@link #islandAtCell} and {@link #neighbours} if there is no island.
+     */
+    static final int NO_ISLAND = -1;
+
+    private static final String ISLAND1_NULL = "Parameter 'island1' must not be null.";
+    private static final String ISLAND2_NULL = "Parameter 'island2' must not be null.";
+    private static final String ISLAND1_UNKNOWN = "Island1 is not part of this puzzle.";
+    private static final String ISLAND2_UNKNOWN = "Island2 is not part of this puzzle.";
+    private static final int DIRECTIONS = 4;
+    private static final int INITIAL_CAPACITY = 16;
+    private static final Direction[] DIRECTION_VALUES = Direction.values();
+
+    private final int columnsCount;
+    private final int rowsCount;
+    private final int[] islandAtCell;
+    private final BridgeOccupancy occupancy;
+    private final BridgeConnectivity connectivity;
+    private final PuzzleChangeSupport changeSupport;
+
+    private int islandsCount;
+    private int bridgesCount;
+    private long layoutHash;
+    private long layoutVersion;
+    private SnapshotLayout snapshotLayout;
+    private long bridgeStateHash;
+    private long modificationCount;
+    private int[] columns;
+    private int[] rows;
+    private int[] requiredBridges;
+    private int[] actualBridges;
+    private int[] neighbours;
+    private byte[] bridges;
+    private CompactIsland[] islandViews;
+    private CompactBridge[] bridgeViews;
+
+    CompactPuzzle(final int columns, final int rows) {
+        ModifiablePuzzleFactory.validateSize(columns, rows, false);
+
+        columnsCount = columns;
+        rowsCount = rows;
+        islandAtCell = new int[columns * rows];
+        Arrays.fill(islandAtCell, NO_ISLAND);
+        occupancy = new DenseBridgeOccupancy(columns, rows);
+        connectivity = new BridgeConnectivity();
+        changeSupport = new PuzzleChangeSupport(this);
+
+        this.columns = new int[INITIAL_CAPACITY];
+        this.rows = new int[INITIAL_CAPACITY];
+        requiredBridges = new int[INITIAL_CAPACITY];
+        actualBridges = new int[INITIAL_CAPACITY];
+        neighbours = new int[INITIAL_CAPACITY * DIRECTIONS];
+        bridges = new byte[INITIAL_CAPACITY * DIRECTIONS];
+        islandViews = new CompactIsland[INITIAL_CAPACITY];
+        bridgeViews = new CompactBridge[INITIAL_CAPACITY * DIRECTIONS];
+    }
+
+    @Override
+    public Bridge buildBridge(final Island island1, final Island island2) {
+        final int id1 = validateIsland(island1, ISLAND1_NULL, ISLAND1_UNKNOWN);
+        final int id2 = validateIsland(island2, ISLAND2_NULL, ISLAND2_UNKNOWN);
+        final int direction = findDirection(id1, id2);
+
+        if (direction < 0) {
+            throw new IllegalArgumentException(describeUnbridgeableIslands(id1, id2));
+        }
+
+        final int slot = slot(id1, direction);
+        final int multiplicity = bridges[slot];
+
+        if (multiplicity == 2) {
+            throw new IllegalStateException("Two bridges already exist between the given islands.");
+        }
+
+        if (multiplicity == 0) {
+            if (actualBridges[id1] >= requiredBridges[id1] || actualBridges[id2] >= requiredBridges[id2]) {
+                throw new IllegalStateException("This island does not require any more bridges.");
+            }
+            bridgesCount++;
+        }
+
+        setMultiplicity(id1, direction, multiplicity + 1);
+        return getBridgeView(id1, direction);
+    }
+
+    private int validateIsland(final Island island, final String nullMessage, final String unknownMessage) {
+        Objects.requireNonNull(island, nullMessage);
+
+        if (!(island instanceof CompactIsland) || ((CompactIsland) island).getPuzzle() != this) {
+            throw new IllegalArgumentException(unknownMessage);
+        }
+        return ((CompactIsland) island).getId();
+    }
+
+    private int findDirection(final int id1, final int id2) {
+        final int base = id1 * DIRECTIONS;
+        for (int direction = 0; direction < DIRECTIONS; direction++) {
+            if (neighbours[base + direction] == id2) {
+                return direction;
+            }
+        }
+        return -1;
+    }
+
+    private String describeUnbridgeableIslands(final int id1, final int id2) {
+        if (id1 == id2) {
+            return "Bridged islands must not be equal.";
+        } else if (columns[id1] != columns[id2] && rows[id1] != rows[id2]) {
+            return "Bridged islands must either lie in the same row or the same column";
+        }
+        return "Bridged island is not a neighbour of this island.";
+    }
+
+    @Override
+    public void addChangeListener(final PuzzleChangeListener listener) {
+        changeSupport.addListener(listener);
+    }
+
+    @Override
+    public void removeChangeListener(final PuzzleChangeListener listener) {
+        changeSupport.removeListener(listener);
+    }
+
+    @Override
+    public Island buildIsland(final Position position, final int requiredBridges) {
+        validatePosition(position);
+
+        if (requiredBridges < 1 || requiredBridges > 8) {
+            throw new IllegalArgumentException("Parameter 'requiredBridged' must be between 1 and 8.");
+        }
+
+        final int column = position.getColumn();
+        final int row = position.getRow();
+        final int cell = row * columnsCount + column;
+
+        if (islandAtCell[cell] != NO_ISLAND) {
+            throw new IllegalStateException("An island already exists at the given position.");
+        }
+
+        if (occupancy.getOccupation(column, row) != 0) {
+            throw new IllegalStateException("An island cannot be built on an existing bridge.");
+        }
+
+        final int north = findIslandFrom(column, row, 0, -1);
+        final int south = findIslandFrom(column, row, 0, 1);
+        final int west = findIslandFrom(column, row, -1, 0);
+        final int east = findIslandFrom(column, row, 1, 0);
+
+        ensureCapacity(islandsCount + 1);
+        final int id = islandsCount++;
+        columns[id] = column;
+        rows[id] = row;
+        this.requiredBridges[id] = requiredBridges;
+        actualBridges[id] = 0;
+        islandViews[id] = new CompactIsland(this, id, position);
+        islandAtCell[cell] = id;
+        connectivity.addIsland();
+        layoutHash ^= ZobristKeys.islandKey(position, requiredBridges);
+        layoutVersion++;
+        modificationCount++;
+
+        link(id, north, Direction.NORTH.ordinal());
+        link(id, east, Direction.EAST.ordinal());
+        link(id, south, Direction.SOUTH.ordinal());
+        link(id, west, Direction.WEST.ordinal());
+
+        changeSupport.fireIslandAdded(islandViews[id]);
+        return islandViews[id];
+    }
+
+    private void validatePosition(final Position position) {
+        Objects.requireNonNull(position, "Parameter 'position' must not be null.");
+
+        if (position.getColumn() >= columnsCount) {
+            throw new IllegalArgumentException("The puzzle does not have this column: " + position.getColumn());
+        }
+
+        if (position.getRow() >= rowsCount) {
+            throw new IllegalArgumentException("The puzzle does not have this row: " + position.getRow());
+        }
+    }
+
+    private int findIslandFrom(final int column, final int row, final int columnStep, final int rowStep) {
+        int currentColumn = column + columnStep;
+        int currentRow = row + rowStep;
+
+        while (currentColumn >= 0 && currentColumn < columnsCount && currentRow >= 0 && currentRow < rowsCount) {
+            final int island = islandAtCell[currentRow * columnsCount + currentColumn];
+            if (island != NO_ISLAND) {
+                return island;
+            }
+            currentColumn += columnStep;
+            currentRow += rowStep;
+        }
+        return NO_ISLAND;
+    }
+
+    private void link(final int id, final int neighbour, final int direction) {
+        neighbours[slot(id, direction)] = neighbour;
+        if (neighbour != NO_ISLAND) {
+            neighbours[slot(neighbour, opposite(direction))] = id;
+        }
+    }
+
+    private void ensureCapacity(final int islands) {
+        if (islands > columns.length) {
+            final int capacity = Math.max(islands, columns.length * 2);
+            columns = Arrays.copyOf(columns, capacity);
+            rows = Arrays.copyOf(rows, capacity);
+            requiredBridges = Arrays.copyOf(requiredBridges, capacity);
+            actualBridges = Arrays.copyOf(actualBridges, capacity);
+            neighbours = Arrays.copyOf(neighbours, capacity * DIRECTIONS);
+            bridges = Arrays.copyOf(bridges, capacity * DIRECTIONS);
+            islandViews = Arrays.copyOf(islandViews, capacity);
+            bridgeViews = Arrays.copyOf(bridgeViews, capacity * DIRECTIONS);
+        }
+    }
+
+    @Override
+    public boolean anyBridgeMatches(final Predicate<? super Bridge> predicate) {
+        Objects.requireNonNull(predicate, "Parameter 'predicate' must not be null.");
+        for (int id = 0; id < islandsCount; id++) {
+            if (bridges[slot(id, Direction.EAST.ordinal())] > 0 && predicate.test(getBridgeView(id, Direction.EAST.ordinal()))
+                    || bridges[slot(id, Direction.SOUTH.ordinal())] > 0 && predicate.test(getBridgeView(id, Direction.SOUTH.ordinal()))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public boolean anyIslandMatches(final Predicate<? super Island> predicate) {
+        Objects.requireNonNull(predicate, "Parameter 'predicate' must not be null.");
+        for (int id = 0; id < islandsCount; id++) {
+            if (predicate.test(islandViews[id])) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public boolean containsIsland(final Island island) {
+        return island instanceof CompactIsland && ((CompactIsland) island).getPuzzle() == this;
+    }
+
+    @Override
+    public void forEachBridge(final Consumer<? super Bridge> action) {
+        Objects.requireNonNull(action, "Parameter 'action' must not be null.");
+        for (int id = 0; id < islandsCount; id++) {
+            if (bridges[slot(id, Direction.EAST.ordinal())] > 0) {
+                action.accept(getBridgeView(id, Direction.EAST.ordinal()));
+            }
+            if (bridges[slot(id, Direction.SOUTH.ordinal())] > 0) {
+                action.accept(getBridgeView(id, Direction.SOUTH.ordinal()));
+            }
+        }
+    }
+
+    @Override
+    public void forEachIsland(final Consumer<? super Island> action) {
+        Objects.requireNonNull(action, "Parameter 'action' must not be null.");
+        for (int id = 0; id < islandsCount; id++) {
+            action.accept(islandViews[id]);
+        }
+    }
+
+    @Override
+    public Set<Bridge> getBridges() {
+        final Set<Bridge> result = new HashSet<>(bridgesCount * 2);
+        forEachBridge(result::add);
+        return result;
+    }
+
+    @Override
+    public long getBridgeStateHash() {
+        return bridgeStateHash;
+    }
+
+    @Override
+    public int getColumnsCount() {
+        return columnsCount;
+    }
+
+    @Override
+    public Set<Island> getIslands() {
+        return new HashSet<>(Arrays.asList(islandViews).subList(0, islandsCount));
+    }
+
+    @Override
+    public Optional<Island> getIslandAt(final Position position) {
+        validatePosition(position);
+        final int id = islandAtCell[position.getRow() * columnsCount + position.getColumn()];
+        return id == NO_ISLAND ? Optional.empty() : Optional.of(islandViews[id]);
+    }
+
+    @Override
+    public int getIslandsCount() {
+        return islandsCount;
+    }
+
+    @Override
+    public long getLayoutHash() {
+        return layoutHash;
+    }
+
+    @Override
+    public long getLayoutVersion() {
+        return layoutVersion;
+    }
+
+    @Override
+    public SnapshotLayout getSnapshotLayout() {
+        if (snapshotLayout == null || snapshotLayout.getLayoutVersion() != layoutVersion) {
+            snapshotLayout = SnapshotLayout.createFor(this);
+        }
+        return snapshotLayout;
+    }
+
+    @Override
+    public long getModificationCount() {
+        return modificationCount;
+    }
+
+    @Override
+    public int getRowsCount() {
+        return rowsCount;
+    }
+
+    @Override
+    public void removeAllBridges() {
+        Arrays.fill(bridges, 0, islandsCount * DIRECTIONS, (byte) 0);
+        Arrays.fill(actualBridges, 0, islandsCount, 0);
+        bridgesCount = 0;
+        bridgeStateHash = 0;
+        occupancy.clear();
+        connectivity.allBridgesTornDown();
+        modificationCount++;
+        changeSupport.fireAllBridgesRemoved();
+    }
+
+    @Override
+    public boolean areAllIslandsConnected() {
+        return connectivity.areAllIslandsConnected();
+    }
+
+    @Override
+    public boolean isAnyFieldOccupiedByBridge(final Position start, final Position end) {
+        Objects.requireNonNull(start, "Parameter 'start' must not be null.");
+        Objects.requireNonNull(end, "Parameter 'end' must not be null.");
+        return occupancy.isAnyFieldOccupied(start, end);
+    }
+
+    @Override
+    public boolean isAdjacentToIsland(final int column, final int row) {
+        if (column < 0 || row < 0 || column >= columnsCount || row >= rowsCount) {
+            return false;
+        }
+        return isIslandAt(column, row - 1)
+                || isIslandAt(column + 1, row)
+                || isIslandAt(column, row + 1)
+                || isIslandAt(column - 1, row);
+    }
+
+    private boolean isIslandAt(final int column, final int row) {
+        return column >= 0 && row >= 0 && column < columnsCount && row < rowsCount
+                && islandAtCell[row * columnsCount + column] != NO_ISLAND;
+    }
+
+    @Override
+    public Optional<Bridge> tearDownBridge(final Island island1, final Island island2) {
+        final int id1 = validateIsland(island1, ISLAND1_NULL, ISLAND1_UNKNOWN);
+        final int id2 = validateIsland(island2, ISLAND2_NULL, ISLAND2_UNKNOWN);
+        final int direction = findDirection(id1, id2);
+
+        if (direction < 0 || bridges[slot(id1, direction)] == 0) {
+            return Optional.empty();
+        }
+
+        final int multiplicity = bridges[slot(id1, direction)];
+        if (multiplicity == 1) {
+            bridgesCount--;
+        }
+        setMultiplicity(id1, direction, multiplicity - 1);
+        return Optional.of(getBridgeView(id1, direction));
+    }
+
+    @Override
+    public Island getRightAndUppermostIsland() {
+        return findUppermostIslandWithoutNeighbour(columnsCount - 1, -1, Direction.EAST);
+    }
+
+    @Override
+    public Island getLeftAndUppermostIsland() {
+        return findUppermostIslandWithoutNeighbour(0, 1, Direction.WEST);
+    }
+
+    private Island findUppermostIslandWithoutNeighbour(final int firstColumn, final int columnStep, final Direction direction) {
+        for (int column = firstColumn; column >= 0 && column < columnsCount; column += columnStep) {
+            for (int row = 0; row < rowsCount; row++) {
+                final int id = islandAtCell[row * columnsCount + column];
+                if (id != NO_ISLAND && requiredBridges[id] < 8 && getNeighbourId(id, direction.ordinal()) == NO_ISLAND) {
+                    return islandViews[id];
+                }
+            }
+        }
+        return null;
+    }
+
+    private void setMultiplicity(final int id, final int direction, final int multiplicity) {
+        final int slot = slot(id, direction);
+        final int neighbour = neighbours[slot];
+        final int delta = multiplicity - bridges[slot];
+        final Position position = islandViews[id].getPosition();
+        final Position neighbourPosition = islandViews[neighbour].getPosition();
+
+        if (bridges[slot] == 0 && multiplicity > 0) {
+            occupancy.occupy(position, neighbourPosition);
+            connectivity.bridgeBuilt(id, neighbour);
+        } else if (bridges[slot] > 0 && multiplicity == 0) {
+            occupancy.release(position, neighbourPosition);
+            connectivity.bridgeTornDown(id, neighbour);
+        }
+
+        bridgeStateHash ^= ZobristKeys.bridgeKey(position, neighbourPosition, bridges[slot])
+                ^ ZobristKeys.bridgeKey(position, neighbourPosition, multiplicity);
+
+        bridges[slot] = (byte) multiplicity;
+        bridges[slot(neighbour, opposite(direction))] = (byte) multiplicity;
+        actualBridges[id] += delta;
+        actualBridges[neighbour] += delta;
+        modificationCount++;
+
+        if (delta > 0) {
+            changeSupport.fireBridgeBuilt(islandViews[id], islandViews[neighbour], multiplicity);
+        } else {
+            changeSupport.fireBridgeTornDown(islandViews[id], islandViews[neighbour], multiplicity);
+        }
+    }
+
+    /**
+     * Set the multiplicity of the bridge that starts at the given island in the given direction.
+     * @param id id of the island.
+     * @param direction ordinal of the {@link Direction} of the bridge.
+     * @param doubleBridge <code>true</code> to make the bridge a double bridge, <code>false</code> to make it a single bridge.
+     */
+    void setDoubleBridge(final int id, final int direction, final boolean doubleBridge) {
+        if (bridges[slot(id, direction)] == 0) {
+            throw new IllegalStateException("The bridge has already been torn down.");
+        }
+        setMultiplicity(id, direction, doubleBridge ? 2 : 1);
+    }
+
+    private CompactBridge getBridgeView(final int id, final int direction) {
+        // Bridges are always stored at the northern or western island, so that both ends share one view.
+        final int owner = direction == Direction.NORTH.ordinal() || direction == Direction.WEST.ordinal()
+                ? neighbours[slot(id, direction)] : id;
+        final int ownerDirection = owner == id ? direction : opposite(direction);
+        final int slot = slot(owner, ownerDirection);
+
+        if (bridgeViews[slot] == null) {
+            bridgeViews[slot] = new CompactBridge(this, owner, ownerDirection);
+        }
+        return bridgeViews[slot];
+    }
+
+    /**
+     * Get the view of the bridge that starts at the given island in the given direction.
+     * @param id id of the island.
+     * @param direction ordinal of the {@link Direction} of the bridge.
+     * @return {@link Optional} containing the bridge, if it exists.
+     */
+    Optional<Bridge> getBridge(final int id, final int direction) {
+        return bridges[slot(id, direction)] > 0 ? Optional.of(getBridgeView(id, direction)) : Optional.empty();
+    }
+
+    /**
+     * Get the amount of bridges between the given island and its neighbour in the given direction.
+     * @param id id of the island.
+     * @param direction ordinal of the {@link Direction} of the bridge.
+     * @return 0, 1 or 2.
+     */
+    int getMultiplicity(final int id, final int direction) {
+        return bridges[slot(id, direction)];
+    }
+
+    /**
+     * Get the id of the neighbour of the given island.
+     * @param id id of the island.
+     * @param direction ordinal of the {@link Direction} to look for the neighbour.
+     * @return id of the neighbour or {@link #NO_ISLAND}.
+     */
+    int getNeighbourId(final int id, final int direction) {
+        return neighbours[slot(id, direction)];
+    }
+
+    /**
+     * Get the view of the island with the given id.
+     * @param id id of the island.
+     * @return the view of the island with the given id.
+     */
+    CompactIsland getIsland(final int id) {
+        return islandViews[id];
+    }
+
+    int getColumn(final int id) {
+        return columns[id];
+    }
+
+    int getRow(final int id) {
+        return rows[id];
+    }
+
+    int getActualBridges(final int id) {
+        return actualBridges[id];
+    }
+
+    int getRequiredBridges(final int id) {
+        return requiredBridges[id];
+    }
+
+    void setRequiredBridges(final int id, final int requiredBridges) {
+        final Position position = islandViews[id].getPosition();
+        layoutHash ^= ZobristKeys.islandKey(position, this.requiredBridges[id])
+                ^ ZobristKeys.islandKey(position, requiredBridges);
+        this.requiredBridges[id] = requiredBridges;
+        layoutVersion++;
+    }
+
+    /**
+     * Get the {@link Direction} with the given ordinal.
+     * @param direction ordinal of the {@link Direction}.
+     * @return the {@link Direction} with the given ordinal.
+     */
+    static Direction direction(final int direction) {
+        return DIRECTION_VALUES[direction];
+    }
+
+    private static int slot(final int id, final int direction) {
+        return id * DIRECTIONS + direction;
+    }
+
+    private static int opposite(final int direction) {
+        // Relies on the order NORTH, EAST, SOUTH, WEST
+        return (direction + 2) % DIRECTIONS;
+    }
+}
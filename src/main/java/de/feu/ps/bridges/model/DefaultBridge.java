@@ -7,13 +7,18 @@ import java.util.Set;
 /**
  * Default implementation of {@link Bridge}.
  *
+ * The bridge is identified by a canonical key, that consists of the packed positions of the bridged islands
+ * in ascending order. See {@link Position#pack()}.
+ * Therefore two bridges between the same islands are equal, no matter in which order the islands were given.
+ *
  * @author Tim Gremplewski
  */
 class DefaultBridge implements ModifiableBridge {
 
     private final Island island1;
     private final Island island2;
-    private final Set<Island> islands;
+    private final long lowerKey;
+    private final long upperKey;
     private boolean doubleBridge;
 
     /**
@@ -43,9 +48,10 @@ class DefaultBridge implements ModifiableBridge {
             throw new IllegalArgumentException("Bridged islands must either lie in the same row or the same column");
         }
 
-        islands = new HashSet<>(2);
-        islands.add(island1);
-        islands.add(island2);
+        final long position1 = island1.getPosition().pack();
+        final long position2 = island2.getPosition().pack();
+        lowerKey = Math.min(position1, position2);
+        upperKey = Math.max(position1, position2);
     }
 
     private boolean lieInTheSameRow(final Island island1, final Island island2) {
@@ -58,7 +64,28 @@ class DefaultBridge implements ModifiableBridge {
 
     @Override
     public Set<Island> getBridgedIslands() {
-        return new HashSet<>(islands);
+        final Set<Island> islands = new HashSet<>(2);
+        islands.add(island1);
+        islands.add(island2);
+        return islands;
+    }
+
+    @Override
+    public boolean connects(final Island island1, final Island island2) {
+        return this.island1 == island1 && this.island2 == island2
+                || this.island1 == island2 && this.island2 == island1;
+    }
+
+    @Override
+    public Island otherEnd(final Island island) {
+        Objects.requireNonNull(island, "Parameter 'island' must not be null.");
+        if (island == island1) {
+            return island2;
+        }
+        if (island == island2) {
+            return island1;
+        }
+        throw new IllegalArgumentException("The given island is not bridged by this bridge.");
     }
 
     @Override
@@ -88,6 +115,35 @@ class DefaultBridge implements ModifiableBridge {
 
     @Override
     public void setDoubleBridge(boolean doubleBridge) {
-        this.doubleBridge = doubleBridge;
+        if (this.doubleBridge != doubleBridge) {
+            this.doubleBridge = doubleBridge;
+            notifyDoubleBridgeChanged(island1);
+            notifyDoubleBridgeChanged(island2);
+        }
+    }
+
+    private void notifyDoubleBridgeChanged(final Island island) {
+        if (island instanceof ModifiableIsland) {
+            ((ModifiableIsland) island).doubleBridgeChanged(this);
+        }
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof DefaultBridge)) return false;
+
+        DefaultBridge bridge = (DefaultBridge) o;
+
+        if (lowerKey != bridge.lowerKey) return false;
+        if (upperKey != bridge.upperKey) return false;
+        return connects(bridge.island1, bridge.island2);
+    }
+
+    @Override
+    public int hashCode() {
+        int result = Long.hashCode(lowerKey);
+        result = 31 * result + Long.hashCode(upperKey);
+        return result;
     }
 }
@@ -1,22 +1,35 @@
 package de.feu.ps.bridges.model;
 
 import java.util.*;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
 import java.util.stream.Collectors;
 
 /**
  * Default implementation of {@link Island}.
  *
+ * The actual and the remaining amount of bridges are maintained incrementally
+ * whenever a bridge is added or removed or one of the bridges switches between being a single and a double bridge.
+ * Tests can turn on a consistency check that compares these counts with the bridges after every modification,
+ * see {@link #setConsistencyCheckEnabled(boolean)}.
+ *
  * @author Tim Gremplewski
  */
 class DefaultIsland implements ModifiableIsland {
 
+    private static volatile boolean consistencyCheckEnabled = Boolean.getBoolean("de.feu.ps.bridges.model.consistencyCheck");
+
     private final Position position;
+    private final int index;
+    private final DefaultPuzzle puzzle;
     private int requiredBridges;
+    private int actualBridgesCount;
+    private int remainingBridges;
     private final Set<Bridge> bridges;
     private final EnumMap<Direction, Island> neighbours;
 
     /**
-     * Creates a new instance.
+     * Creates a new instance, that does not belong to a puzzle and therefore has the index 0.
      *
      * @param position Position of the new island.
      * @param requiredBridges Amount of required bridges.
@@ -24,34 +37,129 @@ class DefaultIsland implements ModifiableIsland {
      * @throws IllegalArgumentException if requiredBridges is less than 1
      */
     DefaultIsland(final Position position, final int requiredBridges) {
+        this(position, requiredBridges, 0, null);
+    }
+
+    /**
+     * Creates a new instance.
+     *
+     * @param position Position of the new island.
+     * @param requiredBridges Amount of required bridges.
+     * @param index Index of the new island within its puzzle.
+     * @param puzzle The puzzle, the new island belongs to, that is notified when the required bridges change.
+     *               May be null, if the island does not belong to a puzzle.
+     * @throws NullPointerException if position is null.
+     * @throws IllegalArgumentException if requiredBridges is less than 1 or if index is negative.
+     */
+    DefaultIsland(final Position position, final int requiredBridges, final int index, final DefaultPuzzle puzzle) {
         this.position = Objects.requireNonNull(position, "Parameter 'position' must not be null.");
 
+        if (index < 0) {
+            throw new IllegalArgumentException("Parameter 'index' must not be less than 0.");
+        }
+
         if (requiredBridges < 1 || requiredBridges > 8) {
             throw new IllegalArgumentException("Parameter 'requiredBridged' must be between 1 and 8.");
         }
 
+        this.index = index;
+        this.puzzle = puzzle;
         this.requiredBridges = requiredBridges;
+        remainingBridges = requiredBridges;
         bridges = new HashSet<>(requiredBridges);
         neighbours = new EnumMap<>(Direction.class);
     }
 
+    /**
+     * Turn the consistency check of the incrementally maintained bridge counts on or off.
+     * If turned on, every modification of an island verifies its counts
+     * and throws an {@link IllegalStateException} if they do not match its bridges.
+     * @param enabled <code>true</code> to turn the check on, <code>false</code> to turn it off.
+     */
+    static void setConsistencyCheckEnabled(final boolean enabled) {
+        consistencyCheckEnabled = enabled;
+    }
+
     @Override
     public void addBridge(final Bridge bridge) {
         Objects.requireNonNull(bridge, "Parameter 'bridge' must not be null.");
 
-        if (getActualBridgesCount() == requiredBridges) {
+        if (actualBridgesCount == requiredBridges) {
             throw new IllegalStateException("This island does not require any more bridges.");
         }
 
-        if (!bridge.getBridgedIslands().contains(this)) {
+        final Island bridgedIsland;
+        if (bridge.getIsland1() == this) {
+            bridgedIsland = bridge.getIsland2();
+        } else if (bridge.getIsland2() == this) {
+            bridgedIsland = bridge.getIsland1();
+        } else {
             throw new IllegalArgumentException("The given bridge does not bridge this island.");
         }
 
-        if (!bridge.getBridgedIslands().stream().allMatch(island -> island == this || getNeighbours().contains(island))) {
+        if (!neighbours.containsValue(bridgedIsland)) {
             throw new IllegalArgumentException("Bridged island is not a neighbour of this island.");
         }
 
-        bridges.add(bridge);
+        if (bridges.add(bridge)) {
+            updateBridgesCount(bridgeCount(bridge));
+        }
+    }
+
+    @Override
+    public void doubleBridgeChanged(final Bridge bridge) {
+        Objects.requireNonNull(bridge, "Parameter 'bridge' must not be null.");
+
+        if (bridges.contains(bridge)) {
+            updateBridgesCount(bridge.isDoubleBridge() ? 1 : -1);
+        }
+    }
+
+    private static int bridgeCount(final Bridge bridge) {
+        return bridge.isDoubleBridge() ? 2 : 1;
+    }
+
+    private void updateBridgesCount(final int delta) {
+        actualBridgesCount += delta;
+        remainingBridges = requiredBridges - actualBridgesCount;
+        verifyConsistency();
+    }
+
+    private void verifyConsistency() {
+        if (consistencyCheckEnabled) {
+            final int doubleBridges = (int) bridges.stream().filter(Bridge::isDoubleBridge).count();
+            final int expectedCount = bridges.size() + doubleBridges;
+
+            if (actualBridgesCount != expectedCount || remainingBridges != requiredBridges - expectedCount) {
+                throw new IllegalStateException("Inconsistent bridge count at " + position.getColumn() + ", " + position.getRow()
+                        + ": expected " + expectedCount + " but was " + actualBridgesCount + ".");
+            }
+        }
+    }
+
+    @Override
+    public boolean anyNeighbourMatches(final Predicate<? super Island> predicate) {
+        Objects.requireNonNull(predicate, "Parameter 'predicate' must not be null.");
+        for (final Island neighbour : neighbours.values()) {
+            if (predicate.test(neighbour)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public void forEachBridgedNeighbour(final Consumer<? super Island> action) {
+        Objects.requireNonNull(action, "Parameter 'action' must not be null.");
+        for (final Bridge bridge : bridges) {
+            action.accept(bridge.otherEnd(this));
+        }
+    }
+
+    @Override
+    public void forEachNeighbour(final Consumer<? super Island> action) {
+        Objects.requireNonNull(action, "Parameter 'action' must not be null.");
+        neighbours.values().forEach(action);
     }
 
     @Override
@@ -65,11 +173,14 @@ class DefaultIsland implements ModifiableIsland {
     @Override
     public boolean isBridgedToNeighbour(final Direction direction) {
         Objects.requireNonNull(direction, "Parameter 'direction' must not be null.");
-        final Optional<Island> optionalNeighbour = getNeighbour(direction);
+        final Island neighbour = neighbours.get(direction);
 
-        if (optionalNeighbour.isPresent()) {
-            final Island neighbour = optionalNeighbour.get();
-            return bridges.stream().anyMatch(bridge -> bridge.getBridgedIslands().contains(neighbour));
+        if (neighbour != null) {
+            for (final Bridge bridge : bridges) {
+                if (bridge.connects(this, neighbour)) {
+                    return true;
+                }
+            }
         }
         return false;
     }
@@ -88,7 +199,12 @@ class DefaultIsland implements ModifiableIsland {
     @Override
     public Optional<Bridge> getBridgeTo(final Island island) {
         Objects.requireNonNull(island, "Parameter 'island' must not be null.");
-        return bridges.stream().filter(bridge -> bridge.getBridgedIslands().contains(island)).findFirst();
+        for (final Bridge bridge : bridges) {
+            if (bridge.connects(this, island)) {
+                return Optional.of(bridge);
+            }
+        }
+        return Optional.empty();
     }
 
     @Override
@@ -116,6 +232,11 @@ class DefaultIsland implements ModifiableIsland {
         }
     }
 
+    @Override
+    public int getIndex() {
+        return index;
+    }
+
     @Override
     public Position getPosition() {
         return position;
@@ -128,14 +249,12 @@ class DefaultIsland implements ModifiableIsland {
 
     @Override
     public int getRemainingBridges() {
-        return requiredBridges - getActualBridgesCount();
+        return remainingBridges;
     }
 
     @Override
     public int getActualBridgesCount() {
-        final int doubleBridges = (int) bridges.stream().filter(Bridge::isDoubleBridge).count();
-        final int singleBridges = bridges.size() - doubleBridges;
-        return singleBridges + doubleBridges * 2;
+        return actualBridgesCount;
     }
 
     @Override
@@ -146,12 +265,16 @@ class DefaultIsland implements ModifiableIsland {
     @Override
     public void removeAllBridges() {
         bridges.clear();
+        actualBridgesCount = 0;
+        updateBridgesCount(0);
     }
 
     @Override
     public void removeBridge(final Bridge bridge) {
         Objects.requireNonNull(bridge, "Parameter 'bridge' must not be null.");
-        bridges.remove(bridge);
+        if (bridges.remove(bridge)) {
+            updateBridgesCount(-bridgeCount(bridge));
+        }
     }
 
     @Override
@@ -169,6 +292,11 @@ class DefaultIsland implements ModifiableIsland {
         if (requiredBridges < 1 || requiredBridges > 8) {
             throw new IllegalArgumentException("Parameter 'requiredBridged' must be between 1 and 8.");
         }
+        final int oldRequiredBridges = this.requiredBridges;
         this.requiredBridges = requiredBridges;
+        updateBridgesCount(0);
+        if (puzzle != null) {
+            puzzle.requiredBridgesChanged(this, oldRequiredBridges);
+        }
     }
 }
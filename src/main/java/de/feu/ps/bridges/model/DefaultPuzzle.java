@@ -1,8 +1,17 @@
 package de.feu.ps.bridges.model;
 
 import java.util.*;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
 
 /**
+ * Default implementation of {@link ModifiablePuzzle}.
+ *
+ * Columns and rows are only created once they contain an island.
+ * In large board mode the size of the puzzle is not limited to 25 columns and rows
+ * and fields occupied by bridges are stored as intervals per row and column,
+ * so that the memory consumption depends on the amount of islands and bridges instead of the size of the board.
+ *
  * @author Tim Gremplewski
  */
 class DefaultPuzzle implements ModifiablePuzzle {
@@ -12,51 +21,101 @@ class DefaultPuzzle implements ModifiablePuzzle {
 
     private final Column[] columns;
     private final Row[] rows;
+    private final NavigableMap<Integer, Column> largeBoardColumns;
+    private final Map<Integer, Row> largeBoardRows;
+    private final Map<Position, ModifiableIsland> islandsByPosition;
 
     private final Set<ModifiableBridge> bridges;
     private final Set<ModifiableIsland> islands;
+    private final BridgeOccupancy occupancy;
+    private final BridgeConnectivity connectivity;
+    private final IslandAdjacency adjacency;
+    private final PackedPositionSet largeBoardIslandPositions;
+    private final PuzzleChangeSupport changeSupport;
+    private long layoutHash;
+    private long layoutVersion;
+    private SnapshotLayout snapshotLayout;
+    private long bridgeStateHash;
+    private long modificationCount;
 
     DefaultPuzzle(final int columns, final int rows) {
-        if (columns < 4 || columns > 25) {
-            throw new IllegalArgumentException("Parameter 'columns' must be between 4 and 25.");
-        }
+        this(columns, rows, false);
+    }
 
-        if (rows < 4 || rows > 25) {
-            throw new IllegalArgumentException("Parameter 'rows' must be between 4 and 25.");
-        }
+    /**
+     * Creates a new instance.
+     * @param columns Amount of columns of the puzzle.
+     * @param rows Amount of rows of the puzzle.
+     * @param largeBoard <code>true</code> to create a puzzle in large board mode, <code>false</code> otherwise.
+     * @throws IllegalArgumentException if columns or rows is less than 4 or,
+     *                                  if not in large board mode, greater than 25.
+     */
+    DefaultPuzzle(final int columns, final int rows, final boolean largeBoard) {
+        ModifiablePuzzleFactory.validateSize(columns, rows, largeBoard);
 
         columnsCount = columns;
         rowsCount = rows;
-        this.columns = new Column[columns];
-        this.rows = new Row[rows];
+        // Arrays of a large board could exceed the memory, so only the columns and rows with islands are mapped
+        this.columns = largeBoard ? null : new Column[columns];
+        this.rows = largeBoard ? null : new Row[rows];
+        largeBoardColumns = largeBoard ? new TreeMap<>() : null;
+        largeBoardRows = largeBoard ? new HashMap<>() : null;
+        islandsByPosition = new HashMap<>();
         bridges = new HashSet<>();
         islands = new HashSet<>();
+        occupancy = largeBoard ? new IntervalBridgeOccupancy() : new DenseBridgeOccupancy(columns, rows);
+        connectivity = new BridgeConnectivity();
+        // A bitmap of a large board could exceed the memory, so its island positions are looked up instead
+        adjacency = largeBoard ? null : new IslandAdjacency(columns, rows);
+        largeBoardIslandPositions = largeBoard ? new PackedPositionSet() : null;
+        changeSupport = new PuzzleChangeSupport(this);
     }
 
     @Override
     public Bridge buildBridge(final Island island1, final Island island2) {
         validateIslands(island1, island2);
 
-        final ModifiableBridge bridge;
-        final Optional<ModifiableBridge> possibleDuplicate = findBridge(island1, island2);
-
-        if (possibleDuplicate.isPresent()) {
-            bridge = possibleDuplicate.get();
+        ModifiableBridge bridge = findBridge(island1, island2);
 
+        if (bridge != null) {
             if (bridge.isDoubleBridge()) {
                 throw new IllegalStateException("Two bridges already exist between the given islands.");
             } else {
                 bridge.setDoubleBridge(true);
+                updateBridgeStateHash(island1, island2, 1, 2);
+                changeSupport.fireBridgeBuilt(island1, island2, 2);
             }
         } else {
             bridge = ModifiableBridgeFactory.createBridge(island1, island2, false);
             ((ModifiableIsland) island1).addBridge(bridge);
             ((ModifiableIsland) island2).addBridge(bridge);
             bridges.add(bridge);
+            connectivity.bridgeBuilt(island1.getIndex(), island2.getIndex());
+            occupancy.occupy(island1.getPosition(), island2.getPosition());
+            updateBridgeStateHash(island1, island2, 0, 1);
+            changeSupport.fireBridgeBuilt(island1, island2, 1);
         }
         return bridge;
     }
 
+    @Override
+    public void addChangeListener(final PuzzleChangeListener listener) {
+        changeSupport.addListener(listener);
+    }
+
+    @Override
+    public void removeChangeListener(final PuzzleChangeListener listener) {
+        changeSupport.removeListener(listener);
+    }
+
+    private void updateBridgeStateHash(final Island island1, final Island island2,
+                                       final int oldMultiplicity, final int newMultiplicity) {
+        // Every change of a bridge updates the hash, so this is the place to count the modifications
+        modificationCount++;
+        bridgeStateHash ^= ZobristKeys.bridgeKey(island1.getPosition(), island2.getPosition(), oldMultiplicity)
+                ^ ZobristKeys.bridgeKey(island1.getPosition(), island2.getPosition(), newMultiplicity);
+    }
+
     private void validateIslands(final Island island1, final Island island2) {
         Objects.requireNonNull(island1, "Parameter 'island1' must not be null.");
         Objects.requireNonNull(island2, "Parameter 'island2' must not be null.");
@@ -70,10 +129,9 @@ class DefaultPuzzle implements ModifiablePuzzle {
         }
     }
 
-    private Optional<ModifiableBridge> findBridge(final Island island1, final Island island2) {
-        return bridges.stream()
-                .filter(bridge -> bridge.getBridgedIslands().containsAll(
-                        Arrays.asList(island1, island2))).findFirst();
+    private ModifiableBridge findBridge(final Island island1, final Island island2) {
+        // Bridges of this puzzle are always modifiable
+        return (ModifiableBridge) island1.getBridgeTo(island2).orElse(null);
     }
 
     @Override
@@ -83,30 +141,61 @@ class DefaultPuzzle implements ModifiablePuzzle {
         final int column = position.getColumn();
         final int row = position.getRow();
 
-        if (columns[column] != null && columns[column].getIslandAtRow(row).isPresent()) {
+        if (islandsByPosition.containsKey(position)) {
             throw new IllegalStateException("An island already exists at the given position.");
         }
 
-        final ModifiableIsland island = ModifiableIslandFactory.create(position, requiredBridges);
+        if (occupancy.getOccupation(column, row) != 0) {
+            throw new IllegalStateException("An island cannot be built on an existing bridge.");
+        }
+
+        final ModifiableIsland island = ModifiableIslandFactory.create(position, requiredBridges, islands.size(), this);
         addToColumn(island, column);
         addToRow(island, row);
+        islandsByPosition.put(position, island);
         islands.add(island);
+        connectivity.addIsland();
+        if (adjacency != null) {
+            adjacency.addIsland(column, row);
+        } else {
+            largeBoardIslandPositions.add(Position.pack(column, row));
+        }
+        layoutHash ^= ZobristKeys.islandKey(position, requiredBridges);
+        layoutVersion++;
+        modificationCount++;
+        changeSupport.fireIslandAdded(island);
         return island;
     }
 
+    /**
+     * Called by an island of this puzzle after its amount of required bridges has changed.
+     * @param island the changed island.
+     * @param oldRequiredBridges the amount of required bridges before the change.
+     */
+    void requiredBridgesChanged(final Island island, final int oldRequiredBridges) {
+        layoutHash ^= ZobristKeys.islandKey(island.getPosition(), oldRequiredBridges)
+                ^ ZobristKeys.islandKey(island.getPosition(), island.getRequiredBridges());
+        layoutVersion++;
+    }
+
     private void validatePosition(final Position position) {
         Objects.requireNonNull(position, "Parameter 'position' must not be null.");
 
-        if (position.getColumn() >= columns.length) {
+        if (position.getColumn() >= columnsCount) {
             throw new IllegalArgumentException("The puzzle does not have this column: " + position.getColumn());
         }
 
-        if (position.getRow() >= rows.length) {
+        if (position.getRow() >= rowsCount) {
             throw new IllegalArgumentException("The puzzle does not have this row: " + position.getRow());
         }
     }
 
     private void addToColumn(final ModifiableIsland island, final int columnIndex) {
+        if (columns == null) {
+            largeBoardColumns.computeIfAbsent(columnIndex, Column::new).addIsland(island);
+            return;
+        }
+
         if (columns[columnIndex] == null) {
             columns[columnIndex] = new Column(columnIndex);
         }
@@ -114,17 +203,66 @@ class DefaultPuzzle implements ModifiablePuzzle {
     }
 
     private void addToRow(final ModifiableIsland island, final int rowIndex) {
+        if (rows == null) {
+            largeBoardRows.computeIfAbsent(rowIndex, Row::new).addIsland(island);
+            return;
+        }
+
         if (rows[rowIndex] == null) {
             rows[rowIndex] = new Row(rowIndex);
         }
         rows[rowIndex].addIsland(island);
     }
 
+    @Override
+    public boolean anyBridgeMatches(final Predicate<? super Bridge> predicate) {
+        Objects.requireNonNull(predicate, "Parameter 'predicate' must not be null.");
+        for (final Bridge bridge : bridges) {
+            if (predicate.test(bridge)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public boolean anyIslandMatches(final Predicate<? super Island> predicate) {
+        Objects.requireNonNull(predicate, "Parameter 'predicate' must not be null.");
+        for (final Island island : islands) {
+            if (predicate.test(island)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public boolean containsIsland(final Island island) {
+        return islands.contains(island);
+    }
+
+    @Override
+    public void forEachBridge(final Consumer<? super Bridge> action) {
+        Objects.requireNonNull(action, "Parameter 'action' must not be null.");
+        bridges.forEach(action);
+    }
+
+    @Override
+    public void forEachIsland(final Consumer<? super Island> action) {
+        Objects.requireNonNull(action, "Parameter 'action' must not be null.");
+        islands.forEach(action);
+    }
+
     @Override
     public Set<Bridge> getBridges() {
         return new HashSet<>(bridges);
     }
 
+    @Override
+    public long getBridgeStateHash() {
+        return bridgeStateHash;
+    }
+
     @Override
     public int getColumnsCount() {
         return columnsCount;
@@ -135,6 +273,40 @@ class DefaultPuzzle implements ModifiablePuzzle {
         return new HashSet<>(islands);
     }
 
+    @Override
+    public Optional<Island> getIslandAt(final Position position) {
+        validatePosition(position);
+        return Optional.ofNullable(islandsByPosition.get(position));
+    }
+
+    @Override
+    public int getIslandsCount() {
+        return islands.size();
+    }
+
+    @Override
+    public long getLayoutHash() {
+        return layoutHash;
+    }
+
+    @Override
+    public long getLayoutVersion() {
+        return layoutVersion;
+    }
+
+    @Override
+    public SnapshotLayout getSnapshotLayout() {
+        if (snapshotLayout == null || snapshotLayout.getLayoutVersion() != layoutVersion) {
+            snapshotLayout = SnapshotLayout.createFor(this);
+        }
+        return snapshotLayout;
+    }
+
+    @Override
+    public long getModificationCount() {
+        return modificationCount;
+    }
+
     @Override
     public int getRowsCount() {
         return rowsCount;
@@ -144,22 +316,62 @@ class DefaultPuzzle implements ModifiablePuzzle {
     public void removeAllBridges() {
         islands.forEach(ModifiableIsland::removeAllBridges);
         bridges.clear();
+        occupancy.clear();
+        connectivity.allBridgesTornDown();
+        bridgeStateHash = 0;
+        modificationCount++;
+        changeSupport.fireAllBridgesRemoved();
+    }
+
+    @Override
+    public boolean areAllIslandsConnected() {
+        return connectivity.areAllIslandsConnected();
+    }
+
+    @Override
+    public boolean isAnyFieldOccupiedByBridge(final Position start, final Position end) {
+        Objects.requireNonNull(start, "Parameter 'start' must not be null.");
+        Objects.requireNonNull(end, "Parameter 'end' must not be null.");
+        return occupancy.isAnyFieldOccupied(start, end);
+    }
+
+    @Override
+    public boolean isAdjacentToIsland(final int column, final int row) {
+        if (adjacency != null) {
+            return adjacency.isAdjacentToIsland(column, row);
+        }
+        if (column < 0 || row < 0 || column >= columnsCount || row >= rowsCount) {
+            return false;
+        }
+        return isIslandAt(column, row - 1)
+                || isIslandAt(column + 1, row)
+                || isIslandAt(column, row + 1)
+                || isIslandAt(column - 1, row);
+    }
+
+    private boolean isIslandAt(final int column, final int row) {
+        return column >= 0 && row >= 0 && column < columnsCount && row < rowsCount
+                && largeBoardIslandPositions.contains(Position.pack(column, row));
     }
 
     @Override
     public Optional<Bridge> tearDownBridge(final Island island1, final Island island2) {
         validateIslands(island1, island2);
 
-        final Optional<ModifiableBridge> optionalBridge = findBridge(island1, island2);
-        if (optionalBridge.isPresent()) {
-            final ModifiableBridge bridge = optionalBridge.get();
-
+        final ModifiableBridge bridge = findBridge(island1, island2);
+        if (bridge != null) {
             if (bridge.isDoubleBridge()) {
                 bridge.setDoubleBridge(false);
+                updateBridgeStateHash(island1, island2, 2, 1);
+                changeSupport.fireBridgeTornDown(island1, island2, 1);
             } else {
                 ((ModifiableIsland) island1).removeBridge(bridge);
                 ((ModifiableIsland) island2).removeBridge(bridge);
                 bridges.remove(bridge);
+                connectivity.bridgeTornDown(island1.getIndex(), island2.getIndex());
+                occupancy.release(island1.getPosition(), island2.getPosition());
+                updateBridgeStateHash(island1, island2, 1, 0);
+                changeSupport.fireBridgeTornDown(island1, island2, 0);
             }
             return Optional.of(bridge);
         }
@@ -168,6 +380,10 @@ class DefaultPuzzle implements ModifiablePuzzle {
 
     @Override
     public Island getRightAndUppermostIsland() {
+        if (columns == null) {
+            return getFirstUnfinishedIsland(largeBoardColumns.descendingMap().values(), Direction.EAST);
+        }
+
         for (int i = columns.length - 1; i >= 0; i--) {
             if (columns[i] != null) {
                 Optional<Island> firstIsland = columns[i].getFirstUnfinishedIsland(Direction.EAST);
@@ -181,9 +397,13 @@ class DefaultPuzzle implements ModifiablePuzzle {
 
     @Override
     public Island getLeftAndUppermostIsland() {
-        for (int i = 0; i < columns.length; i++) {
-            if (columns[i] != null) {
-                Optional<Island> firstIsland = columns[i].getFirstUnfinishedIsland(Direction.WEST);
+        if (columns == null) {
+            return getFirstUnfinishedIsland(largeBoardColumns.values(), Direction.WEST);
+        }
+
+        for (final Column column : columns) {
+            if (column != null) {
+                Optional<Island> firstIsland = column.getFirstUnfinishedIsland(Direction.WEST);
                 if (firstIsland.isPresent()) {
                     return firstIsland.get();
                 }
@@ -191,4 +411,14 @@ class DefaultPuzzle implements ModifiablePuzzle {
         }
         return null;
     }
+
+    private static Island getFirstUnfinishedIsland(final Collection<Column> columns, final Direction direction) {
+        for (final Column column : columns) {
+            Optional<Island> firstIsland = column.getFirstUnfinishedIsland(direction);
+            if (firstIsland.isPresent()) {
+                return firstIsland.get();
+            }
+        }
+        return null;
+    }
 }
@@ -0,0 +1,533 @@
+package de.feu.ps.bridges.model;
+
+import java.util.*;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+import static de.feu.ps.bridges.model.SnapshotLayout.NO_ISLAND;
+
+/**
+ * Default implementation of {@link PuzzleSnapshot}.
+ *
+ * The islands are described by a {@link SnapshotLayout}, that is shared by all snapshots of the same puzzle.
+ * The multiplicity of every bridge is stored in a {@link PersistentByteArray}
+ * that is indexed by the id of the northern or western island and the axis of the bridge.
+ * A second {@link PersistentByteArray} holds the actual amount of bridges of every island.
+ * Therefore deriving a new snapshot copies only O(log n) nodes of these arrays and nothing of the layout.
+ *
+ * The {@link Island} views of a snapshot are created on first access, so that deriving a snapshot
+ * that is never analysed stays cheap. There is exactly one view per island and snapshot.
+ * Whether all islands are connected is determined on first request as well and remembered afterwards.
+ *
+ * @author Tim Gremplewski
+ */
+class DefaultPuzzleSnapshot implements PuzzleSnapshot {
+
+    /**
+     * Directions of the bridges that are stored at an island.
+     * Bridges to the north and to the west are stored at the other island.
+     */
+    static final Direction[] OWNED_DIRECTIONS = {Direction.EAST, Direction.SOUTH};
+
+    private static final String ISLAND1_NULL = "Parameter 'island1' must not be null.";
+    private static final String ISLAND2_NULL = "Parameter 'island2' must not be null.";
+    private static final String ISLAND1_UNKNOWN = "Island1 is not part of this snapshot.";
+    private static final String ISLAND2_UNKNOWN = "Island2 is not part of this snapshot.";
+    private static final String IMMUTABLE = "A puzzle snapshot cannot be changed.";
+    private static final int DIRECTIONS = 4;
+    private static final int EAST = Direction.EAST.ordinal();
+    private static final int SOUTH = Direction.SOUTH.ordinal();
+    private static final int WEST = Direction.WEST.ordinal();
+    private static final int CONNECTIVITY_UNKNOWN = 0;
+    private static final int CONNECTED = 1;
+    private static final int NOT_CONNECTED = 2;
+
+    private final SnapshotLayout layout;
+    private final PersistentByteArray bridges;
+    private final PersistentByteArray actualBridges;
+    private final int bridgesCount;
+    private final long bridgeStateHash;
+    private volatile SnapshotIsland[] islandViews;
+    private volatile int connectivity;
+
+    /**
+     * Creates a new instance.
+     * @param layout the layout of the islands.
+     * @param bridges the multiplicities of the bridges. See {@link #edgeOf(int, int)}.
+     * @param actualBridges the actual amount of bridges of every island.
+     * @param bridgesCount the amount of bridges with a multiplicity greater than zero.
+     * @param bridgeStateHash the Zobrist hash of the bridges. See {@link Puzzle#getBridgeStateHash()}.
+     */
+    DefaultPuzzleSnapshot(final SnapshotLayout layout, final PersistentByteArray bridges,
+                          final PersistentByteArray actualBridges, final int bridgesCount, final long bridgeStateHash) {
+        this.layout = Objects.requireNonNull(layout, "Parameter 'layout' must not be null.");
+        this.bridges = Objects.requireNonNull(bridges, "Parameter 'bridges' must not be null.");
+        this.actualBridges = Objects.requireNonNull(actualBridges, "Parameter 'actualBridges' must not be null.");
+        this.bridgesCount = bridgesCount;
+        this.bridgeStateHash = bridgeStateHash;
+    }
+
+    @Override
+    public PuzzleSnapshot withBridge(final Island island1, final Island island2) {
+        final int id1 = validateIsland(island1, ISLAND1_NULL, ISLAND1_UNKNOWN);
+        final int id2 = validateIsland(island2, ISLAND2_NULL, ISLAND2_UNKNOWN);
+        final int direction = findDirection(id1, id2);
+
+        if (direction < 0) {
+            throw new IllegalArgumentException(describeUnbridgeableIslands(id1, id2));
+        }
+
+        final int multiplicity = getMultiplicity(id1, direction);
+
+        if (multiplicity == 2) {
+            throw new IllegalStateException("Two bridges already exist between the given islands.");
+        }
+
+        if (multiplicity == 0
+                && (getActualBridges(id1) >= layout.getRequiredBridges(id1)
+                || getActualBridges(id2) >= layout.getRequiredBridges(id2))) {
+            throw new IllegalStateException("This island does not require any more bridges.");
+        }
+
+        return new DefaultPuzzleSnapshot(layout,
+                bridges.set(edge(id1, direction), (byte) (multiplicity + 1)),
+                changeActualBridges(id1, id2, 1),
+                multiplicity == 0 ? bridgesCount + 1 : bridgesCount,
+                changeBridgeStateHash(id1, id2, multiplicity, multiplicity + 1));
+    }
+
+    @Override
+    public PuzzleSnapshot withoutBridge(final Island island1, final Island island2) {
+        final int id1 = validateIsland(island1, ISLAND1_NULL, ISLAND1_UNKNOWN);
+        final int id2 = validateIsland(island2, ISLAND2_NULL, ISLAND2_UNKNOWN);
+        final int direction = findDirection(id1, id2);
+
+        if (direction < 0 || getMultiplicity(id1, direction) == 0) {
+            return this;
+        }
+
+        final int multiplicity = getMultiplicity(id1, direction);
+        return new DefaultPuzzleSnapshot(layout,
+                bridges.set(edge(id1, direction), (byte) (multiplicity - 1)),
+                changeActualBridges(id1, id2, -1),
+                multiplicity == 1 ? bridgesCount - 1 : bridgesCount,
+                changeBridgeStateHash(id1, id2, multiplicity, multiplicity - 1));
+    }
+
+    private PersistentByteArray changeActualBridges(final int id1, final int id2, final int delta) {
+        return actualBridges
+                .set(id1, (byte) (actualBridges.get(id1) + delta))
+                .set(id2, (byte) (actualBridges.get(id2) + delta));
+    }
+
+    private long changeBridgeStateHash(final int id1, final int id2, final int oldMultiplicity, final int newMultiplicity) {
+        final Position position1 = layout.getPosition(id1);
+        final Position position2 = layout.getPosition(id2);
+        return bridgeStateHash
+                ^ ZobristKeys.bridgeKey(position1, position2, oldMultiplicity)
+                ^ ZobristKeys.bridgeKey(position1, position2, newMultiplicity);
+    }
+
+    private int validateIsland(final Island island, final String nullMessage, final String unknownMessage) {
+        Objects.requireNonNull(island, nullMessage);
+
+        if (!containsIsland(island)) {
+            throw new IllegalArgumentException(unknownMessage);
+        }
+        return ((SnapshotIsland) island).getId();
+    }
+
+    private int findDirection(final int id1, final int id2) {
+        for (int direction = 0; direction < DIRECTIONS; direction++) {
+            if (layout.getNeighbourId(id1, direction) == id2) {
+                return direction;
+            }
+        }
+        return -1;
+    }
+
+    private String describeUnbridgeableIslands(final int id1, final int id2) {
+        if (id1 == id2) {
+            return "Bridged islands must not be equal.";
+        } else if (layout.getColumn(id1) != layout.getColumn(id2) && layout.getRow(id1) != layout.getRow(id2)) {
+            return "Bridged islands must either lie in the same row or the same column";
+        }
+        return "Bridged island is not a neighbour of this island.";
+    }
+
+    @Override
+    public Bridge buildBridge(final Island island1, final Island island2) {
+        throw new UnsupportedOperationException(IMMUTABLE);
+    }
+
+    @Override
+    public void removeAllBridges() {
+        throw new UnsupportedOperationException(IMMUTABLE);
+    }
+
+    @Override
+    public Optional<Bridge> tearDownBridge(final Island island1, final Island island2) {
+        throw new UnsupportedOperationException(IMMUTABLE);
+    }
+
+    @Override
+    public boolean anyBridgeMatches(final Predicate<? super Bridge> predicate) {
+        Objects.requireNonNull(predicate, "Parameter 'predicate' must not be null.");
+        for (int id = 0; id < layout.getIslandsCount(); id++) {
+            if (getMultiplicity(id, EAST) > 0 && predicate.test(new SnapshotBridge(this, id, EAST))
+                    || getMultiplicity(id, SOUTH) > 0 && predicate.test(new SnapshotBridge(this, id, SOUTH))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public boolean anyIslandMatches(final Predicate<? super Island> predicate) {
+        Objects.requireNonNull(predicate, "Parameter 'predicate' must not be null.");
+        for (SnapshotIsland island : getIslandViews()) {
+            if (predicate.test(island)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public boolean containsIsland(final Island island) {
+        return island instanceof SnapshotIsland && ((SnapshotIsland) island).getSnapshot() == this;
+    }
+
+    @Override
+    public void forEachBridge(final Consumer<? super Bridge> action) {
+        Objects.requireNonNull(action, "Parameter 'action' must not be null.");
+        for (int id = 0; id < layout.getIslandsCount(); id++) {
+            if (getMultiplicity(id, EAST) > 0) {
+                action.accept(new SnapshotBridge(this, id, EAST));
+            }
+            if (getMultiplicity(id, SOUTH) > 0) {
+                action.accept(new SnapshotBridge(this, id, SOUTH));
+            }
+        }
+    }
+
+    @Override
+    public void forEachIsland(final Consumer<? super Island> action) {
+        Objects.requireNonNull(action, "Parameter 'action' must not be null.");
+        for (SnapshotIsland island : getIslandViews()) {
+            action.accept(island);
+        }
+    }
+
+    @Override
+    public Set<Bridge> getBridges() {
+        final Set<Bridge> result = new HashSet<>(bridgesCount * 2);
+        forEachBridge(result::add);
+        return result;
+    }
+
+    @Override
+    public long getBridgeStateHash() {
+        return bridgeStateHash;
+    }
+
+    @Override
+    public int getColumnsCount() {
+        return layout.getColumnsCount();
+    }
+
+    @Override
+    public Set<Island> getIslands() {
+        return new HashSet<>(Arrays.asList(getIslandViews()));
+    }
+
+    @Override
+    public Optional<Island> getIslandAt(final Position position) {
+        Objects.requireNonNull(position, "Parameter 'position' must not be null.");
+
+        if (position.getColumn() >= layout.getColumnsCount()) {
+            throw new IllegalArgumentException("The puzzle does not have this column: " + position.getColumn());
+        }
+
+        if (position.getRow() >= layout.getRowsCount()) {
+            throw new IllegalArgumentException("The puzzle does not have this row: " + position.getRow());
+        }
+
+        final int id = layout.getIslandAt(position.getColumn(), position.getRow());
+        return id == NO_ISLAND ? Optional.empty() : Optional.of(getIsland(id));
+    }
+
+    @Override
+    public boolean areAllIslandsConnected() {
+        // Racing threads compute the same value, so the result can be published without locking
+        if (connectivity == CONNECTIVITY_UNKNOWN) {
+            connectivity = findConnectedIslandsCount() == layout.getIslandsCount() ? CONNECTED : NOT_CONNECTED;
+        }
+        return connectivity == CONNECTED;
+    }
+
+    private int findConnectedIslandsCount() {
+        final int islandsCount = layout.getIslandsCount();
+        if (islandsCount == 0) {
+            return 0;
+        }
+
+        final boolean[] visited = new boolean[islandsCount];
+        final int[] islandsToVisit = new int[islandsCount];
+        int visitedCount = 0;
+        visited[0] = true;
+        islandsToVisit[visitedCount++] = 0;
+
+        // Every island is queued once, so the visited islands are the first entries of the queue
+        for (int next = 0; next < visitedCount; next++) {
+            final int id = islandsToVisit[next];
+            for (int direction = 0; direction < DIRECTIONS; direction++) {
+                final int neighbour = layout.getNeighbourId(id, direction);
+                if (neighbour != NO_ISLAND && !visited[neighbour] && getMultiplicity(id, direction) > 0) {
+                    visited[neighbour] = true;
+                    islandsToVisit[visitedCount++] = neighbour;
+                }
+            }
+        }
+        return visitedCount;
+    }
+
+    @Override
+    public int getIslandsCount() {
+        return layout.getIslandsCount();
+    }
+
+    @Override
+    public long getLayoutHash() {
+        return layout.getLayoutHash();
+    }
+
+    /**
+     * Get the table of the potential bridges of this snapshot, that is shared by all snapshots with the same layout.
+     * @return the table of the potential bridges.
+     */
+    PotentialBridgeGraph getPotentialBridgeGraph() {
+        return layout.getPotentialBridgeGraph(this);
+    }
+
+    @Override
+    public void addChangeListener(final PuzzleChangeListener listener) {
+        // A snapshot never changes, so its listeners would never be notified
+        Objects.requireNonNull(listener, "Parameter 'listener' must not be null.");
+    }
+
+    @Override
+    public void removeChangeListener(final PuzzleChangeListener listener) {
+    }
+
+    @Override
+    public long getLayoutVersion() {
+        // The islands of a snapshot never change
+        return 0;
+    }
+
+    @Override
+    public long getModificationCount() {
+        // A snapshot never changes
+        return 0;
+    }
+
+    @Override
+    public int getRowsCount() {
+        return layout.getRowsCount();
+    }
+
+    @Override
+    public boolean isAnyFieldOccupiedByBridge(final Position start, final Position end) {
+        Objects.requireNonNull(start, "Parameter 'start' must not be null.");
+        Objects.requireNonNull(end, "Parameter 'end' must not be null.");
+
+        if (start.getRow() == end.getRow()) {
+            return isAnyFieldOccupied(start.getRow(),
+                    Math.min(start.getColumn(), end.getColumn()), Math.max(start.getColumn(), end.getColumn()), true);
+        } else if (start.getColumn() == end.getColumn()) {
+            return isAnyFieldOccupied(start.getColumn(),
+                    Math.min(start.getRow(), end.getRow()), Math.max(start.getRow(), end.getRow()), false);
+        }
+        throw new IllegalArgumentException("Positions must either lie in the same row or the same column.");
+    }
+
+    @Override
+    public boolean isAdjacentToIsland(final int column, final int row) {
+        if (column < 0 || row < 0 || column >= layout.getColumnsCount() || row >= layout.getRowsCount()) {
+            return false;
+        }
+        return isIslandAt(column, row - 1)
+                || isIslandAt(column + 1, row)
+                || isIslandAt(column, row + 1)
+                || isIslandAt(column - 1, row);
+    }
+
+    private boolean isIslandAt(final int column, final int row) {
+        return column >= 0 && row >= 0 && column < layout.getColumnsCount() && row < layout.getRowsCount()
+                && layout.getIslandAt(column, row) != NO_ISLAND;
+    }
+
+    private boolean isAnyFieldOccupied(final int line, final int from, final int to, final boolean row) {
+        if (line >= (row ? layout.getRowsCount() : layout.getColumnsCount())) {
+            // Fields outside of the puzzle are never occupied
+            return false;
+        }
+
+        final int last = Math.min(to, (row ? layout.getColumnsCount() : layout.getRowsCount()) - 1);
+        return isAnyFieldOccupiedAlong(line, from, last, row) || isAnyFieldOccupiedAcross(line, from, last, row);
+    }
+
+    private boolean isAnyFieldOccupiedAlong(final int line, final int from, final int to, final boolean row) {
+        // Bridges that lie in the same row or column as the path
+        final int forward = row ? EAST : SOUTH;
+        int id = layout.findLastIslandUpTo(line, from, row);
+        if (id == NO_ISLAND) {
+            id = layout.findFirstIsland(line, row);
+        }
+
+        while (id != NO_ISLAND && coordinate(id, row) < to) {
+            final int next = layout.getNeighbourId(id, forward);
+            if (next == NO_ISLAND) {
+                return false;
+            }
+
+            if (getMultiplicity(id, forward) > 0
+                    && Math.max(coordinate(id, row) + 1, from) <= Math.min(coordinate(next, row) - 1, to)) {
+                return true;
+            }
+            id = next;
+        }
+        return false;
+    }
+
+    private boolean isAnyFieldOccupiedAcross(final int line, final int from, final int to, final boolean row) {
+        // Bridges that cross the row or column of the path
+        final int forward = row ? SOUTH : EAST;
+        for (int crossingLine = from; crossingLine <= to; crossingLine++) {
+            final int id = layout.findLastIslandUpTo(crossingLine, line, !row);
+            if (id != NO_ISLAND && coordinate(id, !row) < line && getMultiplicity(id, forward) > 0
+                    && coordinate(layout.getNeighbourId(id, forward), !row) > line) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private int coordinate(final int id, final boolean row) {
+        return row ? layout.getColumn(id) : layout.getRow(id);
+    }
+
+    @Override
+    public Island getRightAndUppermostIsland() {
+        return findUppermostIslandWithoutNeighbour(layout.getColumnsCount() - 1, -1, EAST);
+    }
+
+    @Override
+    public Island getLeftAndUppermostIsland() {
+        return findUppermostIslandWithoutNeighbour(0, 1, WEST);
+    }
+
+    private Island findUppermostIslandWithoutNeighbour(final int firstColumn, final int columnStep, final int direction) {
+        for (int column = firstColumn; column >= 0 && column < layout.getColumnsCount(); column += columnStep) {
+            for (int id = layout.findFirstIsland(column, false); id != NO_ISLAND; id = layout.getNeighbourId(id, SOUTH)) {
+                if (layout.getRequiredBridges(id) < 8 && layout.getNeighbourId(id, direction) == NO_ISLAND) {
+                    return getIsland(id);
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Get the layout of the islands of this snapshot.
+     * @return the layout of the islands of this snapshot.
+     */
+    SnapshotLayout getLayout() {
+        return layout;
+    }
+
+    /**
+     * Get the view of the island with the given id.
+     * @param id id of the island.
+     * @return the view of the island with the given id.
+     */
+    SnapshotIsland getIsland(final int id) {
+        return getIslandViews()[id];
+    }
+
+    private SnapshotIsland[] getIslandViews() {
+        SnapshotIsland[] views = islandViews;
+        if (views == null) {
+            synchronized (this) {
+                views = islandViews;
+                if (views == null) {
+                    views = new SnapshotIsland[layout.getIslandsCount()];
+                    for (int id = 0; id < views.length; id++) {
+                        views[id] = new SnapshotIsland(this, id);
+                    }
+                    islandViews = views;
+                }
+            }
+        }
+        return views;
+    }
+
+    /**
+     * Get the bridge that starts at the given island in the given direction.
+     * @param id id of the island.
+     * @param direction ordinal of the {@link Direction} of the bridge.
+     * @return {@link Optional} containing the bridge, if it exists.
+     */
+    Optional<Bridge> getBridge(final int id, final int direction) {
+        if (getMultiplicity(id, direction) == 0) {
+            return Optional.empty();
+        } else if (direction == EAST || direction == SOUTH) {
+            return Optional.of(new SnapshotBridge(this, id, direction));
+        }
+        return Optional.of(new SnapshotBridge(this, layout.getNeighbourId(id, direction), opposite(direction)));
+    }
+
+    /**
+     * Get the amount of bridges between the given island and its neighbour in the given direction.
+     * @param id id of the island.
+     * @param direction ordinal of the {@link Direction} of the bridge.
+     * @return 0, 1 or 2.
+     */
+    int getMultiplicity(final int id, final int direction) {
+        if (direction == EAST || direction == SOUTH) {
+            return layout.getNeighbourId(id, direction) == NO_ISLAND ? 0 : bridges.get(edge(id, direction));
+        }
+
+        final int neighbour = layout.getNeighbourId(id, direction);
+        return neighbour == NO_ISLAND ? 0 : bridges.get(edge(neighbour, opposite(direction)));
+    }
+
+    /**
+     * Get the actual amount of bridges of the given island.
+     * @param id id of the island.
+     * @return the actual amount of bridges of the given island.
+     */
+    int getActualBridges(final int id) {
+        return actualBridges.get(id);
+    }
+
+    private int edge(final int id, final int direction) {
+        return direction == EAST || direction == SOUTH ? edgeOf(id, direction) : edgeOf(layout.getNeighbourId(id, direction), opposite(direction));
+    }
+
+    /**
+     * Get the index of the bridge that starts at the given island in the given direction.
+     * @param id id of the northern or western island of the bridge.
+     * @param direction ordinal of {@link Direction#EAST} or {@link Direction#SOUTH}.
+     * @return the index of the bridge in the bridge table.
+     */
+    static int edgeOf(final int id, final int direction) {
+        return id * 2 + (direction == EAST ? 0 : 1);
+    }
+
+    private static int opposite(final int direction) {
+        // Relies on the order NORTH, EAST, SOUTH, WEST
+        return (direction + 2) % DIRECTIONS;
+    }
+}
@@ -0,0 +1,92 @@
+package de.feu.ps.bridges.model;
+
+import java.util.Arrays;
+
+/**
+ * {@link BridgeOccupancy} that stores the occupation of every field of the puzzle in a byte array.
+ *
+ * @author Tim Gremplewski
+ */
+class DenseBridgeOccupancy implements BridgeOccupancy {
+
+    private final int columnsCount;
+    private final int rowsCount;
+    private final byte[] fields;
+
+    /**
+     * Creates a new instance.
+     * @param columns the amount of columns of the puzzle.
+     * @param rows the amount of rows of the puzzle.
+     */
+    DenseBridgeOccupancy(final int columns, final int rows) {
+        columnsCount = columns;
+        rowsCount = rows;
+        fields = new byte[columns * rows];
+    }
+
+    @Override
+    public void occupy(final Position start, final Position end) {
+        update(start, end, true);
+    }
+
+    @Override
+    public void release(final Position start, final Position end) {
+        update(start, end, false);
+    }
+
+    @Override
+    public void clear() {
+        Arrays.fill(fields, (byte) 0);
+    }
+
+    @Override
+    public byte getOccupation(final int column, final int row) {
+        if (column < 0 || column >= columnsCount || row < 0 || row >= rowsCount) {
+            return 0;
+        }
+        return fields[row * columnsCount + column];
+    }
+
+    @Override
+    public boolean isAnyFieldOccupied(final Position start, final Position end) {
+        BridgeOccupancy.getFlag(start, end);
+
+        final int columnStep = Integer.signum(end.getColumn() - start.getColumn());
+        final int rowStep = Integer.signum(end.getRow() - start.getRow());
+        int column = start.getColumn();
+        int row = start.getRow();
+
+        while (true) {
+            if (getOccupation(column, row) != 0) {
+                return true;
+            }
+            if (column == end.getColumn() && row == end.getRow()) {
+                return false;
+            }
+            column += columnStep;
+            row += rowStep;
+        }
+    }
+
+    private void update(final Position start, final Position end, final boolean occupied) {
+        final byte flag = BridgeOccupancy.getFlag(start, end);
+        final int firstField;
+        final int lastField;
+        final int step;
+
+        if (flag == HORIZONTAL) {
+            firstField = start.getRow() * columnsCount + Math.min(start.getColumn(), end.getColumn());
+            lastField = start.getRow() * columnsCount + Math.max(start.getColumn(), end.getColumn());
+            step = 1;
+        } else {
+            firstField = Math.min(start.getRow(), end.getRow()) * columnsCount + start.getColumn();
+            lastField = Math.max(start.getRow(), end.getRow()) * columnsCount + start.getColumn();
+            step = columnsCount;
+        }
+
+        // The fields of the bridged islands are not occupied
+        for (int field = firstField + step; field < lastField; field += step) {
+            fields[field] = (byte) (occupied ? fields[field] | flag : fields[field] & ~flag);
+        }
+    }
+}
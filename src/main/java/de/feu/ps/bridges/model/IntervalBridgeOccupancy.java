@@ -0,0 +1,150 @@
+package de.feu.ps.bridges.model;
+
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+/**
+ * {@link BridgeOccupancy} that stores the fields occupied by bridges as intervals.
+ *
+ * For every row the horizontal bridges are stored as a sorted set of the intervals of columns they occupy
+ * and for every column the vertical bridges as a sorted set of the intervals of rows they occupy.
+ * Bridges of the same orientation in the same row or column never overlap,
+ * so every set is a map from the first to the last occupied field of an interval.
+ * Whether a field is occupied is answered by a stabbing query, that looks up the interval starting
+ * at or before the field in O(log n).
+ *
+ * Checking a path of fields for occupied fields does not depend on the length of the path:
+ * The bridges parallel to the path are found by a single stabbing query in the row or column of the path.
+ * The rows or columns with bridges, that lie in the range of the path, are walked once in order
+ * and the bridges crossing the path are found by a stabbing query in each of them.
+ * So the check takes O(log n + k log m) with k being the amount of these rows or columns
+ * and m being the largest amount of bridges in one of them.
+ * This is not O(log n + k), as every row or column keeps its own sorted set.
+ *
+ * Its memory consumption depends on the amount of bridges only, which makes it suitable for large boards.
+ *
+ * @author Tim Gremplewski
+ */
+class IntervalBridgeOccupancy implements BridgeOccupancy {
+
+    private final NavigableMap<Integer, NavigableMap<Integer, Integer>> horizontalBridges;
+    private final NavigableMap<Integer, NavigableMap<Integer, Integer>> verticalBridges;
+
+    /**
+     * Creates a new instance.
+     */
+    IntervalBridgeOccupancy() {
+        horizontalBridges = new TreeMap<>();
+        verticalBridges = new TreeMap<>();
+    }
+
+    @Override
+    public void occupy(final Position start, final Position end) {
+        final byte flag = BridgeOccupancy.getFlag(start, end);
+        final int line = flag == HORIZONTAL ? start.getRow() : start.getColumn();
+        final int first = getFirstOccupiedField(start, end, flag);
+        final int last = getLastOccupiedField(start, end, flag);
+
+        // Bridges between direct neighbours do not occupy any field
+        if (first <= last) {
+            getBridges(flag).computeIfAbsent(line, key -> new TreeMap<>()).put(first, last);
+        }
+    }
+
+    @Override
+    public void release(final Position start, final Position end) {
+        final byte flag = BridgeOccupancy.getFlag(start, end);
+        final int line = flag == HORIZONTAL ? start.getRow() : start.getColumn();
+        final NavigableMap<Integer, NavigableMap<Integer, Integer>> bridges = getBridges(flag);
+        final NavigableMap<Integer, Integer> intervals = bridges.get(line);
+
+        if (intervals != null) {
+            intervals.remove(getFirstOccupiedField(start, end, flag), getLastOccupiedField(start, end, flag));
+            if (intervals.isEmpty()) {
+                bridges.remove(line);
+            }
+        }
+    }
+
+    @Override
+    public void clear() {
+        horizontalBridges.clear();
+        verticalBridges.clear();
+    }
+
+    @Override
+    public byte getOccupation(final int column, final int row) {
+        int occupation = 0;
+        if (isStabbed(horizontalBridges.get(row), column)) {
+            occupation |= HORIZONTAL;
+        }
+        if (isStabbed(verticalBridges.get(column), row)) {
+            occupation |= VERTICAL;
+        }
+        return (byte) occupation;
+    }
+
+    @Override
+    public boolean isAnyFieldOccupied(final Position start, final Position end) {
+        final byte flag = BridgeOccupancy.getFlag(start, end);
+        final int line;
+        final int first;
+        final int last;
+
+        if (flag == HORIZONTAL) {
+            line = start.getRow();
+            first = Math.min(start.getColumn(), end.getColumn());
+            last = Math.max(start.getColumn(), end.getColumn());
+        } else {
+            line = start.getColumn();
+            first = Math.min(start.getRow(), end.getRow());
+            last = Math.max(start.getRow(), end.getRow());
+        }
+
+        final NavigableMap<Integer, NavigableMap<Integer, Integer>> parallelBridges = getBridges(flag);
+        final NavigableMap<Integer, NavigableMap<Integer, Integer>> crossingBridges =
+                getBridges(flag == HORIZONTAL ? VERTICAL : HORIZONTAL);
+
+        if (isAnyOverlapping(parallelBridges.get(line), first, last)) {
+            return true;
+        }
+
+        for (final NavigableMap<Integer, Integer> intervals : crossingBridges.subMap(first, true, last, true).values()) {
+            if (isStabbed(intervals, line)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private NavigableMap<Integer, NavigableMap<Integer, Integer>> getBridges(final byte flag) {
+        return flag == HORIZONTAL ? horizontalBridges : verticalBridges;
+    }
+
+    private static int getFirstOccupiedField(final Position start, final Position end, final byte flag) {
+        return flag == HORIZONTAL
+                ? Math.min(start.getColumn(), end.getColumn()) + 1
+                : Math.min(start.getRow(), end.getRow()) + 1;
+    }
+
+    private static int getLastOccupiedField(final Position start, final Position end, final byte flag) {
+        return flag == HORIZONTAL
+                ? Math.max(start.getColumn(), end.getColumn()) - 1
+                : Math.max(start.getRow(), end.getRow()) - 1;
+    }
+
+    private static boolean isStabbed(final NavigableMap<Integer, Integer> intervals, final int field) {
+        return isAnyOverlapping(intervals, field, field);
+    }
+
+    private static boolean isAnyOverlapping(final NavigableMap<Integer, Integer> intervals, final int first, final int last) {
+        if (intervals == null) {
+            return false;
+        }
+
+        // Intervals do not overlap each other, so only the last one starting before the end of the range can reach into it
+        final Map.Entry<Integer, Integer> interval = intervals.floorEntry(last);
+        return interval != null && interval.getValue() >= first;
+    }
+}
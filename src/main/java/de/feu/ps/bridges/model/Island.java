@@ -2,6 +2,8 @@ package de.feu.ps.bridges.model;
 
 import java.util.Optional;
 import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
 
 /**
  * Interface for an island in the puzzle.
@@ -9,6 +11,31 @@ import java.util.Set;
  */
 public interface Island {
 
+    /**
+     * Indicates whether any neighbour of this island matches the given predicate.
+     * Unlike {@link #getNeighbours()} this method does not copy the neighbours of this island.
+     * @param predicate predicate to test the neighbours with.
+     * @return <code>true</code> if any neighbour matches the given predicate, <code>false</code> otherwise.
+     * @throws NullPointerException if predicate is null.
+     */
+    boolean anyNeighbourMatches(Predicate<? super Island> predicate);
+
+    /**
+     * Perform the given action for each bridged neighbour of this island.
+     * Unlike {@link #getBridgedNeighbours()} this method does not copy the neighbours of this island.
+     * @param action action to be performed.
+     * @throws NullPointerException if action is null.
+     */
+    void forEachBridgedNeighbour(Consumer<? super Island> action);
+
+    /**
+     * Perform the given action for each neighbour of this island.
+     * Unlike {@link #getNeighbours()} this method does not copy the neighbours of this island.
+     * @param action action to be performed.
+     * @throws NullPointerException if action is null.
+     */
+    void forEachNeighbour(Consumer<? super Island> action);
+
     /**
      * Get the actual amount of bridges of this island.
      * Despite {@link #getBridges()}.size() this method takes into account
@@ -64,6 +91,14 @@ public interface Island {
      */
     Set<Island> getNeighbours();
 
+    /**
+     * Get the index of this island within its puzzle.
+     * The islands of a puzzle have distinct indices from 0 to {@link Puzzle#getIslandsCount()} - 1,
+     * so the index can be used to keep information about islands in arrays.
+     * @return the index of this island within its puzzle.
+     */
+    int getIndex();
+
     /**
      * Get the position of this island.
      * @return the position of this island.
@@ -0,0 +1,65 @@
+package de.feu.ps.bridges.model;
+
+/**
+ * Bitmap of the fields of a puzzle, that lie directly next to an island in north, east, south or west direction.
+ *
+ * No new island may be built on such a field, so the bitmap answers this check with a single bit test.
+ * Islands are never removed from a puzzle, so a field stays marked once an island has been built next to it.
+ *
+ * @author Tim Gremplewski
+ */
+final class IslandAdjacency {
+
+    private final int columnsCount;
+    private final int rowsCount;
+    private final long[] fields;
+
+    /**
+     * Creates a new instance without islands.
+     * @param columns the amount of columns of the puzzle.
+     * @param rows the amount of rows of the puzzle.
+     */
+    IslandAdjacency(final int columns, final int rows) {
+        columnsCount = columns;
+        rowsCount = rows;
+        fields = new long[(columns * rows + Long.SIZE - 1) / Long.SIZE];
+    }
+
+    /**
+     * Mark the fields next to a new island.
+     * @param column column of the new island.
+     * @param row row of the new island.
+     */
+    void addIsland(final int column, final int row) {
+        mark(column, row - 1);
+        mark(column + 1, row);
+        mark(column, row + 1);
+        mark(column - 1, row);
+    }
+
+    private void mark(final int column, final int row) {
+        if (isInsidePuzzle(column, row)) {
+            final int field = row * columnsCount + column;
+            fields[field / Long.SIZE] |= 1L << field;
+        }
+    }
+
+    /**
+     * Indicates whether an island lies directly next to the given field.
+     * @param column column of the field.
+     * @param row row of the field.
+     * @return <code>true</code> if an island lies next to the field, <code>false</code> otherwise
+     *  or if the field lies outside of the puzzle.
+     */
+    boolean isAdjacentToIsland(final int column, final int row) {
+        if (!isInsidePuzzle(column, row)) {
+            return false;
+        }
+        final int field = row * columnsCount + column;
+        return (fields[field / Long.SIZE] & 1L << field) != 0;
+    }
+
+    private boolean isInsidePuzzle(final int column, final int row) {
+        return column >= 0 && row >= 0 && column < columnsCount && row < rowsCount;
+    }
+}
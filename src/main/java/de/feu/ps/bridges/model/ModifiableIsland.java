@@ -4,7 +4,7 @@ package de.feu.ps.bridges.model;
  * {@link Island} that can be modified.
  * @author Tim Gremplewski
  */
-interface ModifiableIsland extends Island {
+interface ModifiableIsland extends AdjustableIsland {
 
     /**
      * Add the given {@link Bridge} to this island.
@@ -16,6 +16,14 @@ interface ModifiableIsland extends Island {
      */
     void addBridge(Bridge bridge);
 
+    /**
+     * Notify this island that the given {@link Bridge} switched between being a single and a double bridge.
+     * Islands that do not have the given bridge ignore the notification.
+     * @param bridge {@link Bridge} that changed.
+     * @throws NullPointerException if bridge is null.
+     */
+    void doubleBridgeChanged(Bridge bridge);
+
     /**
      * Removes all bridges from this island.
      */
@@ -35,11 +43,4 @@ interface ModifiableIsland extends Island {
      * @throws NullPointerException if neighbour or direction is null
      */
     void setNeighbour(Island neighbour, Direction direction);
-
-    /**
-     * Set the amount of required {@link Bridge}es of this neighbour.
-     * @param requiredBridges amount of required {@link Bridge}es of this neighbour.
-     * @throws IllegalArgumentException if requiredBridges is less than 1.
-     */
-    void setRequiredBridges(int requiredBridges);
 }
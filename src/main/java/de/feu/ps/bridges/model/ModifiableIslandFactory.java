@@ -1,5 +1,7 @@
 package de.feu.ps.bridges.model;
 
+import java.util.Objects;
+
 /**
  * Factory class to create an instance of {@link ModifiableIsland}.
  * @author Tim Gremplewski
@@ -20,4 +22,20 @@ final class ModifiableIslandFactory {
     static ModifiableIsland create(final Position position, final int requiredBridges) {
         return new DefaultIsland(position, requiredBridges);
     }
+
+    /**
+     * Create a new {@link ModifiableIsland} object, that belongs to a puzzle.
+     *
+     * @param position Position of the new island.
+     * @param requiredBridges Amount of required bridges.
+     * @param index Index of the new island within its puzzle. See {@link Island#getIndex()}.
+     * @param puzzle The puzzle, the new island belongs to.
+     * @throws NullPointerException if position or puzzle is null.
+     * @throws IllegalArgumentException an island can not be build at the given position or if index is negative.
+     */
+    static ModifiableIsland create(final Position position, final int requiredBridges, final int index,
+                                   final DefaultPuzzle puzzle) {
+        return new DefaultIsland(position, requiredBridges, index,
+                Objects.requireNonNull(puzzle, "Parameter 'puzzle' must not be null."));
+    }
 }
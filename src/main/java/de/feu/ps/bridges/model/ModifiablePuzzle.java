@@ -15,4 +15,13 @@ interface ModifiablePuzzle extends Puzzle {
      * @return the newly created island.
      */
     Island buildIsland(Position position, int requiredBridges);
+
+    /**
+     * Get the layout of the islands of this puzzle, that is shared by all of its snapshots.
+     * The layout is created by the first call and kept until the islands of this puzzle change,
+     * see {@link Puzzle#getLayoutVersion()}.
+     *
+     * @return the layout of the islands of this puzzle.
+     */
+    SnapshotLayout getSnapshotLayout();
 }
@@ -19,4 +19,58 @@ final class ModifiablePuzzleFactory {
     static ModifiablePuzzle createPuzzle(final int columns, final int rows) {
         return new DefaultPuzzle(columns, rows);
     }
+
+    /**
+     * Create a new array backed {@link ModifiablePuzzle} object.
+     * Such a puzzle looks up, builds and tears down bridges in constant time and without allocations,
+     * which makes it the preferred choice for solver and generator workloads.
+     * @param columns Amount of columns of the puzzle to be build.
+     * @param rows Amount of rows of the puzzle to be build.
+     * @return A new {@link ModifiablePuzzle} instance,
+     * @throws IllegalArgumentException if columns or rows is less than 1.
+     */
+    static ModifiablePuzzle createCompactPuzzle(final int columns, final int rows) {
+        return new CompactPuzzle(columns, rows);
+    }
+
+    /**
+     * Create a new {@link ModifiablePuzzle} object in large board mode.
+     * Such a puzzle is not limited to 25 columns and rows and its memory consumption
+     * depends on the amount of islands and bridges instead of the size of the board.
+     * @param columns Amount of columns of the puzzle to be build.
+     * @param rows Amount of rows of the puzzle to be build.
+     * @return A new {@link ModifiablePuzzle} instance,
+     * @throws IllegalArgumentException if columns or rows is less than 4.
+     */
+    static ModifiablePuzzle createLargePuzzle(final int columns, final int rows) {
+        return new DefaultPuzzle(columns, rows, true);
+    }
+
+    /**
+     * Validate the size of a puzzle to be build.
+     * @param columns Amount of columns of the puzzle to be build.
+     * @param rows Amount of rows of the puzzle to be build.
+     * @param largeBoard <code>true</code> if the puzzle is built in large board mode, <code>false</code> otherwise.
+     * @throws IllegalArgumentException if columns or rows is less than 4 or,
+     *                                  if not in large board mode, greater than 25.
+     */
+    static void validateSize(final int columns, final int rows, final boolean largeBoard) {
+        if (largeBoard) {
+            if (columns < 4) {
+                throw new IllegalArgumentException("Parameter 'columns' must not be less than 4.");
+            }
+
+            if (rows < 4) {
+                throw new IllegalArgumentException("Parameter 'rows' must not be less than 4.");
+            }
+        } else {
+            if (columns < 4 || columns > 25) {
+                throw new IllegalArgumentException("Parameter 'columns' must be between 4 and 25.");
+            }
+
+            if (rows < 4 || rows > 25) {
+                throw new IllegalArgumentException("Parameter 'rows' must be between 4 and 25.");
+            }
+        }
+    }
 }
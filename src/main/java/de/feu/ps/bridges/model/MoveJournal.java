@@ -0,0 +1,393 @@
+package de.feu.ps.bridges.model;
+
+import java.util.*;
+
+/**
+ * Journal of the moves applied to a {@link Puzzle}, that allows to undo and redo these moves.
+ *
+ * Every move is stored as five ints in a single array:
+ * the id of the first island and the id of the second island shifted left by one bit,
+ * with the lowest bit telling whether a bridge was built (1) or torn down (0).
+ * The ids are assigned to the islands when the journal is created, the lower id is always stored first.
+ * The other three ints link the moves, so that the latest bridge is known after every move:
+ * the latest bridge still standing after the move,
+ * the preceding build between the same islands (for a build) or the build that is cancelled (for a tear down)
+ * and the tear down cancelling the move (for a build).
+ * These links are set when a move is recorded and do not change when moves are undone or redone.
+ * Therefore recording a move, undoing and redoing it take constant time and do not create garbage.
+ *
+ * The journal has a position, that separates the applied moves from the moves that have been undone.
+ * Recording a new move discards all moves after the current position.
+ * {@link MoveJournalListener}s are notified once for every change of the position,
+ * even if several moves are undone or redone at once.
+ *
+ * This class is not thread safe.
+ *
+ * @author Tim Gremplewski
+ */
+public final class MoveJournal {
+
+    private static final String ISLAND1_NULL = "Parameter 'island1' must not be null.";
+    private static final String ISLAND2_NULL = "Parameter 'island2' must not be null.";
+    private static final String ISLAND1_UNKNOWN = "Island1 is not part of the puzzle of this journal.";
+    private static final String ISLAND2_UNKNOWN = "Island2 is not part of the puzzle of this journal.";
+    private static final int ENTRY_SIZE = 5;
+    private static final int LATEST = 2;
+    private static final int PREVIOUS = 3;
+    private static final int CANCELLED_BY = 4;
+    private static final int NONE = -1;
+    private static final int DIRECTIONS = 4;
+    private static final int INITIAL_CAPACITY = 64;
+
+    private final Puzzle puzzle;
+    private final Island[] islands;
+    private final Map<Island, Integer> ids;
+    private final Set<MoveJournalListener> listeners;
+    private final int[] lastBuilds;
+    private int[] entries;
+    private int size;
+    private int position;
+
+    private MoveJournal(final Puzzle puzzle) {
+        this.puzzle = puzzle;
+        islands = new Island[puzzle.getIslandsCount()];
+        ids = new IdentityHashMap<>(islands.length);
+        puzzle.forEachIsland(island -> {
+            ids.put(island, ids.size());
+            islands[ids.size() - 1] = island;
+        });
+        listeners = new LinkedHashSet<>();
+        entries = new int[INITIAL_CAPACITY * ENTRY_SIZE];
+        lastBuilds = new int[islands.length * DIRECTIONS];
+        Arrays.fill(lastBuilds, NONE);
+    }
+
+    /**
+     * Create a new empty journal for the given puzzle.
+     * The puzzle must not get new islands after the journal has been created.
+     * @param puzzle the puzzle whose moves should be recorded.
+     * @return a new empty journal for the given puzzle.
+     * @throws NullPointerException if puzzle is null.
+     */
+    public static MoveJournal createJournal(final Puzzle puzzle) {
+        Objects.requireNonNull(puzzle, "Parameter 'puzzle' must not be null.");
+        return new MoveJournal(puzzle);
+    }
+
+    /**
+     * Register a new {@link MoveJournalListener}.
+     * @param listener listener to register.
+     * @throws NullPointerException if listener is null.
+     */
+    public void addListener(final MoveJournalListener listener) {
+        Objects.requireNonNull(listener, "Parameter 'listener' must not be null.");
+        listeners.add(listener);
+    }
+
+    /**
+     * Unregister the given {@link MoveJournalListener}.
+     * @param listener listener to unregister.
+     */
+    public void removeListener(final MoveJournalListener listener) {
+        listeners.remove(listener);
+    }
+
+    /**
+     * Build a bridge between the given islands and record this move.
+     * @param island1 Island to be bridged.
+     * @param island2 Another island to be bridged.
+     * @return the built bridge.
+     * @throws NullPointerException if island1 or island2 is null.
+     * @throws IllegalArgumentException if island1 or island2 does not belong to the puzzle of this journal
+     *  or if a bridge cannot be build between these islands.
+     * @throws IllegalStateException if a double bridge already exists between the given islands.
+     */
+    public Bridge buildBridge(final Island island1, final Island island2) {
+        final int id1 = getId(island1, ISLAND1_NULL, ISLAND1_UNKNOWN);
+        final int id2 = getId(island2, ISLAND2_NULL, ISLAND2_UNKNOWN);
+        final Bridge bridge = puzzle.buildBridge(island1, island2);
+        push(id1, id2, true);
+        return bridge;
+    }
+
+    /**
+     * Tear down the bridge between the given islands and record this move, if the bridge existed.
+     * @param island1 A bridged island.
+     * @param island2 The other bridged island.
+     * @return {@link Optional} containing the torn down bridge, if it existed.
+     * @throws NullPointerException if island1 or island2 is null.
+     * @throws IllegalArgumentException if island1 or island2 does not belong to the puzzle of this journal.
+     */
+    public Optional<Bridge> tearDownBridge(final Island island1, final Island island2) {
+        final int id1 = getId(island1, ISLAND1_NULL, ISLAND1_UNKNOWN);
+        final int id2 = getId(island2, ISLAND2_NULL, ISLAND2_UNKNOWN);
+        final Optional<Bridge> bridge = puzzle.tearDownBridge(island1, island2);
+        if (bridge.isPresent()) {
+            push(id1, id2, false);
+        }
+        return bridge;
+    }
+
+    /**
+     * Record a move, that has already been applied to the puzzle.
+     * All moves after the current position are discarded.
+     * @param island1 One of the islands of the changed bridge.
+     * @param island2 The other island of the changed bridge.
+     * @param built <code>true</code> if a bridge was built, <code>false</code> if a bridge was torn down.
+     * @throws NullPointerException if island1 or island2 is null.
+     * @throws IllegalArgumentException if island1 or island2 does not belong to the puzzle of this journal.
+     */
+    public void push(final Island island1, final Island island2, final boolean built) {
+        push(getId(island1, ISLAND1_NULL, ISLAND1_UNKNOWN), getId(island2, ISLAND2_NULL, ISLAND2_UNKNOWN), built);
+    }
+
+    private void push(final int id1, final int id2, final boolean built) {
+        while (size > position) {
+            discard(--size);
+        }
+
+        if (position * ENTRY_SIZE == entries.length) {
+            entries = Arrays.copyOf(entries, entries.length * 2);
+        }
+
+        final int index = position * ENTRY_SIZE;
+        final int lowerId = Math.min(id1, id2);
+        final int higherId = Math.max(id1, id2);
+        final int slot = getSlot(lowerId, higherId);
+        entries[index] = lowerId;
+        entries[index + 1] = higherId << 1 | (built ? 1 : 0);
+
+        if (built) {
+            entries[index + LATEST] = position;
+            entries[index + PREVIOUS] = lastBuilds[slot];
+            entries[index + CANCELLED_BY] = NONE;
+            lastBuilds[slot] = position;
+        } else {
+            // A tear down cancels the latest build between the same islands, that has not been cancelled yet
+            int cancelled = lastBuilds[slot];
+            while (cancelled != NONE && entries[cancelled * ENTRY_SIZE + CANCELLED_BY] != NONE) {
+                cancelled = entries[cancelled * ENTRY_SIZE + PREVIOUS];
+            }
+
+            int latest = getLatestBefore(position);
+            if (cancelled != NONE) {
+                entries[cancelled * ENTRY_SIZE + CANCELLED_BY] = position;
+                if (cancelled == latest) {
+                    // Builds are never restored by later moves, so the latest bridge is the latest one
+                    // still standing before the cancelled build
+                    latest = getLatestBefore(cancelled);
+                    while (latest != NONE && entries[latest * ENTRY_SIZE + CANCELLED_BY] != NONE) {
+                        latest = getLatestBefore(latest);
+                    }
+                }
+            }
+            entries[index + LATEST] = latest;
+            entries[index + PREVIOUS] = cancelled;
+        }
+
+        size = ++position;
+        fireJournalChanged(position - 1);
+    }
+
+    private void discard(final int move) {
+        final int index = move * ENTRY_SIZE;
+        if ((entries[index + 1] & 1) == 1) {
+            lastBuilds[getSlot(entries[index], entries[index + 1] >>> 1)] = entries[index + PREVIOUS];
+        } else if (entries[index + PREVIOUS] != NONE) {
+            entries[entries[index + PREVIOUS] * ENTRY_SIZE + CANCELLED_BY] = NONE;
+        }
+    }
+
+    private int getLatestBefore(final int move) {
+        return move == 0 ? NONE : entries[(move - 1) * ENTRY_SIZE + LATEST];
+    }
+
+    private int getSlot(final int lowerId, final int higherId) {
+        final Position position1 = islands[lowerId].getPosition();
+        final Position position2 = islands[higherId].getPosition();
+        final Direction direction;
+        if (position1.getRow() == position2.getRow()) {
+            direction = position2.getColumn() > position1.getColumn() ? Direction.EAST : Direction.WEST;
+        } else {
+            direction = position2.getRow() > position1.getRow() ? Direction.SOUTH : Direction.NORTH;
+        }
+        return lowerId * DIRECTIONS + direction.ordinal();
+    }
+
+    private int getId(final Island island, final String nullMessage, final String unknownMessage) {
+        Objects.requireNonNull(island, nullMessage);
+        final Integer id = ids.get(island);
+        if (id == null) {
+            throw new IllegalArgumentException(unknownMessage);
+        }
+        return id;
+    }
+
+    /**
+     * Undo the latest applied move.
+     * @return <code>true</code> if a move was undone, <code>false</code> if there was no move to undo.
+     */
+    public boolean pop() {
+        if (position == 0) {
+            return false;
+        }
+        revert(--position);
+        fireJournalChanged(position + 1);
+        return true;
+    }
+
+    /**
+     * Redo the move after the current position.
+     * @return <code>true</code> if a move was redone, <code>false</code> if there was no move to redo.
+     */
+    public boolean redo() {
+        if (position == size) {
+            return false;
+        }
+        apply(position++);
+        fireJournalChanged(position - 1);
+        return true;
+    }
+
+    /**
+     * Get the current position of this journal, which can be passed to {@link #rewindTo(int)} later on.
+     * @return the current position of this journal.
+     */
+    public int mark() {
+        return position;
+    }
+
+    /**
+     * Undo all moves after the given position.
+     * The listeners are notified only once.
+     * @param mark position as returned by {@link #mark()}.
+     * @throws IllegalArgumentException if mark is negative or greater than the current position.
+     */
+    public void rewindTo(final int mark) {
+        if (mark < 0 || mark > position) {
+            throw new IllegalArgumentException("Parameter 'mark' must be between 0 and " + position + ".");
+        }
+
+        final int oldPosition = position;
+        while (position > mark) {
+            revert(--position);
+        }
+
+        if (oldPosition != position) {
+            fireJournalChanged(oldPosition);
+        }
+    }
+
+    /**
+     * Redo the moves from position <code>from</code> (inclusive) to position <code>to</code> (exclusive).
+     * The listeners are notified only once.
+     * @param from position of the first move to redo. Must be the current position.
+     * @param to position after the last move to redo.
+     * @throws IllegalArgumentException if from is not the current position or if to is less than from
+     *  or greater than {@link #size()}.
+     */
+    public void replay(final int from, final int to) {
+        if (from != position) {
+            throw new IllegalArgumentException("Parameter 'from' must be the current position " + position + ".");
+        }
+
+        if (to < from || to > size) {
+            throw new IllegalArgumentException("Parameter 'to' must be between " + from + " and " + size + ".");
+        }
+
+        while (position < to) {
+            apply(position++);
+        }
+
+        if (from != position) {
+            fireJournalChanged(from);
+        }
+    }
+
+    private void apply(final int move) {
+        if (isBuilt(move)) {
+            puzzle.buildBridge(getIsland1(move), getIsland2(move));
+        } else {
+            puzzle.tearDownBridge(getIsland1(move), getIsland2(move));
+        }
+    }
+
+    private void revert(final int move) {
+        if (isBuilt(move)) {
+            puzzle.tearDownBridge(getIsland1(move), getIsland2(move));
+        } else {
+            puzzle.buildBridge(getIsland1(move), getIsland2(move));
+        }
+    }
+
+    /**
+     * Discard all recorded moves without changing the puzzle.
+     */
+    public void clear() {
+        final int oldPosition = position;
+        size = 0;
+        position = 0;
+        Arrays.fill(lastBuilds, NONE);
+
+        if (oldPosition != 0) {
+            fireJournalChanged(oldPosition);
+        }
+    }
+
+    /**
+     * Get the amount of recorded moves, including the moves after the current position.
+     * @return the amount of recorded moves.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Get the first island of the given move.
+     * @param move index of the move.
+     * @return the first island of the given move.
+     * @throws IndexOutOfBoundsException if move is negative or not less than {@link #size()}.
+     */
+    public Island getIsland1(final int move) {
+        Objects.checkIndex(move, size);
+        return islands[entries[move * ENTRY_SIZE]];
+    }
+
+    /**
+     * Get the second island of the given move.
+     * @param move index of the move.
+     * @return the second island of the given move.
+     * @throws IndexOutOfBoundsException if move is negative or not less than {@link #size()}.
+     */
+    public Island getIsland2(final int move) {
+        Objects.checkIndex(move, size);
+        return islands[entries[move * ENTRY_SIZE + 1] >>> 1];
+    }
+
+    /**
+     * Indicates whether the given move built or tore down a bridge.
+     * @param move index of the move.
+     * @return <code>true</code> if a bridge was built, <code>false</code> if a bridge was torn down.
+     * @throws IndexOutOfBoundsException if move is negative or not less than {@link #size()}.
+     */
+    public boolean isBuilt(final int move) {
+        Objects.checkIndex(move, size);
+        return (entries[move * ENTRY_SIZE + 1] & 1) == 1;
+    }
+
+    /**
+     * Get the bridge that was built most recently and has not been torn down since then.
+     * Only applied moves are taken into account.
+     * @return {@link Optional} containing the bridge, if it exists.
+     */
+    public Optional<Bridge> getLatestBridge() {
+        final int latest = getLatestBefore(position);
+        return latest == NONE ? Optional.empty() : getIsland1(latest).getBridgeTo(getIsland2(latest));
+    }
+
+    private void fireJournalChanged(final int oldPosition) {
+        for (MoveJournalListener listener : listeners) {
+            listener.journalChanged(this, oldPosition, position);
+        }
+    }
+}
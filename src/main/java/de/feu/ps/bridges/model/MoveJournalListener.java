@@ -0,0 +1,19 @@
+package de.feu.ps.bridges.model;
+
+/**
+ * Listener that is notified when the position of a {@link MoveJournal} changes.
+ * @author Tim Gremplewski
+ */
+@FunctionalInterface
+public interface MoveJournalListener {
+
+    /**
+     * Called after moves have been recorded, undone or redone.
+     * If the new position is greater than the old one, the moves in between have been applied,
+     * otherwise they have been undone. Undoing or redoing several moves at once results in a single call.
+     * @param journal the changed journal.
+     * @param oldPosition the position of the journal before the change.
+     * @param newPosition the position of the journal after the change.
+     */
+    void journalChanged(MoveJournal journal, int oldPosition, int newPosition);
+}
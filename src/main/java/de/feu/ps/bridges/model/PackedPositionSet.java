@@ -0,0 +1,91 @@
+package de.feu.ps.bridges.model;
+
+import java.util.Arrays;
+
+/**
+ * Set of packed positions, see {@link Position#pack(int, int)}.
+ *
+ * The positions are stored in an open addressing hash table of primitive <code>long</code> values,
+ * so neither adding nor looking up a position allocates an object.
+ * This makes it suitable to look up the islands of a large board, whose positions are not interned.
+ *
+ * @author Tim Gremplewski
+ */
+final class PackedPositionSet {
+
+    /**
+     * Value of an empty slot. Packed positions are never negative.
+     */
+    private static final long EMPTY = -1L;
+    private static final int INITIAL_CAPACITY = 16;
+
+    private long[] positions;
+    private int size;
+
+    /**
+     * Creates a new empty instance.
+     */
+    PackedPositionSet() {
+        positions = new long[INITIAL_CAPACITY];
+        Arrays.fill(positions, EMPTY);
+    }
+
+    /**
+     * Add the given packed position to this set.
+     * @param position the packed position to add.
+     */
+    void add(final long position) {
+        // Keep the load factor at most 0.5, so that probing sequences stay short
+        if ((size + 1) * 2 > positions.length) {
+            grow();
+        }
+
+        if (insert(positions, position)) {
+            size++;
+        }
+    }
+
+    /**
+     * Indicates whether this set contains the given packed position.
+     * @param position the packed position to look up.
+     * @return <code>true</code> if this set contains the position, <code>false</code> otherwise.
+     */
+    boolean contains(final long position) {
+        final int mask = positions.length - 1;
+        for (int slot = getSlot(position, mask); positions[slot] != EMPTY; slot = (slot + 1) & mask) {
+            if (positions[slot] == position) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void grow() {
+        final long[] grownPositions = new long[positions.length * 2];
+        Arrays.fill(grownPositions, EMPTY);
+        for (final long position : positions) {
+            if (position != EMPTY) {
+                insert(grownPositions, position);
+            }
+        }
+        positions = grownPositions;
+    }
+
+    private static boolean insert(final long[] positions, final long position) {
+        final int mask = positions.length - 1;
+        int slot = getSlot(position, mask);
+        while (positions[slot] != EMPTY) {
+            if (positions[slot] == position) {
+                return false;
+            }
+            slot = (slot + 1) & mask;
+        }
+        positions[slot] = position;
+        return true;
+    }
+
+    private static int getSlot(final long position, final int mask) {
+        // Spread column and row over the upper bits and take these, as the lower bits of the product are poorly mixed
+        return (int) ((position * 0x9E3779B97F4A7C15L) >>> 32) & mask;
+    }
+}
@@ -0,0 +1,107 @@
+package de.feu.ps.bridges.model;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * Immutable array of bytes with a fixed length.
+ *
+ * The values are stored in the leaves of a trie with a branching factor of 32.
+ * Changing a value copies only the path from the root to the affected leaf
+ * and shares all other nodes with the original array.
+ * Therefore both reading and changing a value take O(log n) time.
+ *
+ * @author Tim Gremplewski
+ */
+final class PersistentByteArray {
+
+    private static final int BITS = 5;
+    private static final int WIDTH = 1 << BITS;
+    private static final int MASK = WIDTH - 1;
+
+    private final int length;
+    private final int shift;
+    private final Object root;
+
+    private PersistentByteArray(final int length, final int shift, final Object root) {
+        this.length = length;
+        this.shift = shift;
+        this.root = root;
+    }
+
+    /**
+     * Create a new array holding the given values.
+     * @param values the values of the new array.
+     * @return a new array holding the given values.
+     */
+    static PersistentByteArray of(final byte[] values) {
+        Object[] nodes = new Object[Math.max(1, (values.length + MASK) >>> BITS)];
+        for (int i = 0; i < nodes.length; i++) {
+            nodes[i] = Arrays.copyOfRange(values, i * WIDTH, (i + 1) * WIDTH);
+        }
+
+        int shift = 0;
+        while (nodes.length > 1) {
+            final Object[] parents = new Object[(nodes.length + MASK) >>> BITS];
+            for (int i = 0; i < parents.length; i++) {
+                parents[i] = Arrays.copyOfRange(nodes, i * WIDTH, (i + 1) * WIDTH);
+            }
+            nodes = parents;
+            shift += BITS;
+        }
+
+        return new PersistentByteArray(values.length, shift, nodes[0]);
+    }
+
+    /**
+     * Get the length of this array.
+     * @return the length of this array.
+     */
+    int length() {
+        return length;
+    }
+
+    /**
+     * Get the value at the given index.
+     * @param index index of the value.
+     * @return the value at the given index.
+     * @throws IndexOutOfBoundsException if the index does not lie inside of this array.
+     */
+    byte get(final int index) {
+        Objects.checkIndex(index, length);
+
+        Object node = root;
+        for (int level = shift; level > 0; level -= BITS) {
+            node = ((Object[]) node)[(index >>> level) & MASK];
+        }
+        return ((byte[]) node)[index & MASK];
+    }
+
+    /**
+     * Get an array that holds the given value at the given index and the values of this array at all other indices.
+     * This array is not changed.
+     * @param index index of the value to be changed.
+     * @param value the new value.
+     * @return an array with the changed value or this array, if it already holds the given value at the given index.
+     * @throws IndexOutOfBoundsException if the index does not lie inside of this array.
+     */
+    PersistentByteArray set(final int index, final byte value) {
+        if (get(index) == value) {
+            return this;
+        }
+        return new PersistentByteArray(length, shift, set(root, shift, index, value));
+    }
+
+    private static Object set(final Object node, final int level, final int index, final byte value) {
+        if (level == 0) {
+            final byte[] leaf = ((byte[]) node).clone();
+            leaf[index & MASK] = value;
+            return leaf;
+        }
+
+        final Object[] children = ((Object[]) node).clone();
+        final int child = (index >>> level) & MASK;
+        children[child] = set(children[child], level - BITS, index, value);
+        return children;
+    }
+}
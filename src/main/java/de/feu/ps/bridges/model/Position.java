@@ -2,9 +2,30 @@ package de.feu.ps.bridges.model;
 
 /**
  * Position in the puzzle.
+ *
+ * Besides as objects, positions can be encoded as packed <code>long</code> values,
+ * that hold the column in the upper and the row in the lower 32 bits.
+ * See {@link #pack(int, int)}, {@link #getColumn(long)} and {@link #getRow(long)}.
+ *
  * @author Tim Gremplewski
  */
 public class Position {
+
+    /**
+     * Positions with a column and a row less than this value are interned by {@link #of(int, int)}.
+     * This covers every puzzle that is not in large board mode.
+     */
+    private static final int INTERNED_SIZE = 32;
+    private static final Position[] INTERNED_POSITIONS = new Position[INTERNED_SIZE * INTERNED_SIZE];
+
+    static {
+        for (int column = 0; column < INTERNED_SIZE; column++) {
+            for (int row = 0; row < INTERNED_SIZE; row++) {
+                INTERNED_POSITIONS[column * INTERNED_SIZE + row] = new Position(column, row);
+            }
+        }
+    }
+
     private final int column;
     private final int row;
 
@@ -27,6 +48,77 @@ public class Position {
         this.row = row;
     }
 
+    /**
+     * Get a position with the given column and row.
+     * Unlike the constructor, this method returns a shared instance for positions of regular sized puzzles
+     * and therefore does not allocate.
+     * @param column the column of the position
+     * @param row the row of the position.
+     * @return a position with the given column and row.
+     * @throws IllegalArgumentException if <code>column</code> or <code>row</code> is less than 0.
+     */
+    public static Position of(final int column, final int row) {
+        if (column >= 0 && column < INTERNED_SIZE && row >= 0 && row < INTERNED_SIZE) {
+            return INTERNED_POSITIONS[column * INTERNED_SIZE + row];
+        }
+        return new Position(column, row);
+    }
+
+    /**
+     * Get the position that is encoded in the given packed position.
+     * @param packedPosition the packed position.
+     * @return the position that is encoded in the given packed position.
+     * @throws IllegalArgumentException if the encoded column or row is less than 0.
+     */
+    public static Position of(final long packedPosition) {
+        return of(getColumn(packedPosition), getRow(packedPosition));
+    }
+
+    /**
+     * Encode the given column and row in a single <code>long</code>.
+     * @param column the column of the position
+     * @param row the row of the position.
+     * @return the packed position.
+     * @throws IllegalArgumentException if <code>column</code> or <code>row</code> is less than 0.
+     */
+    public static long pack(final int column, final int row) {
+        if (column < 0) {
+            throw new IllegalArgumentException("Parameter 'column' must not be less than 0.");
+        }
+
+        if (row < 0) {
+            throw new IllegalArgumentException("Parameter 'row' must not be less than 0.");
+        }
+
+        return (long) column << 32 | row;
+    }
+
+    /**
+     * Get the column of the given packed position.
+     * @param packedPosition the packed position.
+     * @return the column of the given packed position.
+     */
+    public static int getColumn(final long packedPosition) {
+        return (int) (packedPosition >>> 32);
+    }
+
+    /**
+     * Get the row of the given packed position.
+     * @param packedPosition the packed position.
+     * @return the row of the given packed position.
+     */
+    public static int getRow(final long packedPosition) {
+        return (int) packedPosition;
+    }
+
+    /**
+     * Get this position as packed position.
+     * @return this position as packed position.
+     */
+    public long pack() {
+        return (long) column << 32 | row;
+    }
+
     /**
      * Get the column of this position.
      * @return the column of this position.
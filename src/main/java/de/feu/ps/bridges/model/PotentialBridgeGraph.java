@@ -0,0 +1,405 @@
+package de.feu.ps.bridges.model;
+
+import java.util.Arrays;
+import java.util.NavigableMap;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.function.BiPredicate;
+
+/**
+ * Immutable table of all bridges, that could possibly be built in a puzzle.
+ *
+ * The islands of a puzzle do not move, so a bridge can only be built between two neighbours
+ * and whether two of these potential bridges cross each other never changes.
+ * Every potential bridge is identified by a dense int id, that is assigned by its western or northern island.
+ * For every potential bridge the table holds its islands, its orientation
+ * and the sorted list of the ids of all potential bridges crossing it.
+ * The lists are found with a sweep over the rows, that keeps the vertical bridges passing the current row
+ * in an index ordered by their column. So creating the table takes O(B log B + C) time and O(B + C) memory
+ * for B potential bridges with C crossings, instead of testing every horizontal against every vertical bridge.
+ * Small tables additionally hold a bit set of the crossing bridges per bridge,
+ * so that checking whether a potential bridge is crossed by one of some other bridges
+ * is a bitwise AND of two bit sets, see {@link #isCrossingAny(int, long[])}.
+ *
+ * Islands are identified by their index, see {@link Island#getIndex()}.
+ * The table reflects the islands of the puzzle at the time it was created.
+ * Use {@link #matchesLayoutOf(Puzzle)} to check whether it is still valid for a puzzle.
+ *
+ * @author Tim Gremplewski
+ */
+public final class PotentialBridgeGraph {
+
+    /**
+     * Value used if there is no potential bridge.
+     */
+    public static final int NO_BRIDGE = -1;
+
+    private static final int DIRECTIONS = 4;
+    private static final Direction[] OWNED_DIRECTIONS = {Direction.EAST, Direction.SOUTH};
+
+    /**
+     * Maximum amount of potential bridges, for which a bit set of the crossing bridges is kept per bridge.
+     * The bit sets take B * B / 8 bytes, so they are only worth it for small boards.
+     */
+    private static final int DENSE_BRIDGES_LIMIT = 1024;
+
+    private final int islandsCount;
+    private final long layoutHash;
+    private final int[] bridgeIds;
+    private final int[] islands;
+    private final Position[] positions;
+    private final int[] crossingOffsets;
+    private final int[] crossingIds;
+    private final long[][] crossingBridgeSets;
+    private final int bridgesCount;
+
+    PotentialBridgeGraph(final Puzzle puzzle) {
+        this(puzzle, (island1, island2) -> true);
+    }
+
+    private PotentialBridgeGraph(final Puzzle puzzle, final BiPredicate<? super Island, ? super Island> filter) {
+        islandsCount = puzzle.getIslandsCount();
+        layoutHash = puzzle.getLayoutHash();
+        positions = new Position[islandsCount];
+        bridgeIds = new int[islandsCount * DIRECTIONS];
+        Arrays.fill(bridgeIds, NO_BRIDGE);
+
+        // Every island owns at most two potential bridges
+        final int[] foundIslands = new int[islandsCount * 4];
+        final int[] foundBridges = new int[1];
+        puzzle.forEachIsland(island -> {
+            final int index = island.getIndex();
+            positions[index] = island.getPosition();
+            for (Direction direction : OWNED_DIRECTIONS) {
+                island.getNeighbour(direction).filter(neighbour -> filter.test(island, neighbour)).ifPresent(neighbour -> {
+                    final int bridge = foundBridges[0]++;
+                    foundIslands[bridge * 2] = index;
+                    foundIslands[bridge * 2 + 1] = neighbour.getIndex();
+                    bridgeIds[index * DIRECTIONS + direction.ordinal()] = bridge;
+                    bridgeIds[neighbour.getIndex() * DIRECTIONS + opposite(direction).ordinal()] = bridge;
+                });
+            }
+        });
+
+        bridgesCount = foundBridges[0];
+        islands = Arrays.copyOf(foundIslands, bridgesCount * 2);
+        crossingOffsets = new int[bridgesCount + 1];
+        crossingIds = findCrossingBridges();
+
+        if (bridgesCount <= DENSE_BRIDGES_LIMIT) {
+            crossingBridgeSets = new long[bridgesCount][];
+            for (int bridge = 0; bridge < bridgesCount; bridge++) {
+                crossingBridgeSets[bridge] = createBridgeSet();
+                for (int i = crossingOffsets[bridge]; i < crossingOffsets[bridge + 1]; i++) {
+                    set(crossingBridgeSets[bridge], crossingIds[i]);
+                }
+            }
+        } else {
+            crossingBridgeSets = null;
+        }
+    }
+
+    private static Direction opposite(final Direction direction) {
+        return direction == Direction.EAST ? Direction.WEST : Direction.NORTH;
+    }
+
+    /**
+     * Find the crossing bridges of every potential bridge and fill {@link #crossingOffsets}.
+     * @return the ids of the crossing bridges of every bridge, each range sorted in ascending order.
+     */
+    private int[] findCrossingBridges() {
+        // A vertical bridge passes the rows between its islands, so it enters the sweep at the row below its
+        // northern island and leaves it at the row of its southern island
+        final long[] horizontalRows = new long[bridgesCount];
+        final long[] enteringRows = new long[bridgesCount];
+        final long[] leavingRows = new long[bridgesCount];
+        int horizontalCount = 0;
+        int verticalCount = 0;
+        for (int bridge = 0; bridge < bridgesCount; bridge++) {
+            final Position position1 = positions[islands[bridge * 2]];
+            final Position position2 = positions[islands[bridge * 2 + 1]];
+            if (isHorizontal(bridge)) {
+                horizontalRows[horizontalCount++] = sortKey(position1.getRow(), bridge);
+            } else if (position2.getRow() - position1.getRow() > 1) {
+                enteringRows[verticalCount] = sortKey(position1.getRow() + 1, bridge);
+                leavingRows[verticalCount++] = sortKey(position2.getRow(), bridge);
+            }
+        }
+        Arrays.sort(horizontalRows, 0, horizontalCount);
+        Arrays.sort(enteringRows, 0, verticalCount);
+        Arrays.sort(leavingRows, 0, verticalCount);
+
+        // Vertical bridges of the same column do not overlap, so the column identifies a passing bridge
+        final NavigableMap<Integer, Integer> passingBridges = new TreeMap<>();
+        int[] crossingPairs = new int[Math.max(2, bridgesCount)];
+        int crossingPairsCount = 0;
+        int entering = 0;
+        int leaving = 0;
+        for (int i = 0; i < horizontalCount; i++) {
+            final int row = (int) (horizontalRows[i] >>> Integer.SIZE);
+            final int horizontalBridge = (int) horizontalRows[i];
+
+            // Leave before entering, so that a bridge leaving and one entering a column at the same row do not clash
+            while (leaving < verticalCount || entering < verticalCount) {
+                final long leavingKey = leaving < verticalCount ? leavingRows[leaving] : Long.MAX_VALUE;
+                final long enteringKey = entering < verticalCount ? enteringRows[entering] : Long.MAX_VALUE;
+                if ((leavingKey >>> Integer.SIZE) <= (enteringKey >>> Integer.SIZE)) {
+                    if ((leavingKey >>> Integer.SIZE) > row) {
+                        break;
+                    }
+                    passingBridges.remove(getColumn((int) leavingKey));
+                    leaving++;
+                } else {
+                    if ((enteringKey >>> Integer.SIZE) > row) {
+                        break;
+                    }
+                    passingBridges.put(getColumn((int) enteringKey), (int) enteringKey);
+                    entering++;
+                }
+            }
+
+            // Bridges sharing an island touch, but do not cross
+            final int westColumn = positions[islands[horizontalBridge * 2]].getColumn();
+            final int eastColumn = positions[islands[horizontalBridge * 2 + 1]].getColumn();
+            for (final int verticalBridge : passingBridges.subMap(westColumn, false, eastColumn, false).values()) {
+                if (crossingPairsCount + 2 > crossingPairs.length) {
+                    crossingPairs = Arrays.copyOf(crossingPairs, crossingPairs.length * 2);
+                }
+                crossingPairs[crossingPairsCount++] = horizontalBridge;
+                crossingPairs[crossingPairsCount++] = verticalBridge;
+            }
+        }
+
+        for (int pair = 0; pair < crossingPairsCount; pair++) {
+            crossingOffsets[crossingPairs[pair] + 1]++;
+        }
+        for (int bridge = 0; bridge < bridgesCount; bridge++) {
+            crossingOffsets[bridge + 1] += crossingOffsets[bridge];
+        }
+
+        final int[] ids = new int[crossingPairsCount];
+        final int[] filled = Arrays.copyOf(crossingOffsets, bridgesCount);
+        for (int pair = 0; pair < crossingPairsCount; pair += 2) {
+            ids[filled[crossingPairs[pair]]++] = crossingPairs[pair + 1];
+            ids[filled[crossingPairs[pair + 1]]++] = crossingPairs[pair];
+        }
+        for (int bridge = 0; bridge < bridgesCount; bridge++) {
+            Arrays.sort(ids, crossingOffsets[bridge], crossingOffsets[bridge + 1]);
+        }
+        return ids;
+    }
+
+    private static long sortKey(final int row, final int bridge) {
+        return (long) row << Integer.SIZE | bridge;
+    }
+
+    private int getColumn(final int bridge) {
+        return positions[islands[bridge * 2]].getColumn();
+    }
+
+    /**
+     * Create the table of the potential bridges of the given puzzle.
+     * All snapshots deriving from the same puzzle share a single table.
+     * @param puzzle the puzzle to create the table for.
+     * @return the table of the potential bridges of the given puzzle.
+     * @throws NullPointerException if puzzle is null.
+     */
+    public static PotentialBridgeGraph createFor(final Puzzle puzzle) {
+        Objects.requireNonNull(puzzle, "Parameter 'puzzle' must not be null.");
+
+        if (puzzle instanceof DefaultPuzzleSnapshot) {
+            // Snapshots share the layout of their islands and therefore their potential bridges
+            return ((DefaultPuzzleSnapshot) puzzle).getPotentialBridgeGraph();
+        }
+        return new PotentialBridgeGraph(puzzle);
+    }
+
+    /**
+     * Create the table of some of the potential bridges of the given puzzle.
+     * Only the potential bridges between islands accepted by the given filter get an id,
+     * so only the crossings of these bridges are searched.
+     * This is cheaper than {@link #createFor(Puzzle)}, if only a few bridges of a large puzzle are of interest.
+     * @param puzzle the puzzle to create the table for.
+     * @param filter accepts the western or northern and the eastern or southern island of every bridge to include.
+     * @return the table of the accepted potential bridges of the given puzzle.
+     * @throws NullPointerException if puzzle or filter is null.
+     */
+    public static PotentialBridgeGraph createFor(final Puzzle puzzle,
+                                                 final BiPredicate<? super Island, ? super Island> filter) {
+        Objects.requireNonNull(puzzle, "Parameter 'puzzle' must not be null.");
+        Objects.requireNonNull(filter, "Parameter 'filter' must not be null.");
+        return new PotentialBridgeGraph(puzzle, filter);
+    }
+
+    /**
+     * Indicates whether this table is valid for the islands of the given puzzle.
+     * @param puzzle the puzzle to check.
+     * @return <code>true</code> if the given puzzle has the same islands as the puzzle this table was created for,
+     *  <code>false</code> otherwise.
+     * @throws NullPointerException if puzzle is null.
+     */
+    public boolean matchesLayoutOf(final Puzzle puzzle) {
+        Objects.requireNonNull(puzzle, "Parameter 'puzzle' must not be null.");
+        return puzzle.getIslandsCount() == islandsCount && puzzle.getLayoutHash() == layoutHash;
+    }
+
+    /**
+     * Get the amount of potential bridges.
+     * @return the amount of potential bridges.
+     */
+    public int getBridgesCount() {
+        return bridgesCount;
+    }
+
+    /**
+     * Get the amount of islands of the puzzle this table was created for.
+     * @return the amount of islands.
+     */
+    public int getIslandsCount() {
+        return islandsCount;
+    }
+
+    /**
+     * Get the id of the potential bridge, that starts at the given island in the given direction.
+     * @param island index of the island.
+     * @param direction direction of the bridge.
+     * @return id of the potential bridge or {@link #NO_BRIDGE}, if the island has no neighbour in that direction.
+     * @throws NullPointerException if direction is null.
+     */
+    public int getBridge(final int island, final Direction direction) {
+        Objects.requireNonNull(direction, "Parameter 'direction' must not be null.");
+        return bridgeIds[island * DIRECTIONS + direction.ordinal()];
+    }
+
+    /**
+     * Get the index of the western or northern island of the given potential bridge.
+     * @param bridge id of the potential bridge.
+     * @return index of the western or northern island.
+     */
+    public int getIsland1(final int bridge) {
+        return islands[bridge * 2];
+    }
+
+    /**
+     * Get the index of the eastern or southern island of the given potential bridge.
+     * @param bridge id of the potential bridge.
+     * @return index of the eastern or southern island.
+     */
+    public int getIsland2(final int bridge) {
+        return islands[bridge * 2 + 1];
+    }
+
+    /**
+     * Get the index of the island at the other end of the given potential bridge.
+     * @param bridge id of the potential bridge.
+     * @param island index of one of the islands of the bridge.
+     * @return index of the other island of the bridge.
+     */
+    public int getOtherIsland(final int bridge, final int island) {
+        return islands[bridge * 2] == island ? islands[bridge * 2 + 1] : islands[bridge * 2];
+    }
+
+    /**
+     * Indicates whether the given potential bridge is horizontal.
+     * @param bridge id of the potential bridge.
+     * @return <code>true</code> if the bridge is horizontal, <code>false</code> if it is vertical.
+     */
+    public boolean isHorizontal(final int bridge) {
+        return positions[islands[bridge * 2]].getRow() == positions[islands[bridge * 2 + 1]].getRow();
+    }
+
+    /**
+     * Indicates whether the given potential bridges cross each other.
+     * @param bridge1 id of a potential bridge.
+     * @param bridge2 id of another potential bridge.
+     * @return <code>true</code> if the bridges cross each other, <code>false</code> otherwise.
+     */
+    public boolean areCrossing(final int bridge1, final int bridge2) {
+        if (crossingBridgeSets != null) {
+            return contains(crossingBridgeSets[bridge1], bridge2);
+        }
+        return Arrays.binarySearch(crossingIds, crossingOffsets[bridge1], crossingOffsets[bridge1 + 1], bridge2) >= 0;
+    }
+
+    /**
+     * Get the ids of all potential bridges crossing the given potential bridge.
+     * @param bridge id of a potential bridge.
+     * @return ids of the crossing bridges in ascending order.
+     */
+    public int[] getCrossingBridges(final int bridge) {
+        return Arrays.copyOfRange(crossingIds, crossingOffsets[bridge], crossingOffsets[bridge + 1]);
+    }
+
+    /**
+     * Indicates whether the given potential bridge crosses any of the potential bridges in the given set.
+     * @param bridge id of a potential bridge.
+     * @param bridges set of potential bridges as created by {@link #createBridgeSet()}.
+     * @return <code>true</code> if the bridge crosses any of the given bridges, <code>false</code> otherwise.
+     */
+    public boolean isCrossingAny(final int bridge, final long[] bridges) {
+        if (crossingBridgeSets != null) {
+            final long[] crossing = crossingBridgeSets[bridge];
+            for (int word = 0; word < crossing.length; word++) {
+                if ((crossing[word] & bridges[word]) != 0) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        for (int i = crossingOffsets[bridge]; i < crossingOffsets[bridge + 1]; i++) {
+            if (contains(bridges, crossingIds[i])) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Create an empty set of potential bridges, that can be filled with {@link #addBridge(long[], int)}.
+     * @return an empty set of potential bridges.
+     */
+    public long[] createBridgeSet() {
+        return new long[(bridgesCount + Long.SIZE - 1) / Long.SIZE];
+    }
+
+    /**
+     * Add a potential bridge to the given set.
+     * @param bridges set of potential bridges as created by {@link #createBridgeSet()}.
+     * @param bridge id of the potential bridge to add.
+     */
+    public void addBridge(final long[] bridges, final int bridge) {
+        set(bridges, bridge);
+    }
+
+    /**
+     * Fill the given set with all potential bridges, that have been built in the given puzzle.
+     * The puzzle must have the islands this table was created for.
+     * Built bridges, that are not part of this table (see {@link #createFor(Puzzle, BiPredicate)}), are ignored.
+     * @param puzzle puzzle with the built bridges.
+     * @param bridges set of potential bridges as created by {@link #createBridgeSet()}.
+     * @throws NullPointerException if puzzle or bridges is null.
+     */
+    public void findBuiltBridges(final Puzzle puzzle, final long[] bridges) {
+        Objects.requireNonNull(puzzle, "Parameter 'puzzle' must not be null.");
+        Objects.requireNonNull(bridges, "Parameter 'bridges' must not be null.");
+
+        Arrays.fill(bridges, 0);
+        puzzle.forEachIsland(island -> {
+            for (Direction direction : OWNED_DIRECTIONS) {
+                final int bridge = bridgeIds[island.getIndex() * DIRECTIONS + direction.ordinal()];
+                if (bridge != NO_BRIDGE && island.isBridgedToNeighbour(direction)) {
+                    set(bridges, bridge);
+                }
+            }
+        });
+    }
+
+    private static void set(final long[] bits, final int bit) {
+        bits[bit / Long.SIZE] |= 1L << bit;
+    }
+
+    private static boolean contains(final long[] bits, final int bit) {
+        return (bits[bit / Long.SIZE] & 1L << bit) != 0;
+    }
+}
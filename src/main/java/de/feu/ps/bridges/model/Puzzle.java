@@ -2,6 +2,8 @@ package de.feu.ps.bridges.model;
 
 import java.util.Optional;
 import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
 
 /**
  * Interface that defines means of a puzzle.
@@ -23,12 +25,84 @@ public interface Puzzle {
      */
     Bridge buildBridge(Island island1, Island island2);
 
+    /**
+     * Register a new {@link PuzzleChangeListener}, that is notified about every change of this puzzle.
+     * Puzzles that cannot be modified never notify their listeners.
+     * @param listener listener to register.
+     * @throws NullPointerException if listener is null.
+     */
+    void addChangeListener(PuzzleChangeListener listener);
+
+    /**
+     * Unregister the given {@link PuzzleChangeListener}.
+     * @param listener listener to unregister.
+     */
+    void removeChangeListener(PuzzleChangeListener listener);
+
     /**
      * Get all bridges in this puzzle.
      * @return all bridges in this puzzle.
      */
     Set<Bridge> getBridges();
 
+    /**
+     * Get a 64 bit Zobrist hash of the bridges of this puzzle.
+     * The hash covers the multiplicity of every bridge and is updated in constant time whenever a bridge changes.
+     * Puzzles with bridges of the same multiplicity between islands at the same positions have the same hash,
+     * puzzles without bridges have the hash 0.
+     * @return a 64 bit hash of the bridges of this puzzle.
+     */
+    long getBridgeStateHash();
+
+    /**
+     * Indicates whether all islands of this puzzle are connected by bridges, directly or indirectly.
+     * A puzzle without islands is treated as if all its islands were connected.
+     * Modifiable puzzles keep track of the connectivity whenever a bridge changes, so this method takes constant time.
+     * @return <code>true</code> if all islands are connected, <code>false</code> otherwise.
+     */
+    boolean areAllIslandsConnected();
+
+    /**
+     * Indicates whether any {@link Bridge} of this puzzle matches the given predicate.
+     * Unlike {@link #getBridges()} this method does not copy the bridges of this puzzle.
+     * @param predicate predicate to test the bridges with.
+     * @return <code>true</code> if any bridge matches the given predicate, <code>false</code> otherwise.
+     * @throws NullPointerException if predicate is null.
+     */
+    boolean anyBridgeMatches(Predicate<? super Bridge> predicate);
+
+    /**
+     * Indicates whether any {@link Island} of this puzzle matches the given predicate.
+     * Unlike {@link #getIslands()} this method does not copy the islands of this puzzle.
+     * @param predicate predicate to test the islands with.
+     * @return <code>true</code> if any island matches the given predicate, <code>false</code> otherwise.
+     * @throws NullPointerException if predicate is null.
+     */
+    boolean anyIslandMatches(Predicate<? super Island> predicate);
+
+    /**
+     * Indicates whether the given {@link Island} belongs to this puzzle.
+     * @param island island to check.
+     * @return <code>true</code> if the island belongs to this puzzle, <code>false</code> otherwise.
+     */
+    boolean containsIsland(Island island);
+
+    /**
+     * Perform the given action for each bridge in this puzzle.
+     * Unlike {@link #getBridges()} this method does not copy the bridges of this puzzle.
+     * @param action action to be performed.
+     * @throws NullPointerException if action is null.
+     */
+    void forEachBridge(Consumer<? super Bridge> action);
+
+    /**
+     * Perform the given action for each island in this puzzle.
+     * Unlike {@link #getIslands()} this method does not copy the islands of this puzzle.
+     * @param action action to be performed.
+     * @throws NullPointerException if action is null.
+     */
+    void forEachIsland(Consumer<? super Island> action);
+
     /**
      * Get the amount of columns of this puzzle.
      * @return the amount of columns of this puzzle.
@@ -41,12 +115,75 @@ public interface Puzzle {
      */
     Set<Island> getIslands();
 
+    /**
+     * Get the island at the given position.
+     * @param position position of the island.
+     * @return {@link Optional} containing the island at the given position, if it exists.
+     * @throws NullPointerException if position is null.
+     * @throws IllegalArgumentException if the position does not lie inside of this puzzle.
+     */
+    Optional<Island> getIslandAt(Position position);
+
+    /**
+     * Get the amount of islands in this puzzle.
+     * @return the amount of islands in this puzzle.
+     */
+    int getIslandsCount();
+
+    /**
+     * Get a 64 bit Zobrist hash of the islands of this puzzle.
+     * The hash covers the position and the amount of required bridges of every island, but not the bridges.
+     * Like {@link #getBridgeStateHash()} this hash is maintained incrementally whenever an island changes.
+     * @return a 64 bit hash of the islands of this puzzle.
+     */
+    long getLayoutHash();
+
+    /**
+     * Get the version of the islands of this puzzle.
+     * The version is increased whenever an island is added or the amount of required bridges of an island changes,
+     * so a caller can tell cheaply whether the islands have changed since an earlier call.
+     * Puzzles whose islands cannot change always return 0.
+     * @return the version of the islands of this puzzle.
+     */
+    long getLayoutVersion();
+
+    /**
+     * Get the amount of modifications of this puzzle.
+     * The amount is increased whenever an island is added or a bridge is built or torn down,
+     * so a caller can tell whether this puzzle has changed since an earlier call.
+     * Puzzles that cannot be modified always return 0.
+     * @return the amount of modifications of this puzzle.
+     */
+    long getModificationCount();
+
     /**
      * Get the amount of rows of this puzzle.
      * @return the amount of rows of this puzzle.
      */
     int getRowsCount();
 
+    /**
+     * Indicates whether a bridge passes through any field on the path from <code>start</code> to <code>end</code>.
+     * Both <code>start</code> and <code>end</code> are part of the path.
+     * Fields of islands are never occupied by a bridge.
+     * @param start start of the path.
+     * @param end end of the path.
+     * @return <code>true</code> if a bridge passes through any field on the path, <code>false</code> otherwise.
+     * @throws NullPointerException if start or end is null.
+     * @throws IllegalArgumentException if start and end do neither lie in the same row nor in the same column.
+     */
+    boolean isAnyFieldOccupiedByBridge(Position start, Position end);
+
+    /**
+     * Indicates whether an island lies directly next to the given field in north, east, south or west direction.
+     * A new island must not be built on such a field.
+     * @param column column of the field.
+     * @param row row of the field.
+     * @return <code>true</code> if an island lies next to the given field, <code>false</code> otherwise.
+     *  Fields outside of this puzzle are never next to an island.
+     */
+    boolean isAdjacentToIsland(int column, int row);
+
     /**
      * Remove all bridges from this puzzle.
      */
@@ -10,15 +10,15 @@ import java.util.List;
 public class PuzzleBuilder {
 
     private final int islandsCount;
-    private final List<ModifiableIsland> islands;
+    private final List<AdjustableIsland> islands;
     private final ModifiablePuzzle puzzle;
 
-    private PuzzleBuilder(final int columns, final int rows, final int islandsCount) {
+    private PuzzleBuilder(final ModifiablePuzzle puzzle, final int islandsCount) {
         // Some tests provided by the uni do not respect the bounds of islandsCount (e.g. bsp_5x5.bgs)
         // Therefore do not validate islandsCount here.
         this.islandsCount = islandsCount;
         islands = new ArrayList<>(islandsCount);
-        puzzle = ModifiablePuzzleFactory.createPuzzle(columns, rows);
+        this.puzzle = puzzle;
     }
 
     /**
@@ -30,7 +30,33 @@ public class PuzzleBuilder {
      * @throws IllegalArgumentException if columns, rows or islands is less than 1.
      */
     public static PuzzleBuilder createBuilder(final int columns, final int rows, final int islands) {
-        return new PuzzleBuilder(columns, rows, islands);
+        return new PuzzleBuilder(ModifiablePuzzleFactory.createPuzzle(columns, rows), islands);
+    }
+
+    /**
+     * Creates a new instance that builds an array backed puzzle.
+     * See {@link ModifiablePuzzleFactory#createCompactPuzzle(int, int)}.
+     * @param columns Amount of columns of the puzzle to be build.
+     * @param rows Amount of rows of the puzzle to be build.
+     * @param islands Amount of islands of the puzzle to be build.
+     * @return a new PuzzleBuilder instance.
+     * @throws IllegalArgumentException if columns, rows or islands is less than 1.
+     */
+    public static PuzzleBuilder createCompactBuilder(final int columns, final int rows, final int islands) {
+        return new PuzzleBuilder(ModifiablePuzzleFactory.createCompactPuzzle(columns, rows), islands);
+    }
+
+    /**
+     * Creates a new instance that builds a puzzle in large board mode.
+     * See {@link ModifiablePuzzleFactory#createLargePuzzle(int, int)}.
+     * @param columns Amount of columns of the puzzle to be build.
+     * @param rows Amount of rows of the puzzle to be build.
+     * @param islands Amount of islands of the puzzle to be build.
+     * @return a new PuzzleBuilder instance.
+     * @throws IllegalArgumentException if columns or rows is less than 4.
+     */
+    public static PuzzleBuilder createLargeBoardBuilder(final int columns, final int rows, final int islands) {
+        return new PuzzleBuilder(ModifiablePuzzleFactory.createLargePuzzle(columns, rows), islands);
     }
 
     /**
@@ -59,11 +85,22 @@ public class PuzzleBuilder {
         }
 
         // TODO This cast is ugly
-        final ModifiableIsland island = ((ModifiableIsland) puzzle.buildIsland(position, requiredBridges));
+        final AdjustableIsland island = ((AdjustableIsland) puzzle.buildIsland(position, requiredBridges));
         islands.add(island);
         return island;
     }
 
+    /**
+     * Add a new island to the puzzle.
+     * @param position Packed position where the island should be created. See {@link Position#pack(int, int)}.
+     * @param requiredBridges Amount of required bridged of the new island.
+     * @return the newly created Island
+     * @throws IllegalStateException if the puzzle already has enough islands.
+     */
+    public Island addIsland(final long position, final int requiredBridges) {
+        return addIsland(Position.of(position), requiredBridges);
+    }
+
     /**
      * Get the amount of islands of the puzzle.
      * @return the amount of islands of the puzzle.
@@ -0,0 +1,49 @@
+package de.feu.ps.bridges.model;
+
+/**
+ * Listener that is notified about every change of a {@link Puzzle}.
+ *
+ * The listener is called synchronously by the thread that changed the puzzle, after the change has been applied.
+ * No event objects are created, every change is described by the affected islands and plain values.
+ * All methods do nothing by default, so a listener only has to implement the changes it is interested in.
+ *
+ * @author Tim Gremplewski
+ */
+public interface PuzzleChangeListener {
+
+    /**
+     * Called after a bridge has been built.
+     * @param puzzle the changed puzzle.
+     * @param island1 one of the bridged islands.
+     * @param island2 the other bridged island.
+     * @param multiplicity amount of bridges between the islands after the change, either 1 or 2.
+     */
+    default void bridgeBuilt(Puzzle puzzle, Island island1, Island island2, int multiplicity) {
+    }
+
+    /**
+     * Called after a bridge has been torn down.
+     * @param puzzle the changed puzzle.
+     * @param island1 one of the formerly bridged islands.
+     * @param island2 the other formerly bridged island.
+     * @param multiplicity amount of bridges between the islands after the change, either 0 or 1.
+     */
+    default void bridgeTornDown(Puzzle puzzle, Island island1, Island island2, int multiplicity) {
+    }
+
+    /**
+     * Called after an island has been added.
+     * @param puzzle the changed puzzle.
+     * @param island the new island.
+     */
+    default void islandAdded(Puzzle puzzle, Island island) {
+    }
+
+    /**
+     * Called after all bridges have been removed at once, see {@link Puzzle#removeAllBridges()}.
+     * No further calls are made for the single bridges.
+     * @param puzzle the changed puzzle.
+     */
+    default void allBridgesRemoved(Puzzle puzzle) {
+    }
+}
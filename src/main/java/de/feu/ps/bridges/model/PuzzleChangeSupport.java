@@ -0,0 +1,92 @@
+package de.feu.ps.bridges.model;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * Keeps the {@link PuzzleChangeListener}s of a puzzle and notifies them about changes.
+ *
+ * The listeners are kept in an array, that is replaced whenever a listener is added or removed.
+ * Notifying the listeners therefore neither creates garbage nor needs a lock
+ * and costs only a loop over an empty array, if nobody listens.
+ *
+ * @author Tim Gremplewski
+ */
+final class PuzzleChangeSupport {
+
+    private static final PuzzleChangeListener[] NO_LISTENERS = new PuzzleChangeListener[0];
+
+    private final Puzzle puzzle;
+    private volatile PuzzleChangeListener[] listeners;
+
+    /**
+     * Creates a new instance without listeners.
+     * @param puzzle the puzzle whose changes are reported.
+     */
+    PuzzleChangeSupport(final Puzzle puzzle) {
+        this.puzzle = puzzle;
+        listeners = NO_LISTENERS;
+    }
+
+    /**
+     * Register a new listener. A listener that is already registered is not added again.
+     * @param listener listener to register.
+     * @throws NullPointerException if listener is null.
+     */
+    synchronized void addListener(final PuzzleChangeListener listener) {
+        Objects.requireNonNull(listener, "Parameter 'listener' must not be null.");
+
+        if (indexOf(listener) < 0) {
+            final PuzzleChangeListener[] newListeners = Arrays.copyOf(listeners, listeners.length + 1);
+            newListeners[listeners.length] = listener;
+            listeners = newListeners;
+        }
+    }
+
+    /**
+     * Unregister the given listener.
+     * @param listener listener to unregister.
+     */
+    synchronized void removeListener(final PuzzleChangeListener listener) {
+        final int index = indexOf(listener);
+        if (index >= 0) {
+            final PuzzleChangeListener[] newListeners = new PuzzleChangeListener[listeners.length - 1];
+            System.arraycopy(listeners, 0, newListeners, 0, index);
+            System.arraycopy(listeners, index + 1, newListeners, index, newListeners.length - index);
+            listeners = newListeners;
+        }
+    }
+
+    private int indexOf(final PuzzleChangeListener listener) {
+        for (int index = 0; index < listeners.length; index++) {
+            if (listeners[index] == listener) {
+                return index;
+            }
+        }
+        return -1;
+    }
+
+    void fireBridgeBuilt(final Island island1, final Island island2, final int multiplicity) {
+        for (PuzzleChangeListener listener : listeners) {
+            listener.bridgeBuilt(puzzle, island1, island2, multiplicity);
+        }
+    }
+
+    void fireBridgeTornDown(final Island island1, final Island island2, final int multiplicity) {
+        for (PuzzleChangeListener listener : listeners) {
+            listener.bridgeTornDown(puzzle, island1, island2, multiplicity);
+        }
+    }
+
+    void fireIslandAdded(final Island island) {
+        for (PuzzleChangeListener listener : listeners) {
+            listener.islandAdded(puzzle, island);
+        }
+    }
+
+    void fireAllBridgesRemoved() {
+        for (PuzzleChangeListener listener : listeners) {
+            listener.allBridgesRemoved(puzzle);
+        }
+    }
+}
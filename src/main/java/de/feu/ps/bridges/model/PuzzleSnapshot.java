@@ -0,0 +1,45 @@
+package de.feu.ps.bridges.model;
+
+/**
+ * Immutable {@link Puzzle}, that represents the state of a puzzle at a certain point in time.
+ *
+ * Instead of changing a snapshot, {@link #withBridge(Island, Island)} and {@link #withoutBridge(Island, Island)}
+ * return a new snapshot, that shares most of its state with the original one.
+ * Therefore snapshots can be used to explore different moves, even concurrently, without changing the live puzzle.
+ * The methods of {@link Puzzle} that would change the puzzle throw an {@link UnsupportedOperationException}.
+ *
+ * The islands and bridges of a snapshot are distinct from those of the puzzle it was created from.
+ * Use {@link #getIslandAt(Position)} to find the island of a snapshot that corresponds to an island of the puzzle.
+ *
+ * @author Tim Gremplewski
+ */
+public interface PuzzleSnapshot extends Puzzle {
+
+    /**
+     * Get a snapshot that differs from this snapshot by an additional bridge between the given islands.
+     * If the islands are already bridged, the bridge of the new snapshot will be a double bridge.
+     * This snapshot is not changed.
+     *
+     * @param island1 Island of this snapshot to be bridged.
+     * @param island2 Another island of this snapshot to be bridged.
+     * @return a new snapshot with the additional bridge.
+     * @throws NullPointerException if island1 or island2 is null.
+     * @throws IllegalArgumentException if island1 or island2 does not belong to this snapshot
+     *  or if a bridge cannot be build between these islands.
+     * @throws IllegalStateException if a double bridge already exists between the given islands.
+     */
+    PuzzleSnapshot withBridge(Island island1, Island island2);
+
+    /**
+     * Get a snapshot that differs from this snapshot by one bridge less between the given islands.
+     * If the islands are bridged by a double bridge, the bridge of the new snapshot will be a single bridge.
+     * This snapshot is not changed.
+     *
+     * @param island1 A bridged island of this snapshot.
+     * @param island2 The other bridged island of this snapshot.
+     * @return a new snapshot without the bridge or this snapshot, if the islands are not bridged.
+     * @throws NullPointerException if island1 or island2 is null.
+     * @throws IllegalArgumentException if island1 or island2 does not belong to this snapshot.
+     */
+    PuzzleSnapshot withoutBridge(Island island1, Island island2);
+}
@@ -0,0 +1,50 @@
+package de.feu.ps.bridges.model;
+
+import java.util.Objects;
+
+/**
+ * Factory class that creates a new {@link PuzzleSnapshot}.
+ * @author Tim Gremplewski
+ */
+public final class PuzzleSnapshotFactory {
+
+    private PuzzleSnapshotFactory() {
+    }
+
+    /**
+     * Create a snapshot of the current state of the given puzzle.
+     * Later changes of the puzzle are not reflected by the snapshot.
+     * @param puzzle the puzzle to create a snapshot of.
+     * @return a snapshot of the given puzzle.
+     * @throws NullPointerException if puzzle is null.
+     */
+    public static PuzzleSnapshot createSnapshotOf(final Puzzle puzzle) {
+        Objects.requireNonNull(puzzle, "Parameter 'puzzle' must not be null.");
+
+        if (puzzle instanceof PuzzleSnapshot) {
+            return (PuzzleSnapshot) puzzle;
+        }
+
+        // The islands rarely change, so only the bridges are copied for every snapshot
+        final SnapshotLayout layout = puzzle instanceof ModifiablePuzzle
+                ? ((ModifiablePuzzle) puzzle).getSnapshotLayout()
+                : SnapshotLayout.createFor(puzzle);
+
+        final byte[] bridges = new byte[layout.getIslandsCount() * 2];
+        final byte[] actualBridges = new byte[layout.getIslandsCount()];
+        final int[] bridgesCount = new int[1];
+        puzzle.forEachIsland(island ->
+                actualBridges[layout.getId(island.getIndex())] = (byte) island.getActualBridgesCount());
+        puzzle.forEachBridge(bridge -> {
+            // Ids are assigned row by row, so the western or northern island has the lower id
+            final int id = Math.min(layout.getId(bridge.getIsland1().getIndex()),
+                    layout.getId(bridge.getIsland2().getIndex()));
+            final Direction direction = bridge.isHorizontal() ? Direction.EAST : Direction.SOUTH;
+            bridges[DefaultPuzzleSnapshot.edgeOf(id, direction.ordinal())] = (byte) (bridge.isDoubleBridge() ? 2 : 1);
+            bridgesCount[0]++;
+        });
+
+        return new DefaultPuzzleSnapshot(layout, PersistentByteArray.of(bridges),
+                PersistentByteArray.of(actualBridges), bridgesCount[0], puzzle.getBridgeStateHash());
+    }
+}
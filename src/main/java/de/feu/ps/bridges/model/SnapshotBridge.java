@@ -0,0 +1,111 @@
+package de.feu.ps.bridges.model;
+
+import java.util.HashSet;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * {@link Bridge} that is a view on a bridge of a {@link DefaultPuzzleSnapshot}.
+ *
+ * The bridge is identified by its northern or western island and the {@link Direction} to the other island.
+ * Since snapshots are immutable, two views are equal if they describe the same bridge of the same snapshot.
+ *
+ * @author Tim Gremplewski
+ */
+class SnapshotBridge implements Bridge {
+
+    private final DefaultPuzzleSnapshot snapshot;
+    private final int island;
+    private final int direction;
+
+    /**
+     * Creates a new instance.
+     * @param snapshot the snapshot this bridge belongs to.
+     * @param island id of the northern or western bridged island.
+     * @param direction ordinal of the {@link Direction} from that island to the other bridged island.
+     */
+    SnapshotBridge(final DefaultPuzzleSnapshot snapshot, final int island, final int direction) {
+        this.snapshot = Objects.requireNonNull(snapshot, "Parameter 'snapshot' must not be null.");
+        this.island = island;
+        this.direction = direction;
+    }
+
+    @Override
+    public Set<Island> getBridgedIslands() {
+        final Set<Island> islands = new HashSet<>(2);
+        islands.add(getIsland1());
+        islands.add(getIsland2());
+        return islands;
+    }
+
+    @Override
+    public Island getIsland1() {
+        return snapshot.getIsland(island);
+    }
+
+    @Override
+    public Island getIsland2() {
+        return snapshot.getIsland(snapshot.getLayout().getNeighbourId(island, direction));
+    }
+
+    @Override
+    public boolean connects(final Island island1, final Island island2) {
+        if (!snapshot.containsIsland(island1) || !snapshot.containsIsland(island2)) {
+            return false;
+        }
+        final int id1 = ((SnapshotIsland) island1).getId();
+        final int id2 = ((SnapshotIsland) island2).getId();
+        final int other = snapshot.getLayout().getNeighbourId(island, direction);
+        return id1 == island && id2 == other || id1 == other && id2 == island;
+    }
+
+    @Override
+    public Island otherEnd(final Island island) {
+        Objects.requireNonNull(island, "Parameter 'island' must not be null.");
+        if (snapshot.containsIsland(island)) {
+            final int id = ((SnapshotIsland) island).getId();
+            if (id == this.island) {
+                return getIsland2();
+            }
+            if (id == snapshot.getLayout().getNeighbourId(this.island, direction)) {
+                return getIsland1();
+            }
+        }
+        throw new IllegalArgumentException("The given island is not bridged by this bridge.");
+    }
+
+    @Override
+    public boolean isDoubleBridge() {
+        return snapshot.getMultiplicity(island, direction) == 2;
+    }
+
+    @Override
+    public boolean isHorizontal() {
+        return direction == Direction.EAST.ordinal();
+    }
+
+    @Override
+    public boolean isVertical() {
+        return direction == Direction.SOUTH.ordinal();
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof SnapshotBridge)) return false;
+
+        SnapshotBridge bridge = (SnapshotBridge) o;
+
+        if (snapshot != bridge.snapshot) return false;
+        if (island != bridge.island) return false;
+        return direction == bridge.direction;
+    }
+
+    @Override
+    public int hashCode() {
+        int result = System.identityHashCode(snapshot);
+        result = 31 * result + island;
+        result = 31 * result + direction;
+        return result;
+    }
+}
@@ -0,0 +1,171 @@
+package de.feu.ps.bridges.model;
+
+import java.util.HashSet;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+import static de.feu.ps.bridges.model.SnapshotLayout.NO_ISLAND;
+
+/**
+ * {@link Island} that is a view on an island of a {@link DefaultPuzzleSnapshot}.
+ *
+ * @author Tim Gremplewski
+ */
+class SnapshotIsland implements Island {
+
+    private final DefaultPuzzleSnapshot snapshot;
+    private final SnapshotLayout layout;
+    private final int id;
+
+    /**
+     * Creates a new instance.
+     * @param snapshot the snapshot this island belongs to.
+     * @param id the id of this island within the layout of the snapshot.
+     */
+    SnapshotIsland(final DefaultPuzzleSnapshot snapshot, final int id) {
+        this.snapshot = Objects.requireNonNull(snapshot, "Parameter 'snapshot' must not be null.");
+        this.layout = snapshot.getLayout();
+        this.id = id;
+    }
+
+    /**
+     * Get the snapshot this island belongs to.
+     * @return the snapshot this island belongs to.
+     */
+    DefaultPuzzleSnapshot getSnapshot() {
+        return snapshot;
+    }
+
+    /**
+     * Get the id of this island within the layout of its snapshot.
+     * @return the id of this island within the layout of its snapshot.
+     */
+    int getId() {
+        return id;
+    }
+
+    @Override
+    public boolean anyNeighbourMatches(final Predicate<? super Island> predicate) {
+        Objects.requireNonNull(predicate, "Parameter 'predicate' must not be null.");
+        for (int direction = 0; direction < 4; direction++) {
+            final int neighbour = layout.getNeighbourId(id, direction);
+            if (neighbour != NO_ISLAND && predicate.test(snapshot.getIsland(neighbour))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public void forEachBridgedNeighbour(final Consumer<? super Island> action) {
+        Objects.requireNonNull(action, "Parameter 'action' must not be null.");
+        for (int direction = 0; direction < 4; direction++) {
+            if (snapshot.getMultiplicity(id, direction) > 0) {
+                action.accept(snapshot.getIsland(layout.getNeighbourId(id, direction)));
+            }
+        }
+    }
+
+    @Override
+    public void forEachNeighbour(final Consumer<? super Island> action) {
+        Objects.requireNonNull(action, "Parameter 'action' must not be null.");
+        for (int direction = 0; direction < 4; direction++) {
+            final int neighbour = layout.getNeighbourId(id, direction);
+            if (neighbour != NO_ISLAND) {
+                action.accept(snapshot.getIsland(neighbour));
+            }
+        }
+    }
+
+    @Override
+    public int getActualBridgesCount() {
+        return snapshot.getActualBridges(id);
+    }
+
+    @Override
+    public Set<Island> getBridgedNeighbours() {
+        final Set<Island> bridgedNeighbours = new HashSet<>();
+        forEachBridgedNeighbour(bridgedNeighbours::add);
+        return bridgedNeighbours;
+    }
+
+    @Override
+    public Set<Bridge> getBridges() {
+        final Set<Bridge> bridges = new HashSet<>();
+        for (Direction direction : Direction.values()) {
+            snapshot.getBridge(id, direction.ordinal()).ifPresent(bridges::add);
+        }
+        return bridges;
+    }
+
+    @Override
+    public Optional<Bridge> getBridgeTo(final Island island) {
+        Objects.requireNonNull(island, "Parameter 'island' must not be null.");
+
+        if (snapshot.containsIsland(island)) {
+            final int otherId = ((SnapshotIsland) island).id;
+            for (int direction = 0; direction < 4; direction++) {
+                if (layout.getNeighbourId(id, direction) == otherId) {
+                    return snapshot.getBridge(id, direction);
+                }
+            }
+        }
+        return Optional.empty();
+    }
+
+    @Override
+    public int getDistanceToNeighbour(final Direction direction) {
+        Objects.requireNonNull(direction, "Parameter 'direction' must not be null.");
+        final int neighbour = layout.getNeighbourId(id, direction.ordinal());
+
+        if (neighbour == NO_ISLAND) {
+            throw new UnsupportedOperationException("Island has no neighbour in this direction: " + direction.name());
+        }
+
+        return Math.abs(layout.getColumn(neighbour) - layout.getColumn(id))
+                + Math.abs(layout.getRow(neighbour) - layout.getRow(id));
+    }
+
+    @Override
+    public Optional<Island> getNeighbour(final Direction direction) {
+        Objects.requireNonNull(direction, "Parameter 'direction' must not be null.");
+        final int neighbour = layout.getNeighbourId(id, direction.ordinal());
+        return neighbour == NO_ISLAND ? Optional.empty() : Optional.of(snapshot.getIsland(neighbour));
+    }
+
+    @Override
+    public Set<Island> getNeighbours() {
+        final Set<Island> neighbours = new HashSet<>();
+        forEachNeighbour(neighbours::add);
+        return neighbours;
+    }
+
+    @Override
+    public int getIndex() {
+        return id;
+    }
+
+    @Override
+    public Position getPosition() {
+        return layout.getPosition(id);
+    }
+
+    @Override
+    public int getRemainingBridges() {
+        return layout.getRequiredBridges(id) - snapshot.getActualBridges(id);
+    }
+
+    @Override
+    public int getRequiredBridges() {
+        return layout.getRequiredBridges(id);
+    }
+
+    @Override
+    public boolean isBridgedToNeighbour(final Direction direction) {
+        Objects.requireNonNull(direction, "Parameter 'direction' must not be null.");
+        return snapshot.getMultiplicity(id, direction.ordinal()) > 0;
+    }
+}
@@ -0,0 +1,248 @@
+package de.feu.ps.bridges.model;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Objects;
+import java.util.stream.IntStream;
+
+/**
+ * Immutable layout of the islands of a {@link DefaultPuzzleSnapshot}.
+ *
+ * The layout does not change when bridges are built or torn down and is therefore shared by all snapshots
+ * that derive from the same puzzle. A modifiable puzzle keeps the layout of its islands
+ * until they change, see {@link ModifiablePuzzle#getSnapshotLayout()},
+ * so that further snapshots of the puzzle only copy its bridges.
+ * Islands are identified by dense int ids, that are assigned row by row from left to right.
+ * So the islands of a row have consecutive ids, while the ids of the islands of a column are kept in a separate table.
+ *
+ * @author Tim Gremplewski
+ */
+final class SnapshotLayout {
+
+    /**
+     * Value used if there is no island.
+     */
+    static final int NO_ISLAND = -1;
+
+    private static final int DIRECTIONS = 4;
+
+    private final int columnsCount;
+    private final int rowsCount;
+    private final Position[] positions;
+    private final int[] requiredBridges;
+    private final int[] neighbours;
+    private final int[] rowStart;
+    private final int[] columnOrder;
+    private final int[] columnStart;
+    private final int[] ids;
+    private final long layoutHash;
+    private final long layoutVersion;
+    private volatile PotentialBridgeGraph potentialBridgeGraph;
+
+    /**
+     * Creates a new layout.
+     * @param columnsCount amount of columns of the puzzle.
+     * @param rowsCount amount of rows of the puzzle.
+     * @param islands islands of the puzzle ordered by row and column.
+     * @param layoutVersion the layout version of the puzzle. See {@link Puzzle#getLayoutVersion()}.
+     * @throws NullPointerException if islands is null.
+     */
+    SnapshotLayout(final int columnsCount, final int rowsCount, final Island[] islands, final long layoutVersion) {
+        Objects.requireNonNull(islands, "Parameter 'islands' must not be null.");
+        this.columnsCount = columnsCount;
+        this.rowsCount = rowsCount;
+        this.layoutVersion = layoutVersion;
+
+        positions = new Position[islands.length];
+        requiredBridges = new int[islands.length];
+        ids = new int[islands.length];
+        long hash = 0;
+        for (int id = 0; id < islands.length; id++) {
+            positions[id] = islands[id].getPosition();
+            requiredBridges[id] = islands[id].getRequiredBridges();
+            ids[islands[id].getIndex()] = id;
+            hash ^= ZobristKeys.islandKey(positions[id], requiredBridges[id]);
+        }
+        layoutHash = hash;
+
+        columnOrder = IntStream.range(0, islands.length).boxed()
+                .sorted(Comparator.<Integer>comparingInt(id -> positions[id].getColumn())
+                        .thenComparingInt(id -> positions[id].getRow()))
+                .mapToInt(Integer::intValue)
+                .toArray();
+        rowStart = countIslandsPerLine(rowsCount, true);
+        columnStart = countIslandsPerLine(columnsCount, false);
+
+        neighbours = new int[islands.length * DIRECTIONS];
+        Arrays.fill(neighbours, NO_ISLAND);
+        for (int id = 0; id + 1 < islands.length; id++) {
+            if (getRow(id) == getRow(id + 1)) {
+                link(id, id + 1, Direction.EAST, Direction.WEST);
+            }
+        }
+        for (int index = 0; index + 1 < columnOrder.length; index++) {
+            if (getColumn(columnOrder[index]) == getColumn(columnOrder[index + 1])) {
+                link(columnOrder[index], columnOrder[index + 1], Direction.SOUTH, Direction.NORTH);
+            }
+        }
+    }
+
+    /**
+     * Create the layout of the current islands of the given puzzle.
+     * @param puzzle the puzzle to create the layout of.
+     * @return the layout of the islands of the puzzle.
+     */
+    static SnapshotLayout createFor(final Puzzle puzzle) {
+        final Island[] islands = puzzle.getIslands().stream()
+                .sorted(Comparator.<Island>comparingInt(island -> island.getPosition().getRow())
+                        .thenComparingInt(island -> island.getPosition().getColumn()))
+                .toArray(Island[]::new);
+        return new SnapshotLayout(puzzle.getColumnsCount(), puzzle.getRowsCount(), islands, puzzle.getLayoutVersion());
+    }
+
+    private int[] countIslandsPerLine(final int lines, final boolean rows) {
+        final int[] lineStart = new int[lines + 1];
+        for (Position position : positions) {
+            lineStart[(rows ? position.getRow() : position.getColumn()) + 1]++;
+        }
+        for (int line = 0; line < lines; line++) {
+            lineStart[line + 1] += lineStart[line];
+        }
+        return lineStart;
+    }
+
+    private void link(final int id, final int neighbour, final Direction direction, final Direction opposite) {
+        neighbours[id * DIRECTIONS + direction.ordinal()] = neighbour;
+        neighbours[neighbour * DIRECTIONS + opposite.ordinal()] = id;
+    }
+
+    int getColumnsCount() {
+        return columnsCount;
+    }
+
+    int getRowsCount() {
+        return rowsCount;
+    }
+
+    int getIslandsCount() {
+        return positions.length;
+    }
+
+    Position getPosition(final int id) {
+        return positions[id];
+    }
+
+    int getColumn(final int id) {
+        return positions[id].getColumn();
+    }
+
+    int getRow(final int id) {
+        return positions[id].getRow();
+    }
+
+    /**
+     * Get the Zobrist hash of the islands. See {@link Puzzle#getLayoutHash()}.
+     * @return the Zobrist hash of the islands.
+     */
+    long getLayoutHash() {
+        return layoutHash;
+    }
+
+    /**
+     * Get the layout version of the puzzle, whose islands this layout was created of.
+     * @return the layout version of the puzzle. See {@link Puzzle#getLayoutVersion()}.
+     */
+    long getLayoutVersion() {
+        return layoutVersion;
+    }
+
+    /**
+     * Get the id of the island with the given index in the puzzle, whose islands this layout was created of.
+     * @param index the index of the island in the puzzle. See {@link Island#getIndex()}.
+     * @return the id of the island.
+     */
+    int getId(final int index) {
+        return ids[index];
+    }
+
+    /**
+     * Get the table of the potential bridges of the islands.
+     * The table is created by the first call and shared afterwards.
+     * @param snapshot a snapshot with this layout.
+     * @return the table of the potential bridges of the islands.
+     */
+    PotentialBridgeGraph getPotentialBridgeGraph(final Puzzle snapshot) {
+        PotentialBridgeGraph graph = potentialBridgeGraph;
+        if (graph == null) {
+            // Creating the table twice in concurrent calls is harmless, because it is immutable
+            graph = new PotentialBridgeGraph(snapshot);
+            potentialBridgeGraph = graph;
+        }
+        return graph;
+    }
+
+    int getRequiredBridges(final int id) {
+        return requiredBridges[id];
+    }
+
+    /**
+     * Get the id of the neighbour of the given island.
+     * @param id id of the island.
+     * @param direction ordinal of the {@link Direction} to look for the neighbour.
+     * @return id of the neighbour or {@link #NO_ISLAND}.
+     */
+    int getNeighbourId(final int id, final int direction) {
+        return neighbours[id * DIRECTIONS + direction];
+    }
+
+    /**
+     * Get the id of the island at the given field.
+     * @param column column of the field.
+     * @param row row of the field.
+     * @return id of the island or {@link #NO_ISLAND}.
+     */
+    int getIslandAt(final int column, final int row) {
+        final int id = findLastIslandUpTo(row, column, true);
+        return id != NO_ISLAND && getColumn(id) == column ? id : NO_ISLAND;
+    }
+
+    /**
+     * Find the last island of a row or column, that lies at or before the given coordinate.
+     * @param line index of the row or column to search.
+     * @param coordinate column, if a row is searched, row otherwise.
+     * @param row <code>true</code> to search a row, <code>false</code> to search a column.
+     * @return id of the island or {@link #NO_ISLAND}.
+     */
+    int findLastIslandUpTo(final int line, final int coordinate, final boolean row) {
+        final int[] lineStart = row ? rowStart : columnStart;
+        int low = lineStart[line];
+        int high = lineStart[line + 1] - 1;
+        int result = NO_ISLAND;
+
+        while (low <= high) {
+            final int middle = (low + high) >>> 1;
+            final int id = row ? middle : columnOrder[middle];
+            if ((row ? getColumn(id) : getRow(id)) <= coordinate) {
+                result = id;
+                low = middle + 1;
+            } else {
+                high = middle - 1;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Find the first island of a row or column.
+     * @param line index of the row or column to search.
+     * @param row <code>true</code> to search a row, <code>false</code> to search a column.
+     * @return id of the island or {@link #NO_ISLAND}.
+     */
+    int findFirstIsland(final int line, final boolean row) {
+        final int[] lineStart = row ? rowStart : columnStart;
+        if (lineStart[line] == lineStart[line + 1]) {
+            return NO_ISLAND;
+        }
+        return row ? lineStart[line] : columnOrder[lineStart[line]];
+    }
+}
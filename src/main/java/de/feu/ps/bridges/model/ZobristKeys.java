@@ -0,0 +1,54 @@
+package de.feu.ps.bridges.model;
+
+/**
+ * Keys for the Zobrist hashes of a {@link Puzzle}.
+ *
+ * A Zobrist hash is the XOR of the keys of all elements of a state.
+ * So adding or removing an element updates the hash in constant time by XOR-ing its key.
+ * Instead of a table of random numbers, the keys are derived from the positions of the islands with a mixing function.
+ * That way the keys need no memory, work for boards of any size and are the same for all puzzle implementations.
+ *
+ * @author Tim Gremplewski
+ */
+final class ZobristKeys {
+
+    private ZobristKeys() {
+    }
+
+    /**
+     * Get the key of a bridge with the given multiplicity between islands at the given positions.
+     * The order of the positions does not matter.
+     * @param position1 position of one of the bridged islands.
+     * @param position2 position of the other bridged island.
+     * @param multiplicity 1 for a single bridge, 2 for a double bridge. 0 if there is no bridge.
+     * @return the key of the bridge, which is always 0 if the multiplicity is 0.
+     */
+    static long bridgeKey(final Position position1, final Position position2, final int multiplicity) {
+        if (multiplicity == 0) {
+            return 0;
+        }
+
+        final long packed1 = position1.pack();
+        final long packed2 = position2.pack();
+        final long first = Math.min(packed1, packed2);
+        final long second = Math.max(packed1, packed2);
+        return mix(mix(first) ^ second * 0x9E3779B97F4A7C15L ^ multiplicity);
+    }
+
+    /**
+     * Get the key of an island at the given position with the given amount of required bridges.
+     * @param position position of the island.
+     * @param requiredBridges amount of required bridges of the island.
+     * @return the key of the island.
+     */
+    static long islandKey(final Position position, final int requiredBridges) {
+        return mix(position.pack() * 0xC2B2AE3D27D4EB4FL ^ requiredBridges);
+    }
+
+    private static long mix(long value) {
+        // Finalizer of the SplitMix64 generator
+        value = (value ^ (value >>> 30)) * 0xBF58476D1CE4E5B9L;
+        value = (value ^ (value >>> 27)) * 0x94D049BB133111EBL;
+        return value ^ (value >>> 31);
+    }
+}
@@ -1,5 +1,6 @@
 package de.feu.ps.bridges.serialization;
 
+import de.feu.ps.bridges.analyser.MoveSpec;
 import de.feu.ps.bridges.analyser.PuzzleAnalyser;
 import de.feu.ps.bridges.analyser.PuzzleAnalyserFactory;
 import de.feu.ps.bridges.model.Island;
@@ -14,6 +15,7 @@ import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
+import java.util.OptionalInt;
 import java.util.Scanner;
 import java.util.regex.MatchResult;
 import java.util.regex.Pattern;
@@ -31,11 +33,13 @@ public class Deserializer {
     private static final Pattern BRIDGE_PATTERN = Pattern.compile("^\\([ ]*(\\d+)[ ]*,[ ]*(\\d+)[ ]*\\|[ ]*(true|false)[ ]*\\)$");
     private static final String END_OF_FILE = "EOF";
     private final List<Island> createdIslands;
+    private final boolean largeBoard;
     private PuzzleBuilder puzzleBuilder;
     private PuzzleAnalyser puzzleAnalyser;
 
-    private Deserializer() {
+    private Deserializer(final boolean largeBoard) {
         createdIslands = new ArrayList<>();
+        this.largeBoard = largeBoard;
     }
 
     /**
@@ -45,6 +49,21 @@ public class Deserializer {
      * @throws SerializationException if the puzzle could not be loaded.
      */
     public static Puzzle loadPuzzle(final File source) {
+        return loadPuzzle(source, false);
+    }
+
+    /**
+     * Load a puzzle from the given file in large board mode.
+     * Such a puzzle is not limited to 25 columns and rows.
+     * @param source the source file.
+     * @return the puzzle loaded from the given file.
+     * @throws SerializationException if the puzzle could not be loaded.
+     */
+    public static Puzzle loadLargePuzzle(final File source) {
+        return loadPuzzle(source, true);
+    }
+
+    private static Puzzle loadPuzzle(final File source, final boolean largeBoard) {
         Objects.requireNonNull(source, "Parameter 'source' must not be null.");
 
         if (!source.exists()) {
@@ -52,7 +71,7 @@ public class Deserializer {
         }
 
         try {
-            return new Deserializer().parseSourceFile(source).getResult();
+            return new Deserializer(largeBoard).parseSourceFile(source).getResult();
         } catch (final Exception e) {
             throw new SerializationException("Could not load puzzle.", e);
         }
@@ -103,7 +122,9 @@ public class Deserializer {
             final int rows = Integer.parseInt(match.group(2));
             final int islands = Integer.parseInt(match.group(3));
 
-            puzzleBuilder = PuzzleBuilder.createBuilder(columns, rows, islands);
+            puzzleBuilder = largeBoard
+                    ? PuzzleBuilder.createLargeBoardBuilder(columns, rows, islands)
+                    : PuzzleBuilder.createBuilder(columns, rows, islands);
             puzzleAnalyser = PuzzleAnalyserFactory.createPuzzleAnalyserFor(puzzleBuilder.getResult());
         }
     }
@@ -122,7 +143,7 @@ public class Deserializer {
                 final int row = Integer.parseInt(match.group(2));
                 final int requiredBridges = Integer.parseInt(match.group(3));
 
-                final Position position = new Position(column, row);
+                final long position = Position.pack(column, row);
                 if (puzzleAnalyser.isValidIslandPosition(position)) {
                     final Island island = puzzleBuilder.addIsland(position, requiredBridges);
                     createdIslands.add(island);
@@ -134,6 +155,8 @@ public class Deserializer {
     }
 
     private void parseBridgesSection(BufferedReader bufferedReader, PuzzleBuilder puzzleBuilder) throws IOException {
+        final List<MoveSpec> bridges = new ArrayList<>();
+        final List<String> lines = new ArrayList<>();
         String line = getNextUncommentedLine(bufferedReader);
 
         while (!END_OF_FILE.equals(line)) {
@@ -145,13 +168,20 @@ public class Deserializer {
                 final Island island2 = createdIslands.get(Integer.parseInt(match.group(2)));
                 final boolean doubleBridge = Boolean.parseBoolean(match.group(3));
 
-                if (puzzleAnalyser.isValidMove(island1, island2, doubleBridge)) {
-                    puzzleBuilder.addBridge(island1, island2, doubleBridge);
-                    line = getNextUncommentedLine(bufferedReader);
-                } else {
-                    throw new IllegalStateException("Found invalid bridge: " + line);
-                }
+                bridges.add(MoveSpec.create(island1, island2, doubleBridge));
+                lines.add(line);
+                line = getNextUncommentedLine(bufferedReader);
             }
         }
+
+        // Validate all bridges at once, each bridge against the bridges before it
+        final OptionalInt invalidBridge = puzzleAnalyser.validateMoves(bridges);
+        if (invalidBridge.isPresent()) {
+            throw new IllegalStateException("Found invalid bridge: " + lines.get(invalidBridge.getAsInt()));
+        }
+
+        for (MoveSpec bridge : bridges) {
+            puzzleBuilder.addBridge(bridge.getIsland1(), bridge.getIsland2(), bridge.isDoubleBridge());
+        }
     }
 }
@@ -7,7 +7,9 @@ import de.feu.ps.bridges.model.Puzzle;
 import java.io.File;
 import java.io.PrintWriter;
 import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
 import java.util.stream.Collectors;
@@ -86,17 +88,23 @@ public class Serializer {
     private static void writeBridgesSection(final PrintWriter writer, final Set<Bridge> bridges, final List<Island> sortedIslands) {
         writer.println(Keyword.BRIDGES.name());
 
+        // Looking up the indices in the list would take quadratic time on large boards
+        final Map<Island, Integer> islandIndices = new HashMap<>(sortedIslands.size() * 2);
+        for (int i = 0; i < sortedIslands.size(); i++) {
+            islandIndices.put(sortedIslands.get(i), i);
+        }
+
         bridges.stream().sorted(Comparator.<Bridge>comparingInt(value -> {
-            int island1Index = sortedIslands.indexOf(value.getIsland1());
-            int island2Index = sortedIslands.indexOf(value.getIsland2());
+            int island1Index = islandIndices.get(value.getIsland1());
+            int island2Index = islandIndices.get(value.getIsland2());
             return Math.min(island1Index, island2Index);
         }).thenComparingInt(value -> {
-            int island1Index = sortedIslands.indexOf(value.getIsland1());
-            int island2Index = sortedIslands.indexOf(value.getIsland2());
+            int island1Index = islandIndices.get(value.getIsland1());
+            int island2Index = islandIndices.get(value.getIsland2());
             return Math.max(island1Index, island2Index);
         })).forEach(bridge -> {
-            int island1Index = sortedIslands.indexOf(bridge.getIsland1());
-            int island2Index = sortedIslands.indexOf(bridge.getIsland2());
+            int island1Index = islandIndices.get(bridge.getIsland1());
+            int island2Index = islandIndices.get(bridge.getIsland2());
 
             writer.print("( ");
             writer.print(Math.min(island1Index, island2Index));
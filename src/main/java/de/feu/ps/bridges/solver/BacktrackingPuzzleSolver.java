@@ -0,0 +1,530 @@
+package de.feu.ps.bridges.solver;
+
+import de.feu.ps.bridges.model.Direction;
+import de.feu.ps.bridges.model.Island;
+import de.feu.ps.bridges.model.PotentialBridgeGraph;
+import de.feu.ps.bridges.model.Puzzle;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * {@link PuzzleSolver} that finds a solution of every solvable puzzle and proves that there is none otherwise.
+ *
+ * The solver searches depth first over the multiplicities of all potential bridges of the puzzle,
+ * see {@link PotentialBridgeGraph}.
+ * Every potential bridge has a domain of possible multiplicities, which is a range between 0 and 2.
+ * Bridges that have already been built are kept, so their multiplicity cannot drop below the built one.
+ * At every node of the search the domains are narrowed until none of the following constraints narrows them any further:
+ * <ul>
+ *     <li>Capacity: the multiplicities of the bridges of an island must sum up to its required bridges.</li>
+ *     <li>Crossing: a bridge crossing a built bridge cannot be built.</li>
+ *     <li>Connectivity: all islands must stay connected by bridges, that can still be built,
+ *     and a group of finished islands must not be separated from the other islands.</li>
+ * </ul>
+ * If any constraint is violated, the node is abandoned.
+ * Otherwise a bridge with more than one possible multiplicity is chosen at the island with the fewest of these bridges
+ * and all of its multiplicities are tried, beginning with the highest.
+ *
+ * In parallel mode the search runs in a {@link ForkJoinPool}.
+ * Every node above a given depth is split into one task per multiplicity of its chosen bridge,
+ * while deeper nodes are searched by the task that reached them.
+ * Every task owns its copy of the domains, so tasks only share the constraints, that never change during a search.
+ * Found solutions are counted by a counter shared by all tasks,
+ * so reaching the amount of searched solutions in any task stops all other tasks.
+ * The puzzle must not be modified while a solution is searched.
+ *
+ * A found solution is kept as long as it contains all bridges of the puzzle.
+ * If there is no solution, {@link #getNextMove()} returns an empty optional and {@link #solve()} does not change the puzzle.
+ * Counting solutions continues the search after the first solution and stops as soon as the limit is reached,
+ * so checking for a unique solution with a limit of 2 costs at most one search over the whole tree.
+ * The amount of visited nodes and the amount of domains narrowed by the constraints are counted over all searches.
+ *
+ * @author Tim Gremplewski
+ */
+public final class BacktrackingPuzzleSolver implements PuzzleSolver {
+
+    private static final Direction[] DIRECTION_VALUES = Direction.values();
+
+    /**
+     * Result of visiting a node, whose domains violate a constraint.
+     */
+    private static final int DEAD_END = -2;
+
+    private final Puzzle puzzle;
+    private final ForkJoinPool forkJoinPool;
+    private final int splitDepth;
+    private final LongAdder nodesCount;
+    private final LongAdder propagationsCount;
+
+    private boolean searched;
+    private long modificationCount;
+    private PotentialBridgeGraph graph;
+    private Island[] islands;
+    private int[] requiredBridges;
+    private int[][] islandBridges;
+    private int[][] crossingBridges;
+    private PuzzleSolution solution;
+
+    /**
+     * Create a new instance, that searches in the calling thread.
+     * @param puzzle the puzzle to be solved.
+     * @throws NullPointerException if puzzle is null.
+     */
+    BacktrackingPuzzleSolver(final Puzzle puzzle) {
+        this.puzzle = Objects.requireNonNull(puzzle, "Parameter 'puzzle' must not be null.");
+        forkJoinPool = null;
+        splitDepth = 0;
+        nodesCount = new LongAdder();
+        propagationsCount = new LongAdder();
+    }
+
+    /**
+     * Create a new instance, that searches in parallel.
+     * @param puzzle the puzzle to be solved.
+     * @param forkJoinPool pool to run the search in.
+     * @param splitDepth amount of decisions, up to which the nodes are split into parallel tasks.
+     * @throws NullPointerException if puzzle or forkJoinPool is null.
+     * @throws IllegalArgumentException if splitDepth is less than 0.
+     */
+    BacktrackingPuzzleSolver(final Puzzle puzzle, final ForkJoinPool forkJoinPool, final int splitDepth) {
+        this.puzzle = Objects.requireNonNull(puzzle, "Parameter 'puzzle' must not be null.");
+        this.forkJoinPool = Objects.requireNonNull(forkJoinPool, "Parameter 'forkJoinPool' must not be null.");
+
+        if (splitDepth < 0) {
+            throw new IllegalArgumentException("Parameter 'splitDepth' must not be less than 0.");
+        }
+        this.splitDepth = splitDepth;
+        nodesCount = new LongAdder();
+        propagationsCount = new LongAdder();
+    }
+
+    @Override
+    public synchronized Optional<Move> getNextMove() {
+        updateSolution();
+        return solution == null ? Optional.empty() : solution.getNextMove();
+    }
+
+    @Override
+    public synchronized void solve() {
+        updateSolution();
+        if (solution != null) {
+            // Collect the moves first, because applying them modifies the puzzle
+            solution.getMissingMoves().forEach(Move::apply);
+        }
+    }
+
+    /**
+     * Indicates whether the puzzle can be solved by building further bridges.
+     * @return <code>true</code> if the puzzle can be solved, <code>false</code> otherwise.
+     */
+    public synchronized boolean isSolvable() {
+        updateSolution();
+        return solution != null;
+    }
+
+    @Override
+    public synchronized int countSolutions(final int limit) {
+        if (limit < 0) {
+            throw new IllegalArgumentException("Parameter 'limit' must not be less than 0.");
+        }
+        return limit == 0 ? 0 : searchSolutions(limit).getCount();
+    }
+
+    /**
+     * Get the amount of nodes visited by all searches of this solver.
+     * @return the amount of visited nodes.
+     */
+    public long getNodesCount() {
+        return nodesCount.sum();
+    }
+
+    /**
+     * Get the amount of domains narrowed by the constraints during all searches of this solver.
+     * @return the amount of narrowed domains.
+     */
+    public long getPropagationsCount() {
+        return propagationsCount.sum();
+    }
+
+    private void updateSolution() {
+        if (searched && (puzzle.getModificationCount() == modificationCount
+                || solution != null && solution.containsBuiltBridges())) {
+            return;
+        }
+
+        modificationCount = puzzle.getModificationCount();
+        final FoundSolutions foundSolutions = searchSolutions(1);
+        solution = foundSolutions.getFirst() == null
+                ? null
+                : new PuzzleSolution(puzzle, graph, islands, foundSolutions.getFirst());
+        searched = true;
+    }
+
+    /**
+     * Search the solutions of the puzzle, that contain all built bridges, until the given amount has been found.
+     */
+    private FoundSolutions searchSolutions(final int limit) {
+        if (graph == null || !graph.matchesLayoutOf(puzzle)) {
+            createConstraints();
+        }
+
+        final byte[] minimum = new byte[graph.getBridgesCount()];
+        final byte[] maximum = new byte[graph.getBridgesCount()];
+        for (int bridge = 0; bridge < minimum.length; bridge++) {
+            minimum[bridge] = (byte) PuzzleSolution.getBuiltMultiplicity(graph, islands, bridge);
+            // A built bridge separating its islands is kept, so that the connectivity constraint rejects it
+            maximum[bridge] = (byte) (islands.length > 2
+                    ? Math.max(minimum[bridge], getMaximumMultiplicity(bridge))
+                    : 2);
+        }
+
+        final FoundSolutions foundSolutions = new FoundSolutions(limit);
+        if (forkJoinPool == null) {
+            search(minimum, maximum, foundSolutions);
+        } else {
+            forkJoinPool.invoke(new SearchTask(minimum, maximum, 0, foundSolutions));
+        }
+        return foundSolutions;
+    }
+
+    private void createConstraints() {
+        graph = PotentialBridgeGraph.createFor(puzzle);
+        islands = new Island[puzzle.getIslandsCount()];
+        requiredBridges = new int[islands.length];
+        puzzle.forEachIsland(island -> {
+            islands[island.getIndex()] = island;
+            requiredBridges[island.getIndex()] = island.getRequiredBridges();
+        });
+
+        islandBridges = new int[islands.length][];
+        final int[] bridges = new int[DIRECTION_VALUES.length];
+        for (int island = 0; island < islands.length; island++) {
+            int count = 0;
+            for (final Direction direction : DIRECTION_VALUES) {
+                final int bridge = graph.getBridge(island, direction);
+                if (bridge != PotentialBridgeGraph.NO_BRIDGE) {
+                    bridges[count++] = bridge;
+                }
+            }
+            islandBridges[island] = Arrays.copyOf(bridges, count);
+        }
+
+        crossingBridges = new int[graph.getBridgesCount()][];
+        for (int bridge = 0; bridge < crossingBridges.length; bridge++) {
+            crossingBridges[bridge] = graph.getCrossingBridges(bridge);
+        }
+    }
+
+    /**
+     * Get the highest multiplicity of the given bridge, that does not separate its islands from all other islands.
+     * Two islands requiring the same amount of bridges would be separated,
+     * if that amount was built between them.
+     */
+    private int getMaximumMultiplicity(final int bridge) {
+        final int required1 = requiredBridges[graph.getIsland1(bridge)];
+        final int required2 = requiredBridges[graph.getIsland2(bridge)];
+        return required1 == required2 && required1 <= 2 ? required1 - 1 : 2;
+    }
+
+    /**
+     * Search the subtree of the given node depth first, until enough solutions are found by this and all other searches.
+     */
+    private void search(final byte[] minimum, final byte[] maximum, final FoundSolutions foundSolutions) {
+        final int bridge = visit(minimum, maximum, foundSolutions);
+        if (bridge < 0) {
+            return;
+        }
+
+        for (int multiplicity = maximum[bridge]; multiplicity >= minimum[bridge] && !foundSolutions.isComplete(); multiplicity--) {
+            search(withMultiplicity(minimum, bridge, multiplicity), withMultiplicity(maximum, bridge, multiplicity), foundSolutions);
+        }
+    }
+
+    /**
+     * Narrow the domains of the given node and choose the bridge to branch on.
+     * If the domains describe a solution, it is added to the found solutions.
+     * @return id of the chosen bridge, {@link PotentialBridgeGraph#NO_BRIDGE} if the node is a solution
+     *  or {@link #DEAD_END} if the node violates a constraint or enough solutions have already been found.
+     */
+    private int visit(final byte[] minimum, final byte[] maximum, final FoundSolutions foundSolutions) {
+        if (foundSolutions.isComplete()) {
+            return DEAD_END;
+        }
+
+        nodesCount.increment();
+        if (!propagate(minimum, maximum)) {
+            return DEAD_END;
+        }
+
+        final int bridge = chooseBridge(minimum, maximum);
+        if (bridge == PotentialBridgeGraph.NO_BRIDGE) {
+            // All multiplicities are fixed and satisfy all constraints
+            foundSolutions.add(minimum);
+        }
+        return bridge;
+    }
+
+    private static byte[] withMultiplicity(final byte[] domains, final int bridge, final int multiplicity) {
+        final byte[] result = domains.clone();
+        result[bridge] = (byte) multiplicity;
+        return result;
+    }
+
+    /**
+     * Narrow the given domains until no constraint narrows them any further.
+     * @return <code>false</code> if a constraint is violated, <code>true</code> otherwise.
+     */
+    private boolean propagate(final byte[] minimum, final byte[] maximum) {
+        // Counted locally, so that parallel searches rarely update the shared counter
+        int narrowedDomains = 0;
+        boolean narrowed;
+        do {
+            narrowed = false;
+
+            for (int island = 0; island < islands.length; island++) {
+                final int required = requiredBridges[island];
+                int minimumSum = 0;
+                int maximumSum = 0;
+                for (final int bridge : islandBridges[island]) {
+                    minimumSum += minimum[bridge];
+                    maximumSum += maximum[bridge];
+                }
+
+                if (minimumSum > required || maximumSum < required) {
+                    propagationsCount.add(narrowedDomains);
+                    return false;
+                }
+
+                for (final int bridge : islandBridges[island]) {
+                    final int upperBound = required - (minimumSum - minimum[bridge]);
+                    final int lowerBound = required - (maximumSum - maximum[bridge]);
+
+                    if (upperBound < maximum[bridge]) {
+                        maximumSum -= maximum[bridge] - upperBound;
+                        maximum[bridge] = (byte) upperBound;
+                        narrowedDomains++;
+                        narrowed = true;
+                    }
+                    if (lowerBound > minimum[bridge]) {
+                        minimumSum += lowerBound - minimum[bridge];
+                        minimum[bridge] = (byte) lowerBound;
+                        narrowedDomains++;
+                        narrowed = true;
+                    }
+                }
+            }
+
+            for (int bridge = 0; bridge < minimum.length; bridge++) {
+                if (minimum[bridge] > 0) {
+                    for (final int crossingBridge : crossingBridges[bridge]) {
+                        if (minimum[crossingBridge] > 0) {
+                            propagationsCount.add(narrowedDomains);
+                            return false;
+                        }
+                        if (maximum[crossingBridge] > 0) {
+                            maximum[crossingBridge] = 0;
+                            narrowedDomains++;
+                            narrowed = true;
+                        }
+                    }
+                }
+            }
+        } while (narrowed);
+
+        propagationsCount.add(narrowedDomains);
+        return isConnectable(minimum, maximum);
+    }
+
+    /**
+     * Indicates whether all islands can still be connected.
+     * This is not the case, if the islands are not connected by the bridges that can still be built,
+     * or if the built bridges connect a group of finished islands, that does not contain all islands.
+     */
+    private boolean isConnectable(final byte[] minimum, final byte[] maximum) {
+        if (islands.length == 0) {
+            return true;
+        }
+
+        if (countReachableIslands(0, maximum, new boolean[islands.length]) < islands.length) {
+            return false;
+        }
+
+        final boolean[] visited = new boolean[islands.length];
+        for (int island = 0; island < islands.length; island++) {
+            if (!visited[island] && isFinished(island, minimum, maximum)) {
+                final boolean[] group = new boolean[islands.length];
+                final int groupSize = countReachableIslands(island, minimum, group);
+                boolean groupFinished = true;
+                for (int member = 0; member < islands.length; member++) {
+                    if (group[member]) {
+                        visited[member] = true;
+                        groupFinished &= isFinished(member, minimum, maximum);
+                    }
+                }
+
+                if (groupFinished && groupSize < islands.length) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    private boolean isFinished(final int island, final byte[] minimum, final byte[] maximum) {
+        for (final int bridge : islandBridges[island]) {
+            if (minimum[bridge] != maximum[bridge]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private int countReachableIslands(final int start, final byte[] multiplicities, final boolean[] reached) {
+        final int[] stack = new int[islands.length];
+        int stackSize = 0;
+        int count = 1;
+        reached[start] = true;
+        stack[stackSize++] = start;
+
+        while (stackSize > 0) {
+            final int island = stack[--stackSize];
+            for (final int bridge : islandBridges[island]) {
+                final int neighbour = graph.getOtherIsland(bridge, island);
+                if (multiplicities[bridge] > 0 && !reached[neighbour]) {
+                    reached[neighbour] = true;
+                    stack[stackSize++] = neighbour;
+                    count++;
+                }
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Choose a bridge with more than one possible multiplicity at the island with the fewest of these bridges.
+     * @return id of the chosen bridge or {@link PotentialBridgeGraph#NO_BRIDGE}, if all multiplicities are fixed.
+     */
+    private int chooseBridge(final byte[] minimum, final byte[] maximum) {
+        int chosenBridge = PotentialBridgeGraph.NO_BRIDGE;
+        int fewestOpenBridges = Integer.MAX_VALUE;
+
+        for (final int[] bridges : islandBridges) {
+            int openBridges = 0;
+            int firstOpenBridge = PotentialBridgeGraph.NO_BRIDGE;
+            for (final int bridge : bridges) {
+                if (minimum[bridge] != maximum[bridge]) {
+                    if (openBridges++ == 0) {
+                        firstOpenBridge = bridge;
+                    }
+                }
+            }
+
+            if (openBridges > 0 && openBridges < fewestOpenBridges) {
+                fewestOpenBridges = openBridges;
+                chosenBridge = firstOpenBridge;
+            }
+        }
+        return chosenBridge;
+    }
+
+    /**
+     * Task that searches the subtree of a node.
+     * Nodes above the split depth are split into one subtask per multiplicity of their chosen bridge.
+     */
+    private final class SearchTask extends RecursiveTask<Void> {
+
+        private static final long serialVersionUID = 1L;
+
+        private final byte[] minimum;
+        private final byte[] maximum;
+        private final int depth;
+        private final FoundSolutions foundSolutions;
+
+        private SearchTask(final byte[] minimum, final byte[] maximum, final int depth,
+                           final FoundSolutions foundSolutions) {
+            this.minimum = minimum;
+            this.maximum = maximum;
+            this.depth = depth;
+            this.foundSolutions = foundSolutions;
+        }
+
+        @Override
+        protected Void compute() {
+            if (depth >= splitDepth) {
+                search(minimum, maximum, foundSolutions);
+                return null;
+            }
+
+            final int bridge = visit(minimum, maximum, foundSolutions);
+            if (bridge < 0) {
+                return null;
+            }
+
+            final List<SearchTask> subtasks = new ArrayList<>();
+            for (int multiplicity = maximum[bridge]; multiplicity >= minimum[bridge]; multiplicity--) {
+                subtasks.add(new SearchTask(withMultiplicity(minimum, bridge, multiplicity),
+                        withMultiplicity(maximum, bridge, multiplicity), depth + 1, foundSolutions));
+            }
+
+            // The highest multiplicity is searched by this task, the others may be stolen by idle threads
+            for (int index = subtasks.size() - 1; index > 0; index--) {
+                subtasks.get(index).fork();
+            }
+            subtasks.get(0).compute();
+
+            for (int index = 1; index < subtasks.size(); index++) {
+                final SearchTask subtask = subtasks.get(index);
+                if (foundSolutions.isComplete() && subtask.tryUnfork()) {
+                    // The subtask has not been started yet and is not needed any more
+                    continue;
+                }
+                subtask.join();
+            }
+            return null;
+        }
+    }
+
+    /**
+     * Solutions found by a search, shared by all of its tasks.
+     * The first found solution is kept, the others are only counted.
+     */
+    private static final class FoundSolutions {
+
+        private final int limit;
+        private final AtomicInteger count;
+        private final AtomicReference<byte[]> first;
+
+        private FoundSolutions(final int limit) {
+            this.limit = limit;
+            count = new AtomicInteger();
+            first = new AtomicReference<>();
+        }
+
+        private void add(final byte[] solution) {
+            first.compareAndSet(null, solution);
+            count.incrementAndGet();
+        }
+
+        private boolean isComplete() {
+            return count.get() >= limit;
+        }
+
+        private int getCount() {
+            // Parallel tasks may find further solutions before they notice, that the limit has been reached
+            return Math.min(count.get(), limit);
+        }
+
+        private byte[] getFirst() {
+            return first.get();
+        }
+    }
+}
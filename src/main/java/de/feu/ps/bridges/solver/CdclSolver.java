@@ -0,0 +1,518 @@
+package de.feu.ps.bridges.solver;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Solver for boolean formulas in conjunctive normal form using conflict driven clause learning.
+ *
+ * Variables are numbered from 1 and literals are given like in the DIMACS format:
+ * A positive number stands for its variable and a negative number for the negation of its variable.
+ * Clauses can be added as long as the solver is not searching, including between two searches,
+ * so a search can be repeated with further clauses, that exclude the previous model.
+ * Clauses learned during a search are kept for the following searches.
+ *
+ * A search assigns values to the variables by decisions and derives further values by unit propagation
+ * over two watched literals per clause.
+ * Every conflict is analysed back to its first unique implication point. The resulting clause is learned
+ * and the search jumps back to the second highest decision level of the clause.
+ * Decisions pick the unassigned variable with the highest activity, which is raised for the variables
+ * taking part in conflicts, and assign its previous value.
+ * The search restarts after a number of conflicts following the Luby sequence.
+ *
+ * @author Tim Gremplewski
+ */
+final class CdclSolver {
+
+    private static final byte UNASSIGNED = -1;
+    private static final byte FALSE = 0;
+    private static final byte TRUE = 1;
+
+    private static final int NO_REASON = -1;
+    private static final int NO_CONFLICT = -1;
+    private static final int NO_VARIABLE = -1;
+
+    private static final int RESTART_INTERVAL = 64;
+    private static final double ACTIVITY_DECAY = 0.95;
+    private static final double ACTIVITY_LIMIT = 1e100;
+
+    private final int variablesCount;
+    private final List<int[]> clauses;
+    private final IntList[] watchers;
+    private final byte[] values;
+    private final int[] levels;
+    private final int[] reasons;
+    private final boolean[] phases;
+    private final boolean[] seen;
+    private final boolean[] model;
+    private final int[] trail;
+    private final IntList trailLimits;
+    private final double[] activities;
+    private final int[] heap;
+    private final int[] heapPositions;
+
+    private int trailSize;
+    private int propagationHead;
+    private int heapSize;
+    private double activityIncrement;
+    private boolean unsatisfiable;
+    private long conflictsCount;
+    private long decisionsCount;
+    private long propagationsCount;
+
+    /**
+     * Creates a new instance without any clauses.
+     * @param variablesCount amount of variables of the formula.
+     * @throws IllegalArgumentException if variablesCount is less than 0.
+     */
+    CdclSolver(final int variablesCount) {
+        if (variablesCount < 0) {
+            throw new IllegalArgumentException("Parameter 'variablesCount' must not be less than 0.");
+        }
+
+        this.variablesCount = variablesCount;
+        clauses = new ArrayList<>();
+        watchers = new IntList[2 * variablesCount];
+        for (int literal = 0; literal < watchers.length; literal++) {
+            watchers[literal] = new IntList();
+        }
+        values = new byte[variablesCount];
+        Arrays.fill(values, UNASSIGNED);
+        levels = new int[variablesCount];
+        reasons = new int[variablesCount];
+        Arrays.fill(reasons, NO_REASON);
+        phases = new boolean[variablesCount];
+        seen = new boolean[variablesCount];
+        model = new boolean[variablesCount];
+        trail = new int[variablesCount];
+        trailLimits = new IntList();
+        activities = new double[variablesCount];
+        activityIncrement = 1;
+
+        heap = new int[variablesCount];
+        heapPositions = new int[variablesCount];
+        for (int variable = 0; variable < variablesCount; variable++) {
+            heap[variable] = variable;
+            heapPositions[variable] = variable;
+        }
+        heapSize = variablesCount;
+    }
+
+    /**
+     * Get the amount of variables of the formula.
+     * @return the amount of variables.
+     */
+    int getVariablesCount() {
+        return variablesCount;
+    }
+
+    /**
+     * Add a clause to the formula.
+     * @param literals the literals of the clause.
+     * @return <code>false</code> if the formula is known to be unsatisfiable after adding the clause,
+     *  <code>true</code> otherwise.
+     * @throws NullPointerException if literals is null.
+     * @throws IllegalArgumentException if any literal is 0 or refers to an unknown variable.
+     */
+    boolean addClause(final int... literals) {
+        final int[] clause = new int[literals.length];
+        for (int i = 0; i < literals.length; i++) {
+            final int variable = Math.abs(literals[i]);
+            if (variable == 0 || variable > variablesCount) {
+                throw new IllegalArgumentException("Parameter 'literals' must only contain literals of variables between 1 and " + variablesCount + ".");
+            }
+            clause[i] = 2 * (variable - 1) + (literals[i] < 0 ? 1 : 0);
+        }
+
+        if (unsatisfiable) {
+            return false;
+        }
+
+        // Clauses are only added at decision level 0, so literals assigned there are fixed
+        Arrays.sort(clause);
+        int size = 0;
+        for (int i = 0; i < clause.length; i++) {
+            final int literal = clause[i];
+            final byte value = getLiteralValue(literal);
+            if (value == TRUE || i > 0 && literal == (clause[i - 1] ^ 1)) {
+                // The clause is always satisfied
+                return true;
+            }
+            if (value == UNASSIGNED && (size == 0 || clause[size - 1] != literal)) {
+                clause[size++] = literal;
+            }
+        }
+
+        if (size == 0) {
+            unsatisfiable = true;
+        } else if (size == 1) {
+            assign(clause[0], NO_REASON);
+            unsatisfiable = propagate() != NO_CONFLICT;
+        } else {
+            attach(Arrays.copyOf(clause, size));
+        }
+        return !unsatisfiable;
+    }
+
+    /**
+     * Search a model of the formula.
+     * @return <code>true</code> if the formula is satisfiable, <code>false</code> otherwise.
+     */
+    boolean solve() {
+        if (unsatisfiable) {
+            return false;
+        }
+
+        for (int restarts = 0; ; restarts++) {
+            final Boolean result = search(RESTART_INTERVAL * getLubyNumber(restarts));
+            if (result != null) {
+                return result;
+            }
+        }
+    }
+
+    /**
+     * Get the value of a variable in the model found by the last search.
+     * @param variable the variable to get the value of.
+     * @return the value of the variable.
+     * @throws IllegalArgumentException if the variable is unknown.
+     */
+    boolean getValue(final int variable) {
+        if (variable < 1 || variable > variablesCount) {
+            throw new IllegalArgumentException("Parameter 'variable' must be between 1 and " + variablesCount + ".");
+        }
+        return model[variable - 1];
+    }
+
+    /**
+     * Get the amount of conflicts during all searches.
+     * @return the amount of conflicts.
+     */
+    long getConflictsCount() {
+        return conflictsCount;
+    }
+
+    /**
+     * Get the amount of decisions during all searches.
+     * @return the amount of decisions.
+     */
+    long getDecisionsCount() {
+        return decisionsCount;
+    }
+
+    /**
+     * Get the amount of values derived by unit propagation.
+     * @return the amount of derived values.
+     */
+    long getPropagationsCount() {
+        return propagationsCount;
+    }
+
+    /**
+     * Search until the formula is decided or the given amount of conflicts is reached.
+     * The search always ends at decision level 0.
+     * @return the result or null if the search has to be restarted.
+     */
+    private Boolean search(final long conflictsLimit) {
+        long conflicts = 0;
+        while (true) {
+            final int conflict = propagate();
+            if (conflict != NO_CONFLICT) {
+                conflictsCount++;
+                conflicts++;
+                if (trailLimits.size == 0) {
+                    unsatisfiable = true;
+                    return false;
+                }
+                learn(conflict);
+                activityIncrement /= ACTIVITY_DECAY;
+            } else if (conflicts >= conflictsLimit) {
+                backtrack(0);
+                return null;
+            } else {
+                final int variable = pickBranchVariable();
+                if (variable == NO_VARIABLE) {
+                    for (int i = 0; i < variablesCount; i++) {
+                        model[i] = values[i] == TRUE;
+                    }
+                    backtrack(0);
+                    return true;
+                }
+                decisionsCount++;
+                trailLimits.add(trailSize);
+                assign(2 * variable + (phases[variable] ? 0 : 1), NO_REASON);
+            }
+        }
+    }
+
+    /**
+     * Derive values by unit propagation.
+     * @return index of a clause with only false literals or {@link #NO_CONFLICT}.
+     */
+    private int propagate() {
+        while (propagationHead < trailSize) {
+            final int falseLiteral = trail[propagationHead++] ^ 1;
+            final IntList watching = watchers[falseLiteral];
+            int kept = 0;
+            int i = 0;
+
+            while (i < watching.size) {
+                final int clauseIndex = watching.values[i++];
+                final int[] clause = clauses.get(clauseIndex);
+
+                // The false literal is moved to the second position, the first one is the other watched literal
+                if (clause[0] == falseLiteral) {
+                    clause[0] = clause[1];
+                    clause[1] = falseLiteral;
+                }
+                if (getLiteralValue(clause[0]) == TRUE) {
+                    watching.values[kept++] = clauseIndex;
+                    continue;
+                }
+
+                if (watchAnotherLiteral(clause, clauseIndex)) {
+                    continue;
+                }
+
+                watching.values[kept++] = clauseIndex;
+                if (getLiteralValue(clause[0]) == FALSE) {
+                    while (i < watching.size) {
+                        watching.values[kept++] = watching.values[i++];
+                    }
+                    watching.size = kept;
+                    return clauseIndex;
+                }
+                propagationsCount++;
+                assign(clause[0], clauseIndex);
+            }
+            watching.size = kept;
+        }
+        return NO_CONFLICT;
+    }
+
+    private boolean watchAnotherLiteral(final int[] clause, final int clauseIndex) {
+        for (int k = 2; k < clause.length; k++) {
+            if (getLiteralValue(clause[k]) != FALSE) {
+                final int literal = clause[k];
+                clause[k] = clause[1];
+                clause[1] = literal;
+                watchers[literal].add(clauseIndex);
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Learn a clause from the given conflict and jump back to the level, where the clause derives a new value.
+     */
+    private void learn(final int conflict) {
+        final IntList learned = new IntList();
+        learned.add(0);
+
+        final int level = trailLimits.size;
+        int pathsCount = 0;
+        int literal = -1;
+        int index = trailSize - 1;
+        int clauseIndex = conflict;
+
+        // Resolve the conflict with the reasons of the literals of the current level, until only one of them is left
+        do {
+            final int[] clause = clauses.get(clauseIndex);
+            for (int k = literal == -1 ? 0 : 1; k < clause.length; k++) {
+                final int variable = clause[k] >> 1;
+                if (!seen[variable] && levels[variable] > 0) {
+                    seen[variable] = true;
+                    bumpActivity(variable);
+                    if (levels[variable] == level) {
+                        pathsCount++;
+                    } else {
+                        learned.add(clause[k]);
+                    }
+                }
+            }
+
+            while (!seen[trail[index] >> 1]) {
+                index--;
+            }
+            literal = trail[index--];
+            clauseIndex = reasons[literal >> 1];
+            seen[literal >> 1] = false;
+            pathsCount--;
+        } while (pathsCount > 0);
+        learned.values[0] = literal ^ 1;
+
+        // The literal of the highest remaining level is watched, so it is the first one unassigned by the jump
+        int backjumpLevel = 0;
+        for (int k = 1; k < learned.size; k++) {
+            final int variable = learned.values[k] >> 1;
+            seen[variable] = false;
+            if (levels[variable] > backjumpLevel) {
+                backjumpLevel = levels[variable];
+                final int swapped = learned.values[1];
+                learned.values[1] = learned.values[k];
+                learned.values[k] = swapped;
+            }
+        }
+
+        backtrack(backjumpLevel);
+        if (learned.size == 1) {
+            assign(learned.values[0], NO_REASON);
+        } else {
+            assign(learned.values[0], attach(Arrays.copyOf(learned.values, learned.size)));
+        }
+    }
+
+    private int attach(final int[] clause) {
+        final int clauseIndex = clauses.size();
+        clauses.add(clause);
+        watchers[clause[0]].add(clauseIndex);
+        watchers[clause[1]].add(clauseIndex);
+        return clauseIndex;
+    }
+
+    private void assign(final int literal, final int reason) {
+        final int variable = literal >> 1;
+        values[variable] = (literal & 1) == 0 ? TRUE : FALSE;
+        levels[variable] = trailLimits.size;
+        reasons[variable] = reason;
+        trail[trailSize++] = literal;
+    }
+
+    private void backtrack(final int level) {
+        if (trailLimits.size <= level) {
+            return;
+        }
+
+        final int limit = trailLimits.values[level];
+        for (int i = trailSize - 1; i >= limit; i--) {
+            final int variable = trail[i] >> 1;
+            phases[variable] = values[variable] == TRUE;
+            values[variable] = UNASSIGNED;
+            reasons[variable] = NO_REASON;
+            if (heapPositions[variable] < 0) {
+                insertIntoHeap(variable);
+            }
+        }
+        trailSize = limit;
+        propagationHead = limit;
+        trailLimits.size = level;
+    }
+
+    private byte getLiteralValue(final int literal) {
+        final byte value = values[literal >> 1];
+        return value == UNASSIGNED ? UNASSIGNED : (byte) (value ^ (literal & 1));
+    }
+
+    private int pickBranchVariable() {
+        while (heapSize > 0) {
+            final int variable = removeFromHeap();
+            if (values[variable] == UNASSIGNED) {
+                return variable;
+            }
+        }
+        return NO_VARIABLE;
+    }
+
+    private void bumpActivity(final int variable) {
+        activities[variable] += activityIncrement;
+        if (activities[variable] > ACTIVITY_LIMIT) {
+            for (int i = 0; i < variablesCount; i++) {
+                activities[i] /= ACTIVITY_LIMIT;
+            }
+            activityIncrement /= ACTIVITY_LIMIT;
+        }
+        if (heapPositions[variable] >= 0) {
+            siftUp(heapPositions[variable]);
+        }
+    }
+
+    private void insertIntoHeap(final int variable) {
+        heap[heapSize] = variable;
+        heapPositions[variable] = heapSize;
+        siftUp(heapSize++);
+    }
+
+    private int removeFromHeap() {
+        final int variable = heap[0];
+        heapPositions[variable] = -1;
+        heapSize--;
+        if (heapSize > 0) {
+            heap[0] = heap[heapSize];
+            heapPositions[heap[0]] = 0;
+            siftDown(0);
+        }
+        return variable;
+    }
+
+    private void siftUp(int position) {
+        final int variable = heap[position];
+        while (position > 0) {
+            final int parent = (position - 1) / 2;
+            if (activities[heap[parent]] >= activities[variable]) {
+                break;
+            }
+            heap[position] = heap[parent];
+            heapPositions[heap[position]] = position;
+            position = parent;
+        }
+        heap[position] = variable;
+        heapPositions[variable] = position;
+    }
+
+    private void siftDown(int position) {
+        final int variable = heap[position];
+        while (2 * position + 1 < heapSize) {
+            int child = 2 * position + 1;
+            if (child + 1 < heapSize && activities[heap[child + 1]] > activities[heap[child]]) {
+                child++;
+            }
+            if (activities[heap[child]] <= activities[variable]) {
+                break;
+            }
+            heap[position] = heap[child];
+            heapPositions[heap[position]] = position;
+            position = child;
+        }
+        heap[position] = variable;
+        heapPositions[variable] = position;
+    }
+
+    /**
+     * Get an element of the Luby sequence 1, 1, 2, 1, 1, 2, 4, 1, ...
+     * @param index index of the element starting at 0.
+     * @return the element.
+     */
+    static long getLubyNumber(final int index) {
+        int size = 1;
+        int sequence = 0;
+        while (size < index + 1) {
+            sequence++;
+            size = 2 * size + 1;
+        }
+
+        int remaining = index;
+        while (size - 1 != remaining) {
+            size = (size - 1) / 2;
+            sequence--;
+            remaining %= size;
+        }
+        return 1L << sequence;
+    }
+
+    /**
+     * Growable list of ints.
+     */
+    private static final class IntList {
+        private int[] values = new int[4];
+        private int size;
+
+        private void add(final int value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, 2 * size);
+            }
+            values[size++] = value;
+        }
+    }
+}
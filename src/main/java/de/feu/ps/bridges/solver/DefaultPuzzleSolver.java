@@ -9,6 +9,15 @@ import java.util.*;
 
 /**
  * Default implementation of {@link PuzzleSolver}.
+ *
+ * {@link #solve()} keeps a worklist of the islands, whose safe moves might have changed.
+ * Every pass checks the islands of the worklist and applies all of their safe moves at once.
+ * A bridge only changes the remaining bridges of its islands and blocks the potential bridges crossing it,
+ * so only these islands and their neighbours are added to the worklist for the next pass.
+ * A bridge can also make moves far away from it safe by isolating some islands,
+ * so all unfinished islands are checked again, before a move is guessed
+ * or the solver gives up.
+ *
  * @author Tim Gremplewski
  */
 class DefaultPuzzleSolver implements PuzzleSolver {
@@ -22,19 +31,112 @@ class DefaultPuzzleSolver implements PuzzleSolver {
      */
     DefaultPuzzleSolver(final Puzzle puzzle) {
         this.puzzle = Objects.requireNonNull(puzzle, "Parameter 'puzzle' must not be null.");
-        this.puzzleAnalyser = PuzzleAnalyserFactory.createPuzzleAnalyserFor(puzzle);
+        this.puzzleAnalyser = PuzzleAnalyserFactory.createCachingPuzzleAnalyserFor(puzzle);
     }
 
     @Override
     public void solve() {
-        Optional<Move> nextMove;
-        do {
-            nextMove = getNextMove();
-            if (nextMove.isPresent()) {
-                Move nextBridge = nextMove.get();
-                nextBridge.apply();
+        final PotentialBridgeGraph graph = PotentialBridgeGraph.createFor(puzzle);
+        final Island[] islands = new Island[puzzle.getIslandsCount()];
+        puzzle.forEachIsland(island -> islands[island.getIndex()] = island);
+
+        Set<Island> dirtyIslands = new LinkedHashSet<>(puzzleAnalyser.getUnfinishedIslands());
+        boolean allIslandsChecked = true;
+
+        while (true) {
+            if (dirtyIslands.isEmpty()) {
+                if (allIslandsChecked) {
+                    final Optional<Move> guessedMove = findSoleNonErrorCausingMove();
+                    if (!guessedMove.isPresent()) {
+                        return;
+                    }
+                    final Bridge bridge = guessedMove.get().apply();
+                    addAffectedIslands(graph, islands, bridge.getIsland1(), bridge.getIsland2(), dirtyIslands);
+                    allIslandsChecked = false;
+                    continue;
+                }
+
+                dirtyIslands.addAll(puzzleAnalyser.getUnfinishedIslands());
+                allIslandsChecked = true;
+                if (dirtyIslands.isEmpty()) {
+                    return;
+                }
+            }
+
+            final Set<Island> checkedIslands = dirtyIslands;
+            dirtyIslands = new LinkedHashSet<>();
+            if (applySafeMoves(checkedIslands, graph, islands, dirtyIslands)) {
+                allIslandsChecked = false;
+            }
+        }
+    }
+
+    /**
+     * Apply all safe moves of the given islands.
+     * The safe bridge destinations are determined once for all islands,
+     * so every move is checked again right before it is applied.
+     * @return <code>true</code> if any move has been applied, <code>false</code> otherwise.
+     */
+    private boolean applySafeMoves(final Set<Island> checkedIslands, final PotentialBridgeGraph graph,
+                                   final Island[] islands, final Set<Island> dirtyIslands) {
+        final Map<Island, Set<Island>> safeBridgeDestinations = puzzleAnalyser.getSafeBridgeDestinations(checkedIslands);
+        boolean anyMoveApplied = false;
+
+        for (final Island island : checkedIslands) {
+            final Set<Island> possibleDestinations = new HashSet<>();
+            for (final Island destination : safeBridgeDestinations.get(island)) {
+                // Earlier moves of this pass might have finished the destination or blocked the way to it
+                if (puzzleAnalyser.isValidMove(island, destination, false)) {
+                    possibleDestinations.add(destination);
+                }
+            }
+
+            if (possibleDestinations.isEmpty()) {
+                continue;
             }
-        } while (nextMove.isPresent());
+
+            final int requiredBridges = island.getRemainingBridges() + getNumberOfExistingBridges(island, possibleDestinations);
+            for (final Island destination : possibleDestinations) {
+                int existingToDestination = island.getBridgeTo(destination).isPresent() ? 1 : 0;
+
+                while (isSave(requiredBridges, possibleDestinations.size(), existingToDestination)
+                        && puzzleAnalyser.isValidMove(island, destination, false)) {
+                    Move.create(puzzle, island, destination).apply();
+                    addAffectedIslands(graph, islands, island, destination, dirtyIslands);
+                    anyMoveApplied = true;
+                    existingToDestination++;
+                }
+            }
+        }
+        return anyMoveApplied;
+    }
+
+    /**
+     * Add the unfinished islands, whose safe moves might have been changed by a bridge between the given islands.
+     * These are the bridged islands, their neighbours and the islands of all potential bridges crossing the bridge.
+     */
+    private void addAffectedIslands(final PotentialBridgeGraph graph, final Island[] islands,
+                                    final Island island1, final Island island2, final Set<Island> dirtyIslands) {
+        addIfUnfinished(island1, dirtyIslands);
+        addIfUnfinished(island2, dirtyIslands);
+        island1.forEachNeighbour(neighbour -> addIfUnfinished(neighbour, dirtyIslands));
+        island2.forEachNeighbour(neighbour -> addIfUnfinished(neighbour, dirtyIslands));
+
+        for (final Direction direction : Direction.values()) {
+            final int bridge = graph.getBridge(island1.getIndex(), direction);
+            if (bridge != PotentialBridgeGraph.NO_BRIDGE && graph.getOtherIsland(bridge, island1.getIndex()) == island2.getIndex()) {
+                for (final int crossingBridge : graph.getCrossingBridges(bridge)) {
+                    addIfUnfinished(islands[graph.getIsland1(crossingBridge)], dirtyIslands);
+                    addIfUnfinished(islands[graph.getIsland2(crossingBridge)], dirtyIslands);
+                }
+            }
+        }
+    }
+
+    private static void addIfUnfinished(final Island island, final Set<Island> dirtyIslands) {
+        if (island.getRemainingBridges() > 0) {
+            dirtyIslands.add(island);
+        }
     }
 
     @Override
@@ -43,16 +145,28 @@ class DefaultPuzzleSolver implements PuzzleSolver {
         return safeMove.isPresent() ? safeMove : findSoleNonErrorCausingMove();
     }
 
+    /**
+     * {@inheritDoc}
+     *
+     * Safe moves do not tell anything about the amount of solutions,
+     * so the solutions are counted by a {@link BacktrackingPuzzleSolver}.
+     */
+    @Override
+    public int countSolutions(final int limit) {
+        return new BacktrackingPuzzleSolver(puzzle).countSolutions(limit);
+    }
+
     private Optional<Move> getSafeMove() {
+        final Map<Island, Set<Island>> safeBridgeDestinations = puzzleAnalyser.getAllSafeBridgeDestinations();
         for (final Island island : puzzleAnalyser.getUnfinishedIslands()) {
-            final Set<Island> possibleDestinations = puzzleAnalyser.getSafeBridgeDestinations(island);
+            final Set<Island> possibleDestinations = safeBridgeDestinations.get(island);
 
             if (!possibleDestinations.isEmpty()) {
                 int remainingBridges = island.getRemainingBridges();
                 int existingBridgesToPossibleDestinations = getNumberOfExistingBridges(island, possibleDestinations);
 
                 for (Island destination : possibleDestinations) {
-                    int existingToDestination = getNumberOfExistingBridges(island, destination);
+                    int existingToDestination = island.getBridgeTo(destination).isPresent() ? 1 : 0;
 
                     if (isSave(remainingBridges + existingBridgesToPossibleDestinations, possibleDestinations.size(), existingToDestination)) {
                         return Optional.of(Move.create(puzzle, island, destination));
@@ -76,12 +190,6 @@ class DefaultPuzzleSolver implements PuzzleSolver {
         return numberOfExistingBridges;
     }
 
-    private int getNumberOfExistingBridges(final Island source, final Island destination) {
-        Set<Island> destinations = new HashSet<>();
-        destinations.add(destination);
-        return getNumberOfExistingBridges(source, destinations);
-    }
-
     private boolean isSave(int requiredBridges, int possibleDestinations, int existingInDirection) {
         int saveBridgesInEveryDirection = 0;
         if (requiredBridges == 2 * possibleDestinations) {
@@ -94,11 +202,14 @@ class DefaultPuzzleSolver implements PuzzleSolver {
     }
 
     private Optional<Move> findSoleNonErrorCausingMove() {
+        // Trial moves are made on a snapshot, so that the puzzle itself is never changed
+        final PuzzleSnapshot snapshot = PuzzleSnapshotFactory.createSnapshotOf(puzzle);
+        final Map<Island, Set<Island>> safeBridgeDestinations = puzzleAnalyser.getAllSafeBridgeDestinations();
         Move nextMove = null;
 
         for (Island island : puzzleAnalyser.getUnfinishedIslands()) {
-            for (Island destination : puzzleAnalyser.getSafeBridgeDestinations(island)) {
-                if (!causesImmediateConflict(island, destination)) {
+            for (Island destination : safeBridgeDestinations.get(island)) {
+                if (!causesImmediateConflict(snapshot, island, destination)) {
                     if (nextMove == null) {
                         nextMove = Move.create(puzzle, island, destination);
                     } else {
@@ -117,10 +228,13 @@ class DefaultPuzzleSolver implements PuzzleSolver {
         return Optional.ofNullable(nextMove);
     }
 
-    private boolean causesImmediateConflict(final Island source, final Island destination) {
-        puzzle.buildBridge(source, destination);
-        boolean causesConflict = puzzleAnalyser.getStatus() == PuzzleStatus.UNSOLVABLE;
-        puzzle.tearDownBridge(source, destination);
-        return causesConflict;
+    private boolean causesImmediateConflict(final PuzzleSnapshot snapshot, final Island source, final Island destination) {
+        final PuzzleSnapshot trial = snapshot.withBridge(getIslandOf(snapshot, source), getIslandOf(snapshot, destination));
+        return PuzzleAnalyserFactory.createPuzzleAnalyserFor(trial).getStatus() == PuzzleStatus.UNSOLVABLE;
+    }
+
+    private Island getIslandOf(final PuzzleSnapshot snapshot, final Island island) {
+        return snapshot.getIslandAt(island.getPosition())
+                .orElseThrow(() -> new IllegalStateException("Snapshot does not contain the given island."));
     }
 }
@@ -0,0 +1,118 @@
+package de.feu.ps.bridges.solver;
+
+import de.feu.ps.bridges.model.Bridge;
+import de.feu.ps.bridges.model.Island;
+import de.feu.ps.bridges.model.PotentialBridgeGraph;
+import de.feu.ps.bridges.model.Puzzle;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * Solution of a puzzle, given as the multiplicity of every potential bridge of the puzzle.
+ *
+ * The solution is found for the bridges of the puzzle at some point in time.
+ * It stays valid as long as the puzzle has the same islands and no bridge, that is not part of the solution.
+ *
+ * @author Tim Gremplewski
+ */
+final class PuzzleSolution {
+
+    private final Puzzle puzzle;
+    private final PotentialBridgeGraph graph;
+    private final Island[] islands;
+    private final byte[] multiplicities;
+
+    /**
+     * Creates a new instance.
+     * @param puzzle the solved puzzle.
+     * @param graph the potential bridges of the puzzle.
+     * @param islands the islands of the puzzle ordered by their index.
+     * @param multiplicities the multiplicity of every potential bridge.
+     * @throws NullPointerException if any parameter is null.
+     */
+    PuzzleSolution(final Puzzle puzzle, final PotentialBridgeGraph graph, final Island[] islands,
+                   final byte[] multiplicities) {
+        this.puzzle = Objects.requireNonNull(puzzle, "Parameter 'puzzle' must not be null.");
+        this.graph = Objects.requireNonNull(graph, "Parameter 'graph' must not be null.");
+        this.islands = Objects.requireNonNull(islands, "Parameter 'islands' must not be null.");
+        this.multiplicities = Objects.requireNonNull(multiplicities, "Parameter 'multiplicities' must not be null.");
+    }
+
+    /**
+     * Get the islands of the given puzzle ordered by their index.
+     * @param puzzle the puzzle to get the islands of.
+     * @return the islands of the puzzle.
+     */
+    static Island[] getIslandsOf(final Puzzle puzzle) {
+        final Island[] islands = new Island[puzzle.getIslandsCount()];
+        puzzle.forEachIsland(island -> islands[island.getIndex()] = island);
+        return islands;
+    }
+
+    /**
+     * Get the multiplicity of the given potential bridge, that has been built in the puzzle.
+     * @param graph the potential bridges of the puzzle.
+     * @param islands the islands of the puzzle ordered by their index.
+     * @param bridge id of the potential bridge.
+     * @return 0 if the bridge has not been built, 1 for a single and 2 for a double bridge.
+     */
+    static int getBuiltMultiplicity(final PotentialBridgeGraph graph, final Island[] islands, final int bridge) {
+        final Optional<Bridge> builtBridge = islands[graph.getIsland1(bridge)].getBridgeTo(islands[graph.getIsland2(bridge)]);
+        if (builtBridge.isPresent()) {
+            return builtBridge.get().isDoubleBridge() ? 2 : 1;
+        }
+        return 0;
+    }
+
+    /**
+     * Indicates whether this solution is still valid for the puzzle.
+     * @return <code>true</code> if the puzzle has the same islands and every built bridge is part of this solution,
+     *  <code>false</code> otherwise.
+     */
+    boolean containsBuiltBridges() {
+        if (!graph.matchesLayoutOf(puzzle)) {
+            return false;
+        }
+
+        for (int bridge = 0; bridge < multiplicities.length; bridge++) {
+            if (getBuiltMultiplicity(graph, islands, bridge) > multiplicities[bridge]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Get a move, that builds one of the missing bridges of this solution.
+     * @return {@link Optional} containing the move or an empty optional, if all bridges of this solution have been built.
+     */
+    Optional<Move> getNextMove() {
+        for (int bridge = 0; bridge < multiplicities.length; bridge++) {
+            if (multiplicities[bridge] > getBuiltMultiplicity(graph, islands, bridge)) {
+                return Optional.of(createMove(bridge));
+            }
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Get the moves, that build all missing bridges of this solution.
+     * @return the moves, that build the missing bridges.
+     */
+    List<Move> getMissingMoves() {
+        final List<Move> moves = new ArrayList<>();
+        for (int bridge = 0; bridge < multiplicities.length; bridge++) {
+            for (int multiplicity = getBuiltMultiplicity(graph, islands, bridge); multiplicity < multiplicities[bridge]; multiplicity++) {
+                moves.add(createMove(bridge));
+            }
+        }
+        return moves;
+    }
+
+    private Move createMove(final int bridge) {
+        return Move.create(puzzle, islands[graph.getIsland1(bridge)], islands[graph.getIsland2(bridge)]);
+    }
+}
@@ -18,4 +18,14 @@ public interface PuzzleSolver {
      * Apply as many save moves as possible.
      */
     void solve();
+
+    /**
+     * Count the solutions of the puzzle, that contain all bridges built so far.
+     * The search stops as soon as the given amount of solutions has been found,
+     * so a limit of 2 tells whether the puzzle has a unique solution.
+     * @param limit the highest amount of solutions to be counted.
+     * @return the amount of solutions, but not more than limit.
+     * @throws IllegalArgumentException if limit is less than 0.
+     */
+    int countSolutions(int limit);
 }
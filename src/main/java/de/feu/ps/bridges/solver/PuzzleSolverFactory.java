@@ -2,12 +2,20 @@ package de.feu.ps.bridges.solver;
 
 import de.feu.ps.bridges.model.Puzzle;
 
+import java.util.concurrent.ForkJoinPool;
+
 /**
  * Factory class that creates a new {@link PuzzleSolver}.
  * @author Tim Gremplewski
  */
 public final class PuzzleSolverFactory {
 
+    /**
+     * Default amount of decisions, up to which a parallel solver splits its search into parallel tasks.
+     * Every decision splits a task into at most three tasks, so there are enough tasks to keep all cores busy.
+     */
+    public static final int DEFAULT_SPLIT_DEPTH = 6;
+
     private PuzzleSolverFactory() {
     }
 
@@ -20,4 +28,63 @@ public final class PuzzleSolverFactory {
     public static PuzzleSolver createPuzzleSolverFor(final Puzzle puzzle) {
         return new DefaultPuzzleSolver(puzzle);
     }
+
+    /**
+     * Create a new {@link BacktrackingPuzzleSolver} for the given puzzle,
+     * that solves every solvable puzzle completely.
+     * @param puzzle the puzzle to be solved.
+     * @return a new {@link BacktrackingPuzzleSolver} for the given puzzle.
+     * @throws NullPointerException if puzzle is null.
+     */
+    public static BacktrackingPuzzleSolver createBacktrackingPuzzleSolverFor(final Puzzle puzzle) {
+        return new BacktrackingPuzzleSolver(puzzle);
+    }
+
+    /**
+     * Create a new {@link BacktrackingPuzzleSolver} for the given puzzle, that searches in parallel.
+     * The search is done in a {@link ForkJoinPool} dedicated to puzzle solvers.
+     * @param puzzle the puzzle to be solved.
+     * @param splitDepth amount of decisions, up to which the search is split into parallel tasks.
+     * @return a new {@link BacktrackingPuzzleSolver} for the given puzzle.
+     * @throws NullPointerException if puzzle is null.
+     * @throws IllegalArgumentException if splitDepth is less than 0.
+     */
+    public static BacktrackingPuzzleSolver createParallelBacktrackingPuzzleSolverFor(final Puzzle puzzle,
+                                                                                      final int splitDepth) {
+        return new BacktrackingPuzzleSolver(puzzle, ForkJoinPoolHolder.POOL, splitDepth);
+    }
+
+    /**
+     * Create a new {@link BacktrackingPuzzleSolver} for the given puzzle, that searches in the given pool.
+     * @param puzzle the puzzle to be solved.
+     * @param forkJoinPool pool to run the search in.
+     * @param splitDepth amount of decisions, up to which the search is split into parallel tasks.
+     * @return a new {@link BacktrackingPuzzleSolver} for the given puzzle.
+     * @throws NullPointerException if puzzle or forkJoinPool is null.
+     * @throws IllegalArgumentException if splitDepth is less than 0.
+     */
+    public static BacktrackingPuzzleSolver createParallelBacktrackingPuzzleSolverFor(final Puzzle puzzle,
+                                                                                      final ForkJoinPool forkJoinPool,
+                                                                                      final int splitDepth) {
+        return new BacktrackingPuzzleSolver(puzzle, forkJoinPool, splitDepth);
+    }
+
+    /**
+     * Create a new {@link SatPuzzleSolver} for the given puzzle,
+     * that solves every solvable puzzle completely by encoding it as boolean formula.
+     * @param puzzle the puzzle to be solved.
+     * @return a new {@link SatPuzzleSolver} for the given puzzle.
+     * @throws NullPointerException if puzzle is null.
+     */
+    public static SatPuzzleSolver createSatPuzzleSolverFor(final Puzzle puzzle) {
+        return new SatPuzzleSolver(puzzle);
+    }
+
+    /**
+     * Holds the pool of the parallel solvers, so that it is only created once it is needed.
+     */
+    private static final class ForkJoinPoolHolder {
+
+        private static final ForkJoinPool POOL = new ForkJoinPool(Runtime.getRuntime().availableProcessors());
+    }
 }
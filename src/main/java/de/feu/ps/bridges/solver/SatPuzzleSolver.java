@@ -0,0 +1,353 @@
+package de.feu.ps.bridges.solver;
+
+import de.feu.ps.bridges.model.Direction;
+import de.feu.ps.bridges.model.Island;
+import de.feu.ps.bridges.model.PotentialBridgeGraph;
+import de.feu.ps.bridges.model.Puzzle;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * {@link PuzzleSolver} that encodes the puzzle as boolean formula and solves it with a SAT solver.
+ *
+ * Every potential bridge of the puzzle, see {@link PotentialBridgeGraph}, is represented by two variables:
+ * The first one tells whether at least a single bridge is built, the second one whether a double bridge is built,
+ * which implies the first one. The formula contains the following clauses:
+ * <ul>
+ *     <li>Capacity: for every island one clause per combination of multiplicities of its bridges,
+ *     that does not sum up to its required bridges, excludes this combination.</li>
+ *     <li>Crossing: two crossing bridges cannot both be built.</li>
+ *     <li>Built bridges: bridges that have already been built are kept.</li>
+ * </ul>
+ * Connectivity cannot be expressed by a small amount of clauses, so it is added lazily:
+ * If the islands of a model are not connected, every separated group of islands is excluded by a clause,
+ * that requires one of the bridges leaving the group to be built, and the formula is solved again.
+ * The search ends with the first connected model or when the formula becomes unsatisfiable.
+ * Solutions are counted by excluding every connected model with a further clause and solving again,
+ * until the limit is reached or the formula becomes unsatisfiable.
+ *
+ * A found solution is kept as long as it contains all bridges of the puzzle.
+ * If there is no solution, {@link #getNextMove()} returns an empty optional and {@link #solve()} does not change the puzzle.
+ * The amount of conflicts and decisions of the SAT solver and the amount of added connectivity clauses
+ * are counted over all searches.
+ *
+ * @author Tim Gremplewski
+ */
+public final class SatPuzzleSolver implements PuzzleSolver {
+
+    private static final Direction[] DIRECTION_VALUES = Direction.values();
+
+    private final Puzzle puzzle;
+
+    private boolean searched;
+    private long modificationCount;
+    private PuzzleSolution solution;
+    private long conflictsCount;
+    private long decisionsCount;
+    private long connectivityCutsCount;
+
+    /**
+     * Create a new instance.
+     * @param puzzle the puzzle to be solved.
+     * @throws NullPointerException if puzzle is null.
+     */
+    SatPuzzleSolver(final Puzzle puzzle) {
+        this.puzzle = Objects.requireNonNull(puzzle, "Parameter 'puzzle' must not be null.");
+    }
+
+    @Override
+    public synchronized Optional<Move> getNextMove() {
+        updateSolution();
+        return solution == null ? Optional.empty() : solution.getNextMove();
+    }
+
+    @Override
+    public synchronized void solve() {
+        updateSolution();
+        if (solution != null) {
+            // Collect the moves first, because applying them modifies the puzzle
+            solution.getMissingMoves().forEach(Move::apply);
+        }
+    }
+
+    /**
+     * Indicates whether the puzzle can be solved by building further bridges.
+     * @return <code>true</code> if the puzzle can be solved, <code>false</code> otherwise.
+     */
+    public synchronized boolean isSolvable() {
+        updateSolution();
+        return solution != null;
+    }
+
+    @Override
+    public synchronized int countSolutions(final int limit) {
+        if (limit < 0) {
+            throw new IllegalArgumentException("Parameter 'limit' must not be less than 0.");
+        }
+        return limit == 0
+                ? 0
+                : findSolutions(PotentialBridgeGraph.createFor(puzzle), PuzzleSolution.getIslandsOf(puzzle), limit).size();
+    }
+
+    /**
+     * Get the amount of conflicts of the SAT solver during all searches of this solver.
+     * @return the amount of conflicts.
+     */
+    public synchronized long getConflictsCount() {
+        return conflictsCount;
+    }
+
+    /**
+     * Get the amount of decisions of the SAT solver during all searches of this solver.
+     * @return the amount of decisions.
+     */
+    public synchronized long getDecisionsCount() {
+        return decisionsCount;
+    }
+
+    /**
+     * Get the amount of clauses added during all searches of this solver to connect separated groups of islands.
+     * @return the amount of connectivity clauses.
+     */
+    public synchronized long getConnectivityCutsCount() {
+        return connectivityCutsCount;
+    }
+
+    private void updateSolution() {
+        if (searched && (puzzle.getModificationCount() == modificationCount
+                || solution != null && solution.containsBuiltBridges())) {
+            return;
+        }
+
+        modificationCount = puzzle.getModificationCount();
+        final PotentialBridgeGraph graph = PotentialBridgeGraph.createFor(puzzle);
+        final Island[] islands = PuzzleSolution.getIslandsOf(puzzle);
+        final List<byte[]> solutions = findSolutions(graph, islands, 1);
+        solution = solutions.isEmpty() ? null : new PuzzleSolution(puzzle, graph, islands, solutions.get(0));
+        searched = true;
+    }
+
+    /**
+     * Find solutions of the puzzle, that contain all built bridges, until the given amount has been found.
+     * @return the multiplicities of all potential bridges of every found solution.
+     */
+    private List<byte[]> findSolutions(final PotentialBridgeGraph graph, final Island[] islands, final int limit) {
+        final int bridgesCount = graph.getBridgesCount();
+        final CdclSolver satSolver = new CdclSolver(2 * bridgesCount);
+
+        boolean satisfiable = true;
+        for (int bridge = 0; bridge < bridgesCount; bridge++) {
+            satisfiable &= satSolver.addClause(-getDoubleVariable(graph, bridge), getSingleVariable(bridge));
+
+            final int builtMultiplicity = PuzzleSolution.getBuiltMultiplicity(graph, islands, bridge);
+            if (builtMultiplicity > 0) {
+                satisfiable &= satSolver.addClause(getSingleVariable(bridge));
+            }
+            if (builtMultiplicity > 1) {
+                satisfiable &= satSolver.addClause(getDoubleVariable(graph, bridge));
+            }
+
+            for (final int crossingBridge : graph.getCrossingBridges(bridge)) {
+                if (crossingBridge > bridge) {
+                    satisfiable &= satSolver.addClause(-getSingleVariable(bridge), -getSingleVariable(crossingBridge));
+                }
+            }
+        }
+
+        for (final Island island : islands) {
+            satisfiable &= addCapacityClauses(satSolver, graph, island);
+        }
+
+        final List<byte[]> solutions = new ArrayList<>();
+        try {
+            while (satisfiable && satSolver.solve()) {
+                final byte[] multiplicities = new byte[bridgesCount];
+                for (int bridge = 0; bridge < bridgesCount; bridge++) {
+                    if (satSolver.getValue(getDoubleVariable(graph, bridge))) {
+                        multiplicities[bridge] = 2;
+                    } else if (satSolver.getValue(getSingleVariable(bridge))) {
+                        multiplicities[bridge] = 1;
+                    }
+                }
+
+                final int[] groups = getGroups(graph, islands.length, multiplicities);
+                if (Arrays.stream(groups).anyMatch(group -> group > 0)) {
+                    satisfiable = addConnectivityCuts(satSolver, graph, groups);
+                    continue;
+                }
+
+                solutions.add(multiplicities);
+                if (solutions.size() >= limit) {
+                    break;
+                }
+                satisfiable = excludeSolution(satSolver, graph, multiplicities);
+            }
+            return solutions;
+        } finally {
+            conflictsCount += satSolver.getConflictsCount();
+            decisionsCount += satSolver.getDecisionsCount();
+        }
+    }
+
+    /**
+     * Add clauses, that exclude every combination of multiplicities of the bridges of the given island,
+     * which does not sum up to its required bridges.
+     * An island has at most four bridges, so there are at most 81 combinations.
+     */
+    private static boolean addCapacityClauses(final CdclSolver satSolver, final PotentialBridgeGraph graph,
+                                              final Island island) {
+        final int[] bridges = new int[DIRECTION_VALUES.length];
+        int bridgesCount = 0;
+        for (final Direction direction : DIRECTION_VALUES) {
+            final int bridge = graph.getBridge(island.getIndex(), direction);
+            if (bridge != PotentialBridgeGraph.NO_BRIDGE) {
+                bridges[bridgesCount++] = bridge;
+            }
+        }
+
+        boolean satisfiable = true;
+        final int[] multiplicities = new int[bridgesCount];
+        final int[] clause = new int[2 * bridgesCount];
+        int combinations = 1;
+        for (int i = 0; i < bridgesCount; i++) {
+            combinations *= 3;
+        }
+
+        for (int combination = 0; combination < combinations; combination++) {
+            int sum = 0;
+            for (int i = 0, rest = combination; i < bridgesCount; i++, rest /= 3) {
+                multiplicities[i] = rest % 3;
+                sum += multiplicities[i];
+            }
+            if (sum == island.getRequiredBridges()) {
+                continue;
+            }
+
+            // The clause is false exactly for the multiplicities of this combination
+            int size = 0;
+            for (int i = 0; i < bridgesCount; i++) {
+                size = addDifferingLiterals(clause, size, graph, bridges[i], multiplicities[i]);
+            }
+            satisfiable &= satSolver.addClause(Arrays.copyOf(clause, size));
+        }
+        return satisfiable;
+    }
+
+    /**
+     * Get the connected groups of islands of the given multiplicities.
+     * @return the group of every island, numbered in the order of the islands.
+     */
+    private static int[] getGroups(final PotentialBridgeGraph graph, final int islandsCount, final byte[] multiplicities) {
+        final int[] groups = new int[islandsCount];
+        Arrays.fill(groups, -1);
+        final int[] stack = new int[islandsCount];
+        int groupsCount = 0;
+
+        for (int start = 0; start < islandsCount; start++) {
+            if (groups[start] >= 0) {
+                continue;
+            }
+
+            int stackSize = 0;
+            stack[stackSize++] = start;
+            groups[start] = groupsCount;
+            while (stackSize > 0) {
+                final int island = stack[--stackSize];
+                for (final Direction direction : DIRECTION_VALUES) {
+                    final int bridge = graph.getBridge(island, direction);
+                    if (bridge != PotentialBridgeGraph.NO_BRIDGE && multiplicities[bridge] > 0) {
+                        final int neighbour = graph.getOtherIsland(bridge, island);
+                        if (groups[neighbour] < 0) {
+                            groups[neighbour] = groupsCount;
+                            stack[stackSize++] = neighbour;
+                        }
+                    }
+                }
+            }
+            groupsCount++;
+        }
+        return groups;
+    }
+
+    /**
+     * Add one clause per group, that requires one of the bridges leaving the group to be built.
+     */
+    private boolean addConnectivityCuts(final CdclSolver satSolver, final PotentialBridgeGraph graph, final int[] groups) {
+        final int groupsCount = Arrays.stream(groups).max().orElse(0) + 1;
+        final int[] sizes = new int[groupsCount];
+        for (int bridge = 0; bridge < graph.getBridgesCount(); bridge++) {
+            final int group1 = groups[graph.getIsland1(bridge)];
+            final int group2 = groups[graph.getIsland2(bridge)];
+            if (group1 != group2) {
+                sizes[group1]++;
+                sizes[group2]++;
+            }
+        }
+
+        final int[][] cuts = new int[groupsCount][];
+        for (int group = 0; group < groupsCount; group++) {
+            cuts[group] = new int[sizes[group]];
+            sizes[group] = 0;
+        }
+        for (int bridge = 0; bridge < graph.getBridgesCount(); bridge++) {
+            final int group1 = groups[graph.getIsland1(bridge)];
+            final int group2 = groups[graph.getIsland2(bridge)];
+            if (group1 != group2) {
+                cuts[group1][sizes[group1]++] = getSingleVariable(bridge);
+                cuts[group2][sizes[group2]++] = getSingleVariable(bridge);
+            }
+        }
+
+        boolean satisfiable = true;
+        for (final int[] cut : cuts) {
+            connectivityCutsCount++;
+            // A group without any bridge leaving it can never be connected, which makes the formula unsatisfiable
+            satisfiable &= satSolver.addClause(cut);
+        }
+        return satisfiable;
+    }
+
+    /**
+     * Add a clause, that is false exactly for the given multiplicities.
+     */
+    private static boolean excludeSolution(final CdclSolver satSolver, final PotentialBridgeGraph graph,
+                                           final byte[] multiplicities) {
+        final int[] clause = new int[2 * multiplicities.length];
+        int size = 0;
+        for (int bridge = 0; bridge < multiplicities.length; bridge++) {
+            size = addDifferingLiterals(clause, size, graph, bridge, multiplicities[bridge]);
+        }
+        return satSolver.addClause(Arrays.copyOf(clause, size));
+    }
+
+    /**
+     * Add the literals to the given clause, that are true exactly if the bridge has another multiplicity.
+     * @return the new size of the clause.
+     */
+    private static int addDifferingLiterals(final int[] clause, final int size, final PotentialBridgeGraph graph,
+                                            final int bridge, final int multiplicity) {
+        if (multiplicity == 0) {
+            clause[size] = getSingleVariable(bridge);
+            return size + 1;
+        }
+        if (multiplicity == 1) {
+            clause[size] = -getSingleVariable(bridge);
+            clause[size + 1] = getDoubleVariable(graph, bridge);
+            return size + 2;
+        }
+        clause[size] = -getDoubleVariable(graph, bridge);
+        return size + 1;
+    }
+
+    private static int getSingleVariable(final int bridge) {
+        return bridge + 1;
+    }
+
+    private static int getDoubleVariable(final PotentialBridgeGraph graph, final int bridge) {
+        return graph.getBridgesCount() + bridge + 1;
+    }
+}
@@ -29,7 +29,7 @@ class DefaultPuzzleToolkit implements PuzzleToolkit {
     DefaultPuzzleToolkit(final Puzzle puzzle) {
         this.puzzle = Objects.requireNonNull(puzzle, "Parameter 'puzzle' must not be null.");
         puzzleSolver = PuzzleSolverFactory.createPuzzleSolverFor(puzzle);
-        puzzleAnalyser = PuzzleAnalyserFactory.createPuzzleAnalyserFor(puzzle);
+        puzzleAnalyser = PuzzleAnalyserFactory.createCachingPuzzleAnalyserFor(puzzle);
     }
 
     @Override
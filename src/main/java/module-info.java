@@ -1,6 +1,5 @@
 module de.feu.ps.bridges {
     requires java.logging;
-    requires java.desktop;
 
     requires javafx.controls;
     requires javafx.fxml;
@@ -0,0 +1,115 @@
+package de.feu.ps.bridges.analyser;
+
+import de.feu.ps.bridges.model.Island;
+import de.feu.ps.bridges.model.Position;
+import de.feu.ps.bridges.model.Puzzle;
+import de.feu.ps.bridges.model.PuzzleBuilder;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Set;
+
+import static org.hamcrest.core.Is.is;
+import static org.junit.Assert.*;
+
+/**
+ * @author Tim Gremplewski
+ */
+public class CachingPuzzleAnalyserTest {
+
+    @Rule
+    public ExpectedException expectedException = ExpectedException.none();
+
+    private Puzzle puzzle;
+    private Island island1;
+    private Island island2;
+    private Island island3;
+    private CachingPuzzleAnalyser analyser;
+
+    @Before
+    public void setUp() {
+        PuzzleBuilder puzzleBuilder = PuzzleBuilder.createBuilder(5, 5, 3);
+        island1 = puzzleBuilder.addIsland(new Position(0, 0), 2);
+        island2 = puzzleBuilder.addIsland(new Position(2, 0), 1);
+        island3 = puzzleBuilder.addIsland(new Position(0, 2), 1);
+        puzzle = puzzleBuilder.getResult();
+        analyser = PuzzleAnalyserFactory.createCachingPuzzleAnalyserFor(puzzle);
+    }
+
+    @Test
+    public void testPuzzleAnalyserNull() {
+        expectedException.expect(NullPointerException.class);
+        expectedException.expectMessage(is("Parameter 'puzzleAnalyser' must not be null."));
+        new CachingPuzzleAnalyser(puzzle, null);
+    }
+
+    @Test
+    public void testRepeatedQueries() {
+        assertEquals("Unexpected status.", PuzzleStatus.UNSOLVED, analyser.getStatus());
+        assertEquals("Unexpected status.", PuzzleStatus.UNSOLVED, analyser.getStatus());
+        final Set<Island> unfinishedIslands = analyser.getUnfinishedIslands();
+        assertSame("Expected the cached islands.", unfinishedIslands, analyser.getUnfinishedIslands());
+
+        assertEquals("Unexpected amount of hits.", 2, analyser.getHitsCount());
+        assertEquals("Unexpected amount of misses.", 2, analyser.getMissesCount());
+    }
+
+    @Test
+    public void testModifiedPuzzle() {
+        assertEquals("Unexpected amount of unfinished islands.", 3, analyser.getUnfinishedIslands().size());
+        assertEquals("Unexpected status.", PuzzleStatus.UNSOLVED, analyser.getStatus());
+
+        puzzle.buildBridge(island1, island2);
+        assertEquals("Unexpected amount of unfinished islands.", 2, analyser.getUnfinishedIslands().size());
+
+        puzzle.buildBridge(island1, island3);
+        assertEquals("Unexpected status.", PuzzleStatus.SOLVED, analyser.getStatus());
+
+        assertEquals("Unexpected amount of hits.", 0, analyser.getHitsCount());
+        assertEquals("Unexpected amount of misses.", 4, analyser.getMissesCount());
+    }
+
+    @Test
+    public void testSafeBridgeDestinations() {
+        final Set<Island> destinations = analyser.getSafeBridgeDestinations(island1);
+        assertEquals("Unexpected destinations.", PuzzleAnalyserFactory.createPuzzleAnalyserFor(puzzle)
+                .getSafeBridgeDestinations(island1), destinations);
+        assertSame("Expected the cached destinations.", destinations, analyser.getAllSafeBridgeDestinations().get(island1));
+        assertEquals("Unexpected amount of hits.", 1, analyser.getHitsCount());
+
+        puzzle.buildBridge(island1, island2);
+        assertTrue("Expected no destinations.", analyser.getSafeBridgeDestinations(island2).isEmpty());
+        assertEquals("Unexpected amount of misses.", 2, analyser.getMissesCount());
+    }
+
+    @Test
+    public void testSafeBridgeDestinationsOfSomeIslands() {
+        final Map<Island, Set<Island>> destinations = analyser.getSafeBridgeDestinations(Collections.singleton(island1));
+        assertEquals("Unexpected destinations.", PuzzleAnalyserFactory.createPuzzleAnalyserFor(puzzle)
+                .getSafeBridgeDestinations(island1), destinations.get(island1));
+        assertEquals("Unexpected amount of misses.", 1, analyser.getMissesCount());
+
+        analyser.getAllSafeBridgeDestinations();
+        assertSame("Expected the cached destinations.", analyser.getAllSafeBridgeDestinations().get(island2),
+                analyser.getSafeBridgeDestinations(Arrays.asList(island1, island2)).get(island2));
+        assertEquals("Unexpected amount of hits.", 2, analyser.getHitsCount());
+    }
+
+    @Test
+    public void testCachedResultsUnmodifiable() {
+        expectedException.expect(UnsupportedOperationException.class);
+        analyser.getUnfinishedIslands().clear();
+    }
+
+    @Test
+    public void testUnknownIsland() {
+        Island otherIsland = PuzzleBuilder.createBuilder(5, 5, 1).addIsland(new Position(0, 0), 1);
+        expectedException.expect(IllegalStateException.class);
+        analyser.getSafeBridgeDestinations(otherIsland);
+    }
+}
@@ -0,0 +1,72 @@
+package de.feu.ps.bridges.analyser;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+
+import java.util.NoSuchElementException;
+
+import static org.hamcrest.core.Is.is;
+import static org.junit.Assert.*;
+
+/**
+ * @author Tim Gremplewski
+ */
+public class IndexQueueTest {
+
+    @Rule
+    public ExpectedException expectedException = ExpectedException.none();
+
+    @Test
+    public void testCapacityZero() {
+        expectedException.expect(IllegalArgumentException.class);
+        expectedException.expectMessage(is("Parameter 'capacity' must not be less than 1."));
+        new IndexQueue(0);
+    }
+
+    @Test
+    public void testRemoveEmpty() {
+        expectedException.expect(NoSuchElementException.class);
+        expectedException.expectMessage(is("The queue is empty."));
+        new IndexQueue(1).remove();
+    }
+
+    @Test
+    public void testFirstInFirstOut() {
+        final IndexQueue queue = new IndexQueue(4);
+        queue.add(1);
+        queue.add(2);
+        queue.add(3);
+        assertEquals("Unexpected value.", 1, queue.remove());
+        assertEquals("Unexpected value.", 2, queue.remove());
+        assertEquals("Unexpected value.", 3, queue.remove());
+        assertTrue("Expected the queue to be empty.", queue.isEmpty());
+    }
+
+    @Test
+    public void testGrowWrappedAround() {
+        final IndexQueue queue = new IndexQueue(4);
+        queue.add(0);
+        queue.add(1);
+        queue.add(2);
+        queue.remove();
+        queue.remove();
+        for (int value = 3; value < 10; value++) {
+            queue.add(value);
+        }
+        for (int value = 2; value < 10; value++) {
+            assertEquals("Unexpected value.", value, queue.remove());
+        }
+        assertTrue("Expected the queue to be empty.", queue.isEmpty());
+    }
+
+    @Test
+    public void testClear() {
+        final IndexQueue queue = new IndexQueue(2);
+        queue.add(5);
+        queue.clear();
+        assertTrue("Expected the queue to be empty.", queue.isEmpty());
+        queue.add(6);
+        assertEquals("Unexpected value.", 6, queue.remove());
+    }
+}
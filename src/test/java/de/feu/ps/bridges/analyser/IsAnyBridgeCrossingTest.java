@@ -68,6 +68,18 @@ public class IsAnyBridgeCrossingTest {
         assertTrue("Expected a crossing bridge.", anyBridgeCrossing);
     }
 
+    @Test
+    public void testIsAnyBridgeCrossingEndsOnBridge() {
+        puzzle.buildBridge(islands[1], islands[5]);
+        boolean anyBridgeCrossing = analyser.isAnyBridgeCrossing(islands[2].getPosition(), new Position(4, 4));
+        assertTrue("Expected a crossing bridge.", anyBridgeCrossing);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testIsAnyBridgeCrossingDiagonal() {
+        analyser.isAnyBridgeCrossing(islands[0].getPosition(), islands[5].getPosition());
+    }
+
     private static class IsAnyBridgeCrossingTestCase {
         private int bridgeStartIndex;
         private int bridgeEndIndex;
@@ -83,4 +95,4 @@ public class IsAnyBridgeCrossingTest {
             this.expectedResult = expectedResult;
         }
     }
-}
\ No newline at end of file
+}
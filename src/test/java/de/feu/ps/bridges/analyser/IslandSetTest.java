@@ -0,0 +1,83 @@
+package de.feu.ps.bridges.analyser;
+
+import de.feu.ps.bridges.model.Island;
+import de.feu.ps.bridges.model.Position;
+import de.feu.ps.bridges.model.PuzzleBuilder;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+
+import static org.hamcrest.core.Is.is;
+import static org.junit.Assert.*;
+
+/**
+ * @author Tim Gremplewski
+ */
+public class IslandSetTest {
+
+    @Rule
+    public ExpectedException expectedException = ExpectedException.none();
+
+    private Island[] islands;
+
+    @Before
+    public void setUp() {
+        final PuzzleBuilder puzzleBuilder = PuzzleBuilder.createBuilder(25, 25, 100);
+        islands = new Island[100];
+        for (int i = 0; i < islands.length; i++) {
+            islands[i] = puzzleBuilder.addIsland(new Position((i % 10) * 2, (i / 10) * 2), 1);
+        }
+    }
+
+    @Test
+    public void testCapacityNegative() {
+        expectedException.expect(IllegalArgumentException.class);
+        expectedException.expectMessage(is("Parameter 'capacity' must not be less than 0."));
+        new IslandSet(-1);
+    }
+
+    @Test
+    public void testAddNull() {
+        expectedException.expect(NullPointerException.class);
+        expectedException.expectMessage(is("Parameter 'island' must not be null."));
+        new IslandSet(1).add(null);
+    }
+
+    @Test
+    public void testAdd() {
+        final IslandSet set = new IslandSet(islands.length);
+        assertTrue("Expected the island to be added.", set.add(islands[70]));
+        assertFalse("Expected the island not to be added twice.", set.add(islands[70]));
+        assertTrue("Expected the island to be contained.", set.contains(islands[70]));
+        assertFalse("Unexpected island.", set.contains(islands[6]));
+        assertSame("Unexpected island.", islands[70], set.get(70));
+        assertNull("Unexpected island.", set.get(6));
+        assertEquals("Unexpected size.", 1, set.size());
+    }
+
+    @Test
+    public void testAddGrows() {
+        final IslandSet set = new IslandSet(0);
+        for (Island island : islands) {
+            assertTrue("Expected the island to be added.", set.add(island));
+        }
+        assertEquals("Unexpected size.", islands.length, set.size());
+        for (int i = 0; i < islands.length; i++) {
+            assertSame("Unexpected island.", islands[i], set.get(i));
+        }
+    }
+
+    @Test
+    public void testClear() {
+        final IslandSet set = new IslandSet(islands.length);
+        set.add(islands[3]);
+        set.add(islands[99]);
+        set.clear();
+        assertEquals("Unexpected size.", 0, set.size());
+        assertFalse("Unexpected island.", set.contains(islands[3]));
+        assertFalse("Unexpected island.", set.contains(islands[99]));
+        assertNull("Unexpected island.", set.get(99));
+        assertTrue("Expected the island to be added again.", set.add(islands[99]));
+    }
+}
@@ -0,0 +1,122 @@
+package de.feu.ps.bridges.analyser;
+
+import de.feu.ps.bridges.generator.PuzzleGeneratorFactory;
+import de.feu.ps.bridges.model.Direction;
+import de.feu.ps.bridges.model.Island;
+import de.feu.ps.bridges.model.Position;
+import de.feu.ps.bridges.model.Puzzle;
+import de.feu.ps.bridges.model.PuzzleBuilder;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Random;
+
+import static org.hamcrest.core.Is.is;
+import static org.junit.Assert.*;
+
+/**
+ * @author Tim Gremplewski
+ */
+public class IsolationAnalysisTest {
+
+    @Rule
+    public ExpectedException expectedException = ExpectedException.none();
+
+    @Test
+    public void testPuzzleNull() {
+        expectedException.expect(NullPointerException.class);
+        expectedException.expectMessage(is("Parameter 'puzzle' must not be null."));
+        new IsolationAnalysis(null, new MoveAnalyser(PuzzleBuilder.createBuilder(5, 5, 0).getResult()));
+    }
+
+    @Test
+    public void testMoveAnalyserNull() {
+        expectedException.expect(NullPointerException.class);
+        expectedException.expectMessage(is("Parameter 'moveAnalyser' must not be null."));
+        new IsolationAnalysis(PuzzleBuilder.createBuilder(5, 5, 0).getResult(), null);
+    }
+
+    @Test
+    public void testIslandsKeepPotentialBridges() {
+        PuzzleBuilder puzzleBuilder = PuzzleBuilder.createBuilder(5, 5, 3);
+        Island island1 = puzzleBuilder.addIsland(new Position(0, 0), 3);
+        Island island2 = puzzleBuilder.addIsland(new Position(2, 0), 3);
+        puzzleBuilder.addIsland(new Position(0, 2), 2);
+
+        assertTrue("Expected no isolation.", analyse(puzzleBuilder).causesNoIsolation(island1, island2));
+    }
+
+    @Test
+    public void testBridgeIsolatesIsland() {
+        PuzzleBuilder puzzleBuilder = PuzzleBuilder.createBuilder(5, 5, 3);
+        Island island1 = puzzleBuilder.addIsland(new Position(0, 0), 1);
+        Island island2 = puzzleBuilder.addIsland(new Position(2, 0), 1);
+        Island island3 = puzzleBuilder.addIsland(new Position(0, 2), 1);
+
+        IsolationAnalysis isolationAnalysis = analyse(puzzleBuilder);
+        assertFalse("Expected island3 to be isolated.", isolationAnalysis.causesNoIsolation(island1, island2));
+        assertFalse("Expected island2 to be isolated.", isolationAnalysis.causesNoIsolation(island3, island1));
+    }
+
+    @Test
+    public void testExistingBridgePreventsIsolation() {
+        PuzzleBuilder puzzleBuilder = PuzzleBuilder.createBuilder(5, 5, 3);
+        Island island1 = puzzleBuilder.addIsland(new Position(0, 0), 2);
+        Island island2 = puzzleBuilder.addIsland(new Position(2, 0), 1);
+        Island island3 = puzzleBuilder.addIsland(new Position(0, 2), 1);
+        puzzleBuilder.addBridge(island1, island3, false);
+
+        assertTrue("Expected no isolation.", analyse(puzzleBuilder).causesNoIsolation(island1, island2));
+    }
+
+    @Test
+    public void testDisconnectedPuzzle() {
+        PuzzleBuilder puzzleBuilder = PuzzleBuilder.createBuilder(10, 10, 4);
+        Island island1 = puzzleBuilder.addIsland(new Position(0, 0), 2);
+        Island island2 = puzzleBuilder.addIsland(new Position(2, 0), 2);
+        puzzleBuilder.addIsland(new Position(5, 5), 1);
+        puzzleBuilder.addIsland(new Position(7, 5), 1);
+
+        assertFalse("Expected isolation.", analyse(puzzleBuilder).causesNoIsolation(island1, island2));
+    }
+
+    @Test
+    public void testMatchesTraversal() {
+        final Random random = new Random(42);
+        for (int run = 0; run < 5; run++) {
+            final Puzzle puzzle = PuzzleGeneratorFactory.createPuzzleGenerator(15, 15, 40).generate();
+            final MoveAnalyser moveAnalyser = new MoveAnalyser(puzzle);
+            final List<Island> islands = new ArrayList<>(puzzle.getIslands());
+
+            for (int move = 0; move < 100; move++) {
+                final Island island = islands.get(random.nextInt(islands.size()));
+                final Optional<Island> neighbour = island.getNeighbour(Direction.values()[random.nextInt(4)]);
+                if (neighbour.isPresent() && moveAnalyser.isValidMove(island, neighbour.get(), false)) {
+                    puzzle.buildBridge(island, neighbour.get());
+                }
+                assertMatchesTraversal(puzzle, moveAnalyser, islands);
+            }
+        }
+    }
+
+    private void assertMatchesTraversal(final Puzzle puzzle, final MoveAnalyser moveAnalyser, final List<Island> islands) {
+        final IsolationAnalysis isolationAnalysis = new IsolationAnalysis(puzzle, moveAnalyser);
+        for (Island island : islands) {
+            island.forEachNeighbour(neighbour -> {
+                if (moveAnalyser.isReachableUnfinishedNeighbour(island, neighbour, false)) {
+                    assertEquals("Unexpected verdict.", moveAnalyser.causesNoIsolation(island, neighbour),
+                            isolationAnalysis.causesNoIsolation(island, neighbour));
+                }
+            });
+        }
+    }
+
+    private IsolationAnalysis analyse(final PuzzleBuilder puzzleBuilder) {
+        final Puzzle puzzle = puzzleBuilder.getResult();
+        return new IsolationAnalysis(puzzle, new MoveAnalyser(puzzle));
+    }
+}
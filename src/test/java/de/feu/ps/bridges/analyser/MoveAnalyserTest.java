@@ -10,6 +10,8 @@ import org.junit.Test;
 import org.junit.rules.ExpectedException;
 
 import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Map;
 import java.util.Set;
 
 import static org.hamcrest.core.Is.is;
@@ -165,4 +167,116 @@ public class MoveAnalyserTest {
         assertEquals("Unexpected number of destinations.", 1, destinations.size());
         assertTrue("Unexpected destinations.", destinations.contains(island2));
     }
-}
\ No newline at end of file
+
+    @Test
+    public void testGetAllSafeBridgeDestinations() {
+        Island island2 = puzzleBuilder.addIsland(new Position(5, 8), 2);
+        Island island3 = puzzleBuilder.addIsland(new Position(7, 5), 1);
+        Island island4 = puzzleBuilder.addIsland(new Position(7, 8), 2);
+
+        Map<Island, Set<Island>> safeBridgeDestinations = analyser.getAllSafeBridgeDestinations();
+        assertEquals("Unexpected amount of islands.", 4, safeBridgeDestinations.size());
+        for (Island someIsland : Arrays.asList(island, island2, island3, island4)) {
+            assertEquals("Unexpected safe destinations.",
+                    analyser.getSafeBridgeDestinations(someIsland), safeBridgeDestinations.get(someIsland));
+        }
+    }
+
+    @Test
+    public void testGetSafeBridgeDestinationsOfSomeIslands() {
+        Island island2 = puzzleBuilder.addIsland(new Position(5, 8), 2);
+        Island island3 = puzzleBuilder.addIsland(new Position(7, 5), 1);
+        puzzleBuilder.addIsland(new Position(7, 8), 2);
+
+        Map<Island, Set<Island>> safeBridgeDestinations = analyser.getSafeBridgeDestinations(Arrays.asList(island, island3));
+        assertEquals("Unexpected amount of islands.", 2, safeBridgeDestinations.size());
+        assertEquals("Unexpected safe destinations.",
+                analyser.getSafeBridgeDestinations(island), safeBridgeDestinations.get(island));
+        assertEquals("Unexpected safe destinations.",
+                analyser.getSafeBridgeDestinations(island3), safeBridgeDestinations.get(island3));
+        assertFalse("Unexpected island.", safeBridgeDestinations.containsKey(island2));
+    }
+
+    @Test
+    public void testGetSafeBridgeDestinationsOfIslandsContainingNull() {
+        expectedException.expect(NullPointerException.class);
+        expectedException.expectMessage(is("Parameter 'islands' must not contain null."));
+        analyser.getSafeBridgeDestinations(Arrays.asList(island, null));
+    }
+
+    @Test
+    public void testValidateMoves() {
+        Island north = puzzleBuilder.addIsland(new Position(5, 1), 2);
+        Island west = puzzleBuilder.addIsland(new Position(3, 3), 1);
+        Island east = puzzleBuilder.addIsland(new Position(7, 3), 1);
+        Island neighbour = puzzleBuilder.addIsland(new Position(8, 5), 1);
+
+        assertFalse("Expected all moves to be valid.", analyser.validateMoves(Arrays.asList(
+                MoveSpec.create(island, north, true), MoveSpec.create(neighbour, island, false))).isPresent());
+        assertEquals("Expected a crossing bridge.", 2, analyser.validateMoves(Arrays.asList(
+                MoveSpec.create(island, neighbour, false), MoveSpec.create(island, north, true),
+                MoveSpec.create(west, east, false))).getAsInt());
+        assertEquals("Expected a crossing bridge.", 1, analyser.validateMoves(Arrays.asList(
+                MoveSpec.create(west, east, false), MoveSpec.create(north, island, false))).getAsInt());
+        assertEquals("Expected too many bridges.", 0, analyser.validateMoves(Arrays.asList(
+                MoveSpec.create(island, neighbour, true))).getAsInt());
+        assertEquals("Expected too many bridges.", 1, analyser.validateMoves(Arrays.asList(
+                MoveSpec.create(island, neighbour, false), MoveSpec.create(island, neighbour, false))).getAsInt());
+        assertEquals("Expected no neighbours.", 0, analyser.validateMoves(Arrays.asList(
+                MoveSpec.create(north, neighbour, false))).getAsInt());
+        assertEquals("The puzzle must not be changed.", 5, island.getRemainingBridges());
+    }
+
+    @Test
+    public void testValidateMovesCrossingBuiltBridge() {
+        Island north = puzzleBuilder.addIsland(new Position(5, 1), 2);
+        Island west = puzzleBuilder.addIsland(new Position(3, 3), 1);
+        Island east = puzzleBuilder.addIsland(new Position(7, 3), 1);
+        puzzleBuilder.addBridge(west, east, false);
+
+        assertEquals("Expected a crossing bridge.", 0, analyser.validateMoves(Arrays.asList(
+                MoveSpec.create(north, island, false))).getAsInt());
+        analyser.getAllValidMoves();
+        assertEquals("Expected a crossing bridge.", 0, analyser.validateMoves(Arrays.asList(
+                MoveSpec.create(north, island, false))).getAsInt());
+    }
+
+    @Test
+    public void testValidateMovesNull() {
+        expectedException.expect(NullPointerException.class);
+        expectedException.expectMessage(is("Parameter 'moves' must not be null."));
+        analyser.validateMoves(null);
+    }
+
+    @Test
+    public void testGetAllValidMoves() {
+        Island north = puzzleBuilder.addIsland(new Position(5, 1), 2);
+        Island west = puzzleBuilder.addIsland(new Position(3, 3), 1);
+        Island east = puzzleBuilder.addIsland(new Position(7, 3), 1);
+        Island neighbour = puzzleBuilder.addIsland(new Position(8, 5), 1);
+        Island[] islands = {island, north, west, east, neighbour};
+
+        assertValidMoves(islands);
+        puzzleBuilder.addBridge(island, north, false);
+        assertValidMoves(islands);
+        puzzleBuilder.addBridge(island, neighbour, false);
+        assertValidMoves(islands);
+    }
+
+    private void assertValidMoves(final Island[] islands) {
+        final Set<MoveSpec> validMoves = new HashSet<>(analyser.getAllValidMoves());
+        for (Island someIsland : islands) {
+            someIsland.forEachNeighbour(neighbour -> {
+                for (boolean doubleBridge : new boolean[] {false, true}) {
+                    final int existingBridges = someIsland.getBridgeTo(neighbour)
+                            .map(bridge -> bridge.isDoubleBridge() ? 2 : 1).orElse(0);
+                    final boolean expected = analyser.isValidMove(someIsland, neighbour, doubleBridge)
+                            && existingBridges + (doubleBridge ? 2 : 1) <= 2;
+                    assertEquals("Unexpected validity.", expected,
+                            validMoves.contains(MoveSpec.create(someIsland, neighbour, doubleBridge))
+                                    || validMoves.contains(MoveSpec.create(neighbour, someIsland, doubleBridge)));
+                }
+            });
+        }
+    }
+}
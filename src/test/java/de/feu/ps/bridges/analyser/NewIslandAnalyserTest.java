@@ -87,4 +87,11 @@ public class NewIslandAnalyserTest {
         boolean validIslandPosition = analyser.isValidIslandPosition(new Position(8, 7));
         assertTrue("Expected position to be valid.", validIslandPosition);
     }
-}
\ No newline at end of file
+
+    @Test
+    public void testIsValidIslandPositionPacked() {
+        assertTrue("Expected position to be valid.", analyser.isValidIslandPosition(Position.pack(8, 7)));
+        assertFalse("Expected position to be invalid.", analyser.isValidIslandPosition(Position.pack(6, 5)));
+        assertFalse("Expected position to be invalid.", analyser.isValidIslandPosition(Position.pack(11, 8)));
+    }
+}
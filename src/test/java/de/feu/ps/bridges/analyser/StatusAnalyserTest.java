@@ -1,11 +1,20 @@
 package de.feu.ps.bridges.analyser;
 
+import de.feu.ps.bridges.generator.PuzzleGeneratorFactory;
+import de.feu.ps.bridges.model.Direction;
 import de.feu.ps.bridges.model.Island;
 import de.feu.ps.bridges.model.Position;
+import de.feu.ps.bridges.model.Puzzle;
 import de.feu.ps.bridges.model.PuzzleBuilder;
+import de.feu.ps.bridges.model.PuzzleSnapshot;
+import de.feu.ps.bridges.model.PuzzleSnapshotFactory;
 import org.junit.Before;
 import org.junit.Test;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
 import static org.junit.Assert.assertEquals;
 
 /**
@@ -82,4 +91,62 @@ public class StatusAnalyserTest {
         PuzzleAnalyser puzzleAnalyser = PuzzleAnalyserFactory.createPuzzleAnalyserFor(builder.getResult());
         assertEquals("Unexpected status.", PuzzleStatus.UNSOLVABLE, puzzleAnalyser.getStatus());
     }
-}
\ No newline at end of file
+
+    @Test
+    public void getStatusOfSnapshot() {
+        puzzleBuilder.addBridge(islands[0], islands[1], true);
+        puzzleBuilder.addBridge(islands[0], islands[3], false);
+        puzzleBuilder.addBridge(islands[1], islands[2], false);
+        puzzleBuilder.addBridge(islands[1], islands[5], false);
+        puzzleBuilder.addBridge(islands[2], islands[6], false);
+        puzzleBuilder.addBridge(islands[3], islands[7], true);
+        puzzleBuilder.addBridge(islands[4], islands[8], true);
+        PuzzleSnapshot snapshot = PuzzleSnapshotFactory.createSnapshotOf(puzzleBuilder.getResult());
+
+        PuzzleSnapshot solved = snapshot.withBridge(
+                snapshot.getIslandAt(islands[7].getPosition()).get(),
+                snapshot.getIslandAt(islands[8].getPosition()).get());
+
+        assertEquals("Unexpected status.", PuzzleStatus.UNSOLVED,
+                PuzzleAnalyserFactory.createPuzzleAnalyserFor(snapshot).getStatus());
+        assertEquals("Unexpected status.", PuzzleStatus.SOLVED,
+                PuzzleAnalyserFactory.createPuzzleAnalyserFor(solved).getStatus());
+    }
+
+    @Test
+    public void getStatusInParallel() {
+        puzzleBuilder.addBridge(islands[0], islands[1], true);
+        puzzleBuilder.addBridge(islands[1], islands[2], false);
+        Puzzle puzzle = puzzleBuilder.getResult();
+
+        assertEquals("Unexpected status.", PuzzleStatus.UNSOLVED,
+                PuzzleAnalyserFactory.createParallelPuzzleAnalyserFor(puzzle, 0).getStatus());
+
+        puzzle.buildBridge(islands[5], islands[6]);
+        assertEquals("Unexpected status.", PuzzleStatus.UNSOLVABLE,
+                PuzzleAnalyserFactory.createParallelPuzzleAnalyserFor(puzzle, 0).getStatus());
+    }
+
+    @Test
+    public void getStatusInParallelMatchesSequential() {
+        final Random random = new Random(7);
+        final Puzzle puzzle = PuzzleGeneratorFactory.createPuzzleGenerator(25, 25, 120).generate();
+        final PuzzleAnalyser sequentialAnalyser = PuzzleAnalyserFactory.createPuzzleAnalyserFor(puzzle);
+        final PuzzleAnalyser parallelAnalyser = PuzzleAnalyserFactory.createParallelPuzzleAnalyserFor(puzzle, 0);
+        final List<Island> puzzleIslands = new ArrayList<>(puzzle.getIslands());
+
+        for (int move = 0; move < 200; move++) {
+            final Island island = puzzleIslands.get(random.nextInt(puzzleIslands.size()));
+            final Direction direction = Direction.values()[random.nextInt(4)];
+            if (sequentialAnalyser.isValidMove(island, direction)) {
+                puzzle.buildBridge(island, island.getNeighbour(direction).get());
+            }
+            assertEquals("Unexpected status.", sequentialAnalyser.getStatus(), parallelAnalyser.getStatus());
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void parallelThresholdNegative() {
+        PuzzleAnalyserFactory.createParallelPuzzleAnalyserFor(puzzleBuilder.getResult(), -1);
+    }
+}
@@ -0,0 +1,103 @@
+package de.feu.ps.bridges.model;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+
+import static org.hamcrest.core.Is.is;
+import static org.junit.Assert.*;
+
+/**
+ * @author Tim Gremplewski
+ */
+public class BridgeConnectivityTest {
+
+    @Rule
+    public ExpectedException expectedException = ExpectedException.none();
+
+    private BridgeConnectivity connectivity;
+
+    @Before
+    public void setUp() {
+        connectivity = new BridgeConnectivity();
+        for (int island = 0; island < 20; island++) {
+            connectivity.addIsland();
+        }
+    }
+
+    @Test
+    public void testWithoutIslands() {
+        assertTrue("Expected no islands to be connected.", new BridgeConnectivity().areAllIslandsConnected());
+    }
+
+    @Test
+    public void testWithoutBridges() {
+        assertFalse("Unexpected connection.", connectivity.areAllIslandsConnected());
+        assertEquals("Unexpected amount of components.", 20, connectivity.getComponentsCount());
+    }
+
+    @Test
+    public void testBridgeBuilt() {
+        connectivity.bridgeBuilt(0, 1);
+        connectivity.bridgeBuilt(2, 1);
+        assertTrue("Expected the islands to be connected.", connectivity.areConnected(0, 2));
+        assertFalse("Unexpected connection.", connectivity.areConnected(0, 3));
+        assertEquals("Unexpected amount of components.", 18, connectivity.getComponentsCount());
+    }
+
+    @Test
+    public void testAllIslandsConnected() {
+        for (int island = 1; island < 20; island++) {
+            connectivity.bridgeBuilt(island - 1, island);
+        }
+        assertTrue("Expected all islands to be connected.", connectivity.areAllIslandsConnected());
+    }
+
+    @Test
+    public void testLatestBridgeTornDown() {
+        connectivity.bridgeBuilt(0, 1);
+        connectivity.bridgeBuilt(1, 2);
+        connectivity.bridgeTornDown(2, 1);
+        assertTrue("Expected the islands to be connected.", connectivity.areConnected(0, 1));
+        assertFalse("Unexpected connection.", connectivity.areConnected(1, 2));
+        assertEquals("Unexpected amount of components.", 19, connectivity.getComponentsCount());
+    }
+
+    @Test
+    public void testOlderBridgeTornDown() {
+        connectivity.bridgeBuilt(0, 1);
+        connectivity.bridgeBuilt(1, 2);
+        connectivity.bridgeBuilt(2, 3);
+        connectivity.bridgeBuilt(3, 0);
+        connectivity.bridgeBuilt(4, 5);
+
+        // The cycle keeps the islands connected
+        connectivity.bridgeTornDown(1, 2);
+        assertTrue("Expected the islands to be connected.", connectivity.areConnected(1, 2));
+        assertEquals("Unexpected amount of components.", 20 - 4, connectivity.getComponentsCount());
+
+        connectivity.bridgeTornDown(0, 1);
+        assertFalse("Unexpected connection.", connectivity.areConnected(1, 2));
+        assertTrue("Expected the islands to be connected.", connectivity.areConnected(0, 2));
+        assertTrue("Expected the islands to be connected.", connectivity.areConnected(4, 5));
+        assertEquals("Unexpected amount of components.", 20 - 3, connectivity.getComponentsCount());
+    }
+
+    @Test
+    public void testBridgeTornDownNotBuilt() {
+        expectedException.expect(IllegalStateException.class);
+        expectedException.expectMessage(is("No bridge between the given islands has been reported."));
+        connectivity.bridgeBuilt(0, 1);
+        connectivity.bridgeTornDown(0, 2);
+    }
+
+    @Test
+    public void testAllBridgesTornDown() {
+        connectivity.bridgeBuilt(0, 1);
+        connectivity.bridgeBuilt(1, 2);
+        connectivity.allBridgesTornDown();
+        assertFalse("Unexpected connection.", connectivity.areConnected(0, 1));
+        assertEquals("Unexpected amount of components.", 20, connectivity.getComponentsCount());
+    }
+}
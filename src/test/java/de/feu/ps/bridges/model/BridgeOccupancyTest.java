@@ -0,0 +1,84 @@
+package de.feu.ps.bridges.model;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+
+import static org.hamcrest.core.Is.is;
+import static org.junit.Assert.*;
+
+/**
+ * Tests that every implementation of {@link BridgeOccupancy} has to pass.
+ * @author Tim Gremplewski
+ */
+public abstract class BridgeOccupancyTest {
+
+    @Rule
+    public ExpectedException expectedException = ExpectedException.none();
+
+    private BridgeOccupancy occupancy;
+
+    @Before
+    public void setUp() {
+        occupancy = createOccupancy(10, 8);
+    }
+
+    protected abstract BridgeOccupancy createOccupancy(int columns, int rows);
+
+    @Test
+    public void testOccupyHorizontal() {
+        occupancy.occupy(new Position(7, 2), new Position(3, 2));
+
+        assertEquals("Island field must not be occupied.", 0, occupancy.getOccupation(3, 2));
+        assertEquals("Unexpected occupation.", BridgeOccupancy.HORIZONTAL, occupancy.getOccupation(4, 2));
+        assertEquals("Unexpected occupation.", BridgeOccupancy.HORIZONTAL, occupancy.getOccupation(6, 2));
+        assertEquals("Island field must not be occupied.", 0, occupancy.getOccupation(7, 2));
+        assertEquals("Unexpected occupation.", 0, occupancy.getOccupation(5, 3));
+    }
+
+    @Test
+    public void testOccupyVertical() {
+        occupancy.occupy(new Position(5, 0), new Position(5, 7));
+
+        assertEquals("Island field must not be occupied.", 0, occupancy.getOccupation(5, 0));
+        assertEquals("Unexpected occupation.", BridgeOccupancy.VERTICAL, occupancy.getOccupation(5, 1));
+        assertEquals("Unexpected occupation.", BridgeOccupancy.VERTICAL, occupancy.getOccupation(5, 6));
+        assertEquals("Island field must not be occupied.", 0, occupancy.getOccupation(5, 7));
+    }
+
+    @Test
+    public void testRelease() {
+        occupancy.occupy(new Position(5, 0), new Position(5, 7));
+        occupancy.occupy(new Position(3, 2), new Position(7, 2));
+        occupancy.release(new Position(5, 7), new Position(5, 0));
+
+        assertEquals("Unexpected occupation.", BridgeOccupancy.HORIZONTAL, occupancy.getOccupation(5, 2));
+        assertEquals("Unexpected occupation.", 0, occupancy.getOccupation(5, 3));
+    }
+
+    @Test
+    public void testClear() {
+        occupancy.occupy(new Position(5, 0), new Position(5, 7));
+        occupancy.clear();
+        assertFalse("Expected no occupied field.", occupancy.isAnyFieldOccupied(new Position(0, 4), new Position(9, 4)));
+    }
+
+    @Test
+    public void testIsAnyFieldOccupied() {
+        occupancy.occupy(new Position(5, 0), new Position(5, 7));
+
+        assertTrue("Expected an occupied field.", occupancy.isAnyFieldOccupied(new Position(0, 4), new Position(9, 4)));
+        assertTrue("Expected an occupied field.", occupancy.isAnyFieldOccupied(new Position(9, 4), new Position(5, 4)));
+        assertFalse("Expected no occupied field.", occupancy.isAnyFieldOccupied(new Position(0, 4), new Position(4, 4)));
+        assertFalse("Expected no occupied field.", occupancy.isAnyFieldOccupied(new Position(0, 0), new Position(9, 0)));
+        assertFalse("Expected no occupied field.", occupancy.isAnyFieldOccupied(new Position(20, 4), new Position(20, 4)));
+    }
+
+    @Test
+    public void testIsAnyFieldOccupiedDiagonal() {
+        expectedException.expect(IllegalArgumentException.class);
+        expectedException.expectMessage(is("Positions must either lie in the same row or the same column."));
+        occupancy.isAnyFieldOccupied(new Position(0, 0), new Position(1, 1));
+    }
+}
@@ -0,0 +1,46 @@
+package de.feu.ps.bridges.model;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests of {@link CompactPuzzle}.
+ *
+ * @author Tim Gremplewski
+ */
+public class CompactPuzzleTest extends ModifiablePuzzleTest {
+
+    @Override
+    protected ModifiablePuzzle createPuzzle(final int columns, final int rows) {
+        return ModifiablePuzzleFactory.createCompactPuzzle(columns, rows);
+    }
+
+    @Test
+    public void testHashesEqualToDefaultPuzzle() {
+        ModifiablePuzzle compactPuzzle = ModifiablePuzzleFactory.createCompactPuzzle(10, 10);
+        ModifiablePuzzle defaultPuzzle = ModifiablePuzzleFactory.createPuzzle(10, 10);
+
+        for (ModifiablePuzzle puzzle : Arrays.asList(compactPuzzle, defaultPuzzle)) {
+            Island island1 = puzzle.buildIsland(new Position(0, 0), 4);
+            Island island2 = puzzle.buildIsland(new Position(5, 0), 4);
+            Island island3 = puzzle.buildIsland(new Position(0, 5), 4);
+            puzzle.buildBridge(island1, island2);
+            puzzle.buildBridge(island1, island2);
+            puzzle.buildBridge(island1, island3);
+        }
+
+        assertEquals("Expected equal hashes.", defaultPuzzle.getBridgeStateHash(), compactPuzzle.getBridgeStateHash());
+        assertEquals("Expected equal hashes.", defaultPuzzle.getLayoutHash(), compactPuzzle.getLayoutHash());
+
+        for (ModifiablePuzzle puzzle : Arrays.asList(compactPuzzle, defaultPuzzle)) {
+            ((AdjustableIsland) puzzle.getIslandAt(new Position(0, 0)).get()).setRequiredBridges(3);
+        }
+        assertEquals("Expected equal hashes.", defaultPuzzle.getLayoutHash(), compactPuzzle.getLayoutHash());
+
+        compactPuzzle.removeAllBridges();
+        assertEquals("Unexpected hash of a puzzle without bridges.", 0, compactPuzzle.getBridgeStateHash());
+    }
+}
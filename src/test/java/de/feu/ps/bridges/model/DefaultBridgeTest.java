@@ -142,4 +142,62 @@ public class DefaultBridgeTest {
         bridge.setDoubleBridge(false);
         assertFalse("Expected bridge to be single bridge.", bridge.isDoubleBridge());
     }
-}
\ No newline at end of file
+
+    @Theory
+    public void testConnects(
+            @FromDataPoints("sourceIsland") final Island island1,
+            @FromDataPoints("validDestinationIslands") final Island island2) {
+
+        final Bridge bridge = ModifiableBridgeFactory.createBridge(island1, island2, false);
+
+        assertTrue("Expected bridge to connect the islands.", bridge.connects(island1, island2));
+        assertTrue("Expected bridge to connect the islands in reverse order.", bridge.connects(island2, island1));
+        assertFalse("Expected bridge not to connect an island with itself.", bridge.connects(island1, island1));
+        assertFalse("Expected bridge not to connect null.", bridge.connects(island1, null));
+    }
+
+    @Theory
+    public void testOtherEnd(
+            @FromDataPoints("sourceIsland") final Island island1,
+            @FromDataPoints("validDestinationIslands") final Island island2) {
+
+        final Bridge bridge = ModifiableBridgeFactory.createBridge(island1, island2, false);
+
+        assertSame("Unexpected other end of island1.", island2, bridge.otherEnd(island1));
+        assertSame("Unexpected other end of island2.", island1, bridge.otherEnd(island2));
+    }
+
+    @Test
+    public void testOtherEndNotBridged() {
+        expectedException.expect(IllegalArgumentException.class);
+        expectedException.expectMessage(CoreMatchers.is("The given island is not bridged by this bridge."));
+
+        final Bridge bridge = ModifiableBridgeFactory.createBridge(sourceIsland, validDestinationIslands[0], false);
+        bridge.otherEnd(validDestinationIslands[1]);
+    }
+
+    @Test
+    public void testOtherEndNull() {
+        expectedException.expect(NullPointerException.class);
+        expectedException.expectMessage(CoreMatchers.is("Parameter 'island' must not be null."));
+
+        final Bridge bridge = ModifiableBridgeFactory.createBridge(sourceIsland, validDestinationIslands[0], false);
+        bridge.otherEnd(null);
+    }
+
+    @Test
+    public void testEquals() {
+        final Island island1 = sourceIsland;
+        final Island island2 = validDestinationIslands[0];
+        final Bridge bridge = ModifiableBridgeFactory.createBridge(island1, island2, false);
+        final Bridge reversedBridge = ModifiableBridgeFactory.createBridge(island2, island1, true);
+        final Bridge otherBridge = ModifiableBridgeFactory.createBridge(island1, validDestinationIslands[1], false);
+        final Bridge copiedBridge = ModifiableBridgeFactory.createBridge(
+                ModifiableIslandFactory.create(island1.getPosition(), 1), island2, false);
+
+        assertEquals("Expected bridges between the same islands to be equal.", bridge, reversedBridge);
+        assertEquals("Expected equal bridges to have equal hash codes.", bridge.hashCode(), reversedBridge.hashCode());
+        assertNotEquals("Expected bridges between different islands not to be equal.", bridge, otherBridge);
+        assertNotEquals("Expected bridges between different island objects not to be equal.", bridge, copiedBridge);
+    }
+}
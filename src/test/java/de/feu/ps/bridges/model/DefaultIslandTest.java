@@ -1,10 +1,13 @@
 package de.feu.ps.bridges.model;
 
+import org.junit.After;
+import org.junit.Before;
 import org.junit.Rule;
 import org.junit.Test;
 import org.junit.rules.ExpectedException;
 
 import java.util.Arrays;
+import java.util.HashSet;
 import java.util.Optional;
 import java.util.Set;
 
@@ -19,6 +22,16 @@ public class DefaultIslandTest {
     @Rule
     public ExpectedException expectedException = ExpectedException.none();
 
+    @Before
+    public void setUp() {
+        DefaultIsland.setConsistencyCheckEnabled(true);
+    }
+
+    @After
+    public void tearDown() {
+        DefaultIsland.setConsistencyCheckEnabled(false);
+    }
+
     @Test
     public void testNullPosition() {
         expectedException.expect(NullPointerException.class);
@@ -320,6 +333,53 @@ public class DefaultIslandTest {
         assertEquals("Unexpected number of actual bridges.", 3, island.getActualBridgesCount());
     }
 
+    @Test
+    public void testDoubleBridgeChangeUpdatesBridgesCount() {
+        ModifiableIsland island = ModifiableIslandFactory.create(new Position(12, 37), 7);
+        ModifiableIsland northNeighbour = ModifiableIslandFactory.create(new Position(12, 35), 3);
+        island.setNeighbour(northNeighbour, Direction.NORTH);
+        northNeighbour.setNeighbour(island, Direction.SOUTH);
+
+        ModifiableBridge bridge = ModifiableBridgeFactory.createBridge(island, northNeighbour, false);
+        island.addBridge(bridge);
+        northNeighbour.addBridge(bridge);
+
+        bridge.setDoubleBridge(true);
+        assertEquals("Unexpected number of actual bridges.", 2, island.getActualBridgesCount());
+        assertEquals("Unexpected number of remaining bridges.", 1, northNeighbour.getRemainingBridges());
+
+        bridge.setDoubleBridge(false);
+        assertEquals("Unexpected number of actual bridges.", 1, island.getActualBridgesCount());
+        assertEquals("Unexpected number of remaining bridges.", 2, northNeighbour.getRemainingBridges());
+
+        island.removeBridge(bridge);
+        assertEquals("Unexpected number of actual bridges.", 0, island.getActualBridgesCount());
+        assertEquals("Unexpected number of remaining bridges.", 7, island.getRemainingBridges());
+    }
+
+    @Test
+    public void testDoubleBridgeChangeOfUnknownBridge() {
+        ModifiableIsland island = ModifiableIslandFactory.create(new Position(12, 37), 7);
+        ModifiableIsland northNeighbour = ModifiableIslandFactory.create(new Position(12, 35), 3);
+
+        ModifiableBridge bridge = ModifiableBridgeFactory.createBridge(island, northNeighbour, false);
+        bridge.setDoubleBridge(true);
+
+        assertEquals("Unexpected number of actual bridges.", 0, island.getActualBridgesCount());
+        assertEquals("Unexpected number of remaining bridges.", 7, island.getRemainingBridges());
+    }
+
+    @Test
+    public void testSetRequiredBridgesUpdatesRemainingBridges() {
+        ModifiableIsland island = ModifiableIslandFactory.create(new Position(12, 37), 7);
+        ModifiableIsland northNeighbour = ModifiableIslandFactory.create(new Position(12, 35), 3);
+        island.setNeighbour(northNeighbour, Direction.NORTH);
+        island.addBridge(ModifiableBridgeFactory.createBridge(island, northNeighbour, true));
+
+        island.setRequiredBridges(3);
+        assertEquals("Unexpected number of remaining bridges.", 1, island.getRemainingBridges());
+    }
+
     @Test
     public void testGetRequiredBridges() {
         ModifiableIsland modifiableIsland = ModifiableIslandFactory.create(new Position(12, 37), 5);
@@ -427,4 +487,31 @@ public class DefaultIslandTest {
         island.setRequiredBridges(3);
         assertEquals("Unexpected number of required bridges.", 3, island.getRequiredBridges());
     }
-}
\ No newline at end of file
+
+    @Test
+    public void testForEachNeighbour() {
+        ModifiablePuzzle puzzle = ModifiablePuzzleFactory.createPuzzle(10, 10);
+        Island island1 = puzzle.buildIsland(new Position(5, 5), 5);
+        Island island2 = puzzle.buildIsland(new Position(5, 0), 5);
+        Island island3 = puzzle.buildIsland(new Position(9, 5), 5);
+        puzzle.buildBridge(island1, island3);
+
+        Set<Island> neighbours = new HashSet<>();
+        island1.forEachNeighbour(neighbours::add);
+        assertEquals("Unexpected neighbours.", new HashSet<>(Arrays.asList(island2, island3)), neighbours);
+
+        Set<Island> bridgedNeighbours = new HashSet<>();
+        island1.forEachBridgedNeighbour(bridgedNeighbours::add);
+        assertEquals("Unexpected bridged neighbours.", new HashSet<>(Arrays.asList(island3)), bridgedNeighbours);
+
+        assertTrue("Expected matching neighbour.", island1.anyNeighbourMatches(neighbour -> neighbour == island2));
+        assertFalse("Expected no matching neighbour.", island2.anyNeighbourMatches(neighbour -> neighbour == island3));
+    }
+
+    @Test
+    public void testAnyNeighbourMatchesNullPredicate() {
+        expectedException.expect(NullPointerException.class);
+        expectedException.expectMessage(is("Parameter 'predicate' must not be null."));
+        ModifiableIslandFactory.create(new Position(0, 0), 5).anyNeighbourMatches(null);
+    }
+}
@@ -0,0 +1,241 @@
+package de.feu.ps.bridges.model;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+
+import static org.hamcrest.core.Is.is;
+import static org.junit.Assert.*;
+
+/**
+ * @author Tim Gremplewski
+ */
+public class DefaultPuzzleSnapshotTest {
+
+    @Rule
+    public ExpectedException expectedException = ExpectedException.none();
+
+    private ModifiablePuzzle puzzle;
+    private Island island1;
+    private Island island2;
+    private Island island3;
+    private Island island4;
+
+    @Before
+    public void setUp() {
+        puzzle = ModifiablePuzzleFactory.createPuzzle(10, 10);
+        island1 = puzzle.buildIsland(new Position(0, 0), 3);
+        island2 = puzzle.buildIsland(new Position(5, 0), 3);
+        island3 = puzzle.buildIsland(new Position(0, 5), 2);
+        island4 = puzzle.buildIsland(new Position(2, 2), 2);
+        puzzle.buildIsland(new Position(2, 7), 2);
+        puzzle.buildBridge(island1, island2);
+    }
+
+    @Test
+    public void testCreateSnapshotOfNull() {
+        expectedException.expect(NullPointerException.class);
+        expectedException.expectMessage(is("Parameter 'puzzle' must not be null."));
+        PuzzleSnapshotFactory.createSnapshotOf(null);
+    }
+
+    @Test
+    public void testCreateSnapshotOf() {
+        PuzzleSnapshot snapshot = PuzzleSnapshotFactory.createSnapshotOf(puzzle);
+        assertEquals("Unexpected columns count.", 10, snapshot.getColumnsCount());
+        assertEquals("Unexpected rows count.", 10, snapshot.getRowsCount());
+        assertEquals("Unexpected islands count.", 5, snapshot.getIslandsCount());
+        assertEquals("Unexpected amount of bridges.", 1, snapshot.getBridges().size());
+
+        Island snapshotIsland1 = snapshot.getIslandAt(island1.getPosition()).get();
+        assertEquals("Unexpected required bridges.", 3, snapshotIsland1.getRequiredBridges());
+        assertEquals("Unexpected actual bridges.", 1, snapshotIsland1.getActualBridgesCount());
+        assertTrue("Expected a bridge to the east.", snapshotIsland1.isBridgedToNeighbour(Direction.EAST));
+        assertFalse("Unexpected bridge to the south.", snapshotIsland1.isBridgedToNeighbour(Direction.SOUTH));
+        assertEquals("Unexpected neighbour.", island3.getPosition(),
+                snapshotIsland1.getNeighbour(Direction.SOUTH).get().getPosition());
+        assertFalse("Unexpected island.", snapshot.getIslandAt(new Position(1, 1)).isPresent());
+    }
+
+    @Test
+    public void testSnapshotIsNotChangedByPuzzle() {
+        PuzzleSnapshot snapshot = PuzzleSnapshotFactory.createSnapshotOf(puzzle);
+        puzzle.buildBridge(island1, island3);
+        assertEquals("Unexpected amount of bridges.", 1, snapshot.getBridges().size());
+    }
+
+    @Test
+    public void testWithBridge() {
+        PuzzleSnapshot snapshot = PuzzleSnapshotFactory.createSnapshotOf(puzzle);
+        Island snapshotIsland1 = snapshot.getIslandAt(island1.getPosition()).get();
+        Island snapshotIsland3 = snapshot.getIslandAt(island3.getPosition()).get();
+
+        PuzzleSnapshot changed = snapshot.withBridge(snapshotIsland1, snapshotIsland3);
+        assertEquals("Unexpected amount of bridges.", 2, changed.getBridges().size());
+        assertEquals("Unexpected actual bridges.", 2, changed.getIslandAt(island1.getPosition()).get().getActualBridgesCount());
+        assertEquals("Unexpected actual bridges.", 1, changed.getIslandAt(island3.getPosition()).get().getActualBridgesCount());
+
+        assertEquals("Original snapshot has been changed.", 1, snapshot.getBridges().size());
+        assertEquals("Original snapshot has been changed.", 1, snapshotIsland1.getActualBridgesCount());
+        assertEquals("Puzzle has been changed.", 1, puzzle.getBridges().size());
+    }
+
+    @Test
+    public void testSharedPotentialBridgeGraph() {
+        PuzzleSnapshot snapshot = PuzzleSnapshotFactory.createSnapshotOf(puzzle);
+        PuzzleSnapshot changed = snapshot.withBridge(snapshot.getIslandAt(island1.getPosition()).get(),
+                snapshot.getIslandAt(island3.getPosition()).get());
+
+        assertSame("Expected a shared table.", PotentialBridgeGraph.createFor(snapshot), PotentialBridgeGraph.createFor(changed));
+        assertSame("Expected a shared table.", PotentialBridgeGraph.createFor(snapshot),
+                PotentialBridgeGraph.createFor(PuzzleSnapshotFactory.createSnapshotOf(puzzle)));
+
+        puzzle.buildIsland(new Position(9, 9), 1);
+        assertNotSame("Expected a new table.", PotentialBridgeGraph.createFor(snapshot),
+                PotentialBridgeGraph.createFor(PuzzleSnapshotFactory.createSnapshotOf(puzzle)));
+    }
+
+    @Test
+    public void testSnapshotAfterRequiredBridgesChanged() {
+        PuzzleSnapshot snapshot = PuzzleSnapshotFactory.createSnapshotOf(puzzle);
+        ((ModifiableIsland) island3).setRequiredBridges(4);
+        PuzzleSnapshot changed = PuzzleSnapshotFactory.createSnapshotOf(puzzle);
+
+        assertEquals("Original snapshot has been changed.", 2, snapshot.getIslandAt(island3.getPosition()).get().getRequiredBridges());
+        assertEquals("Unexpected required bridges.", 4, changed.getIslandAt(island3.getPosition()).get().getRequiredBridges());
+        assertEquals("Unexpected layout hash.", puzzle.getLayoutHash(), changed.getLayoutHash());
+    }
+
+    @Test
+    public void testWithBridgeDoubleBridge() {
+        PuzzleSnapshot snapshot = PuzzleSnapshotFactory.createSnapshotOf(puzzle);
+        Island snapshotIsland1 = snapshot.getIslandAt(island1.getPosition()).get();
+        Island snapshotIsland2 = snapshot.getIslandAt(island2.getPosition()).get();
+
+        PuzzleSnapshot changed = snapshot.withBridge(snapshotIsland2, snapshotIsland1);
+        Island changedIsland1 = changed.getIslandAt(island1.getPosition()).get();
+        assertTrue("Expected a double bridge.", changedIsland1.getBridgeTo(changed.getIslandAt(island2.getPosition()).get()).get().isDoubleBridge());
+        assertFalse("Original snapshot has been changed.", snapshotIsland1.getBridgeTo(snapshotIsland2).get().isDoubleBridge());
+    }
+
+    @Test
+    public void testWithBridgeThirdBridge() {
+        expectedException.expect(IllegalStateException.class);
+        expectedException.expectMessage(is("Two bridges already exist between the given islands."));
+        PuzzleSnapshot snapshot = PuzzleSnapshotFactory.createSnapshotOf(puzzle);
+        snapshot = snapshot.withBridge(snapshot.getIslandAt(island1.getPosition()).get(), snapshot.getIslandAt(island2.getPosition()).get());
+        snapshot.withBridge(snapshot.getIslandAt(island1.getPosition()).get(), snapshot.getIslandAt(island2.getPosition()).get());
+    }
+
+    @Test
+    public void testWithBridgeNoNeighbours() {
+        expectedException.expect(IllegalArgumentException.class);
+        expectedException.expectMessage(is("Bridged islands must either lie in the same row or the same column"));
+        PuzzleSnapshot snapshot = PuzzleSnapshotFactory.createSnapshotOf(puzzle);
+        snapshot.withBridge(snapshot.getIslandAt(island1.getPosition()).get(), snapshot.getIslandAt(island4.getPosition()).get());
+    }
+
+    @Test
+    public void testWithBridgeIslandOfPuzzle() {
+        expectedException.expect(IllegalArgumentException.class);
+        expectedException.expectMessage(is("Island1 is not part of this snapshot."));
+        PuzzleSnapshot snapshot = PuzzleSnapshotFactory.createSnapshotOf(puzzle);
+        snapshot.withBridge(island1, snapshot.getIslandAt(island3.getPosition()).get());
+    }
+
+    @Test
+    public void testWithoutBridge() {
+        PuzzleSnapshot snapshot = PuzzleSnapshotFactory.createSnapshotOf(puzzle);
+        Island snapshotIsland1 = snapshot.getIslandAt(island1.getPosition()).get();
+        Island snapshotIsland2 = snapshot.getIslandAt(island2.getPosition()).get();
+        Island snapshotIsland3 = snapshot.getIslandAt(island3.getPosition()).get();
+
+        PuzzleSnapshot changed = snapshot.withoutBridge(snapshotIsland1, snapshotIsland2);
+        assertTrue("Unexpected bridges.", changed.getBridges().isEmpty());
+        assertEquals("Original snapshot has been changed.", 1, snapshot.getBridges().size());
+        assertSame("Expected the same snapshot.", snapshot, snapshot.withoutBridge(snapshotIsland1, snapshotIsland3));
+    }
+
+    @Test
+    public void testBuildBridgeUnsupported() {
+        expectedException.expect(UnsupportedOperationException.class);
+        expectedException.expectMessage(is("A puzzle snapshot cannot be changed."));
+        PuzzleSnapshot snapshot = PuzzleSnapshotFactory.createSnapshotOf(puzzle);
+        snapshot.buildBridge(snapshot.getIslandAt(island1.getPosition()).get(), snapshot.getIslandAt(island3.getPosition()).get());
+    }
+
+    @Test
+    public void testIsAnyFieldOccupiedByBridge() {
+        PuzzleSnapshot snapshot = PuzzleSnapshotFactory.createSnapshotOf(puzzle);
+        snapshot = snapshot.withBridge(snapshot.getIslandAt(island1.getPosition()).get(), snapshot.getIslandAt(island3.getPosition()).get());
+
+        assertTrue("Expected horizontal bridge.", snapshot.isAnyFieldOccupiedByBridge(new Position(4, 0), new Position(4, 3)));
+        assertTrue("Expected vertical bridge.", snapshot.isAnyFieldOccupiedByBridge(new Position(3, 4), new Position(0, 4)));
+        assertTrue("Expected horizontal bridge.", snapshot.isAnyFieldOccupiedByBridge(new Position(2, 0), new Position(3, 0)));
+        assertFalse("Fields of islands must not be occupied.", snapshot.isAnyFieldOccupiedByBridge(new Position(5, 0), new Position(8, 0)));
+        assertFalse("Unexpected bridge.", snapshot.isAnyFieldOccupiedByBridge(new Position(1, 1), new Position(9, 1)));
+        assertFalse("Unexpected bridge.", snapshot.isAnyFieldOccupiedByBridge(new Position(2, 3), new Position(2, 6)));
+    }
+
+    @Test
+    public void testIsAnyFieldOccupiedByBridgeNotAligned() {
+        expectedException.expect(IllegalArgumentException.class);
+        expectedException.expectMessage(is("Positions must either lie in the same row or the same column."));
+        PuzzleSnapshotFactory.createSnapshotOf(puzzle).isAnyFieldOccupiedByBridge(new Position(0, 1), new Position(1, 0));
+    }
+
+    @Test
+    public void testHashes() {
+        PuzzleSnapshot snapshot = PuzzleSnapshotFactory.createSnapshotOf(puzzle);
+        assertEquals("Unexpected hash.", puzzle.getBridgeStateHash(), snapshot.getBridgeStateHash());
+        assertEquals("Unexpected hash.", puzzle.getLayoutHash(), snapshot.getLayoutHash());
+
+        PuzzleSnapshot changed = snapshot.withBridge(snapshot.getIslandAt(island1.getPosition()).get(), snapshot.getIslandAt(island3.getPosition()).get());
+        puzzle.buildBridge(island1, island3);
+        assertEquals("Unexpected hash.", puzzle.getBridgeStateHash(), changed.getBridgeStateHash());
+        assertEquals("Unexpected hash.", snapshot.getBridgeStateHash(),
+                changed.withoutBridge(changed.getIslandAt(island3.getPosition()).get(), changed.getIslandAt(island1.getPosition()).get()).getBridgeStateHash());
+    }
+
+    @Test
+    public void testBridgeConnects() {
+        PuzzleSnapshot snapshot = PuzzleSnapshotFactory.createSnapshotOf(puzzle);
+        Island snapshotIsland1 = snapshot.getIslandAt(island1.getPosition()).get();
+        Island snapshotIsland2 = snapshot.getIslandAt(island2.getPosition()).get();
+        Bridge bridge = snapshotIsland1.getBridgeTo(snapshotIsland2).get();
+
+        assertTrue("Expected bridge to connect the islands.", bridge.connects(snapshotIsland2, snapshotIsland1));
+        assertFalse("Expected bridge not to connect islands of the puzzle.", bridge.connects(island1, island2));
+        assertSame("Unexpected other end.", snapshotIsland1, bridge.otherEnd(snapshotIsland2));
+    }
+
+    @Test
+    public void testAreAllIslandsConnected() {
+        PuzzleSnapshot snapshot = PuzzleSnapshotFactory.createSnapshotOf(puzzle);
+        assertFalse("Unexpected connection.", snapshot.areAllIslandsConnected());
+
+
+        ModifiablePuzzle connectedPuzzle = ModifiablePuzzleFactory.createPuzzle(10, 10);
+        Island connectedIsland1 = connectedPuzzle.buildIsland(new Position(0, 0), 1);
+        Island connectedIsland2 = connectedPuzzle.buildIsland(new Position(5, 0), 1);
+        PuzzleSnapshot connected = PuzzleSnapshotFactory.createSnapshotOf(connectedPuzzle);
+        assertFalse("Unexpected connection.", connected.areAllIslandsConnected());
+
+        connected = connected.withBridge(connected.getIslandAt(connectedIsland1.getPosition()).get(),
+                connected.getIslandAt(connectedIsland2.getPosition()).get());
+        assertTrue("Expected all islands to be connected.", connected.areAllIslandsConnected());
+    }
+
+    @Test
+    public void testIsAdjacentToIsland() {
+        PuzzleSnapshot snapshot = PuzzleSnapshotFactory.createSnapshotOf(puzzle);
+        for (int column = -1; column <= 10; column++) {
+            for (int row = -1; row <= 10; row++) {
+                assertEquals("Unexpected adjacency.", puzzle.isAdjacentToIsland(column, row),
+                        snapshot.isAdjacentToIsland(column, row));
+            }
+        }
+        assertTrue("Expected an adjacent island.", snapshot.isAdjacentToIsland(2, 3));
+    }
+}
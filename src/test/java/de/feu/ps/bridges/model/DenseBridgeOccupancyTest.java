@@ -0,0 +1,12 @@
+package de.feu.ps.bridges.model;
+
+/**
+ * @author Tim Gremplewski
+ */
+public class DenseBridgeOccupancyTest extends BridgeOccupancyTest {
+
+    @Override
+    protected BridgeOccupancy createOccupancy(final int columns, final int rows) {
+        return new DenseBridgeOccupancy(columns, rows);
+    }
+}
@@ -0,0 +1,41 @@
+package de.feu.ps.bridges.model;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * @author Tim Gremplewski
+ */
+public class IntervalBridgeOccupancyTest extends BridgeOccupancyTest {
+
+    @Override
+    protected BridgeOccupancy createOccupancy(final int columns, final int rows) {
+        return new IntervalBridgeOccupancy();
+    }
+
+    @Test
+    public void testIsAnyFieldOccupiedParallel() {
+        final BridgeOccupancy occupancy = new IntervalBridgeOccupancy();
+        occupancy.occupy(new Position(2, 3), new Position(6, 3));
+        occupancy.occupy(new Position(10, 3), new Position(14, 3));
+
+        assertTrue("Expected an occupied field.", occupancy.isAnyFieldOccupied(new Position(0, 3), new Position(3, 3)));
+        assertTrue("Expected an occupied field.", occupancy.isAnyFieldOccupied(new Position(12, 3), new Position(12, 3)));
+        assertTrue("Expected an occupied field.", occupancy.isAnyFieldOccupied(new Position(0, 3), new Position(20, 3)));
+        assertFalse("Expected no occupied field.", occupancy.isAnyFieldOccupied(new Position(6, 3), new Position(10, 3)));
+        assertFalse("Expected no occupied field.", occupancy.isAnyFieldOccupied(new Position(0, 3), new Position(2, 3)));
+        assertFalse("Expected no occupied field.", occupancy.isAnyFieldOccupied(new Position(14, 3), new Position(20, 3)));
+    }
+
+    @Test
+    public void testOccupyNeighbours() {
+        final BridgeOccupancy occupancy = new IntervalBridgeOccupancy();
+        occupancy.occupy(new Position(2, 3), new Position(3, 3));
+
+        assertFalse("Expected no occupied field.", occupancy.isAnyFieldOccupied(new Position(0, 3), new Position(9, 3)));
+
+        occupancy.release(new Position(2, 3), new Position(3, 3));
+        assertFalse("Expected no occupied field.", occupancy.isAnyFieldOccupied(new Position(0, 3), new Position(9, 3)));
+    }
+}
@@ -0,0 +1,49 @@
+package de.feu.ps.bridges.model;
+
+import org.junit.Test;
+
+import java.util.Optional;
+
+import static org.hamcrest.core.Is.is;
+import static org.junit.Assert.*;
+
+/**
+ * Tests of the puzzle for large boards, see {@link ModifiablePuzzleFactory#createLargePuzzle(int, int)}.
+ *
+ * @author Tim Gremplewski
+ */
+public class LargeBoardPuzzleTest extends ModifiablePuzzleTest {
+
+    @Override
+    protected ModifiablePuzzle createPuzzle(final int columns, final int rows) {
+        return ModifiablePuzzleFactory.createLargePuzzle(columns, rows);
+    }
+
+    @Test
+    public void testLargeBoard() {
+        ModifiablePuzzle puzzle = ModifiablePuzzleFactory.createLargePuzzle(100000, 50000);
+        Island island1 = puzzle.buildIsland(new Position(99999, 10), 2);
+        Island island2 = puzzle.buildIsland(new Position(99999, 49999), 2);
+        Island island3 = puzzle.buildIsland(new Position(0, 10), 2);
+
+        assertEquals("Unexpected neighbour.", Optional.of(island2), island1.getNeighbour(Direction.SOUTH));
+        assertEquals("Unexpected neighbour.", Optional.of(island3), island1.getNeighbour(Direction.WEST));
+        assertEquals("Unexpected island.", Optional.of(island2), puzzle.getIslandAt(new Position(99999, 49999)));
+        assertSame("Unexpected right and uppermost island.", island1, puzzle.getRightAndUppermostIsland());
+        assertSame("Unexpected left and uppermost island.", island3, puzzle.getLeftAndUppermostIsland());
+        assertTrue("Expected a field next to an island.", puzzle.isAdjacentToIsland(99998, 10));
+        assertFalse("Unexpected field next to an island.", puzzle.isAdjacentToIsland(99997, 10));
+
+        puzzle.buildBridge(island1, island3);
+        assertTrue("Expected an occupied field.", puzzle.isAnyFieldOccupiedByBridge(new Position(50000, 0), new Position(50000, 20)));
+        assertSame("Expected the same bridge.", puzzle.buildBridge(island3, island1), puzzle.tearDownBridge(island1, island3).get());
+        assertEquals("Unexpected amount of bridges.", 1, puzzle.getBridges().size());
+    }
+
+    @Test
+    public void testLargeBoardColumnsThree() {
+        expectedException.expect(IllegalArgumentException.class);
+        expectedException.expectMessage(is("Parameter 'columns' must not be less than 4."));
+        ModifiablePuzzleFactory.createLargePuzzle(3, 5);
+    }
+}
@@ -0,0 +1,681 @@
+package de.feu.ps.bridges.model;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.hamcrest.core.Is.is;
+import static org.junit.Assert.*;
+
+/**
+ * Tests that every implementation of {@link ModifiablePuzzle} has to pass.
+ *
+ * @author Tim Gremplewski
+ */
+public abstract class ModifiablePuzzleTest {
+
+    @Rule
+    public ExpectedException expectedException = ExpectedException.none();
+
+    @Before
+    public void setUp() {
+        DefaultIsland.setConsistencyCheckEnabled(true);
+    }
+
+    @After
+    public void tearDown() {
+        DefaultIsland.setConsistencyCheckEnabled(false);
+    }
+
+    /**
+     * Create a new empty puzzle of the implementation under test.
+     * @param columns number of columns.
+     * @param rows number of rows.
+     * @return the new puzzle.
+     */
+    protected abstract ModifiablePuzzle createPuzzle(int columns, int rows);
+
+    @Test
+    public void testBuildBridgeIsland1Null() {
+        expectedException.expect(NullPointerException.class);
+        expectedException.expectMessage(is("Parameter 'island1' must not be null."));
+        ModifiablePuzzle puzzle = createPuzzle(10, 10);
+        Island island = puzzle.buildIsland(new Position(0, 0), 5);
+        puzzle.buildBridge(null, island);
+    }
+
+    @Test
+    public void testBuildBridgeIsland1Unknown() {
+        expectedException.expect(IllegalArgumentException.class);
+        expectedException.expectMessage(is("Island1 is not part of this puzzle."));
+        ModifiablePuzzle puzzle = createPuzzle(10, 10);
+        Island island2 = puzzle.buildIsland(new Position(0, 0), 5);
+
+        ModifiablePuzzle puzzle2 = createPuzzle(10, 10);
+        Island island1 = puzzle2.buildIsland(new Position(0, 0), 5);
+
+        puzzle.buildBridge(island1, island2);
+    }
+
+    @Test
+    public void testBuildBridgeIsland2Unknown() {
+        expectedException.expect(IllegalArgumentException.class);
+        expectedException.expectMessage(is("Island2 is not part of this puzzle."));
+        ModifiablePuzzle puzzle = createPuzzle(10, 10);
+        Island island1 = puzzle.buildIsland(new Position(0, 0), 5);
+
+        ModifiablePuzzle puzzle2 = createPuzzle(10, 10);
+        Island island2 = puzzle2.buildIsland(new Position(0, 0), 5);
+
+        puzzle.buildBridge(island1, island2);
+    }
+
+    @Test
+    public void testBuildBridgeIsland2Null() {
+        expectedException.expect(NullPointerException.class);
+        expectedException.expectMessage(is("Parameter 'island2' must not be null."));
+        ModifiablePuzzle puzzle = createPuzzle(10, 10);
+        Island island = puzzle.buildIsland(new Position(0, 0), 5);
+        puzzle.buildBridge(island, null);
+    }
+
+    @Test
+    public void testBuildFirstBridge() {
+        ModifiablePuzzle puzzle = createPuzzle(10, 10);
+        Island island1 = puzzle.buildIsland(new Position(0, 0), 5);
+        Island island2 = puzzle.buildIsland(new Position(0, 5), 5);
+        Bridge bridge = puzzle.buildBridge(island1, island2);
+        assertNotNull("Built bridge is null.", bridge);
+        Set<Island> bridgedIslands = bridge.getBridgedIslands();
+        assertEquals("Unexpected number of bridged islands.", 2, bridgedIslands.size());
+        assertTrue("Bridge does not bridge expected islands.", bridgedIslands.containsAll(Arrays.asList(island1, island2)));
+        assertFalse("Bridge is unexpectedly a double bridge.", bridge.isDoubleBridge());
+    }
+
+    @Test
+    public void testBuildSecondBridge() {
+        ModifiablePuzzle puzzle = createPuzzle(10, 10);
+        Island island1 = puzzle.buildIsland(new Position(0, 0), 5);
+        Island island2 = puzzle.buildIsland(new Position(0, 5), 5);
+        puzzle.buildBridge(island1, island2);
+        Bridge bridge = puzzle.buildBridge(island1, island2);
+        assertNotNull("Built bridge is null.", bridge);
+        Set<Island> bridgedIslands = bridge.getBridgedIslands();
+        assertEquals("Unexpected number of bridged islands.", 2, bridgedIslands.size());
+        assertTrue("Bridge does not bridge expected islands.", bridgedIslands.containsAll(Arrays.asList(island1, island2)));
+        assertTrue("Bridge is unexpectedly not a double bridge.", bridge.isDoubleBridge());
+    }
+
+    @Test
+    public void testBuildThirdBridge() {
+        expectedException.expect(IllegalStateException.class);
+        expectedException.expectMessage(is("Two bridges already exist between the given islands."));
+        ModifiablePuzzle puzzle = createPuzzle(10, 10);
+        Island island1 = puzzle.buildIsland(new Position(0, 0), 5);
+        Island island2 = puzzle.buildIsland(new Position(0, 5), 5);
+        puzzle.buildBridge(island1, island2);
+        puzzle.buildBridge(island1, island2);
+        puzzle.buildBridge(island1, island2);
+    }
+
+    @Test
+    public void testBuildBridgeNullPosition() {
+        expectedException.expect(NullPointerException.class);
+        expectedException.expectMessage(is("Parameter 'position' must not be null."));
+        ModifiablePuzzle puzzle = createPuzzle(10, 10);
+        puzzle.buildIsland(null, 5);
+    }
+
+    @Test
+    public void testBuildBridgeInvalidColumn() {
+        expectedException.expect(IllegalArgumentException.class);
+        expectedException.expectMessage(is("The puzzle does not have this column: 11"));
+        ModifiablePuzzle puzzle = createPuzzle(10, 10);
+        puzzle.buildIsland(new Position(11, 0), 5);
+    }
+
+    @Test
+    public void testBuildBridgeInvalidRow() {
+        expectedException.expect(IllegalArgumentException.class);
+        expectedException.expectMessage(is("The puzzle does not have this row: 11"));
+        ModifiablePuzzle puzzle = createPuzzle(10, 10);
+        puzzle.buildIsland(new Position(0, 11), 5);
+    }
+
+    @Test
+    public void testBuildIslandAlreadyExists() {
+        expectedException.expect(IllegalStateException.class);
+        expectedException.expectMessage(is("An island already exists at the given position."));
+        ModifiablePuzzle puzzle = createPuzzle(10, 10);
+        puzzle.buildIsland(new Position(0, 0), 5);
+        puzzle.buildIsland(new Position(0, 0), 3);
+    }
+
+    @Test
+    public void testBuildIsland() {
+        ModifiablePuzzle puzzle = createPuzzle(10, 10);
+        Position position = new Position(0, 0);
+        Island island = puzzle.buildIsland(position, 5);
+        assertNotNull("Built island is null.", island);
+        assertEquals("Island is at wrong position.", position, island.getPosition());
+    }
+
+    @Test
+    public void testBuildIslandIndex() {
+        ModifiablePuzzle puzzle = createPuzzle(10, 10);
+        Island island1 = puzzle.buildIsland(new Position(5, 5), 5);
+        Island island2 = puzzle.buildIsland(new Position(0, 0), 5);
+        assertEquals("Unexpected index.", 0, island1.getIndex());
+        assertEquals("Unexpected index.", 1, island2.getIndex());
+    }
+
+    @Test
+    public void getBridges() {
+        ModifiablePuzzle puzzle = createPuzzle(10, 10);
+        Island island1 = puzzle.buildIsland(new Position(0, 0), 5);
+        Island island2 = puzzle.buildIsland(new Position(0, 5), 5);
+        Island island3 = puzzle.buildIsland(new Position(5, 0), 5);
+        puzzle.buildBridge(island1, island2);
+        Bridge bridge1 = puzzle.buildBridge(island1, island2);
+        Bridge bridge2 = puzzle.buildBridge(island1, island3);
+        Set<Bridge> bridges = puzzle.getBridges();
+        assertNotNull("Bridges is unexpectedly null.", bridges);
+        assertEquals("Unexpected amount of bridges.", 2, bridges.size());
+        assertTrue("Expected bridge not found.", bridges.containsAll(Arrays.asList(bridge1, bridge2)));
+    }
+
+    @Test
+    public void getColumnsCount() {
+        ModifiablePuzzle puzzle = createPuzzle(10, 5);
+        assertEquals("Unexpected columns count.", 10, puzzle.getColumnsCount());
+    }
+
+    @Test
+    public void getIslands() {
+        ModifiablePuzzle puzzle = createPuzzle(10, 10);
+        Island island1 = puzzle.buildIsland(new Position(0, 0), 5);
+        Island island2 = puzzle.buildIsland(new Position(0, 5), 5);
+        Island island3 = puzzle.buildIsland(new Position(5, 0), 5);
+
+        Set<Island> islands = puzzle.getIslands();
+        assertNotNull("Islands is unexpectedly null.", islands);
+        assertEquals("Unexpected amount of islands.", 3, islands.size());
+        assertTrue("Expected island not found.", islands.containsAll(Arrays.asList(island1, island2, island3)));
+    }
+
+    @Test
+    public void getRowsCount() {
+        ModifiablePuzzle puzzle = createPuzzle(10, 5);
+        assertEquals("Unexpected rows count.", 5, puzzle.getRowsCount());
+    }
+
+    @Test
+    public void removeAllBridges() {
+        ModifiablePuzzle puzzle = createPuzzle(10, 10);
+        Island island1 = puzzle.buildIsland(new Position(0, 0), 5);
+        Island island2 = puzzle.buildIsland(new Position(0, 5), 5);
+        Island island3 = puzzle.buildIsland(new Position(5, 0), 5);
+        puzzle.buildBridge(island1, island2);
+        puzzle.buildBridge(island1, island2);
+        puzzle.buildBridge(island1, island3);
+
+        puzzle.removeAllBridges();
+        Set<Bridge> bridges = puzzle.getBridges();
+        assertNotNull("Bridges is unexpectedly null.", bridges);
+        assertTrue("Bridges unexpectedly not empty.", bridges.isEmpty());
+
+        assertTrue("Bridges unexpectedly not empty.", island1.getBridges().isEmpty());
+        assertTrue("Bridges unexpectedly not empty.", island2.getBridges().isEmpty());
+        assertTrue("Bridges unexpectedly not empty.", island3.getBridges().isEmpty());
+    }
+
+    @Test
+    public void testTearDownBridgeIsland1Null() {
+        // TODO: Refactor to have less duplicate code with testBuildBridge-Counterpart
+        expectedException.expect(NullPointerException.class);
+        expectedException.expectMessage(is("Parameter 'island1' must not be null."));
+        ModifiablePuzzle puzzle = createPuzzle(10, 10);
+        Island island = puzzle.buildIsland(new Position(0, 0), 5);
+        puzzle.tearDownBridge(null, island);
+    }
+
+    @Test
+    public void testTearDownBridgeIsland1Unknown() {
+        expectedException.expect(IllegalArgumentException.class);
+        expectedException.expectMessage(is("Island1 is not part of this puzzle."));
+        ModifiablePuzzle puzzle = createPuzzle(10, 10);
+        Island island2 = puzzle.buildIsland(new Position(0, 0), 5);
+
+        ModifiablePuzzle puzzle2 = createPuzzle(10, 10);
+        Island island1 = puzzle2.buildIsland(new Position(0, 0), 5);
+
+        puzzle.tearDownBridge(island1, island2);
+    }
+
+    @Test
+    public void testTearDownBridgeIsland2Unknown() {
+        expectedException.expect(IllegalArgumentException.class);
+        expectedException.expectMessage(is("Island2 is not part of this puzzle."));
+        ModifiablePuzzle puzzle = createPuzzle(10, 10);
+        Island island1 = puzzle.buildIsland(new Position(0, 0), 5);
+
+        ModifiablePuzzle puzzle2 = createPuzzle(10, 10);
+        Island island2 = puzzle2.buildIsland(new Position(0, 0), 5);
+
+        puzzle.tearDownBridge(island1, island2);
+    }
+
+    @Test
+    public void testTearDownBridgeIsland2Null() {
+        expectedException.expect(NullPointerException.class);
+        expectedException.expectMessage(is("Parameter 'island2' must not be null."));
+        ModifiablePuzzle puzzle = createPuzzle(10, 10);
+        Island island = puzzle.buildIsland(new Position(0, 0), 5);
+        puzzle.tearDownBridge(island, null);
+    }
+
+    @Test
+    public void testTearDownNonExistingBridge() {
+        ModifiablePuzzle puzzle = createPuzzle(10, 10);
+        Island island = puzzle.buildIsland(new Position(0, 0), 5);
+        Island island2 = puzzle.buildIsland(new Position(0, 5), 5);
+        Optional<Bridge> optional = puzzle.tearDownBridge(island, island2);
+        assertFalse("Expected no bridge to be torn down.", optional.isPresent());
+    }
+
+    @Test
+    public void testTearDownSingleBridge() {
+        ModifiablePuzzle puzzle = createPuzzle(10, 10);
+        Island island = puzzle.buildIsland(new Position(0, 0), 5);
+        Island island2 = puzzle.buildIsland(new Position(0, 5), 5);
+        Island island3 = puzzle.buildIsland(new Position(5, 0), 5);
+
+        Bridge bridge = puzzle.buildBridge(island, island2);
+        Bridge bridge2 = puzzle.buildBridge(island, island3);
+
+        Optional<Bridge> optionalBridge = puzzle.tearDownBridge(island, island2);
+        assertTrue("Expected bridge to be torn down.", optionalBridge.isPresent());
+        assertEquals("Unexpected torn down bridge.", bridge, optionalBridge.get());
+
+        Set<Bridge> bridges = puzzle.getBridges();
+        assertEquals("Unexpected number of bridges.", 1, bridges.size());
+        assertTrue("Expected bridge not found.", bridges.contains(bridge2));
+    }
+
+    @Test
+    public void testTearDownDoubleBridge() {
+        ModifiablePuzzle puzzle = createPuzzle(10, 10);
+        Island island = puzzle.buildIsland(new Position(0, 0), 5);
+        Island island2 = puzzle.buildIsland(new Position(0, 5), 5);
+        Island island3 = puzzle.buildIsland(new Position(5, 0), 5);
+
+        puzzle.buildBridge(island, island2);
+        Bridge bridge = puzzle.buildBridge(island, island2);
+        Bridge bridge2 = puzzle.buildBridge(island, island3);
+
+        Optional<Bridge> optionalBridge = puzzle.tearDownBridge(island, island2);
+        assertTrue("Expected bridge to be torn down.", optionalBridge.isPresent());
+        assertEquals("Unexpected torn down bridge.", bridge, optionalBridge.get());
+
+        Set<Bridge> bridges = puzzle.getBridges();
+        assertEquals("Unexpected number of bridges.", 2, bridges.size());
+        assertTrue("Expected bridge not found.", bridges.containsAll(Arrays.asList(bridge, bridge2)));
+        assertFalse("Expected single bridge.", bridge.isDoubleBridge());
+    }
+
+    @Test
+    public void testForEachIsland() {
+        ModifiablePuzzle puzzle = createPuzzle(10, 10);
+        Island island1 = puzzle.buildIsland(new Position(0, 0), 5);
+        Island island2 = puzzle.buildIsland(new Position(0, 5), 5);
+
+        Set<Island> visitedIslands = new HashSet<>();
+        puzzle.forEachIsland(visitedIslands::add);
+
+        assertEquals("Unexpected islands.", new HashSet<>(Arrays.asList(island1, island2)), visitedIslands);
+        assertEquals("Unexpected islands count.", 2, puzzle.getIslandsCount());
+        assertTrue("Expected island to belong to puzzle.", puzzle.containsIsland(island1));
+        assertFalse("Expected island not to belong to puzzle.",
+                puzzle.containsIsland(createPuzzle(10, 10).buildIsland(new Position(0, 0), 5)));
+    }
+
+    @Test
+    public void testForEachBridge() {
+        ModifiablePuzzle puzzle = createPuzzle(10, 10);
+        Island island1 = puzzle.buildIsland(new Position(0, 0), 5);
+        Island island2 = puzzle.buildIsland(new Position(0, 5), 5);
+        Island island3 = puzzle.buildIsland(new Position(5, 0), 5);
+
+        Bridge bridge1 = puzzle.buildBridge(island1, island2);
+        Bridge bridge2 = puzzle.buildBridge(island3, island1);
+
+        Set<Bridge> visitedBridges = new HashSet<>();
+        puzzle.forEachBridge(visitedBridges::add);
+
+        assertEquals("Unexpected bridges.", new HashSet<>(Arrays.asList(bridge1, bridge2)), visitedBridges);
+    }
+
+    @Test
+    public void testAnyIslandMatches() {
+        ModifiablePuzzle puzzle = createPuzzle(10, 10);
+        Island island1 = puzzle.buildIsland(new Position(0, 0), 1);
+        Island island2 = puzzle.buildIsland(new Position(0, 5), 1);
+
+        assertFalse("Expected no bridge.", puzzle.anyBridgeMatches(bridge -> true));
+        puzzle.buildBridge(island1, island2);
+
+        assertTrue("Expected matching bridge.", puzzle.anyBridgeMatches(Bridge::isVertical));
+        assertFalse("Expected no matching bridge.", puzzle.anyBridgeMatches(Bridge::isDoubleBridge));
+        assertFalse("Expected no unfinished island.", puzzle.anyIslandMatches(island -> island.getRemainingBridges() > 0));
+        assertTrue("Expected matching island.", puzzle.anyIslandMatches(island -> island == island2));
+    }
+
+    @Test
+    public void testForEachIslandNullAction() {
+        expectedException.expect(NullPointerException.class);
+        expectedException.expectMessage(is("Parameter 'action' must not be null."));
+        createPuzzle(10, 10).forEachIsland(null);
+    }
+
+    @Test
+    public void testBridgeOccupiesFields() {
+        ModifiablePuzzle puzzle = createPuzzle(10, 10);
+        Island island1 = puzzle.buildIsland(new Position(0, 5), 5);
+        Island island2 = puzzle.buildIsland(new Position(8, 5), 5);
+        Position north = new Position(4, 0);
+        Position south = new Position(4, 9);
+
+        puzzle.buildBridge(island1, island2);
+        assertTrue("Expected an occupied field.", puzzle.isAnyFieldOccupiedByBridge(north, south));
+
+        puzzle.buildBridge(island1, island2);
+        puzzle.tearDownBridge(island1, island2);
+        assertTrue("Expected an occupied field.", puzzle.isAnyFieldOccupiedByBridge(north, south));
+
+        puzzle.tearDownBridge(island1, island2);
+        assertFalse("Expected no occupied field.", puzzle.isAnyFieldOccupiedByBridge(north, south));
+
+        puzzle.buildBridge(island1, island2);
+        puzzle.removeAllBridges();
+        assertFalse("Expected no occupied field.", puzzle.isAnyFieldOccupiedByBridge(north, south));
+    }
+
+    @Test
+    public void testGetIslandAt() {
+        ModifiablePuzzle puzzle = createPuzzle(10, 10);
+        Island island = puzzle.buildIsland(new Position(3, 5), 5);
+
+        assertEquals("Unexpected island.", Optional.of(island), puzzle.getIslandAt(new Position(3, 5)));
+        assertFalse("Expected no island.", puzzle.getIslandAt(new Position(5, 3)).isPresent());
+    }
+
+    @Test
+    public void testBuildIslandOnBridge() {
+        expectedException.expect(IllegalStateException.class);
+        expectedException.expectMessage(is("An island cannot be built on an existing bridge."));
+        ModifiablePuzzle puzzle = createPuzzle(10, 10);
+        Island island1 = puzzle.buildIsland(new Position(0, 0), 5);
+        Island island2 = puzzle.buildIsland(new Position(0, 8), 5);
+        puzzle.buildBridge(island1, island2);
+        puzzle.buildIsland(new Position(0, 4), 5);
+    }
+
+    @Test
+    public void testBridgeStateHash() {
+        ModifiablePuzzle puzzle = createPuzzle(10, 10);
+        Island island1 = puzzle.buildIsland(new Position(0, 0), 4);
+        Island island2 = puzzle.buildIsland(new Position(5, 0), 4);
+        Island island3 = puzzle.buildIsland(new Position(0, 5), 4);
+        assertEquals("Unexpected hash of a puzzle without bridges.", 0, puzzle.getBridgeStateHash());
+
+        puzzle.buildBridge(island1, island2);
+        long singleBridgeHash = puzzle.getBridgeStateHash();
+        assertNotEquals("Expected hash to change.", 0, singleBridgeHash);
+
+        puzzle.buildBridge(island2, island1);
+        assertNotEquals("Expected hash to change.", singleBridgeHash, puzzle.getBridgeStateHash());
+
+        puzzle.buildBridge(island1, island3);
+        puzzle.tearDownBridge(island3, island1);
+        puzzle.tearDownBridge(island1, island2);
+        assertEquals("Expected hash of the previous state.", singleBridgeHash, puzzle.getBridgeStateHash());
+
+        puzzle.removeAllBridges();
+        assertEquals("Unexpected hash of a puzzle without bridges.", 0, puzzle.getBridgeStateHash());
+    }
+
+    @Test
+    public void testBridgeStateHashIndependentOfOrder() {
+        ModifiablePuzzle puzzle1 = createPuzzle(10, 10);
+        Island island1 = puzzle1.buildIsland(new Position(0, 0), 4);
+        Island island2 = puzzle1.buildIsland(new Position(5, 0), 4);
+        Island island3 = puzzle1.buildIsland(new Position(0, 5), 4);
+        puzzle1.buildBridge(island1, island2);
+        puzzle1.buildBridge(island1, island3);
+
+        ModifiablePuzzle puzzle2 = createPuzzle(10, 10);
+        Island island4 = puzzle2.buildIsland(new Position(0, 5), 4);
+        Island island5 = puzzle2.buildIsland(new Position(5, 0), 4);
+        Island island6 = puzzle2.buildIsland(new Position(0, 0), 4);
+        puzzle2.buildBridge(island4, island6);
+        puzzle2.buildBridge(island5, island6);
+
+        assertEquals("Expected equal hashes.", puzzle1.getBridgeStateHash(), puzzle2.getBridgeStateHash());
+        assertEquals("Expected equal hashes.", puzzle1.getLayoutHash(), puzzle2.getLayoutHash());
+    }
+
+    @Test
+    public void testLayoutHash() {
+        ModifiablePuzzle puzzle = createPuzzle(10, 10);
+        AdjustableIsland island = (AdjustableIsland) puzzle.buildIsland(new Position(0, 0), 4);
+        Island otherIsland = puzzle.buildIsland(new Position(5, 0), 4);
+        long layoutHash = puzzle.getLayoutHash();
+
+        puzzle.buildBridge(island, otherIsland);
+        assertEquals("Bridges must not change the layout hash.", layoutHash, puzzle.getLayoutHash());
+
+        island.setRequiredBridges(3);
+        assertNotEquals("Expected hash to change.", layoutHash, puzzle.getLayoutHash());
+
+        island.setRequiredBridges(4);
+        assertEquals("Expected hash of the previous layout.", layoutHash, puzzle.getLayoutHash());
+    }
+
+    @Test
+    public void testLayoutVersion() {
+        ModifiablePuzzle puzzle = createPuzzle(10, 10);
+        AdjustableIsland island = (AdjustableIsland) puzzle.buildIsland(new Position(0, 0), 4);
+        Island otherIsland = puzzle.buildIsland(new Position(5, 0), 4);
+        long layoutVersion = puzzle.getLayoutVersion();
+
+        puzzle.buildBridge(island, otherIsland);
+        assertEquals("Bridges must not change the layout version.", layoutVersion, puzzle.getLayoutVersion());
+
+        island.setRequiredBridges(3);
+        assertNotEquals("Expected version to change.", layoutVersion, puzzle.getLayoutVersion());
+    }
+
+    @Test
+    public void testAreAllIslandsConnected() {
+        ModifiablePuzzle puzzle = createPuzzle(10, 10);
+        assertTrue("Expected a puzzle without islands to be connected.", puzzle.areAllIslandsConnected());
+
+        Island island1 = puzzle.buildIsland(new Position(0, 0), 4);
+        Island island2 = puzzle.buildIsland(new Position(5, 0), 4);
+        Island island3 = puzzle.buildIsland(new Position(0, 5), 4);
+        Island island4 = puzzle.buildIsland(new Position(5, 5), 4);
+        assertFalse("Unexpected connection.", puzzle.areAllIslandsConnected());
+
+        puzzle.buildBridge(island1, island2);
+        puzzle.buildBridge(island2, island4);
+        puzzle.buildBridge(island4, island3);
+        assertTrue("Expected all islands to be connected.", puzzle.areAllIslandsConnected());
+
+        puzzle.buildBridge(island1, island3);
+        puzzle.tearDownBridge(island2, island4);
+        assertTrue("Expected all islands to be connected.", puzzle.areAllIslandsConnected());
+
+        puzzle.tearDownBridge(island1, island3);
+        assertFalse("Unexpected connection.", puzzle.areAllIslandsConnected());
+
+        puzzle.removeAllBridges();
+        assertFalse("Unexpected connection.", puzzle.areAllIslandsConnected());
+    }
+
+    @Test
+    public void testGetModificationCount() {
+        ModifiablePuzzle puzzle = createPuzzle(10, 10);
+        assertEquals("Unexpected modification count.", 0, puzzle.getModificationCount());
+
+        Island island1 = puzzle.buildIsland(new Position(0, 0), 4);
+        Island island2 = puzzle.buildIsland(new Position(5, 0), 4);
+        assertEquals("Unexpected modification count.", 2, puzzle.getModificationCount());
+
+        puzzle.buildBridge(island1, island2);
+        puzzle.buildBridge(island1, island2);
+        assertEquals("Unexpected modification count.", 4, puzzle.getModificationCount());
+
+        puzzle.tearDownBridge(island1, island2);
+        assertEquals("Unexpected modification count.", 5, puzzle.getModificationCount());
+
+        puzzle.removeAllBridges();
+        assertEquals("Unexpected modification count.", 6, puzzle.getModificationCount());
+
+        puzzle.tearDownBridge(island1, island2);
+        assertEquals("A failed tear down must not count.", 6, puzzle.getModificationCount());
+    }
+
+    @Test
+    public void testIsAdjacentToIsland() {
+        ModifiablePuzzle puzzle = createPuzzle(10, 10);
+        puzzle.buildIsland(new Position(0, 0), 2);
+        puzzle.buildIsland(new Position(5, 5), 2);
+
+        assertTrue("Expected an adjacent island.", puzzle.isAdjacentToIsland(1, 0));
+        assertTrue("Expected an adjacent island.", puzzle.isAdjacentToIsland(0, 1));
+        assertTrue("Expected an adjacent island.", puzzle.isAdjacentToIsland(5, 4));
+        assertTrue("Expected an adjacent island.", puzzle.isAdjacentToIsland(6, 5));
+        assertTrue("Expected an adjacent island.", puzzle.isAdjacentToIsland(5, 6));
+        assertTrue("Expected an adjacent island.", puzzle.isAdjacentToIsland(4, 5));
+        assertFalse("Diagonal fields are not adjacent.", puzzle.isAdjacentToIsland(6, 6));
+        assertFalse("An island is not adjacent to itself.", puzzle.isAdjacentToIsland(5, 5));
+        assertFalse("Fields outside of the puzzle are not adjacent.", puzzle.isAdjacentToIsland(-1, 0));
+        assertFalse("Fields outside of the puzzle are not adjacent.", puzzle.isAdjacentToIsland(10, 0));
+    }
+
+    @Test
+    public void testChangeListener() {
+        ModifiablePuzzle puzzle = createPuzzle(10, 10);
+        List<String> changes = new ArrayList<>();
+        PuzzleChangeListener listener = new PuzzleChangeListener() {
+            @Override
+            public void bridgeBuilt(Puzzle puzzle, Island island1, Island island2, int multiplicity) {
+                changes.add("built " + island1.getIndex() + " " + island2.getIndex() + " " + multiplicity);
+            }
+
+            @Override
+            public void bridgeTornDown(Puzzle puzzle, Island island1, Island island2, int multiplicity) {
+                changes.add("torn down " + island1.getIndex() + " " + island2.getIndex() + " " + multiplicity);
+            }
+
+            @Override
+            public void islandAdded(Puzzle puzzle, Island island) {
+                changes.add("island " + island.getIndex());
+            }
+
+            @Override
+            public void allBridgesRemoved(Puzzle puzzle) {
+                changes.add("reset");
+            }
+        };
+        puzzle.addChangeListener(listener);
+        puzzle.addChangeListener(listener);
+
+        Island island1 = puzzle.buildIsland(new Position(0, 0), 4);
+        Island island2 = puzzle.buildIsland(new Position(5, 0), 4);
+        puzzle.buildBridge(island1, island2);
+        puzzle.buildBridge(island1, island2);
+        puzzle.tearDownBridge(island1, island2);
+        puzzle.tearDownBridge(island1, island2);
+        puzzle.tearDownBridge(island1, island2);
+        puzzle.buildBridge(island2, island1);
+        puzzle.removeAllBridges();
+        puzzle.removeChangeListener(listener);
+        puzzle.buildIsland(new Position(5, 5), 4);
+
+        assertEquals("Unexpected changes.", Arrays.asList("island 0", "island 1", "built 0 1 1", "built 0 1 2",
+                "torn down 0 1 1", "torn down 0 1 0", "built 1 0 1", "reset"), changes);
+    }
+
+    @Test
+    public void testNeighboursAreLinked() {
+        ModifiablePuzzle puzzle = createPuzzle(10, 10);
+        Island island1 = puzzle.buildIsland(new Position(0, 0), 5);
+        Island island2 = puzzle.buildIsland(new Position(0, 8), 5);
+        Island island3 = puzzle.buildIsland(new Position(0, 4), 5);
+
+        assertEquals("Unexpected south neighbour.", Optional.of(island3), island1.getNeighbour(Direction.SOUTH));
+        assertEquals("Unexpected north neighbour.", Optional.of(island3), island2.getNeighbour(Direction.NORTH));
+        assertEquals("Unexpected distance.", 4, island3.getDistanceToNeighbour(Direction.NORTH));
+    }
+
+    @Test
+    public void testBridgeCounts() {
+        ModifiablePuzzle puzzle = createPuzzle(10, 10);
+        Island island1 = puzzle.buildIsland(new Position(0, 0), 5);
+        Island island2 = puzzle.buildIsland(new Position(0, 5), 3);
+        Island island3 = puzzle.buildIsland(new Position(5, 0), 2);
+
+        puzzle.buildBridge(island1, island2);
+        puzzle.buildBridge(island2, island1);
+        puzzle.buildBridge(island3, island1);
+
+        assertEquals("Unexpected actual bridges.", 3, island1.getActualBridgesCount());
+        assertEquals("Unexpected remaining bridges.", 1, island2.getRemainingBridges());
+        assertEquals("Unexpected remaining bridges.", 1, island3.getRemainingBridges());
+        assertTrue("Expected bridge to neighbour.", island1.isBridgedToNeighbour(Direction.EAST));
+
+        puzzle.tearDownBridge(island1, island2);
+        assertEquals("Unexpected actual bridges.", 2, island1.getActualBridgesCount());
+        assertEquals("Unexpected actual bridges.", 1, island2.getActualBridgesCount());
+    }
+
+    @Test
+    public void testBridgeViewIsShared() {
+        ModifiablePuzzle puzzle = createPuzzle(10, 10);
+        Island island1 = puzzle.buildIsland(new Position(0, 0), 5);
+        Island island2 = puzzle.buildIsland(new Position(0, 5), 5);
+
+        Bridge bridge1 = puzzle.buildBridge(island1, island2);
+        Bridge bridge2 = puzzle.buildBridge(island2, island1);
+
+        assertSame("Expected the same bridge.", bridge1, bridge2);
+        assertEquals("Unexpected bridge.", Optional.of(bridge1), island2.getBridgeTo(island1));
+        assertTrue("Expected vertical bridge.", bridge1.isVertical());
+    }
+
+    @Test
+    public void testBridgeConnects() {
+        ModifiablePuzzle puzzle = createPuzzle(10, 10);
+        // Build the eastern island first, so that the ids are not ordered like the positions
+        Island island2 = puzzle.buildIsland(new Position(5, 0), 2);
+        Island island1 = puzzle.buildIsland(new Position(0, 0), 2);
+        Island island3 = puzzle.buildIsland(new Position(0, 5), 2);
+        Bridge bridge = puzzle.buildBridge(island2, island1);
+
+        assertTrue("Expected bridge to connect the islands.", bridge.connects(island1, island2));
+        assertTrue("Expected bridge to connect the islands in reverse order.", bridge.connects(island2, island1));
+        assertFalse("Expected bridge not to connect other islands.", bridge.connects(island1, island3));
+        assertSame("Unexpected other end of island1.", island2, bridge.otherEnd(island1));
+        assertSame("Unexpected other end of island2.", island1, bridge.otherEnd(island2));
+    }
+}
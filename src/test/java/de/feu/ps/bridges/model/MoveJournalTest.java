@@ -0,0 +1,197 @@
+package de.feu.ps.bridges.model;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.hamcrest.core.Is.is;
+import static org.junit.Assert.*;
+
+/**
+ * @author Tim Gremplewski
+ */
+public class MoveJournalTest {
+
+    @Rule
+    public ExpectedException expectedException = ExpectedException.none();
+
+    private ModifiablePuzzle puzzle;
+    private MoveJournal journal;
+    private Island island1;
+    private Island island2;
+    private Island island3;
+    private List<int[]> events;
+
+    @Before
+    public void setUp() {
+        puzzle = ModifiablePuzzleFactory.createPuzzle(10, 10);
+        island1 = puzzle.buildIsland(new Position(0, 0), 4);
+        island2 = puzzle.buildIsland(new Position(5, 0), 4);
+        island3 = puzzle.buildIsland(new Position(0, 5), 4);
+        journal = MoveJournal.createJournal(puzzle);
+        events = new ArrayList<>();
+        journal.addListener((changedJournal, oldPosition, newPosition) -> events.add(new int[] {oldPosition, newPosition}));
+    }
+
+    @Test
+    public void testCreateJournalNull() {
+        expectedException.expect(NullPointerException.class);
+        expectedException.expectMessage(is("Parameter 'puzzle' must not be null."));
+        MoveJournal.createJournal(null);
+    }
+
+    @Test
+    public void testBuildBridge() {
+        Bridge bridge = journal.buildBridge(island1, island2);
+        assertEquals("Unexpected amount of moves.", 1, journal.size());
+        assertEquals("Unexpected position.", 1, journal.mark());
+        assertTrue("Expected the move to build a bridge.", journal.isBuilt(0));
+        // The islands of a move are ordered by their ids within the journal
+        assertTrue("Unexpected islands.", bridge.connects(journal.getIsland1(0), journal.getIsland2(0)));
+        assertTrue("Expected the bridge to be built.", puzzle.getBridges().contains(bridge));
+    }
+
+    @Test
+    public void testBuildBridgeUnknownIsland() {
+        expectedException.expect(IllegalArgumentException.class);
+        expectedException.expectMessage(is("Island2 is not part of the puzzle of this journal."));
+        ModifiablePuzzle otherPuzzle = ModifiablePuzzleFactory.createPuzzle(10, 10);
+        journal.buildBridge(island1, otherPuzzle.buildIsland(new Position(5, 0), 4));
+    }
+
+    @Test
+    public void testTearDownBridgeNotExisting() {
+        assertFalse("Unexpected bridge.", journal.tearDownBridge(island1, island2).isPresent());
+        assertEquals("Unexpected amount of moves.", 0, journal.size());
+    }
+
+    @Test
+    public void testPop() {
+        journal.buildBridge(island1, island2);
+        journal.buildBridge(island1, island2);
+        journal.tearDownBridge(island1, island2);
+
+        assertTrue("Expected a move to be undone.", journal.pop());
+        assertTrue("Expected a double bridge.", island1.getBridgeTo(island2).get().isDoubleBridge());
+        assertTrue("Expected a move to be undone.", journal.pop());
+        assertTrue("Expected a move to be undone.", journal.pop());
+        assertFalse("Expected no move to be undone.", journal.pop());
+        assertTrue("Unexpected bridges.", puzzle.getBridges().isEmpty());
+        assertEquals("Undone moves must be kept.", 3, journal.size());
+    }
+
+    @Test
+    public void testRewindTo() {
+        journal.buildBridge(island1, island2);
+        int mark = journal.mark();
+        journal.buildBridge(island1, island3);
+        journal.buildBridge(island2, island1);
+        events.clear();
+
+        journal.rewindTo(mark);
+        assertEquals("Unexpected position.", mark, journal.mark());
+        assertEquals("Unexpected amount of bridges.", 1, puzzle.getBridges().size());
+        assertFalse("Unexpected double bridge.", island1.getBridgeTo(island2).get().isDoubleBridge());
+        assertEquals("Expected a single event.", 1, events.size());
+        assertArrayEquals("Unexpected event.", new int[] {3, 1}, events.get(0));
+    }
+
+    @Test
+    public void testRewindToInvalidMark() {
+        expectedException.expect(IllegalArgumentException.class);
+        expectedException.expectMessage(is("Parameter 'mark' must be between 0 and 1."));
+        journal.buildBridge(island1, island2);
+        journal.rewindTo(2);
+    }
+
+    @Test
+    public void testReplay() {
+        journal.buildBridge(island1, island2);
+        journal.buildBridge(island1, island3);
+        journal.rewindTo(0);
+        events.clear();
+
+        journal.replay(0, 2);
+        assertEquals("Unexpected position.", 2, journal.mark());
+        assertEquals("Unexpected amount of bridges.", 2, puzzle.getBridges().size());
+        assertEquals("Expected a single event.", 1, events.size());
+        assertArrayEquals("Unexpected event.", new int[] {0, 2}, events.get(0));
+    }
+
+    @Test
+    public void testReplayNotFromCurrentPosition() {
+        expectedException.expect(IllegalArgumentException.class);
+        expectedException.expectMessage(is("Parameter 'from' must be the current position 0."));
+        journal.buildBridge(island1, island2);
+        journal.pop();
+        journal.replay(1, 1);
+    }
+
+    @Test
+    public void testRedo() {
+        journal.buildBridge(island1, island2);
+        journal.pop();
+        assertTrue("Expected a move to be redone.", journal.redo());
+        assertTrue("Expected the bridge to be rebuilt.", island1.getBridgeTo(island2).isPresent());
+        assertFalse("Expected no move to be redone.", journal.redo());
+    }
+
+    @Test
+    public void testPushDiscardsUndoneMoves() {
+        journal.buildBridge(island1, island2);
+        journal.buildBridge(island1, island3);
+        journal.pop();
+        puzzle.buildBridge(island1, island2);
+        journal.push(island1, island2, true);
+        assertEquals("Unexpected amount of moves.", 2, journal.size());
+        assertFalse("Expected no move to be redone.", journal.redo());
+    }
+
+    @Test
+    public void testGetLatestBridge() {
+        assertFalse("Unexpected bridge.", journal.getLatestBridge().isPresent());
+        journal.buildBridge(island1, island2);
+        Bridge bridge = journal.buildBridge(island1, island3);
+        assertEquals("Unexpected latest bridge.", bridge, journal.getLatestBridge().get());
+        journal.tearDownBridge(island3, island1);
+        assertEquals("Unexpected latest bridge.", island1.getBridgeTo(island2).get(), journal.getLatestBridge().get());
+    }
+
+    @Test
+    public void testGetLatestBridgeAfterUndoAndRedo() {
+        Bridge bridge1 = journal.buildBridge(island1, island2);
+        journal.buildBridge(island1, island2);
+        Bridge bridge3 = journal.buildBridge(island1, island3);
+        journal.tearDownBridge(island1, island2);
+        journal.tearDownBridge(island1, island3);
+        // The first build between island1 and island2 is still standing
+        assertEquals("Unexpected latest bridge.", bridge1, journal.getLatestBridge().get());
+
+        journal.pop();
+        assertEquals("Unexpected latest bridge.", bridge3, journal.getLatestBridge().get());
+        journal.rewindTo(0);
+        assertFalse("Unexpected bridge.", journal.getLatestBridge().isPresent());
+        journal.replay(0, 5);
+        assertEquals("Unexpected latest bridge.", bridge1, journal.getLatestBridge().get());
+
+        // Recording a move discards the undone moves
+        journal.rewindTo(3);
+        journal.tearDownBridge(island1, island3);
+        assertEquals("Unexpected latest bridge.", island1.getBridgeTo(island2).get(), journal.getLatestBridge().get());
+        journal.tearDownBridge(island1, island2);
+        journal.tearDownBridge(island1, island2);
+        assertFalse("Unexpected bridge.", journal.getLatestBridge().isPresent());
+    }
+
+    @Test
+    public void testClear() {
+        journal.buildBridge(island1, island2);
+        journal.clear();
+        assertEquals("Unexpected amount of moves.", 0, journal.size());
+        assertEquals("Unexpected amount of bridges.", 1, puzzle.getBridges().size());
+    }
+}
@@ -0,0 +1,39 @@
+package de.feu.ps.bridges.model;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * @author Tim Gremplewski
+ */
+public class PackedPositionSetTest {
+
+    @Test
+    public void testEmpty() {
+        assertFalse("Unexpected position.", new PackedPositionSet().contains(Position.pack(0, 0)));
+    }
+
+    @Test
+    public void testAdd() {
+        PackedPositionSet positions = new PackedPositionSet();
+        positions.add(Position.pack(100000, 5));
+        positions.add(Position.pack(100000, 5));
+
+        assertTrue("Expected the position.", positions.contains(Position.pack(100000, 5)));
+        assertFalse("Unexpected position.", positions.contains(Position.pack(5, 100000)));
+    }
+
+    @Test
+    public void testGrow() {
+        PackedPositionSet positions = new PackedPositionSet();
+        for (int column = 0; column < 1000; column += 2) {
+            positions.add(Position.pack(column, column * 3));
+        }
+
+        for (int column = 0; column < 1000; column++) {
+            assertEquals("Unexpected result for column " + column + ".", column % 2 == 0,
+                    positions.contains(Position.pack(column, column * 3)));
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package de.feu.ps.bridges.model;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+/**
+ * @author Tim Gremplewski
+ */
+public class PersistentByteArrayTest {
+
+    @Test
+    public void testOf() {
+        byte[] values = new byte[1000];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = (byte) (i % 3);
+        }
+
+        PersistentByteArray array = PersistentByteArray.of(values);
+        assertEquals("Unexpected length.", values.length, array.length());
+        for (int i = 0; i < values.length; i++) {
+            assertEquals("Unexpected value at index " + i, values[i], array.get(i));
+        }
+    }
+
+    @Test
+    public void testOfEmpty() {
+        PersistentByteArray array = PersistentByteArray.of(new byte[0]);
+        assertEquals("Unexpected length.", 0, array.length());
+    }
+
+    @Test
+    public void testSet() {
+        PersistentByteArray array = PersistentByteArray.of(new byte[5000]);
+        PersistentByteArray changed = array.set(4321, (byte) 2).set(7, (byte) 1);
+
+        assertEquals("Unexpected value.", 2, changed.get(4321));
+        assertEquals("Unexpected value.", 1, changed.get(7));
+        assertEquals("Unexpected value.", 0, changed.get(4320));
+        assertEquals("Original array has been changed.", 0, array.get(4321));
+        assertEquals("Original array has been changed.", 0, array.get(7));
+    }
+
+    @Test
+    public void testSetSameValue() {
+        PersistentByteArray array = PersistentByteArray.of(new byte[10]);
+        assertSame("Expected the same array.", array, array.set(3, (byte) 0));
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void testGetOutOfBounds() {
+        PersistentByteArray.of(new byte[32]).get(32);
+    }
+}
@@ -6,6 +6,7 @@ import org.junit.rules.ExpectedException;
 
 import static org.hamcrest.core.Is.is;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 
 /**
@@ -48,4 +49,48 @@ public class PositionTest {
         Position position1 = new Position(2, 5);
         assertTrue("Expected positions to be equal.", position.equals(position1));
     }
-}
\ No newline at end of file
+
+    @Test
+    public void testOf() {
+        Position position = Position.of(2, 5);
+        assertEquals("Unexpected column.", 2, position.getColumn());
+        assertEquals("Unexpected row.", 5, position.getRow());
+        assertSame("Expected interned position.", position, Position.of(2, 5));
+    }
+
+    @Test
+    public void testOfLargeBoard() {
+        Position position = Position.of(1000, 2000);
+        assertEquals("Expected positions to be equal.", new Position(1000, 2000), position);
+    }
+
+    @Test
+    public void testOfColumnNegative() {
+        expectedException.expect(IllegalArgumentException.class);
+        expectedException.expectMessage(is("Parameter 'column' must not be less than 0."));
+        Position.of(-1, 0);
+    }
+
+    @Test
+    public void testPack() {
+        long packedPosition = Position.pack(2, 5);
+        assertEquals("Unexpected column.", 2, Position.getColumn(packedPosition));
+        assertEquals("Unexpected row.", 5, Position.getRow(packedPosition));
+        assertEquals("Unexpected packed position.", packedPosition, new Position(2, 5).pack());
+        assertSame("Expected interned position.", Position.of(2, 5), Position.of(packedPosition));
+    }
+
+    @Test
+    public void testPackMaxValues() {
+        long packedPosition = Position.pack(Integer.MAX_VALUE, Integer.MAX_VALUE);
+        assertEquals("Unexpected column.", Integer.MAX_VALUE, Position.getColumn(packedPosition));
+        assertEquals("Unexpected row.", Integer.MAX_VALUE, Position.getRow(packedPosition));
+    }
+
+    @Test
+    public void testPackRowNegative() {
+        expectedException.expect(IllegalArgumentException.class);
+        expectedException.expectMessage(is("Parameter 'row' must not be less than 0."));
+        Position.pack(0, -1);
+    }
+}
@@ -0,0 +1,174 @@
+package de.feu.ps.bridges.model;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+
+import java.util.Arrays;
+
+import static org.hamcrest.core.Is.is;
+import static org.junit.Assert.*;
+
+/**
+ * @author Tim Gremplewski
+ */
+public class PotentialBridgeGraphTest {
+
+    @Rule
+    public ExpectedException expectedException = ExpectedException.none();
+
+    private Puzzle puzzle;
+    private Island north;
+    private Island south;
+    private Island west;
+    private Island east;
+    private Island corner;
+    private PotentialBridgeGraph graph;
+
+    @Before
+    public void setUp() {
+        PuzzleBuilder puzzleBuilder = PuzzleBuilder.createBuilder(5, 5, 5);
+        north = puzzleBuilder.addIsland(new Position(2, 0), 2);
+        south = puzzleBuilder.addIsland(new Position(2, 4), 1);
+        west = puzzleBuilder.addIsland(new Position(0, 2), 1);
+        east = puzzleBuilder.addIsland(new Position(4, 2), 2);
+        corner = puzzleBuilder.addIsland(new Position(4, 0), 2);
+        puzzle = puzzleBuilder.getResult();
+        graph = PotentialBridgeGraph.createFor(puzzle);
+    }
+
+    @Test
+    public void testPuzzleNull() {
+        expectedException.expect(NullPointerException.class);
+        expectedException.expectMessage(is("Parameter 'puzzle' must not be null."));
+        PotentialBridgeGraph.createFor(null);
+    }
+
+    @Test
+    public void testBridges() {
+        assertEquals("Unexpected amount of bridges.", 4, graph.getBridgesCount());
+        assertEquals("Unexpected amount of islands.", 5, graph.getIslandsCount());
+
+        final int bridge = graph.getBridge(north.getIndex(), Direction.SOUTH);
+        assertEquals("Unexpected bridge.", bridge, graph.getBridge(south.getIndex(), Direction.NORTH));
+        assertEquals("Unexpected island.", north.getIndex(), graph.getIsland1(bridge));
+        assertEquals("Unexpected island.", south.getIndex(), graph.getIsland2(bridge));
+        assertEquals("Unexpected island.", north.getIndex(), graph.getOtherIsland(bridge, south.getIndex()));
+        assertFalse("Expected a vertical bridge.", graph.isHorizontal(bridge));
+        assertTrue("Expected a horizontal bridge.", graph.isHorizontal(graph.getBridge(west.getIndex(), Direction.EAST)));
+        assertEquals("Unexpected bridge.", PotentialBridgeGraph.NO_BRIDGE, graph.getBridge(north.getIndex(), Direction.WEST));
+    }
+
+    @Test
+    public void testCrossingBridges() {
+        final int vertical = graph.getBridge(north.getIndex(), Direction.SOUTH);
+        final int horizontal = graph.getBridge(west.getIndex(), Direction.EAST);
+        final int upper = graph.getBridge(north.getIndex(), Direction.EAST);
+        final int right = graph.getBridge(corner.getIndex(), Direction.SOUTH);
+
+        assertTrue("Expected the bridges to cross.", graph.areCrossing(vertical, horizontal));
+        assertTrue("Expected the bridges to cross.", graph.areCrossing(horizontal, vertical));
+        assertFalse("Bridges sharing an island must not cross.", graph.areCrossing(vertical, upper));
+        assertFalse("Bridges sharing an island must not cross.", graph.areCrossing(horizontal, right));
+        assertFalse("Unexpected crossing.", graph.areCrossing(upper, right));
+    }
+
+    @Test
+    public void testGetCrossingBridges() {
+        final int vertical = graph.getBridge(north.getIndex(), Direction.SOUTH);
+        final int horizontal = graph.getBridge(west.getIndex(), Direction.EAST);
+
+        assertArrayEquals("Unexpected crossing bridges.", new int[] {horizontal}, graph.getCrossingBridges(vertical));
+        assertArrayEquals("Unexpected crossing bridges.", new int[] {vertical}, graph.getCrossingBridges(horizontal));
+        assertArrayEquals("Unexpected crossing bridges.", new int[0],
+                graph.getCrossingBridges(graph.getBridge(north.getIndex(), Direction.EAST)));
+    }
+
+    @Test
+    public void testCrossingBridgesOfLargeBoard() {
+        // A long bridge crossing a comb of vertical bridges, that has too many bridges for bit sets per bridge
+        final int teeth = 400;
+        PuzzleBuilder puzzleBuilder = PuzzleBuilder.createLargeBoardBuilder(teeth + 2, 4, teeth * 2 + 2);
+        final Island[] upperIslands = new Island[teeth];
+        for (int i = 0; i < teeth; i++) {
+            upperIslands[i] = puzzleBuilder.addIsland(new Position(i + 1, 0), 2);
+            puzzleBuilder.addIsland(new Position(i + 1, 2), 2);
+        }
+        final Island left = puzzleBuilder.addIsland(new Position(0, 1), 1);
+        puzzleBuilder.addIsland(new Position(teeth + 1, 1), 1);
+        final PotentialBridgeGraph largeGraph = PotentialBridgeGraph.createFor(puzzleBuilder.getResult());
+
+        final int longBridge = largeGraph.getBridge(left.getIndex(), Direction.EAST);
+        final int[] teethBridges = new int[teeth];
+        for (int i = 0; i < teeth; i++) {
+            teethBridges[i] = largeGraph.getBridge(upperIslands[i].getIndex(), Direction.SOUTH);
+            assertArrayEquals("Unexpected crossing bridges.", new int[] {longBridge},
+                    largeGraph.getCrossingBridges(teethBridges[i]));
+        }
+        Arrays.sort(teethBridges);
+        assertArrayEquals("Unexpected crossing bridges.", teethBridges, largeGraph.getCrossingBridges(longBridge));
+        assertTrue("Expected the bridges to cross.", largeGraph.areCrossing(longBridge, teethBridges[teeth - 1]));
+        assertFalse("Unexpected crossing.", largeGraph.areCrossing(teethBridges[0], teethBridges[1]));
+
+        final long[] bridges = largeGraph.createBridgeSet();
+        largeGraph.addBridge(bridges, largeGraph.getBridge(upperIslands[0].getIndex(), Direction.EAST));
+        assertFalse("Unexpected crossing.", largeGraph.isCrossingAny(longBridge, bridges));
+
+        largeGraph.addBridge(bridges, teethBridges[teeth / 2]);
+        assertTrue("Expected a crossing.", largeGraph.isCrossingAny(longBridge, bridges));
+    }
+
+    @Test
+    public void testIsCrossingAny() {
+        final long[] bridges = graph.createBridgeSet();
+        final int vertical = graph.getBridge(north.getIndex(), Direction.SOUTH);
+        final int horizontal = graph.getBridge(west.getIndex(), Direction.EAST);
+        assertFalse("Unexpected crossing.", graph.isCrossingAny(vertical, bridges));
+
+        graph.addBridge(bridges, graph.getBridge(north.getIndex(), Direction.EAST));
+        assertFalse("Unexpected crossing.", graph.isCrossingAny(vertical, bridges));
+
+        graph.addBridge(bridges, horizontal);
+        assertTrue("Expected a crossing.", graph.isCrossingAny(vertical, bridges));
+    }
+
+    @Test
+    public void testFindBuiltBridges() {
+        puzzle.buildBridge(west, east);
+        puzzle.buildBridge(north, corner);
+
+        final long[] bridges = graph.createBridgeSet();
+        graph.findBuiltBridges(puzzle, bridges);
+        assertTrue("Expected a crossing.", graph.isCrossingAny(graph.getBridge(north.getIndex(), Direction.SOUTH), bridges));
+        assertFalse("Unexpected crossing.", graph.isCrossingAny(graph.getBridge(corner.getIndex(), Direction.SOUTH), bridges));
+
+        puzzle.tearDownBridge(west, east);
+        graph.findBuiltBridges(puzzle, bridges);
+        assertFalse("Unexpected crossing.", graph.isCrossingAny(graph.getBridge(north.getIndex(), Direction.SOUTH), bridges));
+    }
+
+    @Test
+    public void testFindBuiltBridgesOfFilteredGraph() {
+        puzzle.buildBridge(west, east);
+        puzzle.buildBridge(north, corner);
+
+        final PotentialBridgeGraph filteredGraph = PotentialBridgeGraph.createFor(puzzle, (island1, island2) -> island2 != corner);
+        final long[] bridges = filteredGraph.createBridgeSet();
+        filteredGraph.findBuiltBridges(puzzle, bridges);
+        final long[] expectedBridges = filteredGraph.createBridgeSet();
+        filteredGraph.addBridge(expectedBridges, filteredGraph.getBridge(west.getIndex(), Direction.EAST));
+        assertArrayEquals("Unexpected built bridges.", expectedBridges, bridges);
+    }
+
+    @Test
+    public void testMatchesLayoutOf() {
+        assertTrue("Expected the layout to match.", graph.matchesLayoutOf(puzzle));
+        puzzle.buildBridge(north, south);
+        assertTrue("Bridges must not change the layout.", graph.matchesLayoutOf(puzzle));
+
+        PuzzleBuilder puzzleBuilder = PuzzleBuilder.createBuilder(5, 5, 1);
+        puzzleBuilder.addIsland(new Position(2, 0), 2);
+        assertFalse("Unexpected match.", graph.matchesLayoutOf(puzzleBuilder.getResult()));
+    }
+}
@@ -1,5 +1,6 @@
 package de.feu.ps.bridges.serialization;
 
+import de.feu.ps.bridges.generator.PuzzleGeneratorFactory;
 import de.feu.ps.bridges.model.Bridge;
 import de.feu.ps.bridges.model.Island;
 import de.feu.ps.bridges.model.Position;
@@ -18,6 +19,7 @@ import java.net.URI;
 import java.net.URISyntaxException;
 import java.util.Set;
 
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertTrue;
 
@@ -101,6 +103,25 @@ public class DeserializerTest {
         assertTrue("Expected bridge not found.", anyMatch);
     }
 
+    @Test
+    public void testLargeBoard() throws Exception {
+        final Puzzle puzzle = PuzzleGeneratorFactory.createLargeBoardPuzzleGenerator(200, 150, 2000).generate();
+        final File file = File.createTempFile("large_board", ".bgs");
+        file.deleteOnExit();
+
+        Serializer.savePuzzle(puzzle, file);
+        final Puzzle loadedPuzzle = Deserializer.loadLargePuzzle(file);
+
+        assertEquals("Unexpected amount of columns.", 200, loadedPuzzle.getColumnsCount());
+        assertEquals("Unexpected amount of rows.", 150, loadedPuzzle.getRowsCount());
+        assertEquals("Unexpected amount of islands.", 2000, loadedPuzzle.getIslandsCount());
+        puzzle.forEachIsland(island -> assertEquals("Unexpected required bridges.",
+                island.getRequiredBridges(), loadedPuzzle.getIslandAt(island.getPosition()).get().getRequiredBridges()));
+
+        expectedException.expect(SerializationException.class);
+        Deserializer.loadPuzzle(file);
+    }
+
     @Theory
     public void testSyntaxError(@FromDataPoints("syntaxErrors") final File sourceFile) {
         expectedException.expect(SerializationException.class);
@@ -0,0 +1,83 @@
+package de.feu.ps.bridges.solver;
+
+import de.feu.ps.bridges.analyser.PuzzleStatus;
+import de.feu.ps.bridges.model.Puzzle;
+import org.junit.Test;
+
+import java.util.concurrent.ForkJoinPool;
+
+import static org.hamcrest.core.Is.is;
+import static org.junit.Assert.*;
+
+/**
+ * @author Tim Gremplewski
+ */
+public class BacktrackingPuzzleSolverTest extends CompletePuzzleSolverTest<BacktrackingPuzzleSolver> {
+
+    @Override
+    protected BacktrackingPuzzleSolver createSolverFor(final Puzzle puzzle) {
+        return PuzzleSolverFactory.createBacktrackingPuzzleSolverFor(puzzle);
+    }
+
+    @Override
+    protected boolean isSolvable(final BacktrackingPuzzleSolver solver) {
+        return solver.isSolvable();
+    }
+
+    @Test
+    public void testSolveCounters() {
+        PuzzleSolverFactory.createPuzzleSolverFor(puzzle).solve();
+        assertEquals("Expected the default solver to get stuck.", PuzzleStatus.UNSOLVED, getStatus(puzzle));
+
+        solver.solve();
+        assertEquals("Unexpected status.", PuzzleStatus.SOLVED, getStatus(puzzle));
+        assertTrue("Expected more than one node.", solver.getNodesCount() > 1);
+        assertTrue("Expected narrowed domains.", solver.getPropagationsCount() > 0);
+    }
+
+    @Test
+    public void testParallelSolve() {
+        final ForkJoinPool forkJoinPool = new ForkJoinPool(2);
+        try {
+            final BacktrackingPuzzleSolver parallelSolver =
+                    PuzzleSolverFactory.createParallelBacktrackingPuzzleSolverFor(puzzle, forkJoinPool, 2);
+            parallelSolver.solve();
+            assertEquals("Unexpected status.", PuzzleStatus.SOLVED, getStatus(puzzle));
+            assertTrue("Expected more than one node.", parallelSolver.getNodesCount() > 1);
+        } finally {
+            forkJoinPool.shutdown();
+        }
+    }
+
+    @Test
+    public void testForkJoinPoolNull() {
+        expectedException.expect(NullPointerException.class);
+        expectedException.expectMessage(is("Parameter 'forkJoinPool' must not be null."));
+        PuzzleSolverFactory.createParallelBacktrackingPuzzleSolverFor(puzzle, null, 2);
+    }
+
+    @Test
+    public void testSplitDepthLessThanZero() {
+        expectedException.expect(IllegalArgumentException.class);
+        expectedException.expectMessage(is("Parameter 'splitDepth' must not be less than 0."));
+        PuzzleSolverFactory.createParallelBacktrackingPuzzleSolverFor(puzzle, -1);
+    }
+
+    @Test
+    public void testParallelCountSolutions() {
+        final ForkJoinPool forkJoinPool = new ForkJoinPool(2);
+        try {
+            final BacktrackingPuzzleSolver parallelSolver =
+                    PuzzleSolverFactory.createParallelBacktrackingPuzzleSolverFor(puzzle, forkJoinPool, 2);
+            assertEquals("Unexpected amount of solutions.", 2, parallelSolver.countSolutions(10));
+            assertEquals("Unexpected amount of solutions.", 1, parallelSolver.countSolutions(1));
+        } finally {
+            forkJoinPool.shutdown();
+        }
+    }
+
+    @Test
+    public void testDefaultSolverCountSolutions() {
+        assertEquals("Unexpected amount of solutions.", 2, PuzzleSolverFactory.createPuzzleSolverFor(puzzle).countSolutions(2));
+    }
+}
@@ -0,0 +1,93 @@
+package de.feu.ps.bridges.solver;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+
+import static org.hamcrest.core.Is.is;
+import static org.junit.Assert.*;
+
+/**
+ * @author Tim Gremplewski
+ */
+public class CdclSolverTest {
+
+    @Rule
+    public ExpectedException expectedException = ExpectedException.none();
+
+    @Test
+    public void testVariablesCountLessThanZero() {
+        expectedException.expect(IllegalArgumentException.class);
+        expectedException.expectMessage(is("Parameter 'variablesCount' must not be less than 0."));
+        new CdclSolver(-1);
+    }
+
+    @Test
+    public void testUnknownVariable() {
+        expectedException.expect(IllegalArgumentException.class);
+        new CdclSolver(2).addClause(1, -3);
+    }
+
+    @Test
+    public void testSatisfiable() {
+        final CdclSolver solver = new CdclSolver(3);
+        solver.addClause(1, 2);
+        solver.addClause(-1, 3);
+        solver.addClause(-2, 3);
+        solver.addClause(-3, -1);
+
+        assertTrue("Expected the formula to be satisfiable.", solver.solve());
+        assertFalse("Unexpected value of variable 1.", solver.getValue(1));
+        assertTrue("Unexpected value of variable 2.", solver.getValue(2));
+        assertTrue("Unexpected value of variable 3.", solver.getValue(3));
+    }
+
+    @Test
+    public void testClausesAddedBetweenSearches() {
+        final CdclSolver solver = new CdclSolver(2);
+        solver.addClause(1, 2);
+
+        assertTrue("Expected the formula to be satisfiable.", solver.solve());
+        assertTrue("Expected the formula to stay satisfiable.", solver.addClause(-1));
+        assertTrue("Expected the formula to be satisfiable.", solver.solve());
+        assertTrue("Unexpected value of variable 2.", solver.getValue(2));
+
+        assertFalse("Expected the formula to be unsatisfiable.", solver.addClause(-2));
+        assertFalse("Expected the formula to be unsatisfiable.", solver.solve());
+    }
+
+    @Test
+    public void testPigeonhole() {
+        // Four pigeons do not fit into three holes, which takes several conflicts to prove
+        final int pigeons = 4;
+        final int holes = 3;
+        final CdclSolver solver = new CdclSolver(pigeons * holes);
+
+        for (int pigeon = 0; pigeon < pigeons; pigeon++) {
+            final int[] clause = new int[holes];
+            for (int hole = 0; hole < holes; hole++) {
+                clause[hole] = pigeon * holes + hole + 1;
+            }
+            solver.addClause(clause);
+        }
+        for (int hole = 0; hole < holes; hole++) {
+            for (int pigeon = 0; pigeon < pigeons; pigeon++) {
+                for (int otherPigeon = pigeon + 1; otherPigeon < pigeons; otherPigeon++) {
+                    solver.addClause(-(pigeon * holes + hole + 1), -(otherPigeon * holes + hole + 1));
+                }
+            }
+        }
+
+        assertFalse("Expected the formula to be unsatisfiable.", solver.solve());
+        assertTrue("Expected conflicts.", solver.getConflictsCount() > 1);
+        assertTrue("Expected decisions.", solver.getDecisionsCount() > 0);
+    }
+
+    @Test
+    public void testGetLubyNumber() {
+        final long[] expectedNumbers = {1, 1, 2, 1, 1, 2, 4, 1, 1, 2, 1, 1, 2, 4, 8};
+        for (int index = 0; index < expectedNumbers.length; index++) {
+            assertEquals("Unexpected number at index " + index + ".", expectedNumbers[index], CdclSolver.getLubyNumber(index));
+        }
+    }
+}
@@ -0,0 +1,131 @@
+package de.feu.ps.bridges.solver;
+
+import de.feu.ps.bridges.analyser.PuzzleAnalyserFactory;
+import de.feu.ps.bridges.analyser.PuzzleStatus;
+import de.feu.ps.bridges.model.Island;
+import de.feu.ps.bridges.model.Position;
+import de.feu.ps.bridges.model.Puzzle;
+import de.feu.ps.bridges.model.PuzzleBuilder;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+
+import java.util.Optional;
+
+import static org.hamcrest.core.Is.is;
+import static org.junit.Assert.*;
+
+/**
+ * Tests that every solver has to pass, which finds a solution whenever one exists.
+ *
+ * @param <S> type of the solver under test.
+ * @author Tim Gremplewski
+ */
+public abstract class CompletePuzzleSolverTest<S extends PuzzleSolver> {
+
+    @Rule
+    public ExpectedException expectedException = ExpectedException.none();
+
+    protected Puzzle puzzle;
+    protected Island upperLeft;
+    protected Island upperRight;
+    protected S solver;
+
+    @Before
+    public void setUp() {
+        // Both a single and a double bridge at the top lead to a solution, so the solver has to guess
+        PuzzleBuilder puzzleBuilder = PuzzleBuilder.createBuilder(5, 5, 4);
+        upperLeft = puzzleBuilder.addIsland(new Position(0, 0), 3);
+        upperRight = puzzleBuilder.addIsland(new Position(2, 0), 3);
+        puzzleBuilder.addIsland(new Position(0, 2), 3);
+        puzzleBuilder.addIsland(new Position(2, 2), 3);
+        puzzle = puzzleBuilder.getResult();
+        solver = createSolverFor(puzzle);
+    }
+
+    /**
+     * Create a new solver under test for the given puzzle.
+     * @param puzzle the puzzle to solve.
+     * @return the new solver.
+     */
+    protected abstract S createSolverFor(Puzzle puzzle);
+
+    /**
+     * Indicates whether the given solver considers its puzzle solvable.
+     * @param solver the solver to ask.
+     * @return <code>true</code> if the puzzle is solvable, <code>false</code> otherwise.
+     */
+    protected abstract boolean isSolvable(S solver);
+
+    @Test
+    public void testPuzzleNull() {
+        expectedException.expect(NullPointerException.class);
+        expectedException.expectMessage(is("Parameter 'puzzle' must not be null."));
+        createSolverFor(null);
+    }
+
+    @Test
+    public void testSolve() {
+        assertTrue("Expected the puzzle to be solvable.", isSolvable(solver));
+        solver.solve();
+        assertEquals("Unexpected status.", PuzzleStatus.SOLVED, getStatus(puzzle));
+    }
+
+    @Test
+    public void testGetNextMove() {
+        Optional<Move> nextMove = solver.getNextMove();
+        while (nextMove.isPresent()) {
+            nextMove.get().apply();
+            nextMove = solver.getNextMove();
+        }
+        assertEquals("Unexpected status.", PuzzleStatus.SOLVED, getStatus(puzzle));
+    }
+
+    @Test
+    public void testKeepsBuiltBridges() {
+        puzzle.buildBridge(upperLeft, upperRight);
+        puzzle.buildBridge(upperLeft, upperRight);
+
+        solver.solve();
+        assertEquals("Unexpected status.", PuzzleStatus.SOLVED, getStatus(puzzle));
+        assertTrue("Expected a double bridge.", upperLeft.getBridgeTo(upperRight).get().isDoubleBridge());
+    }
+
+    @Test
+    public void testCountSolutions() {
+        assertEquals("Unexpected amount of solutions.", 2, solver.countSolutions(10));
+        assertEquals("Unexpected amount of solutions.", 1, solver.countSolutions(1));
+        assertEquals("Unexpected amount of solutions.", 0, solver.countSolutions(0));
+
+        puzzle.buildBridge(upperLeft, upperRight);
+        puzzle.buildBridge(upperLeft, upperRight);
+        assertEquals("Unexpected amount of solutions.", 1, solver.countSolutions(10));
+    }
+
+    @Test
+    public void testLimitLessThanZero() {
+        expectedException.expect(IllegalArgumentException.class);
+        expectedException.expectMessage(is("Parameter 'limit' must not be less than 0."));
+        solver.countSolutions(-1);
+    }
+
+    @Test
+    public void testUnsolvable() {
+        PuzzleBuilder puzzleBuilder = PuzzleBuilder.createBuilder(5, 5, 2);
+        puzzleBuilder.addIsland(new Position(0, 0), 1);
+        puzzleBuilder.addIsland(new Position(2, 0), 2);
+        final Puzzle unsolvablePuzzle = puzzleBuilder.getResult();
+        final S unsolvablePuzzleSolver = createSolverFor(unsolvablePuzzle);
+
+        assertFalse("Expected the puzzle to be unsolvable.", isSolvable(unsolvablePuzzleSolver));
+        assertFalse("Unexpected move.", unsolvablePuzzleSolver.getNextMove().isPresent());
+        assertEquals("Unexpected amount of solutions.", 0, unsolvablePuzzleSolver.countSolutions(2));
+        unsolvablePuzzleSolver.solve();
+        assertTrue("Expected no bridges.", unsolvablePuzzle.getBridges().isEmpty());
+    }
+
+    protected static PuzzleStatus getStatus(final Puzzle puzzle) {
+        return PuzzleAnalyserFactory.createPuzzleAnalyserFor(puzzle).getStatus();
+    }
+}
@@ -0,0 +1,53 @@
+package de.feu.ps.bridges.solver;
+
+import de.feu.ps.bridges.analyser.PuzzleStatus;
+import de.feu.ps.bridges.model.Position;
+import de.feu.ps.bridges.model.Puzzle;
+import de.feu.ps.bridges.model.PuzzleBuilder;
+import de.feu.ps.bridges.serialization.Deserializer;
+import de.feu.ps.bridges.serialization.Serializer;
+import org.junit.Test;
+
+import java.io.File;
+
+import static org.junit.Assert.*;
+
+/**
+ * @author Tim Gremplewski
+ */
+public class SatPuzzleSolverTest extends CompletePuzzleSolverTest<SatPuzzleSolver> {
+
+    @Override
+    protected SatPuzzleSolver createSolverFor(final Puzzle puzzle) {
+        return PuzzleSolverFactory.createSatPuzzleSolverFor(puzzle);
+    }
+
+    @Override
+    protected boolean isSolvable(final SatPuzzleSolver solver) {
+        return solver.isSolvable();
+    }
+
+    @Test
+    public void testSaveSolution() throws Exception {
+        final File file = File.createTempFile("sat_solution", ".bgs");
+        file.deleteOnExit();
+
+        solver.solve();
+        Serializer.savePuzzle(puzzle, file);
+        assertEquals("Unexpected status.", PuzzleStatus.SOLVED, getStatus(Deserializer.loadPuzzle(file)));
+    }
+
+    @Test
+    public void testUnsolvableBecauseOfConnectivity() {
+        // Every island can only be bridged to one of two others, so the islands always form two separated pairs
+        PuzzleBuilder puzzleBuilder = PuzzleBuilder.createBuilder(5, 5, 4);
+        puzzleBuilder.addIsland(new Position(0, 0), 1);
+        puzzleBuilder.addIsland(new Position(2, 0), 1);
+        puzzleBuilder.addIsland(new Position(0, 2), 1);
+        puzzleBuilder.addIsland(new Position(2, 2), 1);
+        final SatPuzzleSolver unsolvablePuzzleSolver = PuzzleSolverFactory.createSatPuzzleSolverFor(puzzleBuilder.getResult());
+
+        assertFalse("Expected the puzzle to be unsolvable.", unsolvablePuzzleSolver.isSolvable());
+        assertTrue("Expected connectivity clauses.", unsolvablePuzzleSolver.getConnectivityCutsCount() > 0);
+    }
+}